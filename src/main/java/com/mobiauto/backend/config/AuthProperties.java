@@ -0,0 +1,13 @@
+package com.mobiauto.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "mobiauto.auth")
+public record AuthProperties(Duration validadeRefreshToken) {
+
+    public AuthProperties {
+        validadeRefreshToken = validadeRefreshToken == null ? Duration.ofHours(12) : validadeRefreshToken;
+    }
+}
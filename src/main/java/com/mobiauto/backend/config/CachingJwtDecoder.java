@@ -0,0 +1,114 @@
+package com.mobiauto.backend.config;
+
+import com.mobiauto.backend.dto.CacheJwtDTO;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final int capacidade;
+    private final int folga;
+    private final Clock relogio;
+    private final Map<String, Entrada> verificados = new ConcurrentHashMap<>();
+    private final Object remocao = new Object();
+    private final AtomicLong usos = new AtomicLong();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int capacidade, Clock relogio) {
+        this.delegate = delegate;
+        this.capacidade = capacidade;
+        this.folga = capacidade / 10;
+        this.relogio = relogio;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String chave = resumo(token);
+        Entrada entrada = verificados.get(chave);
+        if (entrada != null) {
+            if (valido(entrada.jwt)) {
+                entrada.ultimoUso = usos.incrementAndGet();
+                acertos.increment();
+                return entrada.jwt;
+            }
+            verificados.remove(chave, entrada);
+        }
+
+        faltas.increment();
+        Jwt decodificado = delegate.decode(token);
+        if (valido(decodificado)) {
+            verificados.put(chave, new Entrada(decodificado, usos.incrementAndGet()));
+            if (verificados.size() > capacidade) {
+                liberarEspaco();
+            }
+        }
+        return decodificado;
+    }
+
+    public CacheJwtDTO estatisticas() {
+        long totalAcertos = acertos.sum();
+        long totalFaltas = faltas.sum();
+        long consultas = totalAcertos + totalFaltas;
+        return new CacheJwtDTO(verificados.size(), capacidade, totalAcertos, totalFaltas, remocoes.sum(),
+                consultas == 0 ? 0 : (double) totalAcertos / consultas);
+    }
+
+    private void liberarEspaco() {
+        synchronized (remocao) {
+            verificados.entrySet().removeIf(e -> !valido(e.getValue().jwt));
+            int excedentes = verificados.size() - capacidade;
+            if (excedentes <= 0) {
+                return;
+            }
+
+            verificados.entrySet().stream()
+                    .map(e -> new Candidata(e.getKey(), e.getValue(), e.getValue().ultimoUso))
+                    .sorted(Comparator.comparingLong(Candidata::ultimoUso))
+                    .limit(excedentes + folga)
+                    .forEach(c -> {
+                        if (verificados.remove(c.chave(), c.entrada())) {
+                            remocoes.increment();
+                        }
+                    });
+        }
+    }
+
+    private boolean valido(Jwt jwt) {
+        return jwt.getExpiresAt() != null && relogio.instant().isBefore(jwt.getExpiresAt());
+    }
+
+    private static String resumo(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Candidata(String chave, Entrada entrada, long ultimoUso) {}
+
+    private static final class Entrada {
+        private final Jwt jwt;
+        private volatile long ultimoUso;
+
+        private Entrada(Jwt jwt, long ultimoUso) {
+            this.jwt = jwt;
+            this.ultimoUso = ultimoUso;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.mobiauto.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "mobiauto.catalogo")
+public record CatalogoProperties(Integer maxTermosSugestao, Integer tamanhoMaximoTermo) {
+
+    public CatalogoProperties {
+        maxTermosSugestao = maxTermosSugestao == null ? 20_000 : maxTermosSugestao;
+        tamanhoMaximoTermo = tamanhoMaximoTermo == null ? 60 : tamanhoMaximoTermo;
+    }
+}
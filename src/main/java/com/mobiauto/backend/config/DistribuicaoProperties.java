@@ -0,0 +1,14 @@
+package com.mobiauto.backend.config;
+
+import com.mobiauto.backend.service.distribuicao.ModoDistribuicao;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "mobiauto.distribuicao")
+public record DistribuicaoProperties(ModoDistribuicao modo, Integer tentativasTrava, Long esperaTravaMs) {
+
+    public DistribuicaoProperties {
+        modo = modo == null ? ModoDistribuicao.MEMORIA : modo;
+        tentativasTrava = tentativasTrava == null ? 5 : tentativasTrava;
+        esperaTravaMs = esperaTravaMs == null ? 50L : esperaTravaMs;
+    }
+}
@@ -0,0 +1,25 @@
+package com.mobiauto.backend.config;
+
+import com.mobiauto.backend.tenant.FiltroTenant;
+import com.mobiauto.backend.tenant.RevendaTenantResolver;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+@Configuration
+public class FiltroTenantConfig {
+
+    @Bean
+    public static BeanPostProcessor filtroTenantPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean fabrica) {
+                    fabrica.setEntityManagerInitializer(new FiltroTenant(new RevendaTenantResolver()));
+                }
+                return bean;
+            }
+        };
+    }
+}
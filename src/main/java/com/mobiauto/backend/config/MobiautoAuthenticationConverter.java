@@ -0,0 +1,42 @@
+package com.mobiauto.backend.config;
+
+import com.mobiauto.backend.model.Cargo;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MobiautoAuthenticationConverter implements Converter<Jwt, MobiautoAuthenticationToken> {
+
+    @Override
+    public MobiautoAuthenticationToken convert(Jwt jwt) {
+        return new MobiautoAuthenticationToken(new MobiautoPrincipal(identificador(jwt, "usuarioId"), identificador(jwt, "revendaId"),
+                cargos(jwt)), jwt);
+    }
+
+    private static List<Cargo> cargos(Jwt jwt) {
+        List<String> roles = jwt.getClaimAsStringList("roles");
+        if (roles == null || roles.isEmpty()) {
+            throw new InvalidBearerTokenException("Nenhum cargo encontrado no token");
+        }
+        List<Cargo> cargos = new ArrayList<>(roles.size());
+        try {
+            for (String role : roles) {
+                cargos.add(Cargo.valueOf(role));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidBearerTokenException("Cargo desconhecido no token: " + roles);
+        }
+        return cargos;
+    }
+
+    private static long identificador(Jwt jwt, String claim) {
+        try {
+            return Long.parseLong(jwt.getClaimAsString(claim));
+        } catch (NumberFormatException e) {
+            throw new InvalidBearerTokenException("Claim " + claim + " ausente ou malformada no token");
+        }
+    }
+}
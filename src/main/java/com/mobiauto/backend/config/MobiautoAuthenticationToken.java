@@ -0,0 +1,32 @@
+package com.mobiauto.backend.config;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+public class MobiautoAuthenticationToken extends AbstractAuthenticationToken {
+    private final MobiautoPrincipal principal;
+    private final Jwt jwt;
+
+    public MobiautoAuthenticationToken(MobiautoPrincipal principal, Jwt jwt) {
+        super(principal.getCargos().stream().map(cargo -> new SimpleGrantedAuthority("ROLE_" + cargo.name())).toList());
+        this.principal = principal;
+        this.jwt = jwt;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public MobiautoPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public Jwt getCredentials() {
+        return jwt;
+    }
+
+    @Override
+    public String getName() {
+        return jwt.getSubject();
+    }
+}
@@ -0,0 +1,69 @@
+package com.mobiauto.backend.config;
+
+import com.mobiauto.backend.model.Cargo;
+import com.mobiauto.backend.service.permissao.Acao;
+import com.mobiauto.backend.service.permissao.Escopo;
+import com.mobiauto.backend.service.permissao.MatrizPermissoes;
+import com.mobiauto.backend.service.permissao.Recurso;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public final class MobiautoPrincipal {
+    private final long usuarioId;
+    private final long revendaId;
+    private final int cargos;
+    private final Set<Cargo> conjuntoCargos;
+
+    public MobiautoPrincipal(long usuarioId, long revendaId, Collection<Cargo> cargos) {
+        this.usuarioId = usuarioId;
+        this.revendaId = revendaId;
+        this.cargos = MatrizPermissoes.mascara(cargos);
+        EnumSet<Cargo> conjunto = EnumSet.noneOf(Cargo.class);
+        for (Cargo cargo : Cargo.values()) {
+            if (possui(cargo)) {
+                conjunto.add(cargo);
+            }
+        }
+        this.conjuntoCargos = Collections.unmodifiableSet(conjunto);
+    }
+
+    public long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public long getRevendaId() {
+        return revendaId;
+    }
+
+    public boolean possui(Cargo cargo) {
+        return (cargos & 1 << cargo.ordinal()) != 0;
+    }
+
+    public boolean pertenceA(Long revendaId) {
+        return revendaId != null && this.revendaId == revendaId;
+    }
+
+    public Escopo escopo(Recurso recurso, Acao acao) {
+        return MatrizPermissoes.PADRAO.escopo(cargos, recurso, acao);
+    }
+
+    public boolean pode(Recurso recurso, Acao acao) {
+        return escopo(recurso, acao) != Escopo.NENHUM;
+    }
+
+    public boolean pode(Recurso recurso, Acao acao, Long revendaId) {
+        Escopo escopo = escopo(recurso, acao);
+        return escopo == Escopo.GLOBAL || escopo != Escopo.NENHUM && pertenceA(revendaId);
+    }
+
+    public int getMascaraCargos() {
+        return cargos;
+    }
+
+    public Set<Cargo> getCargos() {
+        return conjuntoCargos;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mobiauto.backend.config;
+
+import com.mobiauto.backend.service.permissao.RequerPermissao;
+import com.mobiauto.backend.utils.JwtAuthUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+
+public class PermissaoInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod metodo)) {
+            return true;
+        }
+
+        RequerPermissao permissao = metodo.getMethodAnnotation(RequerPermissao.class);
+        if (permissao != null && !JwtAuthUtil.getPrincipal().pode(permissao.recurso(), permissao.acao())) {
+            throw new ResponseStatusException(FORBIDDEN, "Seu cargo não permite esta operação");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package com.mobiauto.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "mobiauto.distribuicao.rebalanceamento")
+public record RebalanceamentoProperties(Long tolerancia, Integer tamanhoLote) {
+
+    public RebalanceamentoProperties {
+        tolerancia = tolerancia == null ? 1L : Math.max(1L, tolerancia);
+        tamanhoLote = tamanhoLote == null ? 200 : Math.max(1, tamanhoLote);
+    }
+}
@@ -0,0 +1,33 @@
+package com.mobiauto.backend.config;
+
+import com.mobiauto.backend.service.VersaoRecursoService;
+import com.mobiauto.backend.service.versao.TipoRecurso;
+import com.mobiauto.backend.utils.JwtAuthUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import static com.mobiauto.backend.model.Cargo.ADMINISTRADOR;
+
+@AllArgsConstructor
+public class VersaoRecursoInterceptor implements HandlerInterceptor {
+    private final VersaoRecursoService versaoRecursoService;
+    private final TipoRecurso tipo;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+        Long revendaId = principal.possui(ADMINISTRADOR) ? null : principal.getRevendaId();
+        String variante = request.getRequestURI() + "?" + request.getQueryString()
+                + ";" + principal.getMascaraCargos() + ";" + request.getHeader(HttpHeaders.ACCEPT);
+        return !new ServletWebRequest(request, response).checkNotModified(versaoRecursoService.etag(tipo, revendaId, variante));
+    }
+}
@@ -0,0 +1,49 @@
+package com.mobiauto.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mobiauto.backend.service.VersaoRecursoService;
+import com.mobiauto.backend.service.distribuicao.ModoDistribuicao;
+import com.mobiauto.backend.service.versao.TipoRecurso;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@AllArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    private final VersaoRecursoService versaoRecursoService;
+    private final DistribuicaoProperties distribuicaoProperties;
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new PermissaoInterceptor());
+        if (distribuicaoProperties.modo() == ModoDistribuicao.CLUSTER) {
+            return;
+        }
+        registrarVersao(registry, TipoRecurso.CLIENTE, "/clientes");
+        registrarVersao(registry, TipoRecurso.VEICULO, "/veiculos");
+        registrarVersao(registry, TipoRecurso.OPORTUNIDADE, "/oportunidades");
+    }
+
+    private void registrarVersao(InterceptorRegistry registry, TipoRecurso tipo, String caminho) {
+        registry.addInterceptor(new VersaoRecursoInterceptor(versaoRecursoService, tipo))
+                .addPathPatterns(caminho, caminho + "/{id}")
+                .excludePathPatterns(caminho + "/export");
+    }
+}
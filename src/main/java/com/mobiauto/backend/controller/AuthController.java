@@ -1,9 +1,15 @@
 package com.mobiauto.backend.controller;
 
+import com.mobiauto.backend.dto.CacheJwtDTO;
 import com.mobiauto.backend.dto.LoginRequestDTO;
 import com.mobiauto.backend.dto.LoginResponseDTO;
+import com.mobiauto.backend.dto.RefreshTokenRequestDTO;
 import com.mobiauto.backend.service.AuthService;
+import com.mobiauto.backend.service.permissao.Acao;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.permissao.RequerPermissao;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -22,4 +28,21 @@ public class AuthController {
     public ResponseEntity<LoginResponseDTO> login(@RequestBody LoginRequestDTO loginDTO) {
         return ResponseEntity.ok(authService.authenticate(loginDTO));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@RequestBody RefreshTokenRequestDTO refreshDTO) {
+        return ResponseEntity.ok(authService.renovar(refreshDTO));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshTokenRequestDTO refreshDTO) {
+        authService.logout(refreshDTO);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/cache")
+    @RequerPermissao(recurso = Recurso.DIAGNOSTICO, acao = Acao.CONSULTAR)
+    public ResponseEntity<CacheJwtDTO> estatisticasCache() {
+        return ResponseEntity.ok(authService.estatisticasCache());
+    }
 }
\ No newline at end of file
@@ -3,11 +3,17 @@ package com.mobiauto.backend.controller;
 import com.mobiauto.backend.controller.swagger.SwaggerClienteController;
 import com.mobiauto.backend.dto.ClienteRequestDTO;
 import com.mobiauto.backend.dto.ClienteResponseDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.service.ClienteService;
+import com.mobiauto.backend.service.exportacao.FormatoExportacao;
+import com.mobiauto.backend.service.permissao.Acao;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.permissao.RequerPermissao;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/clientes")
@@ -19,26 +25,42 @@ public class ClienteController implements SwaggerClienteController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ClienteResponseDTO>> listar() {
-        return ResponseEntity.ok(clienteService.findAll());
+    @RequerPermissao(recurso = Recurso.CLIENTE, acao = Acao.CONSULTAR)
+    public ResponseEntity<PaginaDTO<ClienteResponseDTO>> listar(@RequestParam(required = false) String after,
+                                                                @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(clienteService.findAll(after, limit));
+    }
+
+    @GetMapping("/export")
+    @RequerPermissao(recurso = Recurso.CLIENTE, acao = Acao.CONSULTAR)
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String format) {
+        FormatoExportacao formato = FormatoExportacao.de(format);
+        return ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("clientes." + formato.getExtensao()).build().toString())
+                .body(saida -> clienteService.exportar(formato, saida));
     }
 
     @GetMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.CLIENTE, acao = Acao.CONSULTAR)
     public ResponseEntity<ClienteResponseDTO> buscarPorId(@PathVariable Long id) {
         return ResponseEntity.ok(clienteService.findById(id));
     }
 
     @PostMapping
+    @RequerPermissao(recurso = Recurso.CLIENTE, acao = Acao.CRIAR)
     public ResponseEntity<ClienteResponseDTO> criar(@RequestBody ClienteRequestDTO clienteDTO) {
         return ResponseEntity.ok(clienteService.save(clienteDTO));
     }
 
     @PutMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.CLIENTE, acao = Acao.ATUALIZAR)
     public ResponseEntity<ClienteResponseDTO> atualizar(@PathVariable Long id, @RequestBody ClienteRequestDTO clienteDTO) {
         return ResponseEntity.ok(clienteService.update(id, clienteDTO));
     }
 
     @DeleteMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.CLIENTE, acao = Acao.EXCLUIR)
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
         clienteService.delete(id);
         return ResponseEntity.noContent().build();
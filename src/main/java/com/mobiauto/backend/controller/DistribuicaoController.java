@@ -0,0 +1,44 @@
+package com.mobiauto.backend.controller;
+
+import com.mobiauto.backend.controller.swagger.SwaggerDistribuicaoController;
+import com.mobiauto.backend.dto.DivergenciaCargaDTO;
+import com.mobiauto.backend.dto.RebalanceamentoDTO;
+import com.mobiauto.backend.service.DistribuicaoService;
+import com.mobiauto.backend.service.RebalanceamentoService;
+import com.mobiauto.backend.service.permissao.Acao;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.permissao.RequerPermissao;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/distribuicao")
+public class DistribuicaoController implements SwaggerDistribuicaoController {
+    private final DistribuicaoService distribuicaoService;
+    private final RebalanceamentoService rebalanceamentoService;
+
+    public DistribuicaoController(DistribuicaoService distribuicaoService, RebalanceamentoService rebalanceamentoService) {
+        this.distribuicaoService = distribuicaoService;
+        this.rebalanceamentoService = rebalanceamentoService;
+    }
+
+    @GetMapping("/consistencia")
+    @RequerPermissao(recurso = Recurso.DIAGNOSTICO, acao = Acao.CONSULTAR)
+    public ResponseEntity<List<DivergenciaCargaDTO>> verificarConsistencia() {
+        return ResponseEntity.ok(distribuicaoService.verificarConsistencia());
+    }
+
+    @PostMapping("/rebalanceamentos/{revendaId}")
+    @RequerPermissao(recurso = Recurso.REBALANCEAMENTO, acao = Acao.CRIAR)
+    public ResponseEntity<RebalanceamentoDTO> rebalancear(@PathVariable Long revendaId) {
+        return ResponseEntity.accepted().body(rebalanceamentoService.solicitar(revendaId));
+    }
+
+    @GetMapping("/rebalanceamentos/{revendaId}")
+    @RequerPermissao(recurso = Recurso.REBALANCEAMENTO, acao = Acao.CONSULTAR)
+    public ResponseEntity<RebalanceamentoDTO> consultarRebalanceamento(@PathVariable Long revendaId) {
+        return ResponseEntity.ok(rebalanceamentoService.consultar(revendaId));
+    }
+}
@@ -1,14 +1,26 @@
 package com.mobiauto.backend.controller;
 
 import com.mobiauto.backend.controller.swagger.SwaggerOportunidadeController;
+import com.mobiauto.backend.dto.OportunidadeFiltroDTO;
+import com.mobiauto.backend.dto.OportunidadeLoteResponseDTO;
 import com.mobiauto.backend.dto.OportunidadeRequestDTO;
 import com.mobiauto.backend.dto.OportunidadeResponseDTO;
 import com.mobiauto.backend.service.OportunidadeService;
+import com.mobiauto.backend.service.exportacao.FormatoExportacao;
+import com.mobiauto.backend.service.permissao.Acao;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.permissao.RequerPermissao;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
 @RestController
 @RequestMapping("/oportunidades")
 public class OportunidadeController implements SwaggerOportunidadeController {
@@ -19,26 +31,69 @@ public class OportunidadeController implements SwaggerOportunidadeController {
     }
 
     @GetMapping
-    public ResponseEntity<List<OportunidadeResponseDTO>> listar() {
-        return ResponseEntity.ok(oportunidadeService.findAll());
+    @RequerPermissao(recurso = Recurso.OPORTUNIDADE, acao = Acao.CONSULTAR)
+    public ResponseEntity<?> pesquisar(@ModelAttribute OportunidadeFiltroDTO filtro,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(required = false) Integer limit,
+                                       @RequestParam(required = false) String fields,
+                                       @RequestParam(defaultValue = "false") boolean normalized) {
+        if (normalized && fields != null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Os parâmetros fields e normalized não podem ser usados juntos");
+        }
+        if (normalized) {
+            return ResponseEntity.ok(oportunidadeService.findAllNormalizadas(filtro, after, limit));
+        }
+        if (fields == null) {
+            return ResponseEntity.ok(oportunidadeService.findAll(filtro, after, limit));
+        }
+        return ResponseEntity.ok(oportunidadeService.findAll(filtro, after, limit, fields));
+    }
+
+    @GetMapping("/export")
+    @RequerPermissao(recurso = Recurso.OPORTUNIDADE, acao = Acao.CONSULTAR)
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String format) {
+        FormatoExportacao formato = FormatoExportacao.de(format);
+        return ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("oportunidades." + formato.getExtensao()).build().toString())
+                .body(saida -> oportunidadeService.exportar(formato, saida));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<OportunidadeResponseDTO> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(oportunidadeService.findById(id));
+    @RequerPermissao(recurso = Recurso.OPORTUNIDADE, acao = Acao.CONSULTAR)
+    public ResponseEntity<?> detalhar(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(oportunidadeService.findById(id));
+        }
+        return ResponseEntity.ok(oportunidadeService.findById(id, fields));
     }
 
     @PostMapping
+    @RequerPermissao(recurso = Recurso.OPORTUNIDADE, acao = Acao.CRIAR)
     public ResponseEntity<OportunidadeResponseDTO> criar(@RequestBody OportunidadeRequestDTO oportunidadeDTO) {
         return ResponseEntity.ok(oportunidadeService.save(oportunidadeDTO));
     }
 
+    @PostMapping("/lote")
+    @RequerPermissao(recurso = Recurso.OPORTUNIDADE, acao = Acao.CRIAR)
+    public ResponseEntity<List<OportunidadeLoteResponseDTO>> criarLote(@RequestBody List<OportunidadeRequestDTO> oportunidadesDTO) {
+        return ResponseEntity.ok(oportunidadeService.saveLote(oportunidadesDTO));
+    }
+
+    @PostMapping("/proxima")
+    @RequerPermissao(recurso = Recurso.OPORTUNIDADE, acao = Acao.ATENDER)
+    public ResponseEntity<OportunidadeResponseDTO> reivindicarProxima() {
+        return ResponseEntity.ok(oportunidadeService.reivindicarProxima());
+    }
+
     @PutMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.OPORTUNIDADE, acao = Acao.ATUALIZAR)
     public ResponseEntity<OportunidadeResponseDTO> atualizar(@PathVariable Long id, @RequestBody OportunidadeRequestDTO oportunidadeDTO) {
         return ResponseEntity.ok(oportunidadeService.update(id, oportunidadeDTO));
     }
 
     @DeleteMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.OPORTUNIDADE, acao = Acao.EXCLUIR)
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
         oportunidadeService.delete(id);
         return ResponseEntity.noContent().build();
@@ -1,14 +1,16 @@
 package com.mobiauto.backend.controller;
 
 import com.mobiauto.backend.controller.swagger.SwaggerRevendaController;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.dto.RevendaRequestDTO;
 import com.mobiauto.backend.dto.RevendaResponseDTO;
 import com.mobiauto.backend.service.RevendaService;
+import com.mobiauto.backend.service.permissao.Acao;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.permissao.RequerPermissao;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/revendas")
 public class RevendaController implements SwaggerRevendaController {
@@ -19,26 +21,32 @@ public class RevendaController implements SwaggerRevendaController {
     }
 
     @GetMapping
-    public ResponseEntity<List<RevendaResponseDTO>> listar() {
-        return ResponseEntity.ok(revendaService.findAll());
+    @RequerPermissao(recurso = Recurso.REVENDA, acao = Acao.CONSULTAR)
+    public ResponseEntity<PaginaDTO<RevendaResponseDTO>> listar(@RequestParam(required = false) String after,
+                                                                @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(revendaService.findAll(after, limit));
     }
 
     @GetMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.REVENDA, acao = Acao.CONSULTAR)
     public ResponseEntity<RevendaResponseDTO> buscarPorId(@PathVariable Long id) {
         return ResponseEntity.ok(revendaService.findById(id));
     }
 
     @PostMapping
+    @RequerPermissao(recurso = Recurso.REVENDA, acao = Acao.CRIAR)
     public ResponseEntity<RevendaResponseDTO> criar(@RequestBody RevendaRequestDTO revendaDTO) {
         return ResponseEntity.ok(revendaService.save(revendaDTO));
     }
 
     @PutMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.REVENDA, acao = Acao.ATUALIZAR)
     public ResponseEntity<RevendaResponseDTO> atualizar(@PathVariable Long id, @RequestBody RevendaRequestDTO revendaDTO) {
         return ResponseEntity.ok(revendaService.update(id, revendaDTO));
     }
 
     @DeleteMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.REVENDA, acao = Acao.EXCLUIR)
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
         revendaService.delete(id);
         return ResponseEntity.noContent().build();
@@ -1,14 +1,16 @@
 package com.mobiauto.backend.controller;
 
 import com.mobiauto.backend.controller.swagger.SwaggerUsuarioController;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.dto.UsuarioRequestDTO;
 import com.mobiauto.backend.dto.UsuarioResponseDTO;
 import com.mobiauto.backend.service.UsuarioService;
+import com.mobiauto.backend.service.permissao.Acao;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.permissao.RequerPermissao;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/usuarios")
 public class UsuarioController implements SwaggerUsuarioController {
@@ -19,31 +21,38 @@ public class UsuarioController implements SwaggerUsuarioController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UsuarioResponseDTO>> listar() {
-        return ResponseEntity.ok(usuarioService.findAll());
+    @RequerPermissao(recurso = Recurso.USUARIO, acao = Acao.CONSULTAR)
+    public ResponseEntity<PaginaDTO<UsuarioResponseDTO>> listar(@RequestParam(required = false) String after,
+                                                                @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(usuarioService.findAll(after, limit));
     }
 
     @GetMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.USUARIO, acao = Acao.CONSULTAR)
     public ResponseEntity<UsuarioResponseDTO> buscarPorId(@PathVariable Long id) {
         return ResponseEntity.ok(usuarioService.findById(id));
     }
 
     @GetMapping("/email/{email}")
+    @RequerPermissao(recurso = Recurso.USUARIO, acao = Acao.CONSULTAR)
     public ResponseEntity<UsuarioResponseDTO> buscarPorEmail(@PathVariable String email) {
         return ResponseEntity.ok(usuarioService.findByEmail(email));
     }
 
     @PostMapping
+    @RequerPermissao(recurso = Recurso.USUARIO, acao = Acao.CRIAR)
     public ResponseEntity<UsuarioResponseDTO> criar(@RequestBody UsuarioRequestDTO usuarioDTO) {
         return ResponseEntity.ok(usuarioService.save(usuarioDTO));
     }
 
     @PutMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.USUARIO, acao = Acao.ATUALIZAR)
     public ResponseEntity<UsuarioResponseDTO> atualizar(@PathVariable Long id, @RequestBody UsuarioRequestDTO usuarioDTO) {
         return ResponseEntity.ok(usuarioService.update(id, usuarioDTO));
     }
 
     @DeleteMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.USUARIO, acao = Acao.EXCLUIR)
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
         usuarioService.delete(id);
         return ResponseEntity.noContent().build();
@@ -1,11 +1,22 @@
 package com.mobiauto.backend.controller;
 
 import com.mobiauto.backend.controller.swagger.SwaggerVeiculoController;
+import com.mobiauto.backend.dto.FacetasVeiculoDTO;
+import com.mobiauto.backend.dto.IndiceSugestoesDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
+import com.mobiauto.backend.dto.SugestaoVeiculoDTO;
 import com.mobiauto.backend.dto.VeiculoRequestDTO;
 import com.mobiauto.backend.dto.VeiculoResponseDTO;
 import com.mobiauto.backend.service.VeiculoService;
+import com.mobiauto.backend.service.exportacao.FormatoExportacao;
+import com.mobiauto.backend.service.permissao.Acao;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.permissao.RequerPermissao;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,26 +30,75 @@ public class VeiculoController implements SwaggerVeiculoController {
     }
 
     @GetMapping
-    public ResponseEntity<List<VeiculoResponseDTO>> listar() {
-        return ResponseEntity.ok(veiculoService.findAll());
+    @RequerPermissao(recurso = Recurso.VEICULO, acao = Acao.CONSULTAR)
+    public ResponseEntity<PaginaDTO<VeiculoResponseDTO>> listar(@RequestParam(required = false) String after,
+                                                                @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(veiculoService.findAll(after, limit));
+    }
+
+    @GetMapping("/busca")
+    @RequerPermissao(recurso = Recurso.VEICULO, acao = Acao.CONSULTAR)
+    public ResponseEntity<PaginaDTO<VeiculoResponseDTO>> buscar(@RequestParam String q,
+                                                                @RequestParam(required = false) Integer anoDe,
+                                                                @RequestParam(required = false) Integer anoAte,
+                                                                @RequestParam(required = false) String after,
+                                                                @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(veiculoService.buscar(q, anoDe, anoAte, after, limit));
+    }
+
+    @GetMapping("/facetas")
+    @RequerPermissao(recurso = Recurso.VEICULO, acao = Acao.CONSULTAR)
+    public ResponseEntity<FacetasVeiculoDTO> facetas(@RequestParam(required = false) Long revendaId,
+                                                     @RequestParam(required = false) String marca,
+                                                     @RequestParam(required = false) String modelo,
+                                                     @RequestParam(required = false) Integer anoModelo) {
+        return ResponseEntity.ok(veiculoService.facetas(revendaId, marca, modelo, anoModelo));
+    }
+
+    @GetMapping("/sugestoes")
+    @RequerPermissao(recurso = Recurso.VEICULO, acao = Acao.CONSULTAR)
+    public ResponseEntity<List<SugestaoVeiculoDTO>> sugestoes(@RequestParam(required = false) Long revendaId,
+                                                              @RequestParam String prefixo,
+                                                              @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(veiculoService.sugestoes(revendaId, prefixo, limit));
+    }
+
+    @GetMapping("/sugestoes/indice")
+    @RequerPermissao(recurso = Recurso.DIAGNOSTICO, acao = Acao.CONSULTAR)
+    public ResponseEntity<IndiceSugestoesDTO> indiceSugestoes() {
+        return ResponseEntity.ok(veiculoService.indiceSugestoes());
+    }
+
+    @GetMapping("/export")
+    @RequerPermissao(recurso = Recurso.VEICULO, acao = Acao.CONSULTAR)
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String format) {
+        FormatoExportacao formato = FormatoExportacao.de(format);
+        return ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("veiculos." + formato.getExtensao()).build().toString())
+                .body(saida -> veiculoService.exportar(formato, saida));
     }
 
     @GetMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.VEICULO, acao = Acao.CONSULTAR)
     public ResponseEntity<VeiculoResponseDTO> buscarPorId(@PathVariable Long id) {
         return ResponseEntity.ok(veiculoService.findById(id));
     }
 
     @PostMapping
+    @RequerPermissao(recurso = Recurso.VEICULO, acao = Acao.CRIAR)
     public ResponseEntity<VeiculoResponseDTO> criar(@RequestBody VeiculoRequestDTO veiculoDTO) {
         return ResponseEntity.ok(veiculoService.save(veiculoDTO));
     }
 
     @PutMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.VEICULO, acao = Acao.ATUALIZAR)
     public ResponseEntity<VeiculoResponseDTO> atualizar(@PathVariable Long id, @RequestBody VeiculoRequestDTO veiculoDTO) {
         return ResponseEntity.ok(veiculoService.update(id, veiculoDTO));
     }
 
     @DeleteMapping("/{id}")
+    @RequerPermissao(recurso = Recurso.VEICULO, acao = Acao.EXCLUIR)
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
         veiculoService.delete(id);
         return ResponseEntity.noContent().build();
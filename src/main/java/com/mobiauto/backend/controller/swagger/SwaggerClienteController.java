@@ -5,5 +5,5 @@ import com.mobiauto.backend.dto.ClienteResponseDTO;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @Tag(name = "Clientes", description = "Endpoints para gerenciamento de clientes")
-public interface SwaggerClienteController extends SwaggerCrudController<ClienteResponseDTO, Long, ClienteRequestDTO> {
+public interface SwaggerClienteController extends SwaggerCrudController<ClienteResponseDTO, Long, ClienteRequestDTO>, SwaggerExportacaoController {
 }
\ No newline at end of file
@@ -1,23 +1,25 @@
 package com.mobiauto.backend.controller.swagger;
 
+import com.mobiauto.backend.dto.PaginaDTO;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.http.ResponseEntity;
 
-import java.util.List;
-
 @SecurityRequirement(name = "bearerAuth")
 public interface SwaggerCrudController<T, ID, R> {
 
-    @Operation(summary = "Lista todos os recursos", description = "Retorna a lista de recursos visíveis ao usuário logado")
+    @Operation(summary = "Lista os recursos por página", description = "Retorna uma página dos recursos visíveis ao usuário logado, em ordem de ID, com o cursor da próxima página quando houver")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
             @ApiResponse(responseCode = "403", description = "Acesso negado"),
             @ApiResponse(responseCode = "401", description = "Não autorizado")
     })
-    ResponseEntity<List<T>> listar();
+    ResponseEntity<PaginaDTO<T>> listar(@Parameter(description = "Cursor retornado em proximoCursor pela página anterior") String after,
+                                        @Parameter(description = "Quantidade de itens por página (padrão 50, máximo 500)") Integer limit);
 
     @Operation(summary = "Busca um recurso por ID", description = "Retorna os detalhes de um recurso específico")
     @ApiResponses(value = {
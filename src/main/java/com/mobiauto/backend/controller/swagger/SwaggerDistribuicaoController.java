@@ -0,0 +1,42 @@
+package com.mobiauto.backend.controller.swagger;
+
+import com.mobiauto.backend.dto.DivergenciaCargaDTO;
+import com.mobiauto.backend.dto.RebalanceamentoDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Distribuição", description = "Endpoints para acompanhamento da distribuição de oportunidades")
+public interface SwaggerDistribuicaoController {
+
+    @Operation(summary = "Verifica o índice de carga dos assistentes", description = "Compara a carga mantida em memória com o banco de dados e descarta as revendas divergentes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de divergências encontradas"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<List<DivergenciaCargaDTO>> verificarConsistencia();
+
+    @Operation(summary = "Rebalanceia as oportunidades de uma revenda", description = "Move oportunidades novas e em atendimento em lotes, em segundo plano, até que a diferença de carga entre os assistentes fique dentro da tolerância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Rebalanceamento iniciado ou já em andamento"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<RebalanceamentoDTO> rebalancear(Long revendaId);
+
+    @Operation(summary = "Consulta o progresso do rebalanceamento", description = "Retorna a situação do último rebalanceamento da revenda")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progresso do rebalanceamento"),
+            @ApiResponse(responseCode = "404", description = "Nenhum rebalanceamento registrado para a revenda"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<RebalanceamentoDTO> consultarRebalanceamento(Long revendaId);
+}
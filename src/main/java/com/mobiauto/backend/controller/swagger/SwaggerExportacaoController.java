@@ -0,0 +1,21 @@
+package com.mobiauto.backend.controller.swagger;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@SecurityRequirement(name = "bearerAuth")
+public interface SwaggerExportacaoController {
+
+    @Operation(summary = "Exporta todos os recursos", description = "Transmite todos os recursos visíveis ao usuário logado, em ordem de ID, uma linha por recurso, sem carregar o conjunto inteiro em memória")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação transmitida com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<StreamingResponseBody> exportar(@Parameter(description = "Formato da exportação: ndjson (padrão) ou csv") String format);
+}
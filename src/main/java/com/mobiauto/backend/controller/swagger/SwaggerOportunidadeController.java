@@ -1,9 +1,92 @@
 package com.mobiauto.backend.controller.swagger;
 
+import com.mobiauto.backend.dto.OportunidadeFiltroDTO;
+import com.mobiauto.backend.dto.OportunidadeLoteResponseDTO;
 import com.mobiauto.backend.dto.OportunidadeRequestDTO;
 import com.mobiauto.backend.dto.OportunidadeResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
+@SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Oportunidades", description = "Endpoints para gerenciamento de oportunidades")
-public interface SwaggerOportunidadeController extends SwaggerCrudController<OportunidadeResponseDTO, Long, OportunidadeRequestDTO> {
+public interface SwaggerOportunidadeController extends SwaggerExportacaoController {
+
+    @Operation(summary = "Pesquisa oportunidades por página", description = "Filtra as oportunidades da revenda do usuário logado por status, responsável, veículo, cliente e período de atribuição, em ordem de ID, com o cursor da próxima página quando houver; com fields, consulta e retorna apenas os campos informados; com normalized, cada cliente e veículo aparece uma única vez em incluidos e as oportunidades os referenciam por ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Filtro, cursor, limite ou campo inválido"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<?> pesquisar(@ParameterObject OportunidadeFiltroDTO filtro,
+                                @Parameter(description = "Cursor retornado em proximoCursor pela página anterior") String after,
+                                @Parameter(description = "Quantidade de itens por página (padrão 50, máximo 500)") Integer limit,
+                                @Parameter(description = "Campos separados por vírgula, ex.: status,cliente.nome,veiculo (o id é sempre retornado)") String fields,
+                                @Parameter(description = "Retorna clientes e veículos uma única vez em incluidos, sem repeti-los em cada oportunidade") boolean normalized);
+
+    @Operation(summary = "Busca uma oportunidade por ID", description = "Retorna os detalhes de uma oportunidade; com fields, consulta e retorna apenas os campos informados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Oportunidade encontrada"),
+            @ApiResponse(responseCode = "400", description = "Campo inválido"),
+            @ApiResponse(responseCode = "404", description = "Oportunidade não encontrada"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<?> detalhar(Long id,
+                               @Parameter(description = "Campos separados por vírgula, ex.: status,cliente.nome,veiculo (o id é sempre retornado)") String fields);
+
+    @Operation(summary = "Cria uma oportunidade", description = "Cria uma oportunidade e, sem responsável informado, a distribui a um assistente da revenda")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Oportunidade criada"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado"),
+            @ApiResponse(responseCode = "503", description = "Distribuição ocupada na revenda")
+    })
+    ResponseEntity<OportunidadeResponseDTO> criar(OportunidadeRequestDTO oportunidadeDTO);
+
+    @Operation(summary = "Cria oportunidades em lote", description = "Cria várias oportunidades em uma única requisição, distribuindo as que não têm responsável e retornando o resultado de cada item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; cada item traz seu próprio status"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado"),
+            @ApiResponse(responseCode = "503", description = "Distribuição ocupada na revenda")
+    })
+    ResponseEntity<List<OportunidadeLoteResponseDTO>> criarLote(List<OportunidadeRequestDTO> oportunidadesDTO);
+
+    @Operation(summary = "Assume a próxima oportunidade da fila", description = "Atribui ao assistente logado a oportunidade NOVO mais antiga sem responsável da sua revenda; assistentes concorrentes nunca recebem a mesma oportunidade")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Oportunidade assumida"),
+            @ApiResponse(responseCode = "404", description = "Nenhuma oportunidade aguardando na fila"),
+            @ApiResponse(responseCode = "409", description = "Limite de oportunidades em atendimento atingido"),
+            @ApiResponse(responseCode = "403", description = "Apenas assistentes podem assumir oportunidades"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<OportunidadeResponseDTO> reivindicarProxima();
+
+    @Operation(summary = "Atualiza uma oportunidade", description = "Atualiza os dados de uma oportunidade existente; assistentes só podem atualizar as próprias")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Oportunidade atualizada"),
+            @ApiResponse(responseCode = "404", description = "Oportunidade não encontrada"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<OportunidadeResponseDTO> atualizar(Long id, OportunidadeRequestDTO oportunidadeDTO);
+
+    @Operation(summary = "Exclui uma oportunidade", description = "Remove uma oportunidade da revenda")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Oportunidade excluída"),
+            @ApiResponse(responseCode = "404", description = "Oportunidade não encontrada"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<Void> deletar(Long id);
 }
\ No newline at end of file
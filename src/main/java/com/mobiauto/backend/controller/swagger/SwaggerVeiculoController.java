@@ -1,9 +1,63 @@
 package com.mobiauto.backend.controller.swagger;
 
+import com.mobiauto.backend.dto.FacetasVeiculoDTO;
+import com.mobiauto.backend.dto.IndiceSugestoesDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
+import com.mobiauto.backend.dto.SugestaoVeiculoDTO;
 import com.mobiauto.backend.dto.VeiculoRequestDTO;
 import com.mobiauto.backend.dto.VeiculoResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
 
 @Tag(name = "Veículos", description = "Endpoints para gerenciamento de veículos")
-public interface SwaggerVeiculoController extends SwaggerCrudController<VeiculoResponseDTO, Long, VeiculoRequestDTO> {
-}
\ No newline at end of file
+public interface SwaggerVeiculoController extends SwaggerCrudController<VeiculoResponseDTO, Long, VeiculoRequestDTO>, SwaggerExportacaoController {
+
+    @Operation(summary = "Busca veículos por texto", description = "Busca aproximada por marca, modelo, versão e ano nos veículos da revenda do usuário logado, ordenada por relevância e tolerante a erros de digitação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Termo, faixa de anos, cursor ou limite inválido"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<PaginaDTO<VeiculoResponseDTO>> buscar(@Parameter(description = "Termo de busca, ex.: civic exl 2022") String q,
+                                                         @Parameter(description = "Ano/modelo mínimo") Integer anoDe,
+                                                         @Parameter(description = "Ano/modelo máximo") Integer anoAte,
+                                                         @Parameter(description = "Cursor retornado em proximoCursor pela página anterior") String after,
+                                                         @Parameter(description = "Quantidade de itens por página (padrão 50, máximo 500)") Integer limit);
+
+    @Operation(summary = "Conta veículos por marca, modelo e ano", description = "Retorna as facetas do catálogo da revenda a partir de um índice em memória; cada faceta considera os filtros informados nas demais")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Facetas retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Revenda não informada pelo administrador"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<FacetasVeiculoDTO> facetas(@Parameter(description = "Revenda consultada (obrigatória para administradores)") Long revendaId,
+                                              @Parameter(description = "Marca selecionada") String marca,
+                                              @Parameter(description = "Modelo selecionado") String modelo,
+                                              @Parameter(description = "Ano/modelo selecionado") Integer anoModelo);
+
+    @Operation(summary = "Sugere marcas, modelos e versões pelo prefixo", description = "Consulta um índice em memória da revenda, sem acesso ao banco, ordenando as sugestões pela quantidade de veículos em estoque")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Prefixo ou limite inválido, ou revenda não informada pelo administrador"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<List<SugestaoVeiculoDTO>> sugestoes(@Parameter(description = "Revenda consultada (obrigatória para administradores)") Long revendaId,
+                                                       @Parameter(description = "Início da marca, modelo ou versão digitado") String prefixo,
+                                                       @Parameter(description = "Quantidade de sugestões (padrão 10, máximo 50)") Integer limit);
+
+    @Operation(summary = "Consulta o tamanho do índice de sugestões", description = "Retorna a quantidade de termos indexados e a memória estimada ocupada pelo índice nesta instância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    ResponseEntity<IndiceSugestoesDTO> indiceSugestoes();
+}
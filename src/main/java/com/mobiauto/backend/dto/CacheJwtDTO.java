@@ -0,0 +1,10 @@
+package com.mobiauto.backend.dto;
+
+public record CacheJwtDTO(
+        int tamanho,
+        int capacidade,
+        long acertos,
+        long faltas,
+        long remocoes,
+        double taxaAcerto
+) {}
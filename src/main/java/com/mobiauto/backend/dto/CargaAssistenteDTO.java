@@ -0,0 +1,3 @@
+package com.mobiauto.backend.dto;
+
+public record CargaAssistenteDTO(Long revendaId, Long usuarioId, Long emAtendimento) {}
@@ -0,0 +1,3 @@
+package com.mobiauto.backend.dto;
+
+public record DivergenciaCargaDTO(Long revendaId, Long usuarioId, Long cargaIndice, Long cargaBanco) {}
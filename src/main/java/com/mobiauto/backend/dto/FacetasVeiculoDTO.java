@@ -0,0 +1,12 @@
+package com.mobiauto.backend.dto;
+
+import java.util.List;
+
+public record FacetasVeiculoDTO(
+        int total,
+        List<ContagemDTO> marcas,
+        List<ContagemDTO> modelos,
+        List<ContagemDTO> anos
+) {
+    public record ContagemDTO(String valor, int quantidade) {}
+}
@@ -0,0 +1,10 @@
+package com.mobiauto.backend.dto;
+
+public record IndiceSugestoesDTO(
+        int revendas,
+        int veiculos,
+        int termos,
+        int termosDescartados,
+        int maxTermosPorRevenda,
+        long bytesEstimados
+) {}
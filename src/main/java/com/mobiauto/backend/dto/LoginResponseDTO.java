@@ -1,4 +1,4 @@
 package com.mobiauto.backend.dto;
 
-public record LoginResponseDTO(String accessToken, Long expiresIn) {
+public record LoginResponseDTO(String accessToken, Long expiresIn, String refreshToken, Long refreshExpiresIn) {
 }
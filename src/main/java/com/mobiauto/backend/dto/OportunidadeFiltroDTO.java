@@ -0,0 +1,19 @@
+package com.mobiauto.backend.dto;
+
+import com.mobiauto.backend.model.StatusOportunidade;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public record OportunidadeFiltroDTO(
+        StatusOportunidade status,
+        Long usuarioId,
+        Long veiculoId,
+        Long clienteId,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime atribuidaDe,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime atribuidaAte
+) {
+    public static OportunidadeFiltroDTO vazio() {
+        return new OportunidadeFiltroDTO(null, null, null, null, null, null);
+    }
+}
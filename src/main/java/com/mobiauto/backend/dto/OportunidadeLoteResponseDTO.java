@@ -0,0 +1,8 @@
+package com.mobiauto.backend.dto;
+
+public record OportunidadeLoteResponseDTO(
+        int indice,
+        int status,
+        OportunidadeResponseDTO oportunidade,
+        String erro
+) {}
@@ -1,5 +1,7 @@
 package com.mobiauto.backend.dto;
 
+import com.mobiauto.backend.model.StatusOportunidade;
+
 import java.time.LocalDateTime;
 
 public record OportunidadeResponseDTO(
@@ -13,6 +15,15 @@ public record OportunidadeResponseDTO(
         LocalDateTime dataAtribuicao,
         LocalDateTime dataConclusao
 ) {
+    public OportunidadeResponseDTO(Long id, Long clienteId, String clienteNome, String clienteEmail, String clienteTelefone,
+                                   Long veiculoId, String veiculoMarca, String veiculoModelo, String veiculoVersao, Integer veiculoAnoModelo,
+                                   Long usuarioId, Long revendaId, StatusOportunidade status, String motivoConclusao,
+                                   LocalDateTime dataAtribuicao, LocalDateTime dataConclusao) {
+        this(id, new ClienteDTO(clienteId, clienteNome, clienteEmail, clienteTelefone),
+                new VeiculoDTO(veiculoId, veiculoMarca, veiculoModelo, veiculoVersao, veiculoAnoModelo),
+                usuarioId, revendaId, status.name(), motivoConclusao, dataAtribuicao, dataConclusao);
+    }
+
     public record ClienteDTO(Long id, String nome, String email, String telefone) {}
     public record VeiculoDTO(Long id, String marca, String modelo, String versao, Integer anoModelo) {}
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.mobiauto.backend.dto;
+
+import com.mobiauto.backend.dto.OportunidadeResponseDTO.ClienteDTO;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO.VeiculoDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OportunidadesNormalizadasDTO(
+        List<ItemDTO> itens,
+        IncluidosDTO incluidos,
+        String proximoCursor
+) {
+    public record ItemDTO(
+            Long id,
+            Long clienteId,
+            Long veiculoId,
+            Long usuarioId,
+            Long revendaId,
+            String status,
+            String motivoConclusao,
+            LocalDateTime dataAtribuicao,
+            LocalDateTime dataConclusao
+    ) {}
+
+    public record IncluidosDTO(List<ClienteDTO> clientes, List<VeiculoDTO> veiculos) {}
+}
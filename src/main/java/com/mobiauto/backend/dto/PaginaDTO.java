@@ -0,0 +1,8 @@
+package com.mobiauto.backend.dto;
+
+import java.util.List;
+
+public record PaginaDTO<T>(
+        List<T> itens,
+        String proximoCursor
+) {}
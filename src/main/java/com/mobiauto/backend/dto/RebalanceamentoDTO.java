@@ -0,0 +1,17 @@
+package com.mobiauto.backend.dto;
+
+import com.mobiauto.backend.service.distribuicao.SituacaoRebalanceamento;
+
+import java.time.LocalDateTime;
+
+public record RebalanceamentoDTO(
+        Long revendaId,
+        SituacaoRebalanceamento situacao,
+        int lotes,
+        long oportunidadesMovidas,
+        Long diferencaInicial,
+        Long diferencaAtual,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        String erro
+) {}
@@ -0,0 +1,10 @@
+package com.mobiauto.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RefreshTokenRequestDTO {
+    private String refreshToken;
+}
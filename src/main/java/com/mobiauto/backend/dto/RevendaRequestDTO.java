@@ -1,5 +1,6 @@
 package com.mobiauto.backend.dto;
 
+import com.mobiauto.backend.model.EstrategiaDistribuicao;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,4 +11,9 @@ import lombok.NoArgsConstructor;
 public class RevendaRequestDTO {
     private String cnpj;
     private String nomeSocial;
+    private EstrategiaDistribuicao estrategiaDistribuicao;
+
+    public RevendaRequestDTO(String cnpj, String nomeSocial) {
+        this(cnpj, nomeSocial, null);
+    }
 }
\ No newline at end of file
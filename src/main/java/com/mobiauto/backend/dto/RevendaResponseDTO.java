@@ -1,3 +1,5 @@
 package com.mobiauto.backend.dto;
 
-public record RevendaResponseDTO(Long id, String cnpj, String nomeSocial) {}
\ No newline at end of file
+import com.mobiauto.backend.model.EstrategiaDistribuicao;
+
+public record RevendaResponseDTO(Long id, String cnpj, String nomeSocial, EstrategiaDistribuicao estrategiaDistribuicao) {}
\ No newline at end of file
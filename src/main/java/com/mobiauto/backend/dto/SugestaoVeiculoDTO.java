@@ -0,0 +1,5 @@
+package com.mobiauto.backend.dto;
+
+import com.mobiauto.backend.service.catalogo.TipoSugestao;
+
+public record SugestaoVeiculoDTO(String valor, TipoSugestao tipo, int quantidade) {}
@@ -10,6 +10,8 @@ public class UsuarioRequestDTO {
     private String senha;
     private Cargo cargo;
     private Long revendaId;
+    private Integer pesoDistribuicao;
+    private Integer limiteOportunidades;
 
     public UsuarioRequestDTO(String nome, String email, String senha, Cargo cargo, Long revendaId) {
         this.nome = nome;
@@ -10,5 +10,7 @@ public record UsuarioResponseDTO(
         String email,
         Cargo cargo,
         Long revendaId,
-        LocalDateTime dataUltimaAtribuicao
+        LocalDateTime dataUltimaAtribuicao,
+        Integer pesoDistribuicao,
+        Integer limiteOportunidades
 ) {}
\ No newline at end of file
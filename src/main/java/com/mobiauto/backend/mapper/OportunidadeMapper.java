@@ -1,6 +1,8 @@
 package com.mobiauto.backend.mapper;
 
 import com.mobiauto.backend.dto.OportunidadeResponseDTO;
+import com.mobiauto.backend.dto.OportunidadesNormalizadasDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.model.Cliente;
 import com.mobiauto.backend.model.Oportunidade;
 import com.mobiauto.backend.model.Veiculo;
@@ -8,6 +10,11 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Mapper(componentModel = "spring")
 public interface OportunidadeMapper {
     OportunidadeMapper INSTANCE = Mappers.getMapper(OportunidadeMapper.class);
@@ -22,4 +29,26 @@ public interface OportunidadeMapper {
     OportunidadeResponseDTO.ClienteDTO toClienteDTO(Cliente cliente);
 
     OportunidadeResponseDTO.VeiculoDTO toVeiculoDTO(Veiculo veiculo);
-}
\ No newline at end of file
+
+    @Mapping(source = "cliente.id", target = "clienteId")
+    @Mapping(source = "veiculo.id", target = "veiculoId")
+    OportunidadesNormalizadasDTO.ItemDTO toItemDTO(OportunidadeResponseDTO oportunidade);
+
+    default OportunidadesNormalizadasDTO toNormalizadasDTO(PaginaDTO<OportunidadeResponseDTO> pagina) {
+        List<OportunidadesNormalizadasDTO.ItemDTO> itens = new ArrayList<>(pagina.itens().size());
+        Map<Long, OportunidadeResponseDTO.ClienteDTO> clientes = new LinkedHashMap<>();
+        Map<Long, OportunidadeResponseDTO.VeiculoDTO> veiculos = new LinkedHashMap<>();
+        for (OportunidadeResponseDTO oportunidade : pagina.itens()) {
+            itens.add(toItemDTO(oportunidade));
+            if (oportunidade.cliente() != null) {
+                clientes.putIfAbsent(oportunidade.cliente().id(), oportunidade.cliente());
+            }
+            if (oportunidade.veiculo() != null) {
+                veiculos.putIfAbsent(oportunidade.veiculo().id(), oportunidade.veiculo());
+            }
+        }
+        return new OportunidadesNormalizadasDTO(itens,
+                new OportunidadesNormalizadasDTO.IncluidosDTO(List.copyOf(clientes.values()), List.copyOf(veiculos.values())),
+                pagina.proximoCursor());
+    }
+}
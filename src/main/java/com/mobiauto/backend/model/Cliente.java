@@ -2,8 +2,11 @@ package com.mobiauto.backend.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Filter;
 
 @Entity
+@Filter(name = Revenda.FILTRO_TENANT, condition = Revenda.CONDICAO_TENANT)
+@Table(indexes = @Index(name = "idx_cliente_revenda", columnList = "revenda_id, id"))
 @Data
 public class Cliente {
     @Id
@@ -19,7 +22,7 @@ public class Cliente {
     @Column(nullable = false)
     private String telefone;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "revenda_id", nullable = false)
     private Revenda revenda;
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.mobiauto.backend.model;
+
+public enum EstrategiaDistribuicao {
+    MENOR_CARGA,
+    MENOR_CARGA_PONDERADA,
+    CAPACIDADE_LIMITADA,
+    RODIZIO,
+    FILA
+}
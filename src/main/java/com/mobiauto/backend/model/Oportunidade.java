@@ -2,29 +2,46 @@ package com.mobiauto.backend.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Filter;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Filter(name = Revenda.FILTRO_TENANT, condition = Revenda.CONDICAO_TENANT)
+@NamedEntityGraph(name = Oportunidade.GRAFO_DETALHE, attributeNodes = {
+        @NamedAttributeNode("cliente"),
+        @NamedAttributeNode("veiculo")
+})
+@Table(indexes = {
+        @Index(name = "idx_oportunidade_revenda", columnList = "revenda_id, id"),
+        @Index(name = "idx_oportunidade_revenda_status", columnList = "revenda_id, status, data_atribuicao, id"),
+        @Index(name = "idx_oportunidade_revenda_usuario", columnList = "revenda_id, usuario_id, status, id"),
+        @Index(name = "idx_oportunidade_revenda_veiculo", columnList = "revenda_id, veiculo_id, id"),
+        @Index(name = "idx_oportunidade_revenda_cliente", columnList = "revenda_id, cliente_id, id"),
+        @Index(name = "idx_oportunidade_revenda_atribuicao", columnList = "revenda_id, data_atribuicao, id")
+})
 @Data
 public class Oportunidade {
+    public static final String GRAFO_DETALHE = "Oportunidade.detalhe";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "oportunidade_seq")
+    @SequenceGenerator(name = "oportunidade_seq", sequenceName = "oportunidade_id_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id", nullable = false)
     private Cliente cliente;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "veiculo_id", nullable = false)
     private Veiculo veiculo;
 
-    @ManyToOne
-    @JoinColumn(name = "usuario_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id")
     private Usuario usuario;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "revenda_id", nullable = false)
     private Revenda revenda;
 
@@ -0,0 +1,38 @@
+package com.mobiauto.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_refresh_token_familia", columnList = "familia"),
+        @Index(name = "idx_refresh_token_usuario", columnList = "usuario_id")
+})
+@Data
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 43)
+    private String hash;
+
+    @Column(nullable = false)
+    private UUID familia;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Usuario usuario;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column
+    private LocalDateTime revogadoEm;
+}
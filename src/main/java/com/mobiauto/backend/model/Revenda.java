@@ -3,17 +3,29 @@ package com.mobiauto.backend.model;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import br.com.caelum.stella.validation.CNPJValidator;
 import br.com.caelum.stella.validation.InvalidStateException;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 
 @Entity
+@FilterDef(name = Revenda.FILTRO_TENANT, applyToLoadByKey = true,
+        parameters = @ParamDef(name = Revenda.PARAMETRO_TENANT, type = Long.class))
+@Filter(name = Revenda.FILTRO_TENANT, condition = "id = :" + Revenda.PARAMETRO_TENANT)
 @Data
 @NoArgsConstructor
 public class Revenda {
+    public static final String FILTRO_TENANT = "revendaTenant";
+    public static final String PARAMETRO_TENANT = "revendaId";
+    public static final String CONDICAO_TENANT = "revenda_id = :" + PARAMETRO_TENANT;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -24,6 +36,10 @@ public class Revenda {
     @Column(nullable = false)
     private String nomeSocial;
 
+    @Column
+    @Enumerated(EnumType.STRING)
+    private EstrategiaDistribuicao estrategiaDistribuicao = EstrategiaDistribuicao.MENOR_CARGA;
+
     public void setCnpj(String cnpj) {
         CNPJValidator validator = new CNPJValidator();
         try {
@@ -3,6 +3,8 @@ package com.mobiauto.backend.model;
 import com.mobiauto.backend.dto.LoginRequestDTO;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Filter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,6 +15,11 @@ import java.util.Collection;
 import java.util.Collections;
 
 @Entity
+@Filter(name = Revenda.FILTRO_TENANT, condition = Revenda.CONDICAO_TENANT)
+@Table(indexes = {
+        @Index(name = "idx_usuario_distribuicao", columnList = "revenda_id, cargo, oportunidadesEmAtendimento, dataUltimaAtribuicao"),
+        @Index(name = "idx_usuario_revenda", columnList = "revenda_id, id")
+})
 @Data
 public class Usuario implements UserDetails {
 
@@ -33,13 +40,23 @@ public class Usuario implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Cargo cargo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "revenda_id", nullable = false)
     private Revenda revenda;
 
     @Column
     private LocalDateTime dataUltimaAtribuicao;
 
+    @Column
+    private Integer pesoDistribuicao;
+
+    @Column
+    private Integer limiteOportunidades;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long oportunidadesEmAtendimento = 0L;
+
     public Usuario() {
     }
 
@@ -2,8 +2,11 @@ package com.mobiauto.backend.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Filter;
 
 @Entity
+@Filter(name = Revenda.FILTRO_TENANT, condition = Revenda.CONDICAO_TENANT)
+@Table(indexes = @Index(name = "idx_veiculo_revenda", columnList = "revenda_id, id"))
 @Data
 public class Veiculo {
     @Id
@@ -22,7 +25,7 @@ public class Veiculo {
     @Column(nullable = false)
     private Integer anoModelo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "revenda_id", nullable = false)
     private Revenda revenda;
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.mobiauto.backend.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+@Getter
+@AllArgsConstructor
+public enum CampoOportunidade {
+    ID("id", null, "id"),
+    CLIENTE_ID("cliente.id", "cliente", "id"),
+    CLIENTE_NOME("cliente.nome", "cliente", "nome"),
+    CLIENTE_EMAIL("cliente.email", "cliente", "email"),
+    CLIENTE_TELEFONE("cliente.telefone", "cliente", "telefone"),
+    VEICULO_ID("veiculo.id", "veiculo", "id"),
+    VEICULO_MARCA("veiculo.marca", "veiculo", "marca"),
+    VEICULO_MODELO("veiculo.modelo", "veiculo", "modelo"),
+    VEICULO_VERSAO("veiculo.versao", "veiculo", "versao"),
+    VEICULO_ANO_MODELO("veiculo.anoModelo", "veiculo", "anoModelo"),
+    USUARIO_ID("usuarioId", "usuario", "id"),
+    REVENDA_ID("revendaId", "revenda", "id"),
+    STATUS("status", null, "status"),
+    MOTIVO_CONCLUSAO("motivoConclusao", null, "motivoConclusao"),
+    DATA_ATRIBUICAO("dataAtribuicao", null, "dataAtribuicao"),
+    DATA_CONCLUSAO("dataConclusao", null, "dataConclusao");
+
+    private final String nome;
+    private final String associacao;
+    private final String atributo;
+
+    public static Set<CampoOportunidade> de(String campos) {
+        Set<CampoOportunidade> selecionados = EnumSet.of(ID);
+        for (String campo : campos.split(",")) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            List<CampoOportunidade> encontrados = Arrays.stream(values())
+                    .filter(c -> c.nome.equals(nome) || c.nome.startsWith(nome + "."))
+                    .toList();
+            if (encontrados.isEmpty()) {
+                throw new ResponseStatusException(BAD_REQUEST, "Campo inválido: " + nome);
+            }
+            selecionados.addAll(encontrados);
+        }
+        return selecionados;
+    }
+}
@@ -1,11 +1,34 @@
 package com.mobiauto.backend.repository;
 
+import com.mobiauto.backend.dto.ClienteResponseDTO;
 import com.mobiauto.backend.model.Cliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM cliente WHERE email = :email)", nativeQuery = true)
     boolean existsByEmail(String email);
-    List<Cliente> findAllByRevenda_Id(Long revendaId);
+
+    @Query("SELECT new com.mobiauto.backend.dto.ClienteResponseDTO(c.id, c.nome, c.email, c.telefone, c.revenda.id) FROM Cliente c " +
+            "WHERE c.id > :id ORDER BY c.id")
+    List<ClienteResponseDTO> listarPagina(Long id, Limit limit);
+
+    @Query("SELECT new com.mobiauto.backend.dto.ClienteResponseDTO(c.id, c.nome, c.email, c.telefone, c.revenda.id) FROM Cliente c " +
+            "WHERE c.revenda.id = :revendaId AND c.id > :id ORDER BY c.id")
+    List<ClienteResponseDTO> listarPaginaPorRevenda(Long revendaId, Long id, Limit limit);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c FROM Cliente c ORDER BY c.id")
+    Stream<Cliente> exportarTodos();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c FROM Cliente c WHERE c.revenda.id = :revendaId ORDER BY c.id")
+    Stream<Cliente> exportarPorRevenda(Long revendaId);
 }
\ No newline at end of file
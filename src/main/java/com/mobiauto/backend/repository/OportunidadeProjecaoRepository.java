@@ -0,0 +1,16 @@
+package com.mobiauto.backend.repository;
+
+import com.mobiauto.backend.dto.OportunidadeResponseDTO;
+import com.mobiauto.backend.model.Oportunidade;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface OportunidadeProjecaoRepository {
+    List<OportunidadeResponseDTO> listarPagina(Specification<Oportunidade> specification, Limit limit);
+
+    List<Map<String, Object>> listarCampos(Specification<Oportunidade> specification, Set<CampoOportunidade> campos, Limit limit);
+}
@@ -0,0 +1,88 @@
+package com.mobiauto.backend.repository;
+
+import com.mobiauto.backend.dto.OportunidadeResponseDTO;
+import com.mobiauto.backend.model.Cliente;
+import com.mobiauto.backend.model.Oportunidade;
+import com.mobiauto.backend.model.Veiculo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class OportunidadeProjecaoRepositoryImpl implements OportunidadeProjecaoRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OportunidadeResponseDTO> listarPagina(Specification<Oportunidade> specification, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OportunidadeResponseDTO> query = cb.createQuery(OportunidadeResponseDTO.class);
+        Root<Oportunidade> root = query.from(Oportunidade.class);
+        Join<Oportunidade, Cliente> cliente = root.join("cliente");
+        Join<Oportunidade, Veiculo> veiculo = root.join("veiculo");
+
+        query.select(cb.construct(OportunidadeResponseDTO.class,
+                        root.get("id"),
+                        cliente.get("id"), cliente.get("nome"), cliente.get("email"), cliente.get("telefone"),
+                        veiculo.get("id"), veiculo.get("marca"), veiculo.get("modelo"), veiculo.get("versao"), veiculo.get("anoModelo"),
+                        root.get("usuario").get("id"), root.get("revenda").get("id"), root.get("status"),
+                        root.get("motivoConclusao"), root.get("dataAtribuicao"), root.get("dataConclusao")))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit.max()).getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> listarCampos(Specification<Oportunidade> specification, Set<CampoOportunidade> campos, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Oportunidade> root = query.from(Oportunidade.class);
+        Map<String, Join<Oportunidade, ?>> juncoes = new HashMap<>();
+        List<CampoOportunidade> selecionados = List.copyOf(campos);
+
+        query.multiselect(selecionados.stream().<Selection<?>>map(campo -> caminho(root, juncoes, campo)).toList())
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit.max()).getResultList().stream()
+                .map(tupla -> linha(tupla, selecionados))
+                .toList();
+    }
+
+    private Path<?> caminho(Root<Oportunidade> root, Map<String, Join<Oportunidade, ?>> juncoes, CampoOportunidade campo) {
+        if (campo.getAssociacao() == null) {
+            return root.get(campo.getAtributo());
+        }
+        if (campo.getAtributo().equals("id")) {
+            return root.get(campo.getAssociacao()).get("id");
+        }
+        return juncoes.computeIfAbsent(campo.getAssociacao(), root::join).get(campo.getAtributo());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> linha(Tuple tupla, List<CampoOportunidade> campos) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        for (int i = 0; i < campos.size(); i++) {
+            CampoOportunidade campo = campos.get(i);
+            if (campo.getAssociacao() == null || !campo.getNome().contains(".")) {
+                linha.put(campo.getNome(), tupla.get(i));
+            } else {
+                ((Map<String, Object>) linha.computeIfAbsent(campo.getAssociacao(), k -> new LinkedHashMap<String, Object>()))
+                        .put(campo.getAtributo(), tupla.get(i));
+            }
+        }
+        return linha;
+    }
+}
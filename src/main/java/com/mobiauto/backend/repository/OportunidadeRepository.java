@@ -1,14 +1,59 @@
 package com.mobiauto.backend.repository;
 
+import com.mobiauto.backend.dto.CargaAssistenteDTO;
 import com.mobiauto.backend.model.Oportunidade;
+import com.mobiauto.backend.model.StatusOportunidade;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface OportunidadeRepository extends JpaRepository<Oportunidade, Long> {
-    List<Oportunidade> findAllByRevenda_Id(Long revendaId);
+public interface OportunidadeRepository extends JpaRepository<Oportunidade, Long>, OportunidadeProjecaoRepository {
+    @EntityGraph(Oportunidade.GRAFO_DETALHE)
+    Optional<Oportunidade> findDetalheById(Long id);
 
-    @Query("SELECT o FROM Oportunidade o WHERE o.usuario.id = :usuarioId AND o.status = 'EM_ATENDIMENTO'")
-    List<Oportunidade> findAllEmAtendimentoByUsuarioId(Long usuarioId);
-}
\ No newline at end of file
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT o FROM Oportunidade o JOIN FETCH o.cliente JOIN FETCH o.veiculo ORDER BY o.id")
+    Stream<Oportunidade> exportarTodos();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT o FROM Oportunidade o JOIN FETCH o.cliente JOIN FETCH o.veiculo WHERE o.revenda.id = :revendaId ORDER BY o.id")
+    Stream<Oportunidade> exportarPorRevenda(Long revendaId);
+
+    boolean existsByUsuario_IdAndStatus(Long usuarioId, StatusOportunidade status);
+
+    @Query("SELECT new com.mobiauto.backend.dto.CargaAssistenteDTO(o.revenda.id, o.usuario.id, COUNT(o)) FROM Oportunidade o " +
+            "WHERE o.revenda.id = :revendaId AND o.status = 'EM_ATENDIMENTO' GROUP BY o.revenda.id, o.usuario.id")
+    List<CargaAssistenteDTO> contarEmAtendimentoPorUsuario(Long revendaId);
+
+    @Query("SELECT new com.mobiauto.backend.dto.CargaAssistenteDTO(o.revenda.id, o.usuario.id, COUNT(o)) FROM Oportunidade o " +
+            "WHERE o.status = 'EM_ATENDIMENTO' GROUP BY o.revenda.id, o.usuario.id")
+    List<CargaAssistenteDTO> contarEmAtendimentoPorUsuario();
+
+    @Query("SELECT new com.mobiauto.backend.dto.CargaAssistenteDTO(o.revenda.id, o.usuario.id, COUNT(o)) FROM Oportunidade o " +
+            "WHERE o.revenda.id = :revendaId AND o.status IN ('NOVO', 'EM_ATENDIMENTO') GROUP BY o.revenda.id, o.usuario.id")
+    List<CargaAssistenteDTO> contarAbertasPorUsuario(Long revendaId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE oportunidade SET usuario_id = :destinoId, data_atribuicao = :agora WHERE id IN (" +
+            "SELECT id FROM oportunidade WHERE usuario_id = :origemId AND status IN ('NOVO', 'EM_ATENDIMENTO') " +
+            "ORDER BY CASE status WHEN 'NOVO' THEN 0 ELSE 1 END, data_atribuicao DESC " +
+            "LIMIT :quantidade FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int transferirAbertas(Long origemId, Long destinoId, int quantidade, LocalDateTime agora);
+
+    @Transactional
+    @Query(value = "UPDATE oportunidade SET usuario_id = :usuarioId, status = 'EM_ATENDIMENTO', data_atribuicao = :agora " +
+            "WHERE id = (SELECT id FROM oportunidade WHERE revenda_id = :revendaId AND usuario_id IS NULL AND status = 'NOVO' " +
+            "ORDER BY data_atribuicao, id LIMIT 1 FOR UPDATE SKIP LOCKED) RETURNING id", nativeQuery = true)
+    Optional<Long> reivindicarProxima(Long revendaId, Long usuarioId, LocalDateTime agora);
+}
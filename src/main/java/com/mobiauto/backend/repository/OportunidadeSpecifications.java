@@ -0,0 +1,47 @@
+package com.mobiauto.backend.repository;
+
+import com.mobiauto.backend.dto.OportunidadeFiltroDTO;
+import com.mobiauto.backend.model.Oportunidade;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OportunidadeSpecifications {
+
+    private OportunidadeSpecifications() {}
+
+    public static Specification<Oportunidade> filtrar(Long revendaId, OportunidadeFiltroDTO filtro, Long aPartirDe) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (revendaId != null) {
+                predicados.add(cb.equal(root.get("revenda").get("id"), revendaId));
+            }
+            if (filtro.status() != null) {
+                predicados.add(cb.equal(root.get("status"), filtro.status()));
+            }
+            if (filtro.usuarioId() != null) {
+                predicados.add(cb.equal(root.get("usuario").get("id"), filtro.usuarioId()));
+            }
+            if (filtro.veiculoId() != null) {
+                predicados.add(cb.equal(root.get("veiculo").get("id"), filtro.veiculoId()));
+            }
+            if (filtro.clienteId() != null) {
+                predicados.add(cb.equal(root.get("cliente").get("id"), filtro.clienteId()));
+            }
+            if (filtro.atribuidaDe() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("dataAtribuicao"), filtro.atribuidaDe()));
+            }
+            if (filtro.atribuidaAte() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("dataAtribuicao"), filtro.atribuidaAte()));
+            }
+            predicados.add(cb.greaterThan(root.get("id"), aPartirDe));
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Oportunidade> comId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+}
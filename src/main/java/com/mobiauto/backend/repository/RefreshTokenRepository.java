@@ -0,0 +1,42 @@
+package com.mobiauto.backend.repository;
+
+import com.mobiauto.backend.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.usuario u JOIN FETCH u.revenda WHERE t.hash = :hash")
+    Optional<RefreshToken> findByHash(String hash);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revogadoEm = :agora WHERE t.id = :id AND t.revogadoEm IS NULL")
+    int revogar(Long id, LocalDateTime agora);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revogadoEm = :agora WHERE t.familia = :familia AND t.revogadoEm IS NULL")
+    int revogarFamilia(UUID familia, LocalDateTime agora);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revogadoEm = :agora WHERE t.revogadoEm IS NULL " +
+            "AND t.familia = (SELECT r.familia FROM RefreshToken r WHERE r.hash = :hash)")
+    int revogarFamiliaPorHash(String hash, LocalDateTime agora);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revogadoEm = :agora WHERE t.usuario.id = :usuarioId AND t.revogadoEm IS NULL")
+    int revogarPorUsuario(Long usuarioId, LocalDateTime agora);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiraEm < :limite")
+    int excluirExpirados(LocalDateTime limite);
+}
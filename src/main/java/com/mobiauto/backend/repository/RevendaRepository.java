@@ -1,8 +1,26 @@
 package com.mobiauto.backend.repository;
 
+import com.mobiauto.backend.dto.RevendaResponseDTO;
 import com.mobiauto.backend.model.Revenda;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface RevendaRepository extends JpaRepository<Revenda, Long> {
     boolean existsByCnpj(String cnpj);
+
+    @Query("SELECT new com.mobiauto.backend.dto.RevendaResponseDTO(r.id, r.cnpj, r.nomeSocial, r.estrategiaDistribuicao) FROM Revenda r " +
+            "WHERE r.id > :id ORDER BY r.id")
+    List<RevendaResponseDTO> listarPagina(Long id, Limit limit);
+
+    @Query("SELECT new com.mobiauto.backend.dto.RevendaResponseDTO(r.id, r.cnpj, r.nomeSocial, r.estrategiaDistribuicao) FROM Revenda r " +
+            "WHERE r.id = :id")
+    Optional<RevendaResponseDTO> buscarResumo(Long id);
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtextextended('distribuicao:' || CAST(:revendaId AS text), 0))",
+            nativeQuery = true)
+    boolean tentarTravarDistribuicao(Long revendaId);
 }
\ No newline at end of file
@@ -1,14 +1,71 @@
 package com.mobiauto.backend.repository;
 
+import com.mobiauto.backend.dto.UsuarioResponseDTO;
 import com.mobiauto.backend.model.Cargo;
 import com.mobiauto.backend.model.Usuario;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
-    List<Usuario> findAllByRevenda_Id(Long revendaId);
     List<Usuario> findByCargoAndRevendaId(Cargo cargo, Long id);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = "revenda")
+    List<Usuario> findByCargo(Cargo cargo);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM usuario WHERE email = :email)", nativeQuery = true)
+    boolean existsByEmail(String email);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM Usuario u WHERE u.id = :id")
+    Optional<Usuario> travarPorId(Long id);
+
+    @Query("SELECT new com.mobiauto.backend.dto.UsuarioResponseDTO(u.id, u.nome, u.email, u.cargo, u.revenda.id, " +
+            "u.dataUltimaAtribuicao, u.pesoDistribuicao, u.limiteOportunidades) FROM Usuario u " +
+            "WHERE u.id > :id ORDER BY u.id")
+    List<UsuarioResponseDTO> listarPagina(Long id, Limit limit);
+
+    @Query("SELECT new com.mobiauto.backend.dto.UsuarioResponseDTO(u.id, u.nome, u.email, u.cargo, u.revenda.id, " +
+            "u.dataUltimaAtribuicao, u.pesoDistribuicao, u.limiteOportunidades) FROM Usuario u " +
+            "WHERE u.revenda.id = :revendaId AND u.id > :id ORDER BY u.id")
+    List<UsuarioResponseDTO> listarPaginaPorRevenda(Long revendaId, Long id, Limit limit);
+
+    @Query("SELECT u FROM Usuario u WHERE u.cargo = :cargo AND u.revenda.id = :revendaId " +
+            "ORDER BY u.oportunidadesEmAtendimento, u.dataUltimaAtribuicao NULLS FIRST, u.id")
+    List<Usuario> findMenosCarregados(Cargo cargo, Long revendaId, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE usuario SET oportunidades_em_atendimento = GREATEST(oportunidades_em_atendimento + :delta, 0) " +
+            "WHERE id = :usuarioId", nativeQuery = true)
+    void ajustarOportunidadesEmAtendimento(Long usuarioId, long delta);
+
+    @Query("SELECT u.id FROM Usuario u WHERE u.id > :id ORDER BY u.id")
+    List<Long> listarIds(Long id, Limit limit);
+
+    @Query(value = "SELECT u.id FROM usuario u WHERE u.id IN (:usuarioIds) AND u.oportunidades_em_atendimento <> (" +
+            "SELECT COUNT(o.id) FROM oportunidade o WHERE o.usuario_id = u.id AND o.status = 'EM_ATENDIMENTO') " +
+            "ORDER BY u.id", nativeQuery = true)
+    List<Long> buscarContadoresDivergentes(Collection<Long> usuarioIds);
+
+    @Transactional
+    @Query(value = "SELECT id FROM usuario WHERE id IN (:usuarioIds) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> travarPorIds(Collection<Long> usuarioIds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE usuario u SET oportunidades_em_atendimento = (" +
+            "SELECT COUNT(o.id) FROM oportunidade o WHERE o.usuario_id = u.id AND o.status = 'EM_ATENDIMENTO') " +
+            "WHERE u.id IN (:usuarioIds)", nativeQuery = true)
+    void recalcularOportunidadesEmAtendimento(Collection<Long> usuarioIds);
+}
@@ -1,10 +1,51 @@
 package com.mobiauto.backend.repository;
 
+import com.mobiauto.backend.dto.VeiculoResponseDTO;
 import com.mobiauto.backend.model.Veiculo;
+import com.mobiauto.backend.service.catalogo.VeiculoFaceta;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface VeiculoRepository extends JpaRepository<Veiculo, Long> {
-    List<Veiculo> findAllByRevenda_Id(Long revendaId);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.mobiauto.backend.dto.VeiculoResponseDTO(v.id, v.marca, v.modelo, v.versao, v.anoModelo, v.revenda.id) FROM Veiculo v " +
+            "WHERE v.id > :id ORDER BY v.id")
+    List<VeiculoResponseDTO> listarPagina(Long id, Limit limit);
+
+    @Query("SELECT new com.mobiauto.backend.dto.VeiculoResponseDTO(v.id, v.marca, v.modelo, v.versao, v.anoModelo, v.revenda.id) FROM Veiculo v " +
+            "WHERE v.revenda.id = :revendaId AND v.id > :id ORDER BY v.id")
+    List<VeiculoResponseDTO> listarPaginaPorRevenda(Long revendaId, Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.mobiauto.backend.service.catalogo.VeiculoFaceta(v.id, v.revenda.id, v.marca, v.modelo, v.versao, v.anoModelo) FROM Veiculo v")
+    List<VeiculoFaceta> listarFacetas();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT v FROM Veiculo v ORDER BY v.id")
+    Stream<Veiculo> exportarTodos();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT v FROM Veiculo v WHERE v.revenda.id = :revendaId ORDER BY v.id")
+    Stream<Veiculo> exportarPorRevenda(Long revendaId);
+
+    @Query(value = "SELECT v.* FROM veiculo v " +
+            "WHERE v.ano_modelo BETWEEN :anoDe AND :anoAte " +
+            "AND :termos <% lower(v.marca || ' ' || v.modelo || ' ' || v.versao || ' ' || CAST(v.ano_modelo AS text)) " +
+            "ORDER BY word_similarity(:termos, lower(v.marca || ' ' || v.modelo || ' ' || v.versao || ' ' || CAST(v.ano_modelo AS text))) DESC, v.id " +
+            "LIMIT :limite OFFSET :deslocamento", nativeQuery = true)
+    List<Veiculo> buscar(String termos, Integer anoDe, Integer anoAte, long deslocamento, int limite);
+
+    @Query(value = "SELECT v.* FROM veiculo v " +
+            "WHERE v.revenda_id = :revendaId AND v.ano_modelo BETWEEN :anoDe AND :anoAte " +
+            "AND :termos <% lower(v.marca || ' ' || v.modelo || ' ' || v.versao || ' ' || CAST(v.ano_modelo AS text)) " +
+            "ORDER BY word_similarity(:termos, lower(v.marca || ' ' || v.modelo || ' ' || v.versao || ' ' || CAST(v.ano_modelo AS text))) DESC, v.id " +
+            "LIMIT :limite OFFSET :deslocamento", nativeQuery = true)
+    List<Veiculo> buscarPorRevenda(Long revendaId, String termos, Integer anoDe, Integer anoAte, long deslocamento, int limite);
+}
@@ -1,18 +1,26 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.CachingJwtDecoder;
+import com.mobiauto.backend.dto.CacheJwtDTO;
 import com.mobiauto.backend.dto.LoginRequestDTO;
 import com.mobiauto.backend.dto.LoginResponseDTO;
+import com.mobiauto.backend.dto.RefreshTokenRequestDTO;
 import com.mobiauto.backend.model.Usuario;
 import com.mobiauto.backend.repository.UsuarioRepository;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.utils.JwtAuthUtil;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Collections;
 
+import static com.mobiauto.backend.service.permissao.Acao.CONSULTAR;
 import static java.time.Instant.now;
 
 @Service
@@ -20,12 +28,17 @@ public class AuthService {
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtEncoder jwtEncoder;
+    private final CachingJwtDecoder jwtDecoder;
+    private final RefreshTokenService refreshTokenService;
     private static final long EXPIRES_IN = 300L;
 
-    public AuthService(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder, JwtEncoder jwtEncoder) {
+    public AuthService(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder, JwtEncoder jwtEncoder,
+                       CachingJwtDecoder jwtDecoder, RefreshTokenService refreshTokenService) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtEncoder = jwtEncoder;
+        this.jwtDecoder = jwtDecoder;
+        this.refreshTokenService = refreshTokenService;
     }
 
     public LoginResponseDTO authenticate(LoginRequestDTO loginDTO) {
@@ -34,8 +47,34 @@ public class AuthService {
         if (!usuario.isLoginCorrect(passwordEncoder, loginDTO)) {
             throw new BadCredentialsException("Credenciais inválidas");
         }
-        var jwtValue = jwtValue(usuario);
-        return new LoginResponseDTO(jwtValue, EXPIRES_IN);
+        return resposta(refreshTokenService.emitir(usuario));
+    }
+
+    public LoginResponseDTO renovar(RefreshTokenRequestDTO refreshDTO) {
+        return resposta(refreshTokenService.rotacionar(refreshToken(refreshDTO)));
+    }
+
+    public void logout(RefreshTokenRequestDTO refreshDTO) {
+        refreshTokenService.revogar(refreshToken(refreshDTO));
+    }
+
+    public CacheJwtDTO estatisticasCache() {
+        if (!JwtAuthUtil.getPrincipal().pode(Recurso.DIAGNOSTICO, CONSULTAR)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas administradores podem consultar o cache de tokens");
+        }
+        return jwtDecoder.estatisticas();
+    }
+
+    private LoginResponseDTO resposta(RefreshTokenService.Emissao emissao) {
+        var jwtValue = jwtValue(emissao.usuario());
+        return new LoginResponseDTO(jwtValue, EXPIRES_IN, emissao.token(), emissao.expiresIn());
+    }
+
+    private String refreshToken(RefreshTokenRequestDTO refreshDTO) {
+        if (refreshDTO == null || refreshDTO.getRefreshToken() == null || refreshDTO.getRefreshToken().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe o refresh token");
+        }
+        return refreshDTO.getRefreshToken();
     }
 
     private String jwtValue(Usuario usuario) {
@@ -45,6 +84,7 @@ public class AuthService {
                 .issuedAt(now())
                 .expiresAt(now().plusSeconds(EXPIRES_IN))
                 .claim("roles", Collections.singletonList(usuario.getCargo().name()))
+                .claim("usuarioId", usuario.getId().toString())
                 .claim("revendaId", usuario.getRevenda().getId().toString())
                 .build();
         return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
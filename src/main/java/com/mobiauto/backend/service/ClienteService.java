@@ -1,21 +1,32 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.MobiautoPrincipal;
 import com.mobiauto.backend.dto.ClienteRequestDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.dto.ClienteResponseDTO;
 import com.mobiauto.backend.mapper.ClienteMapper;
-import com.mobiauto.backend.model.Cargo;
 import com.mobiauto.backend.model.Cliente;
 import com.mobiauto.backend.model.Revenda;
 import com.mobiauto.backend.repository.ClienteRepository;
 import com.mobiauto.backend.repository.RevendaRepository;
+import com.mobiauto.backend.service.exportacao.FormatoExportacao;
+import com.mobiauto.backend.service.permissao.Acao;
+import com.mobiauto.backend.service.permissao.Escopo;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.versao.TipoRecurso;
+import com.mobiauto.backend.utils.CursorUtil;
 import com.mobiauto.backend.utils.JwtAuthUtil;
 import lombok.AllArgsConstructor;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import static com.mobiauto.backend.service.permissao.Acao.*;
 import static org.springframework.http.HttpStatus.*;
 
 @AllArgsConstructor
@@ -24,42 +35,49 @@ public class ClienteService {
     private final ClienteRepository clienteRepository;
     private final RevendaRepository revendaRepository;
     private final ClienteMapper clienteMapper;
+    private final ExportacaoService exportacaoService;
+    private final VersaoRecursoService versaoRecursoService;
 
-    public List<ClienteResponseDTO> findAll() {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+    public PaginaDTO<ClienteResponseDTO> findAll(String cursor, Integer limite) {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+        Long aPartirDe = CursorUtil.decodificar(cursor);
+        int tamanho = CursorUtil.limite(limite);
 
-        if (cargos.contains(Cargo.ADMINISTRADOR)) {
-            return clienteRepository.findAll().stream()
-                    .map(clienteMapper::toResponseDTO)
-                    .toList();
+        if (principal.escopo(Recurso.CLIENTE, CONSULTAR) == Escopo.GLOBAL) {
+            return CursorUtil.paginar(clienteRepository.listarPagina(aPartirDe, CursorUtil.consulta(tamanho)),
+                    tamanho, ClienteResponseDTO::id, Function.identity());
         }
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        return clienteRepository.findAllByRevenda_Id(revendaId).stream()
-                .map(clienteMapper::toResponseDTO)
-                .toList();
+        long revendaId = principal.getRevendaId();
+        return CursorUtil.paginar(clienteRepository.listarPaginaPorRevenda(revendaId, aPartirDe, CursorUtil.consulta(tamanho)),
+                tamanho, ClienteResponseDTO::id, Function.identity());
+    }
+
+    @Transactional(readOnly = true)
+    public void exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+
+        Stream<Cliente> clientes = principal.escopo(Recurso.CLIENTE, CONSULTAR) == Escopo.GLOBAL
+                ? clienteRepository.exportarTodos()
+                : clienteRepository.exportarPorRevenda(principal.getRevendaId());
+        exportacaoService.exportar(clientes, clienteMapper::toResponseDTO, ClienteResponseDTO.class, formato, saida);
     }
 
     public ClienteResponseDTO findById(Long id) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Cliente não encontrado"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        checkRevendaAccess(cargos, revendaId, cliente.getRevenda().getId());
+        checkRevendaAccess(principal, CONSULTAR, cliente.getRevenda().getId());
 
         return clienteMapper.toResponseDTO(cliente);
     }
 
     public ClienteResponseDTO save(ClienteRequestDTO dto) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        checkRevendaAccess(cargos, revendaId, dto.getRevendaId());
+        checkRevendaAccess(principal, CRIAR, dto.getRevendaId());
 
         if (clienteRepository.existsByEmail(dto.getEmail())) {
             throw new ResponseStatusException(CONFLICT, "Email já cadastrado: " + dto.getEmail());
@@ -73,18 +91,18 @@ public class ClienteService {
         cliente.setEmail(dto.getEmail());
         cliente.setTelefone(dto.getTelefone());
         cliente.setRevenda(revenda);
-        return clienteMapper.toResponseDTO(clienteRepository.save(cliente));
+        Cliente salvo = clienteRepository.save(cliente);
+        versaoRecursoService.registrarAlteracao(revenda.getId(), TipoRecurso.CLIENTE);
+        return clienteMapper.toResponseDTO(salvo);
     }
 
     public ClienteResponseDTO update(Long id, ClienteRequestDTO dto) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Cliente não encontrado"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        checkRevendaAccess(cargos, revendaId, cliente.getRevenda().getId());
+        checkRevendaAccess(principal, ATUALIZAR, cliente.getRevenda().getId());
 
         if (!cliente.getEmail().equals(dto.getEmail()) && clienteRepository.existsByEmail(dto.getEmail())) {
             throw new ResponseStatusException(CONFLICT, "Email já cadastrado: " + dto.getEmail());
@@ -96,25 +114,28 @@ public class ClienteService {
         cliente.setNome(dto.getNome());
         cliente.setEmail(dto.getEmail());
         cliente.setTelefone(dto.getTelefone());
+        Long revendaAnteriorId = cliente.getRevenda().getId();
         cliente.setRevenda(revenda);
-        return clienteMapper.toResponseDTO(clienteRepository.save(cliente));
+        Cliente salvo = clienteRepository.save(cliente);
+        versaoRecursoService.registrarAlteracao(revendaAnteriorId, TipoRecurso.CLIENTE, TipoRecurso.OPORTUNIDADE);
+        versaoRecursoService.registrarAlteracao(revenda.getId(), TipoRecurso.CLIENTE, TipoRecurso.OPORTUNIDADE);
+        return clienteMapper.toResponseDTO(salvo);
     }
 
     public void delete(Long id) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Cliente não encontrado"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        checkRevendaAccess(cargos, revendaId, cliente.getRevenda().getId());
+        checkRevendaAccess(principal, EXCLUIR, cliente.getRevenda().getId());
 
         clienteRepository.deleteById(id);
+        versaoRecursoService.registrarAlteracao(cliente.getRevenda().getId(), TipoRecurso.CLIENTE, TipoRecurso.OPORTUNIDADE);
     }
 
-    private void checkRevendaAccess(List<Cargo> cargos, Long revendaIdUsuario, Long revendaIdRecurso) {
-        if (!cargos.contains(Cargo.ADMINISTRADOR) && !revendaIdUsuario.equals(revendaIdRecurso)) {
+    private void checkRevendaAccess(MobiautoPrincipal principal, Acao acao, Long revendaIdRecurso) {
+        if (!principal.pode(Recurso.CLIENTE, acao, revendaIdRecurso)) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode gerenciar clientes da sua revenda");
         }
     }
@@ -0,0 +1,392 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.config.DistribuicaoProperties;
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.DivergenciaCargaDTO;
+import com.mobiauto.backend.model.EstrategiaDistribuicao;
+import com.mobiauto.backend.model.Oportunidade;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.StatusOportunidade;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.repository.OportunidadeRepository;
+import com.mobiauto.backend.repository.RevendaRepository;
+import com.mobiauto.backend.repository.UsuarioRepository;
+import com.mobiauto.backend.service.distribuicao.CargaAssistente;
+import com.mobiauto.backend.service.distribuicao.CargaAssistenteIndex;
+import com.mobiauto.backend.service.distribuicao.DistribuicaoStrategy;
+import com.mobiauto.backend.service.distribuicao.ModoDistribuicao;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.versao.TipoRecurso;
+import com.mobiauto.backend.utils.JwtAuthUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.mobiauto.backend.model.Cargo.ASSISTENTE;
+import static com.mobiauto.backend.service.permissao.Acao.CONSULTAR;
+import static org.springframework.http.HttpStatus.*;
+
+@Service
+public class DistribuicaoService {
+    private static final int LOTE_RECONCILIACAO = 500;
+
+    private final UsuarioRepository usuarioRepository;
+    private final OportunidadeRepository oportunidadeRepository;
+    private final RevendaRepository revendaRepository;
+    private final CargaAssistenteIndex cargaAssistenteIndex;
+    private final DistribuicaoProperties properties;
+    private final VersaoRecursoService versaoRecursoService;
+    private final Map<EstrategiaDistribuicao, DistribuicaoStrategy> estrategias = new EnumMap<>(EstrategiaDistribuicao.class);
+    private final Map<Long, ReentrantLock> travas = new ConcurrentHashMap<>();
+
+    public DistribuicaoService(UsuarioRepository usuarioRepository, OportunidadeRepository oportunidadeRepository,
+                               RevendaRepository revendaRepository, CargaAssistenteIndex cargaAssistenteIndex,
+                               DistribuicaoProperties properties, VersaoRecursoService versaoRecursoService,
+                               List<DistribuicaoStrategy> estrategias) {
+        this.usuarioRepository = usuarioRepository;
+        this.oportunidadeRepository = oportunidadeRepository;
+        this.revendaRepository = revendaRepository;
+        this.cargaAssistenteIndex = cargaAssistenteIndex;
+        this.properties = properties;
+        this.versaoRecursoService = versaoRecursoService;
+        estrategias.forEach(estrategia -> this.estrategias.put(estrategia.tipo(), estrategia));
+    }
+
+    @Transactional
+    public <T> T distribuir(Revenda revenda, Function<Usuario, T> atribuicao) {
+        return comTrava(revenda.getId(), () -> atribuicao.apply(buscarAssistente(escolherAssistente(revenda))));
+    }
+
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public <T> T distribuirLote(Revenda revenda, List<StatusOportunidade> status, LocalDateTime agora,
+                                Function<List<Usuario>, T> atribuicao) {
+        DistribuicaoStrategy estrategia = estrategia(revenda);
+        return comTrava(revenda.getId(), () -> {
+            PriorityQueue<CargaAssistente> fila = new PriorityQueue<>(estrategia.ordem());
+            fila.addAll(properties.modo() == ModoDistribuicao.CLUSTER
+                    ? carregarCargas(revenda.getId())
+                    : cargaAssistenteIndex.listar(revenda.getId(), estrategia, this::carregarCargas));
+
+            List<Long> escolhidos = new ArrayList<>(status.size());
+            for (StatusOportunidade statusItem : status) {
+                CargaAssistente carga = fila.poll();
+                while (carga != null && !estrategia.aceita(carga)) {
+                    carga = fila.poll();
+                }
+                if (carga == null) {
+                    break;
+                }
+                escolhidos.add(carga.usuarioId());
+                long emAtendimento = carga.emAtendimento() + (statusItem == StatusOportunidade.EM_ATENDIMENTO ? 1 : 0);
+                fila.add(carga.comCarga(emAtendimento).comAtribuicao(agora));
+            }
+            if (escolhidos.isEmpty()) {
+                return atribuicao.apply(List.of());
+            }
+
+            Map<Long, Usuario> assistentes = usuarioRepository.findAllById(new HashSet<>(escolhidos)).stream()
+                    .collect(Collectors.toMap(Usuario::getId, Function.identity()));
+            return atribuicao.apply(escolhidos.stream()
+                    .map(id -> Optional.ofNullable(assistentes.get(id))
+                            .orElseThrow(() -> new ResponseStatusException(INTERNAL_SERVER_ERROR, "Erro ao distribuir oportunidade")))
+                    .toList());
+        });
+    }
+
+    @Transactional
+    public int transferir(Long revendaId, Long origemId, Long destinoId, int quantidade) {
+        return comTrava(revendaId, () -> {
+            int movidas = oportunidadeRepository.transferirAbertas(origemId, destinoId, quantidade, LocalDateTime.now());
+            if (movidas > 0) {
+                List<Long> envolvidos = origemId < destinoId ? List.of(origemId, destinoId) : List.of(destinoId, origemId);
+                usuarioRepository.travarPorIds(envolvidos);
+                usuarioRepository.recalcularOportunidadesEmAtendimento(envolvidos);
+                aposCommit(() -> cargaAssistenteIndex.invalidar(revendaId));
+                versaoRecursoService.registrarAlteracao(revendaId, TipoRecurso.OPORTUNIDADE);
+            }
+            return movidas;
+        });
+    }
+
+    public void registrarAtribuicao(Usuario usuario) {
+        Long revendaId = usuario.getRevenda().getId();
+        Long usuarioId = usuario.getId();
+        LocalDateTime data = usuario.getDataUltimaAtribuicao();
+        aposCommit(() -> cargaAssistenteIndex.registrarAtribuicao(revendaId, usuarioId, data));
+    }
+
+    public void registrarEntrada(Oportunidade oportunidade) {
+        ajustarCarga(oportunidade, 1);
+    }
+
+    public void registrarSaida(Oportunidade oportunidade) {
+        ajustarCarga(oportunidade, -1);
+    }
+
+    public void registrarEntradas(List<Oportunidade> oportunidades) {
+        oportunidades.stream()
+                .filter(o -> o.getStatus() == StatusOportunidade.EM_ATENDIMENTO && o.getUsuario() != null)
+                .collect(Collectors.groupingBy(Oportunidade::getUsuario, () -> new TreeMap<>(Comparator.comparing(Usuario::getId)),
+                        Collectors.counting()))
+                .forEach((usuario, quantidade) -> ajustarCarga(usuario, quantidade));
+    }
+
+    public void registrarUsuario(Usuario usuario) {
+        if (usuario.getCargo() == ASSISTENTE) {
+            Long revendaId = usuario.getRevenda().getId();
+            CargaAssistente carga = toCarga(usuario);
+            aposCommit(() -> cargaAssistenteIndex.adicionarAssistente(revendaId, carga));
+        }
+    }
+
+    public void registrarAlteracaoUsuario(Long revendaAnteriorId, Usuario usuario) {
+        Long revendaId = usuario.getRevenda().getId();
+        aposCommit(() -> {
+            cargaAssistenteIndex.invalidar(revendaAnteriorId);
+            cargaAssistenteIndex.invalidar(revendaId);
+        });
+    }
+
+    public void removerUsuario(Usuario usuario) {
+        Long revendaId = usuario.getRevenda().getId();
+        Long usuarioId = usuario.getId();
+        aposCommit(() -> cargaAssistenteIndex.removerAssistente(revendaId, usuarioId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void inicializar() {
+        corrigirContadores();
+        reconstruirIndice();
+    }
+
+    public void reconstruirIndice() {
+        if (properties.modo() == ModoDistribuicao.CLUSTER) {
+            return;
+        }
+
+        List<Usuario> assistentes = usuarioRepository.findByCargo(ASSISTENTE);
+        Map<Long, List<CargaAssistente>> cargasPorRevenda = assistentes.stream()
+                .collect(Collectors.groupingBy(u -> u.getRevenda().getId(),
+                        Collectors.mapping(this::toCarga, Collectors.toList())));
+        Map<Long, DistribuicaoStrategy> estrategiasPorRevenda = new HashMap<>();
+        assistentes.forEach(u -> estrategiasPorRevenda.putIfAbsent(u.getRevenda().getId(), estrategia(u.getRevenda())));
+
+        cargaAssistenteIndex.reconstruir(cargasPorRevenda, estrategiasPorRevenda::get);
+    }
+
+    @Scheduled(cron = "${mobiauto.distribuicao.reconciliacao-cron:0 */15 * * * *}")
+    @Transactional
+    public int reconciliarContadores() {
+        int corrigidos = corrigirContadores();
+        if (corrigidos > 0) {
+            reconstruirIndice();
+        }
+        return corrigidos;
+    }
+
+    public List<DivergenciaCargaDTO> verificarConsistencia() {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+        if (!principal.pode(Recurso.DIAGNOSTICO, CONSULTAR)) {
+            throw new ResponseStatusException(FORBIDDEN, "Apenas administradores podem verificar a distribuição");
+        }
+
+        List<DivergenciaCargaDTO> divergencias = new ArrayList<>();
+        for (Long revendaId : cargaAssistenteIndex.revendasCarregadas()) {
+            Map<Long, Long> cargasIndice = cargaAssistenteIndex.cargas(revendaId);
+            Map<Long, Long> cargasBanco = new HashMap<>();
+            usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, revendaId).forEach(u -> cargasBanco.put(u.getId(), 0L));
+            oportunidadeRepository.contarEmAtendimentoPorUsuario(revendaId)
+                    .forEach(c -> cargasBanco.computeIfPresent(c.usuarioId(), (id, zero) -> c.emAtendimento()));
+
+            List<DivergenciaCargaDTO> divergenciasRevenda = new ArrayList<>();
+            cargasBanco.forEach((usuarioId, cargaBanco) -> {
+                Long cargaIndice = cargasIndice.get(usuarioId);
+                if (!cargaBanco.equals(cargaIndice)) {
+                    divergenciasRevenda.add(new DivergenciaCargaDTO(revendaId, usuarioId, cargaIndice, cargaBanco));
+                }
+            });
+            cargasIndice.keySet().stream()
+                    .filter(usuarioId -> !cargasBanco.containsKey(usuarioId))
+                    .forEach(usuarioId -> divergenciasRevenda.add(
+                            new DivergenciaCargaDTO(revendaId, usuarioId, cargasIndice.get(usuarioId), null)));
+
+            if (!divergenciasRevenda.isEmpty()) {
+                cargaAssistenteIndex.invalidar(revendaId);
+                divergencias.addAll(divergenciasRevenda);
+            }
+        }
+        return divergencias;
+    }
+
+    private int corrigirContadores() {
+        int corrigidos = 0;
+        List<Long> lote = usuarioRepository.listarIds(0L, Limit.of(LOTE_RECONCILIACAO));
+        while (!lote.isEmpty()) {
+            List<Long> divergentes = usuarioRepository.buscarContadoresDivergentes(lote);
+            if (!divergentes.isEmpty()) {
+                usuarioRepository.travarPorIds(divergentes);
+                usuarioRepository.recalcularOportunidadesEmAtendimento(divergentes);
+                corrigidos += divergentes.size();
+            }
+            lote = lote.size() < LOTE_RECONCILIACAO
+                    ? List.of()
+                    : usuarioRepository.listarIds(lote.get(lote.size() - 1), Limit.of(LOTE_RECONCILIACAO));
+        }
+        return corrigidos;
+    }
+
+    private <T> T comTrava(Long revendaId, Supplier<T> acao) {
+        if (properties.modo() == ModoDistribuicao.CLUSTER) {
+            travarNoBanco(revendaId);
+            return acao.get();
+        }
+
+        ReentrantLock trava = travas.computeIfAbsent(revendaId, id -> new ReentrantLock());
+        travarLocalmente(trava);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                return acao.get();
+            } finally {
+                trava.unlock();
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                trava.unlock();
+            }
+        });
+        return acao.get();
+    }
+
+    private void aposCommit(Runnable alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alteracao.run();
+            }
+        });
+    }
+
+    private void travarNoBanco(Long revendaId) {
+        for (int tentativa = 1; tentativa <= properties.tentativasTrava(); tentativa++) {
+            if (revendaRepository.tentarTravarDistribuicao(revendaId)) {
+                return;
+            }
+            aguardar(properties.esperaTravaMs() * tentativa);
+        }
+        throw distribuicaoOcupada();
+    }
+
+    private void travarLocalmente(ReentrantLock trava) {
+        try {
+            if (!trava.tryLock(properties.esperaTravaMs() * properties.tentativasTrava(), TimeUnit.MILLISECONDS)) {
+                throw distribuicaoOcupada();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw distribuicaoOcupada();
+        }
+    }
+
+    private void aguardar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw distribuicaoOcupada();
+        }
+    }
+
+    private Long escolherAssistente(Revenda revenda) {
+        DistribuicaoStrategy estrategia = estrategia(revenda);
+        if (properties.modo() == ModoDistribuicao.MEMORIA) {
+            return cargaAssistenteIndex.escolher(revenda.getId(), estrategia, this::carregarCargas)
+                    .orElseThrow(this::semAssistentes);
+        }
+        if (estrategia.tipo() == EstrategiaDistribuicao.MENOR_CARGA) {
+            return usuarioRepository.findMenosCarregados(ASSISTENTE, revenda.getId(), Limit.of(1)).stream()
+                    .findFirst()
+                    .map(Usuario::getId)
+                    .orElseThrow(this::semAssistentes);
+        }
+        return estrategia.escolher(carregarCargas(revenda.getId()).stream().sorted(estrategia.ordem()).toList())
+                .map(CargaAssistente::usuarioId)
+                .orElseThrow(this::semAssistentes);
+    }
+
+    private DistribuicaoStrategy estrategia(Revenda revenda) {
+        EstrategiaDistribuicao tipo = revenda.getEstrategiaDistribuicao() == null
+                ? EstrategiaDistribuicao.MENOR_CARGA
+                : revenda.getEstrategiaDistribuicao();
+        return estrategias.getOrDefault(tipo, estrategias.get(EstrategiaDistribuicao.MENOR_CARGA));
+    }
+
+    private Usuario buscarAssistente(Long usuarioId) {
+        return usuarioRepository.findById(usuarioId)
+                .orElseThrow(() -> new ResponseStatusException(INTERNAL_SERVER_ERROR, "Erro ao distribuir oportunidade"));
+    }
+
+    private ResponseStatusException semAssistentes() {
+        return new ResponseStatusException(NOT_FOUND, "Nenhum assistente disponível na revenda");
+    }
+
+    private ResponseStatusException distribuicaoOcupada() {
+        return new ResponseStatusException(SERVICE_UNAVAILABLE, "Distribuição ocupada na revenda, tente novamente");
+    }
+
+    private List<CargaAssistente> carregarCargas(Long revendaId) {
+        return usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, revendaId).stream()
+                .map(this::toCarga)
+                .toList();
+    }
+
+    private CargaAssistente toCarga(Usuario usuario) {
+        int peso = usuario.getPesoDistribuicao() == null ? 1 : usuario.getPesoDistribuicao();
+        long emAtendimento = usuario.getOportunidadesEmAtendimento() == null ? 0 : usuario.getOportunidadesEmAtendimento();
+        return new CargaAssistente(usuario.getId(), emAtendimento, usuario.getDataUltimaAtribuicao(),
+                peso, usuario.getLimiteOportunidades());
+    }
+
+    private void ajustarCarga(Oportunidade oportunidade, long delta) {
+        if (oportunidade.getStatus() == StatusOportunidade.EM_ATENDIMENTO && oportunidade.getUsuario() != null) {
+            ajustarCarga(oportunidade.getUsuario(), delta);
+        }
+    }
+
+    private void ajustarCarga(Usuario usuario, long delta) {
+        Long revendaId = usuario.getRevenda().getId();
+        Long usuarioId = usuario.getId();
+        usuarioRepository.ajustarOportunidadesEmAtendimento(usuarioId, delta);
+        aposCommit(() -> cargaAssistenteIndex.ajustarCarga(revendaId, usuarioId, delta));
+    }
+}
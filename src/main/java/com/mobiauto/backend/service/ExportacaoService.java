@@ -0,0 +1,98 @@
+package com.mobiauto.backend.service;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobiauto.backend.service.exportacao.FormatoExportacao;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@AllArgsConstructor
+@Service
+public class ExportacaoService {
+    static final int LINHAS_POR_LOTE = 500;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public <E, T extends Record> void exportar(Stream<E> entidades, Function<E, T> conversor, Class<T> tipo,
+                                               FormatoExportacao formato, OutputStream saida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        List<String> colunas = colunas(tipo, "");
+        List<JsonPointer> ponteiros = colunas.stream()
+                .map(coluna -> JsonPointer.compile("/" + coluna.replace('.', '/')))
+                .toList();
+        if (formato == FormatoExportacao.CSV) {
+            escritor.write(linhaCsv(colunas));
+            escritor.flush();
+        }
+
+        try (entidades) {
+            Iterator<E> iterador = entidades.iterator();
+            long escritas = 0;
+            while (iterador.hasNext()) {
+                T dto = conversor.apply(iterador.next());
+                if (formato == FormatoExportacao.NDJSON) {
+                    escritor.write(objectMapper.writeValueAsString(dto));
+                    escritor.write('\n');
+                } else {
+                    JsonNode no = objectMapper.valueToTree(dto);
+                    escritor.write(linhaCsv(ponteiros.stream().map(ponteiro -> texto(no.at(ponteiro))).toList()));
+                }
+
+                escritas++;
+                if (escritas == 1) {
+                    escritor.flush();
+                }
+                if (escritas % LINHAS_POR_LOTE == 0) {
+                    escritor.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        escritor.flush();
+    }
+
+    private List<String> colunas(Class<?> tipo, String prefixo) {
+        List<String> colunas = new ArrayList<>();
+        for (RecordComponent componente : tipo.getRecordComponents()) {
+            String nome = prefixo + componente.getName();
+            if (componente.getType().isRecord()) {
+                colunas.addAll(colunas(componente.getType(), nome + "."));
+            } else {
+                colunas.add(nome);
+            }
+        }
+        return colunas;
+    }
+
+    private String texto(JsonNode valor) {
+        return valor.isValueNode() && !valor.isNull() ? valor.asText() : "";
+    }
+
+    private String linhaCsv(List<String> valores) {
+        return valores.stream().map(this::celulaCsv).collect(Collectors.joining(",", "", "\r\n"));
+    }
+
+    private String celulaCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,80 +1,145 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.OportunidadeFiltroDTO;
+import com.mobiauto.backend.dto.OportunidadeLoteResponseDTO;
 import com.mobiauto.backend.dto.OportunidadeRequestDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.dto.OportunidadeResponseDTO;
+import com.mobiauto.backend.dto.OportunidadesNormalizadasDTO;
 import com.mobiauto.backend.mapper.OportunidadeMapper;
-import com.mobiauto.backend.model.Cargo;
 import com.mobiauto.backend.model.Cliente;
+import com.mobiauto.backend.model.EstrategiaDistribuicao;
 import com.mobiauto.backend.model.Oportunidade;
 import com.mobiauto.backend.model.Revenda;
 import com.mobiauto.backend.model.StatusOportunidade;
 import com.mobiauto.backend.model.Usuario;
 import com.mobiauto.backend.model.Veiculo;
+import com.mobiauto.backend.repository.CampoOportunidade;
 import com.mobiauto.backend.repository.ClienteRepository;
 import com.mobiauto.backend.repository.OportunidadeRepository;
+import com.mobiauto.backend.repository.OportunidadeSpecifications;
 import com.mobiauto.backend.repository.RevendaRepository;
 import com.mobiauto.backend.repository.UsuarioRepository;
 import com.mobiauto.backend.repository.VeiculoRepository;
+import com.mobiauto.backend.service.exportacao.FormatoExportacao;
+import com.mobiauto.backend.service.permissao.Escopo;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.versao.TipoRecurso;
+import com.mobiauto.backend.utils.CursorUtil;
 import com.mobiauto.backend.utils.JwtAuthUtil;
 import lombok.AllArgsConstructor;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-
-import static com.mobiauto.backend.model.Cargo.*;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.mobiauto.backend.service.permissao.Acao.*;
 import static org.springframework.http.HttpStatus.*;
 
 @AllArgsConstructor
 @Service
 public class OportunidadeService {
+    private static final int TAMANHO_MAXIMO_LOTE = 500;
+
     private final OportunidadeRepository oportunidadeRepository;
     private final ClienteRepository clienteRepository;
     private final VeiculoRepository veiculoRepository;
     private final RevendaRepository revendaRepository;
     private final UsuarioRepository usuarioRepository;
     private final OportunidadeMapper oportunidadeMapper;
+    private final DistribuicaoService distribuicaoService;
+    private final ExportacaoService exportacaoService;
+    private final VersaoRecursoService versaoRecursoService;
 
-    public List<OportunidadeResponseDTO> findAll() {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+    public PaginaDTO<OportunidadeResponseDTO> findAll(OportunidadeFiltroDTO filtro, String cursor, Integer limite) {
+        Specification<Oportunidade> specification = especificacao(filtro, cursor);
+        int tamanho = CursorUtil.limite(limite);
 
-        if (cargos.contains(ADMINISTRADOR)) {
-            return oportunidadeRepository.findAll().stream()
-                    .map(oportunidadeMapper::toResponseDTO)
-                    .toList();
-        }
+        List<OportunidadeResponseDTO> encontradas = oportunidadeRepository.listarPagina(specification, CursorUtil.consulta(tamanho));
+        return CursorUtil.paginar(encontradas, tamanho, OportunidadeResponseDTO::id, Function.identity());
+    }
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        return oportunidadeRepository.findAllByRevenda_Id(revendaId).stream()
-                .map(oportunidadeMapper::toResponseDTO)
-                .toList();
+    public OportunidadesNormalizadasDTO findAllNormalizadas(OportunidadeFiltroDTO filtro, String cursor, Integer limite) {
+        return oportunidadeMapper.toNormalizadasDTO(findAll(filtro, cursor, limite));
+    }
+
+    public PaginaDTO<Map<String, Object>> findAll(OportunidadeFiltroDTO filtro, String cursor, Integer limite, String campos) {
+        Set<CampoOportunidade> selecionados = CampoOportunidade.de(campos);
+        Specification<Oportunidade> specification = especificacao(filtro, cursor);
+        int tamanho = CursorUtil.limite(limite);
+
+        List<Map<String, Object>> encontradas = oportunidadeRepository.listarCampos(specification, selecionados, CursorUtil.consulta(tamanho));
+        return CursorUtil.paginar(encontradas, tamanho, linha -> (Long) linha.get(CampoOportunidade.ID.getNome()), Function.identity());
+    }
+
+    @Transactional(readOnly = true)
+    public void exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+
+        Stream<Oportunidade> oportunidades = principal.escopo(Recurso.OPORTUNIDADE, CONSULTAR) == Escopo.GLOBAL
+                ? oportunidadeRepository.exportarTodos()
+                : oportunidadeRepository.exportarPorRevenda(principal.getRevendaId());
+        exportacaoService.exportar(oportunidades, oportunidadeMapper::toResponseDTO, OportunidadeResponseDTO.class, formato, saida);
     }
 
     public OportunidadeResponseDTO findById(Long id) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
-        Oportunidade oportunidade = oportunidadeRepository.findById(id)
+        Oportunidade oportunidade = oportunidadeRepository.findDetalheById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Oportunidade não encontrada"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(ADMINISTRADOR) && !revendaId.equals(oportunidade.getRevenda().getId())) {
+        if (!principal.pode(Recurso.OPORTUNIDADE, CONSULTAR, oportunidade.getRevenda().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode acessar oportunidades da sua revenda");
         }
 
         return oportunidadeMapper.toResponseDTO(oportunidade);
     }
 
+    public Map<String, Object> findById(Long id, String campos) {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+        Set<CampoOportunidade> selecionados = CampoOportunidade.de(campos);
+        Set<CampoOportunidade> consultados = EnumSet.copyOf(selecionados);
+        consultados.add(CampoOportunidade.REVENDA_ID);
+
+        Map<String, Object> oportunidade = oportunidadeRepository.listarCampos(OportunidadeSpecifications.comId(id), consultados, Limit.of(1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Oportunidade não encontrada"));
+
+        if (!principal.pode(Recurso.OPORTUNIDADE, CONSULTAR, (Long) oportunidade.get(CampoOportunidade.REVENDA_ID.getNome()))) {
+            throw new ResponseStatusException(FORBIDDEN, "Você só pode acessar oportunidades da sua revenda");
+        }
+
+        if (!selecionados.contains(CampoOportunidade.REVENDA_ID)) {
+            oportunidade.remove(CampoOportunidade.REVENDA_ID.getNome());
+        }
+        return oportunidade;
+    }
+
+    @Transactional
     public OportunidadeResponseDTO save(OportunidadeRequestDTO dto) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(ADMINISTRADOR) && !revendaId.equals(dto.getRevendaId())) {
+        if (!principal.pode(Recurso.OPORTUNIDADE, CRIAR, dto.getRevendaId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode criar oportunidades na sua revenda");
         }
 
@@ -84,55 +149,93 @@ public class OportunidadeService {
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Veículo não encontrado: " + dto.getVeiculoId()));
         Revenda revenda = revendaRepository.findById(dto.getRevendaId())
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Revenda não encontrada: " + dto.getRevendaId()));
+        versaoRecursoService.registrarAlteracao(revenda.getId(), TipoRecurso.OPORTUNIDADE);
 
-        Usuario usuarioResponsavel;
         LocalDateTime agora = LocalDateTime.now();
         if (dto.getUsuarioId() != null) {
-            usuarioResponsavel = usuarioRepository.findById(dto.getUsuarioId())
+            Usuario usuarioResponsavel = usuarioRepository.findById(dto.getUsuarioId())
                     .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Usuário não encontrado: " + dto.getUsuarioId()));
             if (!usuarioResponsavel.getRevenda().getId().equals(dto.getRevendaId())) {
                 throw new ResponseStatusException(BAD_REQUEST, "Usuário deve pertencer à mesma revenda");
             }
-            usuarioResponsavel.setDataUltimaAtribuicao(agora);
-            usuarioRepository.save(usuarioResponsavel);
-        } else {
-            usuarioResponsavel = distribuirParaAssistente(revenda);
-            usuarioResponsavel.setDataUltimaAtribuicao(agora);
-            usuarioRepository.save(usuarioResponsavel);
+            return criar(dto, cliente, veiculo, revenda, usuarioResponsavel, agora);
+        }
+        if (revenda.getEstrategiaDistribuicao() == EstrategiaDistribuicao.FILA) {
+            return enfileirar(dto, cliente, veiculo, revenda, agora);
         }
 
-        StatusOportunidade status = StatusOportunidade.valueOf(dto.getStatus());
-        if (status == StatusOportunidade.CONCLUIDO && (dto.getMotivoConclusao() == null || dto.getMotivoConclusao().isBlank())) {
-            throw new ResponseStatusException(BAD_REQUEST, "Motivo de conclusão é obrigatório para status CONCLUIDO");
+        return distribuicaoService.distribuir(revenda,
+                assistente -> criar(dto, cliente, veiculo, revenda, assistente, agora));
+    }
+
+    @Transactional
+    public List<OportunidadeLoteResponseDTO> saveLote(List<OportunidadeRequestDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "O lote deve conter ao menos uma oportunidade");
+        }
+        if (dtos.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new ResponseStatusException(BAD_REQUEST, "O lote deve conter no máximo " + TAMANHO_MAXIMO_LOTE + " oportunidades");
         }
 
-        Oportunidade oportunidade = new Oportunidade();
-        oportunidade.setCliente(cliente);
-        oportunidade.setVeiculo(veiculo);
-        oportunidade.setUsuario(usuarioResponsavel);
-        oportunidade.setRevenda(revenda);
-        oportunidade.setStatus(status);
-        oportunidade.setMotivoConclusao(status == StatusOportunidade.CONCLUIDO ? dto.getMotivoConclusao() : null);
-        oportunidade.setDataAtribuicao(agora);
-        oportunidade.setDataConclusao(status == StatusOportunidade.CONCLUIDO ? agora : null);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
-        return oportunidadeMapper.toResponseDTO(oportunidadeRepository.save(oportunidade));
+        Map<Long, Cliente> clientes = porId(clienteRepository.findAllById(ids(dtos, OportunidadeRequestDTO::getClienteId)), Cliente::getId);
+        Map<Long, Veiculo> veiculos = porId(veiculoRepository.findAllById(ids(dtos, OportunidadeRequestDTO::getVeiculoId)), Veiculo::getId);
+        Map<Long, Revenda> revendas = porId(revendaRepository.findAllById(ids(dtos, OportunidadeRequestDTO::getRevendaId)), Revenda::getId);
+        Map<Long, Usuario> usuarios = porId(usuarioRepository.findAllById(ids(dtos, OportunidadeRequestDTO::getUsuarioId)), Usuario::getId);
+        revendas.keySet().forEach(id -> versaoRecursoService.registrarAlteracao(id, TipoRecurso.OPORTUNIDADE));
+
+        LocalDateTime agora = LocalDateTime.now();
+        OportunidadeLoteResponseDTO[] resultados = new OportunidadeLoteResponseDTO[dtos.size()];
+        List<ItemLote> semDistribuicao = new ArrayList<>();
+        Map<Long, List<ItemLote>> aDistribuirPorRevenda = new TreeMap<>();
+        for (int indice = 0; indice < dtos.size(); indice++) {
+            OportunidadeRequestDTO dto = dtos.get(indice);
+            try {
+                if (!principal.pode(Recurso.OPORTUNIDADE, CRIAR, dto.getRevendaId())) {
+                    throw new ResponseStatusException(FORBIDDEN, "Você só pode criar oportunidades na sua revenda");
+                }
+                ItemLote item = new ItemLote(indice, novaOportunidade(dto, clientes, veiculos, revendas, usuarios, agora));
+                if (item.oportunidade().getUsuario() != null) {
+                    semDistribuicao.add(item);
+                } else if (item.oportunidade().getRevenda().getEstrategiaDistribuicao() == EstrategiaDistribuicao.FILA) {
+                    validarFila(item.oportunidade().getStatus());
+                    semDistribuicao.add(item);
+                } else {
+                    aDistribuirPorRevenda.computeIfAbsent(dto.getRevendaId(), id -> new ArrayList<>()).add(item);
+                }
+            } catch (ResponseStatusException e) {
+                resultados[indice] = falha(indice, e);
+            }
+        }
+
+        if (!semDistribuicao.isEmpty()) {
+            persistirLote(semDistribuicao, agora, resultados);
+        }
+        for (List<ItemLote> itens : aDistribuirPorRevenda.values()) {
+            try {
+                distribuirLote(itens, agora, resultados);
+            } catch (ResponseStatusException e) {
+                itens.forEach(item -> resultados[item.indice()] = falha(item.indice(), e));
+            }
+        }
+
+        return List.of(resultados);
     }
 
+    @Transactional
     public OportunidadeResponseDTO update(Long id, OportunidadeRequestDTO dto) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Oportunidade oportunidade = oportunidadeRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Oportunidade não encontrada"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(ADMINISTRADOR) && !revendaId.equals(oportunidade.getRevenda().getId())) {
+        if (!principal.pode(Recurso.OPORTUNIDADE, ATUALIZAR, oportunidade.getRevenda().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode editar oportunidades da sua revenda");
         }
 
-        Long usuarioId = Long.valueOf(jwt.getSubject());
-        if (!cargos.contains(ADMINISTRADOR) && !cargos.contains(PROPRIETARIO) && !cargos.contains(GERENTE) && !usuarioId.equals(oportunidade.getUsuario().getId())) {
+        if (principal.escopo(Recurso.OPORTUNIDADE, ATUALIZAR) == Escopo.PROPRIOS
+                && (oportunidade.getUsuario() == null || principal.getUsuarioId() != oportunidade.getUsuario().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode editar suas próprias oportunidades");
         }
 
@@ -155,11 +258,14 @@ public class OportunidadeService {
             usuarioRepository.save(usuarioResponsavel);
         }
 
-        StatusOportunidade novoStatus = StatusOportunidade.valueOf(dto.getStatus());
-        if (novoStatus == StatusOportunidade.CONCLUIDO && (dto.getMotivoConclusao() == null || dto.getMotivoConclusao().isBlank())) {
-            throw new ResponseStatusException(BAD_REQUEST, "Motivo de conclusão é obrigatório para status CONCLUIDO");
+        StatusOportunidade novoStatus = validarStatus(dto);
+        if (usuarioResponsavel == null && oportunidade.getUsuario() == null) {
+            validarFila(novoStatus);
         }
 
+        distribuicaoService.registrarSaida(oportunidade);
+        versaoRecursoService.registrarAlteracao(oportunidade.getRevenda().getId(), TipoRecurso.OPORTUNIDADE);
+        versaoRecursoService.registrarAlteracao(revenda.getId(), TipoRecurso.OPORTUNIDADE);
         oportunidade.setCliente(cliente);
         oportunidade.setVeiculo(veiculo);
         if (usuarioResponsavel != null) {
@@ -172,35 +278,199 @@ public class OportunidadeService {
             oportunidade.setDataConclusao(agora);
         }
 
-        return oportunidadeMapper.toResponseDTO(oportunidadeRepository.save(oportunidade));
+        Oportunidade salva = oportunidadeRepository.save(oportunidade);
+        if (usuarioResponsavel != null) {
+            distribuicaoService.registrarAtribuicao(usuarioResponsavel);
+        }
+        distribuicaoService.registrarEntrada(salva);
+        return oportunidadeMapper.toResponseDTO(salva);
+    }
+
+    @Transactional
+    public OportunidadeResponseDTO reivindicarProxima() {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+
+        if (!principal.pode(Recurso.OPORTUNIDADE, ATENDER)) {
+            throw new ResponseStatusException(FORBIDDEN, "Apenas assistentes podem assumir oportunidades da fila");
+        }
+
+        long revendaId = principal.getRevendaId();
+        Usuario assistente = usuarioRepository.travarPorId(principal.getUsuarioId())
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Usuário não encontrado"));
+        Long emAtendimento = assistente.getOportunidadesEmAtendimento();
+        if (assistente.getLimiteOportunidades() != null && emAtendimento != null
+                && emAtendimento >= assistente.getLimiteOportunidades()) {
+            throw new ResponseStatusException(CONFLICT, "Limite de oportunidades em atendimento atingido");
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        Long oportunidadeId = oportunidadeRepository.reivindicarProxima(revendaId, assistente.getId(), agora)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Nenhuma oportunidade aguardando na fila"));
+        Oportunidade oportunidade = oportunidadeRepository.findDetalheById(oportunidadeId)
+                .orElseThrow(() -> new ResponseStatusException(INTERNAL_SERVER_ERROR, "Erro ao assumir oportunidade"));
+        versaoRecursoService.registrarAlteracao(revendaId, TipoRecurso.OPORTUNIDADE);
+
+        assistente.setDataUltimaAtribuicao(agora);
+        usuarioRepository.save(assistente);
+        distribuicaoService.registrarAtribuicao(assistente);
+        distribuicaoService.registrarEntrada(oportunidade);
+        return oportunidadeMapper.toResponseDTO(oportunidade);
     }
 
+    @Transactional
     public void delete(Long id) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Oportunidade oportunidade = oportunidadeRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Oportunidade não encontrada"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(ADMINISTRADOR) && !revendaId.equals(oportunidade.getRevenda().getId())) {
+        if (!principal.pode(Recurso.OPORTUNIDADE, EXCLUIR, oportunidade.getRevenda().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode excluir oportunidades da sua revenda");
         }
 
         oportunidadeRepository.deleteById(id);
+        distribuicaoService.registrarSaida(oportunidade);
+        versaoRecursoService.registrarAlteracao(oportunidade.getRevenda().getId(), TipoRecurso.OPORTUNIDADE);
+    }
+
+    private Oportunidade novaOportunidade(OportunidadeRequestDTO dto, Map<Long, Cliente> clientes, Map<Long, Veiculo> veiculos,
+                                          Map<Long, Revenda> revendas, Map<Long, Usuario> usuarios, LocalDateTime agora) {
+        Cliente cliente = Optional.ofNullable(clientes.get(dto.getClienteId()))
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Cliente não encontrado: " + dto.getClienteId()));
+        Veiculo veiculo = Optional.ofNullable(veiculos.get(dto.getVeiculoId()))
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Veículo não encontrado: " + dto.getVeiculoId()));
+        Revenda revenda = Optional.ofNullable(revendas.get(dto.getRevendaId()))
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Revenda não encontrada: " + dto.getRevendaId()));
+
+        Usuario usuarioResponsavel = null;
+        if (dto.getUsuarioId() != null) {
+            usuarioResponsavel = Optional.ofNullable(usuarios.get(dto.getUsuarioId()))
+                    .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Usuário não encontrado: " + dto.getUsuarioId()));
+            if (!usuarioResponsavel.getRevenda().getId().equals(dto.getRevendaId())) {
+                throw new ResponseStatusException(BAD_REQUEST, "Usuário deve pertencer à mesma revenda");
+            }
+        }
+
+        return montarOportunidade(dto, cliente, veiculo, revenda, usuarioResponsavel, agora);
+    }
+
+    private void distribuirLote(List<ItemLote> itens, LocalDateTime agora, OportunidadeLoteResponseDTO[] resultados) {
+        distribuicaoService.distribuirLote(itens.get(0).oportunidade().getRevenda(),
+                itens.stream().map(item -> item.oportunidade().getStatus()).toList(), agora, assistentes -> {
+                    ResponseStatusException semAssistente = new ResponseStatusException(NOT_FOUND, "Nenhum assistente disponível na revenda");
+                    itens.subList(assistentes.size(), itens.size())
+                            .forEach(item -> resultados[item.indice()] = falha(item.indice(), semAssistente));
+                    if (assistentes.isEmpty()) {
+                        return List.of();
+                    }
+
+                    List<ItemLote> atribuidos = itens.subList(0, assistentes.size());
+                    for (int i = 0; i < atribuidos.size(); i++) {
+                        atribuidos.get(i).oportunidade().setUsuario(assistentes.get(i));
+                    }
+                    return persistirLote(atribuidos, agora, resultados);
+                });
+    }
+
+    private List<Oportunidade> persistirLote(List<ItemLote> itens, LocalDateTime agora, OportunidadeLoteResponseDTO[] resultados) {
+        Map<Long, Usuario> responsaveis = new LinkedHashMap<>();
+        itens.stream()
+                .map(item -> item.oportunidade().getUsuario())
+                .filter(Objects::nonNull)
+                .forEach(usuario -> responsaveis.putIfAbsent(usuario.getId(), usuario));
+        responsaveis.values().forEach(usuario -> usuario.setDataUltimaAtribuicao(agora));
+        if (!responsaveis.isEmpty()) {
+            usuarioRepository.saveAll(responsaveis.values());
+        }
+
+        List<Oportunidade> salvas = oportunidadeRepository.saveAll(itens.stream().map(ItemLote::oportunidade).toList());
+        responsaveis.values().forEach(distribuicaoService::registrarAtribuicao);
+        distribuicaoService.registrarEntradas(salvas);
+        for (int i = 0; i < itens.size(); i++) {
+            Oportunidade salva = salvas.get(i);
+            int indice = itens.get(i).indice();
+            resultados[indice] = new OportunidadeLoteResponseDTO(indice, CREATED.value(), oportunidadeMapper.toResponseDTO(salva), null);
+        }
+        return salvas;
+    }
+
+    private void validarFila(StatusOportunidade status) {
+        if (status != StatusOportunidade.NOVO) {
+            throw new ResponseStatusException(BAD_REQUEST, "Oportunidades sem responsável devem ter status NOVO");
+        }
+    }
+
+    private OportunidadeLoteResponseDTO falha(int indice, ResponseStatusException e) {
+        return new OportunidadeLoteResponseDTO(indice, e.getStatusCode().value(), null, e.getReason());
     }
 
-    private Usuario distribuirParaAssistente(Revenda revenda) {
-        List<Usuario> assistentes = usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, revenda.getId());
+    private static Set<Long> ids(List<OportunidadeRequestDTO> dtos, Function<OportunidadeRequestDTO, Long> id) {
+        return dtos.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <E> Map<Long, E> porId(List<E> entidades, Function<E, Long> id) {
+        return entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private record ItemLote(int indice, Oportunidade oportunidade) {}
+
+    private OportunidadeResponseDTO enfileirar(OportunidadeRequestDTO dto, Cliente cliente, Veiculo veiculo, Revenda revenda,
+                                               LocalDateTime agora) {
+        if (!StatusOportunidade.NOVO.name().equals(dto.getStatus())) {
+            throw new ResponseStatusException(BAD_REQUEST, "Oportunidades sem responsável devem ter status NOVO");
+        }
+
+        Oportunidade oportunidade = montarOportunidade(dto, cliente, veiculo, revenda, null, agora);
+        return oportunidadeMapper.toResponseDTO(oportunidadeRepository.save(oportunidade));
+    }
+
+    private OportunidadeResponseDTO criar(OportunidadeRequestDTO dto, Cliente cliente, Veiculo veiculo, Revenda revenda,
+                                          Usuario usuarioResponsavel, LocalDateTime agora) {
+        Oportunidade oportunidade = montarOportunidade(dto, cliente, veiculo, revenda, usuarioResponsavel, agora);
+        usuarioResponsavel.setDataUltimaAtribuicao(agora);
+        usuarioRepository.save(usuarioResponsavel);
+
+        Oportunidade salva = oportunidadeRepository.save(oportunidade);
+        distribuicaoService.registrarAtribuicao(usuarioResponsavel);
+        distribuicaoService.registrarEntrada(salva);
+        return oportunidadeMapper.toResponseDTO(salva);
+    }
+
+    private Oportunidade montarOportunidade(OportunidadeRequestDTO dto, Cliente cliente, Veiculo veiculo, Revenda revenda,
+                                            Usuario usuarioResponsavel, LocalDateTime agora) {
+        StatusOportunidade status = validarStatus(dto);
+
+        Oportunidade oportunidade = new Oportunidade();
+        oportunidade.setCliente(cliente);
+        oportunidade.setVeiculo(veiculo);
+        oportunidade.setUsuario(usuarioResponsavel);
+        oportunidade.setRevenda(revenda);
+        oportunidade.setStatus(status);
+        oportunidade.setMotivoConclusao(status == StatusOportunidade.CONCLUIDO ? dto.getMotivoConclusao() : null);
+        oportunidade.setDataAtribuicao(agora);
+        oportunidade.setDataConclusao(status == StatusOportunidade.CONCLUIDO ? agora : null);
+        return oportunidade;
+    }
+
+    private StatusOportunidade validarStatus(OportunidadeRequestDTO dto) {
+        StatusOportunidade status = Arrays.stream(StatusOportunidade.values())
+                .filter(s -> s.name().equals(dto.getStatus()))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "Status inválido: " + dto.getStatus()));
+        if (status == StatusOportunidade.CONCLUIDO && (dto.getMotivoConclusao() == null || dto.getMotivoConclusao().isBlank())) {
+            throw new ResponseStatusException(BAD_REQUEST, "Motivo de conclusão é obrigatório para status CONCLUIDO");
+        }
+        return status;
+    }
 
-        if (assistentes.isEmpty()) {
-            throw new ResponseStatusException(NOT_FOUND, "Nenhum assistente disponível na revenda");
+    private Specification<Oportunidade> especificacao(OportunidadeFiltroDTO filtro, String cursor) {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+        Long aPartirDe = CursorUtil.decodificar(cursor);
+        if (filtro.atribuidaDe() != null && filtro.atribuidaAte() != null && filtro.atribuidaDe().isAfter(filtro.atribuidaAte())) {
+            throw new ResponseStatusException(BAD_REQUEST, "A data inicial de atribuição deve ser anterior à data final");
         }
 
-        return assistentes.stream()
-                .min(Comparator
-                        .comparingInt((Usuario u) -> oportunidadeRepository.findAllEmAtendimentoByUsuarioId(u.getId()).size())
-                        .thenComparing(Usuario::getDataUltimaAtribuicao, Comparator.nullsFirst(Comparator.naturalOrder())))
-                .orElseThrow(() -> new ResponseStatusException(INTERNAL_SERVER_ERROR, "Erro ao distribuir oportunidade"));
+        Long revendaId = principal.escopo(Recurso.OPORTUNIDADE, CONSULTAR) == Escopo.GLOBAL ? null : principal.getRevendaId();
+        return OportunidadeSpecifications.filtrar(revendaId, filtro, aPartirDe);
     }
-}
\ No newline at end of file
+}
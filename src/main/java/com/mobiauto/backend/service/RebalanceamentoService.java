@@ -0,0 +1,192 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.config.RebalanceamentoProperties;
+import com.mobiauto.backend.dto.RebalanceamentoDTO;
+import com.mobiauto.backend.model.StatusOportunidade;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.repository.OportunidadeRepository;
+import com.mobiauto.backend.repository.UsuarioRepository;
+import com.mobiauto.backend.service.distribuicao.Rebalanceamento;
+import com.mobiauto.backend.service.permissao.Acao;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.utils.JwtAuthUtil;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.mobiauto.backend.model.Cargo.*;
+import static com.mobiauto.backend.service.permissao.Acao.CONSULTAR;
+import static com.mobiauto.backend.service.permissao.Acao.CRIAR;
+import static org.springframework.http.HttpStatus.*;
+
+@Service
+public class RebalanceamentoService {
+    private final UsuarioRepository usuarioRepository;
+    private final OportunidadeRepository oportunidadeRepository;
+    private final DistribuicaoService distribuicaoService;
+    private final RebalanceamentoProperties properties;
+    private final TaskExecutor executor;
+    private final Map<Long, Rebalanceamento> rebalanceamentos = new ConcurrentHashMap<>();
+
+    public RebalanceamentoService(UsuarioRepository usuarioRepository, OportunidadeRepository oportunidadeRepository,
+                                  DistribuicaoService distribuicaoService, RebalanceamentoProperties properties,
+                                  @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor executor) {
+        this.usuarioRepository = usuarioRepository;
+        this.oportunidadeRepository = oportunidadeRepository;
+        this.distribuicaoService = distribuicaoService;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    public RebalanceamentoDTO solicitar(Long revendaId) {
+        validarAcesso(CRIAR, revendaId);
+        return agendar(revendaId).toDTO();
+    }
+
+    public RebalanceamentoDTO consultar(Long revendaId) {
+        validarAcesso(CONSULTAR, revendaId);
+        return Optional.ofNullable(rebalanceamentos.get(revendaId))
+                .map(Rebalanceamento::toDTO)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Nenhum rebalanceamento registrado para a revenda"));
+    }
+
+    public void agendarAposCommit(Long revendaId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            agendar(revendaId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                agendar(revendaId);
+            }
+        });
+    }
+
+    public synchronized Rebalanceamento agendar(Long revendaId) {
+        Rebalanceamento atual = rebalanceamentos.get(revendaId);
+        if (atual != null && atual.emAndamento()) {
+            return atual;
+        }
+
+        Rebalanceamento novo = new Rebalanceamento(revendaId);
+        rebalanceamentos.put(revendaId, novo);
+        try {
+            executor.execute(() -> executar(novo));
+        } catch (TaskRejectedException e) {
+            novo.falhar("Fila de rebalanceamento cheia, tente novamente");
+        }
+        return novo;
+    }
+
+    public int transferirCarteira(Usuario usuario) {
+        Long revendaId = usuario.getRevenda().getId();
+        if (oportunidadeRepository.existsByUsuario_IdAndStatus(usuario.getId(), StatusOportunidade.CONCLUIDO)) {
+            throw new ResponseStatusException(CONFLICT, "Usuário possui oportunidades concluídas e não pode ser excluído");
+        }
+
+        int total = 0;
+        while (true) {
+            Map<Long, Long> abertas = contarAbertas(revendaId);
+            long restantes = abertas.getOrDefault(usuario.getId(), 0L);
+            if (restantes == 0) {
+                return total;
+            }
+
+            List<CargaAberta> destinos = cargas(revendaId, abertas).stream()
+                    .filter(carga -> !carga.usuarioId().equals(usuario.getId()) && carga.capacidade() > 0)
+                    .toList();
+            CargaAberta destino = destinos.stream()
+                    .min(Comparator.comparingLong(CargaAberta::abertas))
+                    .orElseThrow(() -> new ResponseStatusException(CONFLICT, "Nenhum assistente disponível para receber as oportunidades do usuário"));
+
+            long parte = (restantes + destinos.size() - 1) / destinos.size();
+            int quantidade = (int) Math.min(Math.min(parte, properties.tamanhoLote()), destino.capacidade());
+            int movidas = distribuicaoService.transferir(revendaId, usuario.getId(), destino.usuarioId(), quantidade);
+            if (movidas == 0) {
+                throw new ResponseStatusException(CONFLICT, "Oportunidades do usuário estão em uso, tente novamente");
+            }
+            total += movidas;
+        }
+    }
+
+    void executar(Rebalanceamento rebalanceamento) {
+        Long revendaId = rebalanceamento.getRevendaId();
+        try {
+            while (true) {
+                List<CargaAberta> cargas = cargas(revendaId, contarAbertas(revendaId));
+                Optional<CargaAberta> origem = cargas.stream().max(Comparator.comparingLong(CargaAberta::abertas));
+                Optional<CargaAberta> destino = cargas.stream()
+                        .filter(carga -> carga.capacidade() > 0)
+                        .min(Comparator.comparingLong(CargaAberta::abertas));
+                if (origem.isEmpty() || destino.isEmpty() || origem.get().equals(destino.get())) {
+                    break;
+                }
+
+                long diferenca = origem.get().abertas() - destino.get().abertas();
+                rebalanceamento.registrarDiferenca(diferenca);
+                if (diferenca <= properties.tolerancia()) {
+                    break;
+                }
+
+                int quantidade = (int) Math.min(Math.min(diferenca / 2, properties.tamanhoLote()), destino.get().capacidade());
+                int movidas = distribuicaoService.transferir(revendaId, origem.get().usuarioId(), destino.get().usuarioId(), quantidade);
+                if (movidas == 0) {
+                    break;
+                }
+                rebalanceamento.registrarLote(movidas);
+            }
+            rebalanceamento.concluir();
+        } catch (ResponseStatusException e) {
+            rebalanceamento.falhar(e.getReason());
+        } catch (RuntimeException e) {
+            rebalanceamento.falhar("Erro ao rebalancear oportunidades");
+        }
+    }
+
+    private void validarAcesso(Acao acao, Long revendaId) {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+
+        if (!principal.pode(Recurso.REBALANCEAMENTO, acao)) {
+            throw new ResponseStatusException(FORBIDDEN, "Apenas administradores, proprietários ou gerentes podem rebalancear oportunidades");
+        }
+        if (!principal.pode(Recurso.REBALANCEAMENTO, acao, revendaId)) {
+            throw new ResponseStatusException(FORBIDDEN, "Você só pode rebalancear oportunidades da sua revenda");
+        }
+    }
+
+    private Map<Long, Long> contarAbertas(Long revendaId) {
+        Map<Long, Long> abertas = new HashMap<>();
+        oportunidadeRepository.contarAbertasPorUsuario(revendaId).forEach(c -> abertas.put(c.usuarioId(), c.emAtendimento()));
+        return abertas;
+    }
+
+    private List<CargaAberta> cargas(Long revendaId, Map<Long, Long> abertas) {
+        return usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, revendaId).stream()
+                .map(u -> new CargaAberta(u.getId(), abertas.getOrDefault(u.getId(), 0L), capacidade(u)))
+                .toList();
+    }
+
+    private long capacidade(Usuario usuario) {
+        if (usuario.getLimiteOportunidades() == null) {
+            return Long.MAX_VALUE;
+        }
+        long emAtendimento = usuario.getOportunidadesEmAtendimento() == null ? 0 : usuario.getOportunidadesEmAtendimento();
+        return Math.max(0, usuario.getLimiteOportunidades() - emAtendimento);
+    }
+
+    private record CargaAberta(Long usuarioId, long abertas, long capacidade) {}
+}
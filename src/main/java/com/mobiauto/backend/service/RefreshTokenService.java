@@ -0,0 +1,92 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.config.AuthProperties;
+import com.mobiauto.backend.model.RefreshToken;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.repository.RefreshTokenRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+@Service
+public class RefreshTokenService {
+    private static final int TAMANHO_TOKEN = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AuthProperties properties;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, AuthProperties properties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = properties;
+    }
+
+    public Emissao emitir(Usuario usuario) {
+        return emitir(usuario, UUID.randomUUID());
+    }
+
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public Emissao rotacionar(String token) {
+        RefreshToken atual = refreshTokenRepository.findByHash(hash(token))
+                .orElseThrow(() -> new ResponseStatusException(UNAUTHORIZED, "Refresh token inválido"));
+        LocalDateTime agora = LocalDateTime.now();
+
+        if (!atual.getExpiraEm().isAfter(agora)) {
+            throw new ResponseStatusException(UNAUTHORIZED, "Refresh token expirado");
+        }
+        if (refreshTokenRepository.revogar(atual.getId(), agora) == 0) {
+            refreshTokenRepository.revogarFamilia(atual.getFamilia(), agora);
+            throw new ResponseStatusException(UNAUTHORIZED, "Refresh token já utilizado, faça login novamente");
+        }
+        return emitir(atual.getUsuario(), atual.getFamilia());
+    }
+
+    public void revogar(String token) {
+        refreshTokenRepository.revogarFamiliaPorHash(hash(token), LocalDateTime.now());
+    }
+
+    public void revogarSessoes(Long usuarioId) {
+        refreshTokenRepository.revogarPorUsuario(usuarioId, LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${mobiauto.auth.limpeza-cron:0 0 4 * * *}")
+    public void excluirExpirados() {
+        refreshTokenRepository.excluirExpirados(LocalDateTime.now());
+    }
+
+    private Emissao emitir(Usuario usuario, UUID familia) {
+        byte[] bytes = new byte[TAMANHO_TOKEN];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setHash(hash(token));
+        refreshToken.setFamilia(familia);
+        refreshToken.setUsuario(usuario);
+        refreshToken.setExpiraEm(LocalDateTime.now().plus(properties.validadeRefreshToken()));
+        refreshTokenRepository.save(refreshToken);
+        return new Emissao(usuario, token, properties.validadeRefreshToken().toSeconds());
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Emissao(Usuario usuario, String token, long expiresIn) {}
+}
@@ -1,21 +1,25 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.dto.RevendaRequestDTO;
 import com.mobiauto.backend.dto.RevendaResponseDTO;
 import com.mobiauto.backend.mapper.RevendaMapper;
-import com.mobiauto.backend.model.Cargo;
 import com.mobiauto.backend.model.Revenda;
 import com.mobiauto.backend.repository.RevendaRepository;
+import com.mobiauto.backend.service.permissao.Escopo;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.utils.CursorUtil;
 import com.mobiauto.backend.utils.JwtAuthUtil;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.function.Function;
 
-import static com.mobiauto.backend.model.Cargo.ADMINISTRADOR;
+import static com.mobiauto.backend.service.permissao.Acao.*;
 
 @AllArgsConstructor
 @Service
@@ -25,32 +29,31 @@ public class RevendaService {
 
     private static final String NOT_FOUND_MESSAGE = "Revenda não encontrada";
 
-    public List<RevendaResponseDTO> findAll() {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+    public PaginaDTO<RevendaResponseDTO> findAll(String cursor, Integer limite) {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+        Long aPartirDe = CursorUtil.decodificar(cursor);
+        int tamanho = CursorUtil.limite(limite);
 
-        if (cargos.contains(ADMINISTRADOR)) {
-            return revendaRepository.findAll().stream()
-                    .map(revendaMapper::toResponseDTO)
-                    .toList();
+        if (principal.escopo(Recurso.REVENDA, CONSULTAR) == Escopo.GLOBAL) {
+            return CursorUtil.paginar(revendaRepository.listarPagina(aPartirDe, CursorUtil.consulta(tamanho)),
+                    tamanho, RevendaResponseDTO::id, Function.identity());
         }
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        return List.of(revendaMapper.toResponseDTO(
-                revendaRepository.findById(revendaId)
-                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, NOT_FOUND_MESSAGE))
-        ));
+        long revendaId = principal.getRevendaId();
+        if (revendaId <= aPartirDe) {
+            return new PaginaDTO<>(List.of(), null);
+        }
+        return new PaginaDTO<>(List.of(revendaRepository.buscarResumo(revendaId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, NOT_FOUND_MESSAGE))), null);
     }
 
     public RevendaResponseDTO findById(Long id) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Revenda revenda = revendaRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, NOT_FOUND_MESSAGE));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(ADMINISTRADOR) && !revendaId.equals(revenda.getId())) {
+        if (!principal.pode(Recurso.REVENDA, CONSULTAR, revenda.getId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Você só pode acessar sua própria revenda");
         }
 
@@ -58,10 +61,9 @@ public class RevendaService {
     }
 
     public RevendaResponseDTO save(RevendaRequestDTO dto) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
-        if (!cargos.contains(ADMINISTRADOR)) {
+        if (!principal.pode(Recurso.REVENDA, CRIAR)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas administradores podem criar revendas");
         }
 
@@ -72,14 +74,16 @@ public class RevendaService {
         Revenda revenda = new Revenda();
         revenda.setCnpj(dto.getCnpj());
         revenda.setNomeSocial(dto.getNomeSocial());
+        if (dto.getEstrategiaDistribuicao() != null) {
+            revenda.setEstrategiaDistribuicao(dto.getEstrategiaDistribuicao());
+        }
         return revendaMapper.toResponseDTO(revendaRepository.save(revenda));
     }
 
     public RevendaResponseDTO update(Long id, RevendaRequestDTO dto) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
-        if (!cargos.contains(ADMINISTRADOR)) {
+        if (!principal.pode(Recurso.REVENDA, ATUALIZAR)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas administradores podem atualizar revendas");
         }
 
@@ -92,14 +96,16 @@ public class RevendaService {
 
         revenda.setCnpj(dto.getCnpj());
         revenda.setNomeSocial(dto.getNomeSocial());
+        if (dto.getEstrategiaDistribuicao() != null) {
+            revenda.setEstrategiaDistribuicao(dto.getEstrategiaDistribuicao());
+        }
         return revendaMapper.toResponseDTO(revendaRepository.save(revenda));
     }
 
     public void delete(Long id) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
-        if (!cargos.contains(ADMINISTRADOR)) {
+        if (!principal.pode(Recurso.REVENDA, EXCLUIR)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas administradores podem excluir revendas");
         }
 
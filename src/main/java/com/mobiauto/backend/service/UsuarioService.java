@@ -1,5 +1,7 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.dto.UsuarioRequestDTO;
 import com.mobiauto.backend.dto.UsuarioResponseDTO;
 import com.mobiauto.backend.mapper.UsuarioMapper;
@@ -8,15 +10,19 @@ import com.mobiauto.backend.model.Revenda;
 import com.mobiauto.backend.model.Usuario;
 import com.mobiauto.backend.repository.RevendaRepository;
 import com.mobiauto.backend.repository.UsuarioRepository;
+import com.mobiauto.backend.service.permissao.Escopo;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.utils.CursorUtil;
 import com.mobiauto.backend.utils.JwtAuthUtil;
 import lombok.AllArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
+import java.util.function.Function;
 
+import static com.mobiauto.backend.service.permissao.Acao.*;
 import static org.springframework.http.HttpStatus.*;
 
 @AllArgsConstructor
@@ -26,32 +32,32 @@ public class UsuarioService {
     private final RevendaRepository revendaRepository;
     private final PasswordEncoder passwordEncoder;
     private final UsuarioMapper usuarioMapper;
-
-    public List<UsuarioResponseDTO> findAll() {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
-
-        if (cargos.contains(Cargo.ADMINISTRADOR)) {
-            return usuarioRepository.findAll().stream()
-                    .map(usuarioMapper::toResponseDTO)
-                    .toList();
+    private final DistribuicaoService distribuicaoService;
+    private final RebalanceamentoService rebalanceamentoService;
+    private final RefreshTokenService refreshTokenService;
+
+    public PaginaDTO<UsuarioResponseDTO> findAll(String cursor, Integer limite) {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+        Long aPartirDe = CursorUtil.decodificar(cursor);
+        int tamanho = CursorUtil.limite(limite);
+
+        if (principal.escopo(Recurso.USUARIO, CONSULTAR) == Escopo.GLOBAL) {
+            return CursorUtil.paginar(usuarioRepository.listarPagina(aPartirDe, CursorUtil.consulta(tamanho)),
+                    tamanho, UsuarioResponseDTO::id, Function.identity());
         }
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        return usuarioRepository.findAllByRevenda_Id(revendaId).stream()
-                .map(usuarioMapper::toResponseDTO)
-                .toList();
+        long revendaId = principal.getRevendaId();
+        return CursorUtil.paginar(usuarioRepository.listarPaginaPorRevenda(revendaId, aPartirDe, CursorUtil.consulta(tamanho)),
+                tamanho, UsuarioResponseDTO::id, Function.identity());
     }
 
     public UsuarioResponseDTO findById(Long id) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Usuário não encontrado"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(Cargo.ADMINISTRADOR) && !revendaId.equals(usuario.getRevenda().getId())) {
+        if (!principal.pode(Recurso.USUARIO, CONSULTAR, usuario.getRevenda().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode acessar usuários da sua revenda");
         }
 
@@ -59,14 +65,12 @@ public class UsuarioService {
     }
 
     public UsuarioResponseDTO findByEmail(String email) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Usuario usuario = usuarioRepository.findByEmail(email)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Usuário não encontrado com o e-mail: " + email));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(Cargo.ADMINISTRADOR) && !revendaId.equals(usuario.getRevenda().getId())) {
+        if (!principal.pode(Recurso.USUARIO, CONSULTAR, usuario.getRevenda().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode acessar usuários da sua revenda");
         }
 
@@ -74,22 +78,21 @@ public class UsuarioService {
     }
 
     public UsuarioResponseDTO save(UsuarioRequestDTO dto) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
-        if (!cargos.contains(Cargo.ADMINISTRADOR) && !cargos.contains(Cargo.PROPRIETARIO) && !cargos.contains(Cargo.GERENTE)) {
+        if (!principal.pode(Recurso.USUARIO, CRIAR)) {
             throw new ResponseStatusException(FORBIDDEN, "Apenas administradores, proprietários ou gerentes podem cadastrar usuários");
         }
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if ((cargos.contains(Cargo.PROPRIETARIO) || cargos.contains(Cargo.GERENTE)) && !revendaId.equals(dto.getRevendaId())) {
+        if (!principal.pode(Recurso.USUARIO, CRIAR, dto.getRevendaId())) {
             throw new ResponseStatusException(FORBIDDEN, "Proprietários e gerentes só podem cadastrar usuários em sua própria revenda");
         }
 
-        if (usuarioRepository.findByEmail(dto.getEmail()).isPresent()) {
+        if (usuarioRepository.existsByEmail(dto.getEmail())) {
             throw new ResponseStatusException(BAD_REQUEST, "E-mail já cadastrado");
         }
 
+        validarCapacidade(dto);
         Revenda revenda = revendaRepository.findById(dto.getRevendaId())
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Revenda não encontrada: " + dto.getRevendaId()));
 
@@ -100,57 +103,82 @@ public class UsuarioService {
         usuario.setCargo(dto.getCargo());
         usuario.setRevenda(revenda);
         usuario.setDataUltimaAtribuicao(null);
+        usuario.setPesoDistribuicao(dto.getPesoDistribuicao());
+        usuario.setLimiteOportunidades(dto.getLimiteOportunidades());
 
-        return usuarioMapper.toResponseDTO(usuarioRepository.save(usuario));
+        Usuario salvo = usuarioRepository.save(usuario);
+        distribuicaoService.registrarUsuario(salvo);
+        if (salvo.getCargo() == Cargo.ASSISTENTE) {
+            rebalanceamentoService.agendarAposCommit(revenda.getId());
+        }
+        return usuarioMapper.toResponseDTO(salvo);
     }
 
     public UsuarioResponseDTO update(Long id, UsuarioRequestDTO dto) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
-        if (!cargos.contains(Cargo.ADMINISTRADOR) && !cargos.contains(Cargo.PROPRIETARIO)) {
+        if (!principal.pode(Recurso.USUARIO, ATUALIZAR)) {
             throw new ResponseStatusException(FORBIDDEN, "Apenas administradores ou proprietários podem editar perfis");
         }
 
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Usuário não encontrado"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (cargos.contains(Cargo.PROPRIETARIO) && !revendaId.equals(usuario.getRevenda().getId())) {
+        if (!principal.pode(Recurso.USUARIO, ATUALIZAR, usuario.getRevenda().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Proprietários só podem editar usuários da sua própria revenda");
         }
 
+        validarCapacidade(dto);
         Revenda revenda = revendaRepository.findById(dto.getRevendaId())
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Revenda não encontrada: " + dto.getRevendaId()));
 
+        Long revendaAnteriorId = usuario.getRevenda().getId();
         usuario.setNome(dto.getNome());
         usuario.setEmail(dto.getEmail());
         if (dto.getSenha() != null && !dto.getSenha().isBlank()) {
             usuario.setSenha(passwordEncoder.encode(dto.getSenha()));
+            refreshTokenService.revogarSessoes(usuario.getId());
         }
         usuario.setCargo(dto.getCargo());
         usuario.setRevenda(revenda);
+        usuario.setPesoDistribuicao(dto.getPesoDistribuicao());
+        usuario.setLimiteOportunidades(dto.getLimiteOportunidades());
 
-        return usuarioMapper.toResponseDTO(usuarioRepository.save(usuario));
+        Usuario salvo = usuarioRepository.save(usuario);
+        distribuicaoService.registrarAlteracaoUsuario(revendaAnteriorId, salvo);
+        return usuarioMapper.toResponseDTO(salvo);
     }
 
+    @Transactional
     public void delete(Long id) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Usuário não encontrado"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(Cargo.ADMINISTRADOR) && !revendaId.equals(usuario.getRevenda().getId())) {
+        if (!principal.pode(Recurso.USUARIO, EXCLUIR, usuario.getRevenda().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode excluir usuários da sua revenda");
         }
 
+        distribuicaoService.removerUsuario(usuario);
+        int transferidas = rebalanceamentoService.transferirCarteira(usuario);
         usuarioRepository.deleteById(id);
+        if (transferidas > 0) {
+            rebalanceamentoService.agendarAposCommit(usuario.getRevenda().getId());
+        }
     }
 
     public Usuario toUsuario(UsuarioResponseDTO dto) {
         return usuarioRepository.findById(dto.id())
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Usuário não encontrado: " + dto.id()));
     }
-}
\ No newline at end of file
+
+    private void validarCapacidade(UsuarioRequestDTO dto) {
+        if (dto.getPesoDistribuicao() != null && dto.getPesoDistribuicao() < 1) {
+            throw new ResponseStatusException(BAD_REQUEST, "Peso de distribuição deve ser maior que zero");
+        }
+        if (dto.getLimiteOportunidades() != null && dto.getLimiteOportunidades() < 1) {
+            throw new ResponseStatusException(BAD_REQUEST, "Limite de oportunidades deve ser maior que zero");
+        }
+    }
+}
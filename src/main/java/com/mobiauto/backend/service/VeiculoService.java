@@ -1,56 +1,138 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.FacetasVeiculoDTO;
+import com.mobiauto.backend.dto.IndiceSugestoesDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
+import com.mobiauto.backend.dto.SugestaoVeiculoDTO;
 import com.mobiauto.backend.dto.VeiculoRequestDTO;
 import com.mobiauto.backend.dto.VeiculoResponseDTO;
 import com.mobiauto.backend.mapper.VeiculoMapper;
-import com.mobiauto.backend.model.Cargo;
 import com.mobiauto.backend.model.Revenda;
 import com.mobiauto.backend.model.Veiculo;
 import com.mobiauto.backend.repository.RevendaRepository;
 import com.mobiauto.backend.repository.VeiculoRepository;
+import com.mobiauto.backend.service.catalogo.FacetaVeiculoIndex;
+import com.mobiauto.backend.service.catalogo.SugestaoVeiculoIndex;
+import com.mobiauto.backend.service.catalogo.VeiculoFaceta;
+import com.mobiauto.backend.service.exportacao.FormatoExportacao;
+import com.mobiauto.backend.service.permissao.Escopo;
+import com.mobiauto.backend.service.permissao.Recurso;
+import com.mobiauto.backend.service.versao.TipoRecurso;
+import com.mobiauto.backend.utils.CursorUtil;
 import com.mobiauto.backend.utils.JwtAuthUtil;
 import lombok.AllArgsConstructor;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-import static com.mobiauto.backend.model.Cargo.ADMINISTRADOR;
+import static com.mobiauto.backend.service.permissao.Acao.*;
 import static org.springframework.http.HttpStatus.*;
 
 @AllArgsConstructor
 @Service
 public class VeiculoService {
+    private static final int LIMITE_SUGESTOES_PADRAO = 10;
+    private static final int LIMITE_SUGESTOES_MAXIMO = 50;
+
     private final VeiculoRepository veiculoRepository;
     private final RevendaRepository revendaRepository;
     private final VeiculoMapper veiculoMapper;
+    private final ExportacaoService exportacaoService;
+    private final VersaoRecursoService versaoRecursoService;
+    private final FacetaVeiculoIndex facetaVeiculoIndex;
+    private final SugestaoVeiculoIndex sugestaoVeiculoIndex;
+
+    public PaginaDTO<VeiculoResponseDTO> findAll(String cursor, Integer limite) {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+        Long aPartirDe = CursorUtil.decodificar(cursor);
+        int tamanho = CursorUtil.limite(limite);
+
+        if (principal.escopo(Recurso.VEICULO, CONSULTAR) == Escopo.GLOBAL) {
+            return CursorUtil.paginar(veiculoRepository.listarPagina(aPartirDe, CursorUtil.consulta(tamanho)),
+                    tamanho, VeiculoResponseDTO::id, Function.identity());
+        }
+
+        long revendaId = principal.getRevendaId();
+        return CursorUtil.paginar(veiculoRepository.listarPaginaPorRevenda(revendaId, aPartirDe, CursorUtil.consulta(tamanho)),
+                tamanho, VeiculoResponseDTO::id, Function.identity());
+    }
 
-    public List<VeiculoResponseDTO> findAll() {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+    public FacetasVeiculoDTO facetas(Long revendaId, String marca, String modelo, Integer anoModelo) {
+        return facetaVeiculoIndex.facetas(revendaConsultada(revendaId), marca, modelo, anoModelo);
+    }
+
+    public List<SugestaoVeiculoDTO> sugestoes(Long revendaId, String prefixo, Integer limite) {
+        if (prefixo == null || prefixo.isBlank()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Informe o prefixo");
+        }
+        int tamanho = limite == null ? LIMITE_SUGESTOES_PADRAO : limite;
+        if (tamanho < 1 || tamanho > LIMITE_SUGESTOES_MAXIMO) {
+            throw new ResponseStatusException(BAD_REQUEST, "O limite deve estar entre 1 e " + LIMITE_SUGESTOES_MAXIMO);
+        }
+        return sugestaoVeiculoIndex.sugerir(revendaConsultada(revendaId), prefixo, tamanho);
+    }
 
-        if (cargos.contains(ADMINISTRADOR)) {
-            return veiculoRepository.findAll().stream()
-                    .map(veiculoMapper::toResponseDTO)
-                    .toList();
+    public IndiceSugestoesDTO indiceSugestoes() {
+        if (!JwtAuthUtil.getPrincipal().pode(Recurso.DIAGNOSTICO, CONSULTAR)) {
+            throw new ResponseStatusException(FORBIDDEN, "Apenas administradores podem consultar o índice de sugestões");
         }
+        return sugestaoVeiculoIndex.estatisticas();
+    }
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        return veiculoRepository.findAllByRevenda_Id(revendaId).stream()
-                .map(veiculoMapper::toResponseDTO)
-                .toList();
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirCatalogo() {
+        List<VeiculoFaceta> veiculos = veiculoRepository.listarFacetas();
+        facetaVeiculoIndex.reconstruir(veiculos);
+        sugestaoVeiculoIndex.reconstruir(veiculos);
+    }
+
+    public PaginaDTO<VeiculoResponseDTO> buscar(String termo, Integer anoDe, Integer anoAte, String cursor, Integer limite) {
+        if (termo == null || termo.isBlank()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Informe o termo de busca");
+        }
+        if (anoDe != null && anoAte != null && anoDe > anoAte) {
+            throw new ResponseStatusException(BAD_REQUEST, "O ano inicial deve ser menor ou igual ao ano final");
+        }
+        long deslocamento = CursorUtil.decodificar(cursor);
+        int tamanho = CursorUtil.limite(limite);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+
+        String termos = termo.trim().toLowerCase(Locale.ROOT);
+        int de = anoDe == null ? 0 : anoDe;
+        int ate = anoAte == null ? Integer.MAX_VALUE : anoAte;
+        List<Veiculo> encontrados = principal.escopo(Recurso.VEICULO, CONSULTAR) == Escopo.GLOBAL
+                ? veiculoRepository.buscar(termos, de, ate, deslocamento, tamanho + 1)
+                : veiculoRepository.buscarPorRevenda(principal.getRevendaId(), termos, de, ate, deslocamento, tamanho + 1);
+        return CursorUtil.paginarPorPosicao(encontrados.stream().map(veiculoMapper::toResponseDTO).toList(), tamanho, deslocamento);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+
+        Stream<Veiculo> veiculos = principal.escopo(Recurso.VEICULO, CONSULTAR) == Escopo.GLOBAL
+                ? veiculoRepository.exportarTodos()
+                : veiculoRepository.exportarPorRevenda(principal.getRevendaId());
+        exportacaoService.exportar(veiculos, veiculoMapper::toResponseDTO, VeiculoResponseDTO.class, formato, saida);
     }
 
     public VeiculoResponseDTO findById(Long id) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Veiculo veiculo = veiculoRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Veículo não encontrado"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(ADMINISTRADOR) && !revendaId.equals(veiculo.getRevenda().getId())) {
+        if (!principal.pode(Recurso.VEICULO, CONSULTAR, veiculo.getRevenda().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode acessar veículos da sua revenda");
         }
 
@@ -58,11 +140,9 @@ public class VeiculoService {
     }
 
     public VeiculoResponseDTO save(VeiculoRequestDTO dto) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(ADMINISTRADOR) && !revendaId.equals(dto.getRevendaId())) {
+        if (!principal.pode(Recurso.VEICULO, CRIAR, dto.getRevendaId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode criar veículos na sua revenda");
         }
 
@@ -76,18 +156,19 @@ public class VeiculoService {
         veiculo.setAnoModelo(dto.getAnoModelo());
         veiculo.setRevenda(revenda);
 
-        return veiculoMapper.toResponseDTO(veiculoRepository.save(veiculo));
+        Veiculo salvo = veiculoRepository.save(veiculo);
+        indexar(salvo);
+        versaoRecursoService.registrarAlteracao(revenda.getId(), TipoRecurso.VEICULO);
+        return veiculoMapper.toResponseDTO(salvo);
     }
 
     public VeiculoResponseDTO update(Long id, VeiculoRequestDTO dto) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Veiculo veiculo = veiculoRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Veículo não encontrado"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(ADMINISTRADOR) && !revendaId.equals(veiculo.getRevenda().getId())) {
+        if (!principal.pode(Recurso.VEICULO, ATUALIZAR, veiculo.getRevenda().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode atualizar veículos da sua revenda");
         }
 
@@ -98,23 +179,54 @@ public class VeiculoService {
         veiculo.setModelo(dto.getModelo());
         veiculo.setVersao(dto.getVersao());
         veiculo.setAnoModelo(dto.getAnoModelo());
+        Long revendaAnteriorId = veiculo.getRevenda().getId();
         veiculo.setRevenda(revenda);
 
-        return veiculoMapper.toResponseDTO(veiculoRepository.save(veiculo));
+        Veiculo salvo = veiculoRepository.save(veiculo);
+        desindexar(revendaAnteriorId, salvo.getId());
+        indexar(salvo);
+        versaoRecursoService.registrarAlteracao(revendaAnteriorId, TipoRecurso.VEICULO, TipoRecurso.OPORTUNIDADE);
+        versaoRecursoService.registrarAlteracao(revenda.getId(), TipoRecurso.VEICULO, TipoRecurso.OPORTUNIDADE);
+        return veiculoMapper.toResponseDTO(salvo);
     }
 
     public void delete(Long id) {
-        Jwt jwt = JwtAuthUtil.getJwt();
-        List<Cargo> cargos = JwtAuthUtil.getCargosFromJwt(jwt);
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
 
         Veiculo veiculo = veiculoRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Veículo não encontrado"));
 
-        Long revendaId = Long.valueOf(jwt.getClaimAsString("revendaId"));
-        if (!cargos.contains(ADMINISTRADOR) && !revendaId.equals(veiculo.getRevenda().getId())) {
+        if (!principal.pode(Recurso.VEICULO, EXCLUIR, veiculo.getRevenda().getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Você só pode excluir veículos da sua revenda");
         }
 
         veiculoRepository.deleteById(id);
+        desindexar(veiculo.getRevenda().getId(), id);
+        versaoRecursoService.registrarAlteracao(veiculo.getRevenda().getId(), TipoRecurso.VEICULO, TipoRecurso.OPORTUNIDADE);
+    }
+
+    private Long revendaConsultada(Long revendaId) {
+        MobiautoPrincipal principal = JwtAuthUtil.getPrincipal();
+
+        Long consultada = principal.escopo(Recurso.VEICULO, CONSULTAR) == Escopo.GLOBAL ? revendaId : Long.valueOf(principal.getRevendaId());
+        if (consultada == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Informe a revenda");
+        }
+        if (revendaId != null && !consultada.equals(revendaId)) {
+            throw new ResponseStatusException(FORBIDDEN, "Você só pode acessar veículos da sua revenda");
+        }
+        return consultada;
+    }
+
+    private void indexar(Veiculo veiculo) {
+        VeiculoFaceta faceta = new VeiculoFaceta(veiculo.getId(), veiculo.getRevenda().getId(), veiculo.getMarca(),
+                veiculo.getModelo(), veiculo.getVersao(), veiculo.getAnoModelo());
+        facetaVeiculoIndex.adicionar(faceta);
+        sugestaoVeiculoIndex.adicionar(faceta);
+    }
+
+    private void desindexar(Long revendaId, Long veiculoId) {
+        facetaVeiculoIndex.remover(revendaId, veiculoId);
+        sugestaoVeiculoIndex.remover(revendaId, veiculoId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.service.versao.TipoRecurso;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class VersaoRecursoService {
+    private final String geracao = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<ChaveVersao, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    public String etag(TipoRecurso tipo, Long revendaId, String variante) {
+        AtomicLong versao = versoes.get(new ChaveVersao(tipo, revendaId));
+        return "\"" + geracao + "-" + (revendaId == null ? "todas" : revendaId) + "-" + (versao == null ? 0 : versao.get())
+                + "-" + Integer.toHexString(variante.hashCode()) + "\"";
+    }
+
+    public void registrarAlteracao(Long revendaId, TipoRecurso... tipos) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementar(revendaId, tipos);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                incrementar(revendaId, tipos);
+            }
+        });
+    }
+
+    private void incrementar(Long revendaId, TipoRecurso... tipos) {
+        for (TipoRecurso tipo : tipos) {
+            versoes.computeIfAbsent(new ChaveVersao(tipo, revendaId), chave -> new AtomicLong()).incrementAndGet();
+            versoes.computeIfAbsent(new ChaveVersao(tipo, null), chave -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private record ChaveVersao(TipoRecurso tipo, Long revendaId) {}
+}
@@ -0,0 +1,296 @@
+package com.mobiauto.backend.service.catalogo;
+
+import com.mobiauto.backend.dto.FacetasVeiculoDTO;
+import com.mobiauto.backend.dto.FacetasVeiculoDTO.ContagemDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class FacetaVeiculoIndex {
+    private static final FacetasVeiculoDTO VAZIO = new FacetasVeiculoDTO(0, List.of(), List.of(), List.of());
+
+    private final Map<Long, FacetasRevenda> revendas = new ConcurrentHashMap<>();
+
+    public FacetasVeiculoDTO facetas(Long revendaId, String marca, String modelo, Integer anoModelo) {
+        FacetasRevenda facetas = revendas.get(revendaId);
+        return facetas == null ? VAZIO : facetas.contar(marca, modelo, anoModelo == null ? null : anoModelo.toString());
+    }
+
+    public void adicionar(VeiculoFaceta veiculo) {
+        revendas.computeIfAbsent(veiculo.revendaId(), id -> new FacetasRevenda()).adicionar(veiculo);
+    }
+
+    public void remover(Long revendaId, Long veiculoId) {
+        FacetasRevenda facetas = revendas.get(revendaId);
+        if (facetas != null) {
+            facetas.remover(veiculoId);
+        }
+    }
+
+    public void reconstruir(List<VeiculoFaceta> veiculos) {
+        Map<Long, FacetasRevenda> novas = new HashMap<>();
+        veiculos.forEach(v -> novas.computeIfAbsent(v.revendaId(), id -> new FacetasRevenda()).adicionar(v));
+        revendas.clear();
+        revendas.putAll(novas);
+    }
+
+    private static final class FacetasRevenda {
+        private static final int AUSENTE = -1;
+        private static final int DESCONHECIDO = -2;
+
+        private final ReadWriteLock trava = new ReentrantReadWriteLock();
+        private final Dicionario marcas = new Dicionario();
+        private final Dicionario modelos = new Dicionario();
+        private final Dicionario anos = new Dicionario();
+        private final MapaLongInt posicoes = new MapaLongInt();
+        private final MapaLongInt pares = new MapaLongInt();
+        private int[] parPorPosicao = new int[16];
+        private int[] anoPorPosicao = new int[16];
+        private int[] livres = new int[16];
+        private int quantidadeLivres;
+        private int ocupadas;
+        private int[] marcaPorPar = new int[16];
+        private int[] modeloPorPar = new int[16];
+        private int[] totalPorPar = new int[16];
+        private int[][] anosPorPar = new int[16][];
+        private int quantidadePares;
+
+        void adicionar(VeiculoFaceta veiculo) {
+            trava.writeLock().lock();
+            try {
+                remover(veiculo.id());
+                int posicao = quantidadeLivres > 0 ? livres[--quantidadeLivres] : ocupadas++;
+                if (posicao == parPorPosicao.length) {
+                    parPorPosicao = Arrays.copyOf(parPorPosicao, posicao * 2);
+                    anoPorPosicao = Arrays.copyOf(anoPorPosicao, posicao * 2);
+                }
+                int par = par(marcas.incrementar(veiculo.marca()), modelos.incrementar(veiculo.modelo()));
+                int ano = anos.incrementar(String.valueOf(veiculo.anoModelo()));
+                if (ano >= anosPorPar[par].length) {
+                    anosPorPar[par] = Arrays.copyOf(anosPorPar[par], Math.max(ano + 1, anosPorPar[par].length * 2));
+                }
+                anosPorPar[par][ano]++;
+                totalPorPar[par]++;
+                parPorPosicao[posicao] = par;
+                anoPorPosicao[posicao] = ano;
+                posicoes.put(veiculo.id(), posicao);
+            } finally {
+                trava.writeLock().unlock();
+            }
+        }
+
+        void remover(Long veiculoId) {
+            trava.writeLock().lock();
+            try {
+                int posicao = posicoes.remover(veiculoId);
+                if (posicao == AUSENTE) {
+                    return;
+                }
+                int par = parPorPosicao[posicao];
+                marcas.decrementar(marcaPorPar[par]);
+                modelos.decrementar(modeloPorPar[par]);
+                anos.decrementar(anoPorPosicao[posicao]);
+                anosPorPar[par][anoPorPosicao[posicao]]--;
+                totalPorPar[par]--;
+                if (quantidadeLivres == livres.length) {
+                    livres = Arrays.copyOf(livres, livres.length * 2);
+                }
+                livres[quantidadeLivres++] = posicao;
+            } finally {
+                trava.writeLock().unlock();
+            }
+        }
+
+        FacetasVeiculoDTO contar(String marca, String modelo, String anoModelo) {
+            trava.readLock().lock();
+            try {
+                if (marca == null && modelo == null && anoModelo == null) {
+                    return new FacetasVeiculoDTO(posicoes.tamanho(), marcas.contagens(marcas.totais), modelos.contagens(modelos.totais),
+                            anos.contagens(anos.totais));
+                }
+
+                int filtroMarca = marcas.codigo(marca);
+                int filtroModelo = modelos.codigo(modelo);
+                int filtroAno = anos.codigo(anoModelo);
+                int[] porMarca = new int[marcas.valores.size()];
+                int[] porModelo = new int[modelos.valores.size()];
+                int[] porAno = new int[anos.valores.size()];
+                int total = 0;
+                for (int par = 0; par < quantidadePares; par++) {
+                    if (totalPorPar[par] == 0) {
+                        continue;
+                    }
+                    int[] anosDoPar = anosPorPar[par];
+                    int noAno = filtroAno == AUSENTE ? totalPorPar[par]
+                            : filtroAno >= 0 && filtroAno < anosDoPar.length ? anosDoPar[filtroAno] : 0;
+                    boolean atendeMarca = filtroMarca == AUSENTE || filtroMarca == marcaPorPar[par];
+                    boolean atendeModelo = filtroModelo == AUSENTE || filtroModelo == modeloPorPar[par];
+                    if (atendeModelo) {
+                        porMarca[marcaPorPar[par]] += noAno;
+                    }
+                    if (atendeMarca) {
+                        porModelo[modeloPorPar[par]] += noAno;
+                    }
+                    if (atendeMarca && atendeModelo) {
+                        total += noAno;
+                        for (int ano = 0; ano < Math.min(anosDoPar.length, porAno.length); ano++) {
+                            porAno[ano] += anosDoPar[ano];
+                        }
+                    }
+                }
+                return new FacetasVeiculoDTO(total, marcas.contagens(porMarca), modelos.contagens(porModelo), anos.contagens(porAno));
+            } finally {
+                trava.readLock().unlock();
+            }
+        }
+
+        private int par(int marca, int modelo) {
+            long chave = (long) marca << 32 | modelo;
+            int par = pares.get(chave);
+            if (par != AUSENTE) {
+                return par;
+            }
+            par = quantidadePares++;
+            if (par == marcaPorPar.length) {
+                marcaPorPar = Arrays.copyOf(marcaPorPar, par * 2);
+                modeloPorPar = Arrays.copyOf(modeloPorPar, par * 2);
+                totalPorPar = Arrays.copyOf(totalPorPar, par * 2);
+                anosPorPar = Arrays.copyOf(anosPorPar, par * 2);
+            }
+            marcaPorPar[par] = marca;
+            modeloPorPar[par] = modelo;
+            anosPorPar[par] = new int[Math.max(4, anos.valores.size())];
+            pares.put(chave, par);
+            return par;
+        }
+
+        private static final class MapaLongInt {
+            private long[] chaves = new long[16];
+            private int[] valores = new int[16];
+            private int tamanho;
+
+            int tamanho() {
+                return tamanho;
+            }
+
+            int get(long chave) {
+                int mascara = chaves.length - 1;
+                for (int i = indice(chave, mascara); valores[i] != 0; i = (i + 1) & mascara) {
+                    if (chaves[i] == chave) {
+                        return valores[i] - 1;
+                    }
+                }
+                return AUSENTE;
+            }
+
+            void put(long chave, int valor) {
+                if ((tamanho + 1) * 2 > chaves.length) {
+                    redimensionar();
+                }
+                int mascara = chaves.length - 1;
+                int i = indice(chave, mascara);
+                while (valores[i] != 0 && chaves[i] != chave) {
+                    i = (i + 1) & mascara;
+                }
+                if (valores[i] == 0) {
+                    tamanho++;
+                }
+                chaves[i] = chave;
+                valores[i] = valor + 1;
+            }
+
+            int remover(long chave) {
+                int mascara = chaves.length - 1;
+                int i = indice(chave, mascara);
+                while (valores[i] != 0 && chaves[i] != chave) {
+                    i = (i + 1) & mascara;
+                }
+                if (valores[i] == 0) {
+                    return AUSENTE;
+                }
+                int removido = valores[i] - 1;
+                int vazio = i;
+                for (int j = (i + 1) & mascara; valores[j] != 0; j = (j + 1) & mascara) {
+                    if (((j - indice(chaves[j], mascara)) & mascara) >= ((j - vazio) & mascara)) {
+                        chaves[vazio] = chaves[j];
+                        valores[vazio] = valores[j];
+                        vazio = j;
+                    }
+                }
+                valores[vazio] = 0;
+                tamanho--;
+                return removido;
+            }
+
+            private void redimensionar() {
+                long[] chavesAnteriores = chaves;
+                int[] valoresAnteriores = valores;
+                chaves = new long[chavesAnteriores.length * 2];
+                valores = new int[valoresAnteriores.length * 2];
+                int mascara = chaves.length - 1;
+                for (int anterior = 0; anterior < chavesAnteriores.length; anterior++) {
+                    if (valoresAnteriores[anterior] == 0) {
+                        continue;
+                    }
+                    int i = indice(chavesAnteriores[anterior], mascara);
+                    while (valores[i] != 0) {
+                        i = (i + 1) & mascara;
+                    }
+                    chaves[i] = chavesAnteriores[anterior];
+                    valores[i] = valoresAnteriores[anterior];
+                }
+            }
+
+            private static int indice(long chave, int mascara) {
+                long misturado = chave * 0x9E3779B97F4A7C15L;
+                return (int) (misturado ^ misturado >>> 32) & mascara;
+            }
+        }
+
+        private static final class Dicionario {
+            private final Map<String, Integer> codigos = new HashMap<>();
+            private final List<String> valores = new ArrayList<>();
+            private int[] totais = new int[16];
+
+            int incrementar(String valor) {
+                int codigo = codigos.computeIfAbsent(valor, v -> {
+                    valores.add(v);
+                    return valores.size() - 1;
+                });
+                if (codigo == totais.length) {
+                    totais = Arrays.copyOf(totais, codigo * 2);
+                }
+                totais[codigo]++;
+                return codigo;
+            }
+
+            void decrementar(int codigo) {
+                totais[codigo]--;
+            }
+
+            int codigo(String valor) {
+                return valor == null ? AUSENTE : codigos.getOrDefault(valor, DESCONHECIDO);
+            }
+
+            List<ContagemDTO> contagens(int[] quantidades) {
+                List<ContagemDTO> contagens = new ArrayList<>();
+                for (int codigo = 0; codigo < valores.size(); codigo++) {
+                    if (quantidades[codigo] > 0) {
+                        contagens.add(new ContagemDTO(valores.get(codigo), quantidades[codigo]));
+                    }
+                }
+                contagens.sort(Comparator.comparingInt(ContagemDTO::quantidade).reversed().thenComparing(ContagemDTO::valor));
+                return contagens;
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.mobiauto.backend.service.catalogo;
+
+import com.mobiauto.backend.config.CatalogoProperties;
+import com.mobiauto.backend.dto.IndiceSugestoesDTO;
+import com.mobiauto.backend.dto.SugestaoVeiculoDTO;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+@Component
+public class SugestaoVeiculoIndex {
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Comparator<Termo> POR_CHAVE = Comparator.comparing(Termo::chave).thenComparing(Termo::tipo);
+    private static final Comparator<Termo> POR_RELEVANCIA = Comparator.comparingInt(Termo::quantidade).reversed()
+            .thenComparing(Termo::chave).thenComparing(Termo::tipo);
+    private static final Termo[] SEM_TERMOS = new Termo[0];
+    private static final long BYTES_POR_TERMO = 136;
+    private static final long BYTES_POR_VEICULO = 88;
+    private static final long BYTES_POR_CARACTERE = 2;
+
+    private final Map<Long, SugestoesRevenda> revendas = new ConcurrentHashMap<>();
+    private final int maxTermos;
+    private final int tamanhoMaximoTermo;
+
+    public SugestaoVeiculoIndex(CatalogoProperties properties) {
+        this.maxTermos = properties.maxTermosSugestao();
+        this.tamanhoMaximoTermo = properties.tamanhoMaximoTermo();
+    }
+
+    public List<SugestaoVeiculoDTO> sugerir(Long revendaId, String prefixo, int limite) {
+        SugestoesRevenda sugestoes = revendas.get(revendaId);
+        return sugestoes == null ? List.of() : sugestoes.sugerir(normalizar(prefixo), limite);
+    }
+
+    public void adicionar(VeiculoFaceta veiculo) {
+        revendas.computeIfAbsent(veiculo.revendaId(), id -> new SugestoesRevenda()).adicionar(veiculo);
+    }
+
+    public void remover(Long revendaId, Long veiculoId) {
+        SugestoesRevenda sugestoes = revendas.get(revendaId);
+        if (sugestoes != null) {
+            sugestoes.remover(veiculoId);
+        }
+    }
+
+    public void reconstruir(List<VeiculoFaceta> veiculos) {
+        Map<Long, SugestoesRevenda> novas = new HashMap<>();
+        veiculos.forEach(v -> novas.computeIfAbsent(v.revendaId(), id -> new SugestoesRevenda()).adicionar(v));
+        revendas.clear();
+        revendas.putAll(novas);
+    }
+
+    public IndiceSugestoesDTO estatisticas() {
+        int veiculos = 0;
+        int termos = 0;
+        int descartados = 0;
+        long bytes = 0;
+        for (SugestoesRevenda sugestoes : revendas.values()) {
+            synchronized (sugestoes) {
+                veiculos += sugestoes.porVeiculo.size();
+                termos += sugestoes.termos.size();
+                descartados += sugestoes.descartados;
+                bytes += sugestoes.bytesEstimados();
+            }
+        }
+        return new IndiceSugestoesDTO(revendas.size(), veiculos, termos, descartados, maxTermos, bytes);
+    }
+
+    static String normalizar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(valor, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private final class SugestoesRevenda {
+        private final Map<ChaveTermo, Termo> termos = new HashMap<>();
+        private final Map<Long, Termo[]> porVeiculo = new HashMap<>();
+        private Termo[] ordenados = SEM_TERMOS;
+        private boolean alterado;
+        private int descartados;
+        private long caracteres;
+
+        synchronized void adicionar(VeiculoFaceta veiculo) {
+            remover(veiculo.id());
+            List<Termo> doVeiculo = new ArrayList<>(3);
+            incrementar(TipoSugestao.MARCA, veiculo.marca(), doVeiculo);
+            incrementar(TipoSugestao.MODELO, veiculo.modelo(), doVeiculo);
+            incrementar(TipoSugestao.VERSAO, veiculo.versao(), doVeiculo);
+            porVeiculo.put(veiculo.id(), doVeiculo.toArray(SEM_TERMOS));
+        }
+
+        synchronized void remover(Long veiculoId) {
+            Termo[] doVeiculo = porVeiculo.remove(veiculoId);
+            if (doVeiculo == null) {
+                return;
+            }
+            for (Termo termo : doVeiculo) {
+                if (--termo.quantidade == 0) {
+                    termos.remove(new ChaveTermo(termo.tipo, termo.chave));
+                    caracteres -= termo.chave.length() + termo.valor.length();
+                    alterado = true;
+                }
+            }
+        }
+
+        synchronized List<SugestaoVeiculoDTO> sugerir(String prefixo, int limite) {
+            if (alterado) {
+                ordenados = termos.values().toArray(SEM_TERMOS);
+                Arrays.sort(ordenados, POR_CHAVE);
+                alterado = false;
+            }
+
+            PriorityQueue<Termo> melhores = new PriorityQueue<>(limite + 1, POR_RELEVANCIA.reversed());
+            for (int i = inicio(prefixo); i < ordenados.length && ordenados[i].chave.startsWith(prefixo); i++) {
+                melhores.add(ordenados[i]);
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+            List<Termo> encontrados = new ArrayList<>(melhores);
+            encontrados.sort(POR_RELEVANCIA);
+            return encontrados.stream().map(t -> new SugestaoVeiculoDTO(t.valor, t.tipo, t.quantidade)).toList();
+        }
+
+        long bytesEstimados() {
+            return termos.size() * BYTES_POR_TERMO + porVeiculo.size() * BYTES_POR_VEICULO + caracteres * BYTES_POR_CARACTERE;
+        }
+
+        private void incrementar(TipoSugestao tipo, String valor, List<Termo> doVeiculo) {
+            String chave = normalizar(valor);
+            if (chave.isEmpty() || chave.length() > tamanhoMaximoTermo) {
+                return;
+            }
+            ChaveTermo chaveTermo = new ChaveTermo(tipo, chave);
+            Termo termo = termos.get(chaveTermo);
+            if (termo == null) {
+                if (termos.size() >= maxTermos) {
+                    descartados++;
+                    return;
+                }
+                termo = new Termo(tipo, chave, valor.trim());
+                termos.put(chaveTermo, termo);
+                caracteres += termo.chave.length() + termo.valor.length();
+                alterado = true;
+            }
+            termo.quantidade++;
+            doVeiculo.add(termo);
+        }
+
+        private int inicio(String prefixo) {
+            int baixo = 0;
+            int alto = ordenados.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (ordenados[meio].chave.compareTo(prefixo) < 0) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+
+    private record ChaveTermo(TipoSugestao tipo, String chave) {}
+
+    private static final class Termo {
+        private final TipoSugestao tipo;
+        private final String chave;
+        private final String valor;
+        private int quantidade;
+
+        Termo(TipoSugestao tipo, String chave, String valor) {
+            this.tipo = tipo;
+            this.chave = chave;
+            this.valor = valor;
+        }
+
+        TipoSugestao tipo() {
+            return tipo;
+        }
+
+        String chave() {
+            return chave;
+        }
+
+        int quantidade() {
+            return quantidade;
+        }
+    }
+}
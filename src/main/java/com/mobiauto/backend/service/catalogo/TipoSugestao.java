@@ -0,0 +1,7 @@
+package com.mobiauto.backend.service.catalogo;
+
+public enum TipoSugestao {
+    MARCA,
+    MODELO,
+    VERSAO
+}
@@ -0,0 +1,3 @@
+package com.mobiauto.backend.service.catalogo;
+
+public record VeiculoFaceta(Long id, Long revendaId, String marca, String modelo, String versao, Integer anoModelo) {}
@@ -0,0 +1,25 @@
+package com.mobiauto.backend.service.distribuicao;
+
+import com.mobiauto.backend.model.EstrategiaDistribuicao;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+
+@Component
+public class CapacidadeLimitadaStrategy implements DistribuicaoStrategy {
+
+    @Override
+    public EstrategiaDistribuicao tipo() {
+        return EstrategiaDistribuicao.CAPACIDADE_LIMITADA;
+    }
+
+    @Override
+    public Comparator<CargaAssistente> ordem() {
+        return CargaAssistente.MENOR_CARGA;
+    }
+
+    @Override
+    public boolean aceita(CargaAssistente carga) {
+        return carga.limite() == null || carga.emAtendimento() < carga.limite();
+    }
+}
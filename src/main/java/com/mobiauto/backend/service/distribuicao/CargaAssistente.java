@@ -0,0 +1,31 @@
+package com.mobiauto.backend.service.distribuicao;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+public record CargaAssistente(Long usuarioId, long emAtendimento, LocalDateTime dataUltimaAtribuicao, int peso, Integer limite) {
+
+    public static final Comparator<CargaAssistente> ATRIBUICAO_MAIS_ANTIGA = Comparator
+            .comparing(CargaAssistente::dataUltimaAtribuicao, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CargaAssistente::usuarioId);
+
+    public static final Comparator<CargaAssistente> MENOR_CARGA = Comparator
+            .comparingLong(CargaAssistente::emAtendimento)
+            .thenComparing(ATRIBUICAO_MAIS_ANTIGA);
+
+    public CargaAssistente(Long usuarioId, long emAtendimento, LocalDateTime dataUltimaAtribuicao) {
+        this(usuarioId, emAtendimento, dataUltimaAtribuicao, 1, null);
+    }
+
+    public CargaAssistente {
+        peso = Math.max(1, peso);
+    }
+
+    public CargaAssistente comCarga(long novaCarga) {
+        return new CargaAssistente(usuarioId, Math.max(0, novaCarga), dataUltimaAtribuicao, peso, limite);
+    }
+
+    public CargaAssistente comAtribuicao(LocalDateTime data) {
+        return new CargaAssistente(usuarioId, emAtendimento, data, peso, limite);
+    }
+}
@@ -0,0 +1,143 @@
+package com.mobiauto.backend.service.distribuicao;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class CargaAssistenteIndex {
+    private final Map<Long, CargasRevenda> revendas = new ConcurrentHashMap<>();
+
+    public Optional<Long> escolher(Long revendaId, DistribuicaoStrategy estrategia,
+                                   Function<Long, List<CargaAssistente>> carregador) {
+        return carregar(revendaId, estrategia, carregador).escolher();
+    }
+
+    public List<CargaAssistente> listar(Long revendaId, DistribuicaoStrategy estrategia,
+                                       Function<Long, List<CargaAssistente>> carregador) {
+        return carregar(revendaId, estrategia, carregador).listar();
+    }
+
+    public void registrarAtribuicao(Long revendaId, Long usuarioId, LocalDateTime data) {
+        CargasRevenda cargas = revendas.get(revendaId);
+        if (cargas != null) {
+            cargas.atualizar(usuarioId, carga -> carga.comAtribuicao(data));
+        }
+    }
+
+    public void ajustarCarga(Long revendaId, Long usuarioId, long delta) {
+        CargasRevenda cargas = revendas.get(revendaId);
+        if (cargas != null) {
+            cargas.atualizar(usuarioId, carga -> carga.comCarga(carga.emAtendimento() + delta));
+        }
+    }
+
+    public void adicionarAssistente(Long revendaId, CargaAssistente carga) {
+        CargasRevenda cargas = revendas.get(revendaId);
+        if (cargas != null) {
+            cargas.adicionar(carga);
+        }
+    }
+
+    public void removerAssistente(Long revendaId, Long usuarioId) {
+        CargasRevenda cargas = revendas.get(revendaId);
+        if (cargas != null) {
+            cargas.remover(usuarioId);
+        }
+    }
+
+    public void invalidar(Long revendaId) {
+        revendas.remove(revendaId);
+    }
+
+    public void reconstruir(Map<Long, List<CargaAssistente>> cargasPorRevenda, Function<Long, DistribuicaoStrategy> estrategias) {
+        revendas.clear();
+        cargasPorRevenda.forEach((revendaId, cargas) ->
+                revendas.put(revendaId, new CargasRevenda(estrategias.apply(revendaId), cargas)));
+    }
+
+    public Set<Long> revendasCarregadas() {
+        return Set.copyOf(revendas.keySet());
+    }
+
+    public Map<Long, Long> cargas(Long revendaId) {
+        CargasRevenda cargas = revendas.get(revendaId);
+        return cargas == null ? Map.of() : cargas.snapshot();
+    }
+
+    private CargasRevenda carregar(Long revendaId, DistribuicaoStrategy estrategia,
+                                   Function<Long, List<CargaAssistente>> carregador) {
+        while (true) {
+            CargasRevenda atual = revendas.get(revendaId);
+            if (atual != null && atual.estrategia.tipo() == estrategia.tipo()) {
+                return atual;
+            }
+            CargasRevenda nova = new CargasRevenda(estrategia, carregador.apply(revendaId));
+            boolean gravada = atual == null
+                    ? revendas.putIfAbsent(revendaId, nova) == null
+                    : revendas.replace(revendaId, atual, nova);
+            if (gravada) {
+                return nova;
+            }
+        }
+    }
+
+    private static final class CargasRevenda {
+        private final DistribuicaoStrategy estrategia;
+        private final TreeSet<CargaAssistente> fila;
+        private final Map<Long, CargaAssistente> porUsuario = new HashMap<>();
+
+        private CargasRevenda(DistribuicaoStrategy estrategia, List<CargaAssistente> cargas) {
+            this.estrategia = estrategia;
+            this.fila = new TreeSet<>(estrategia.ordem());
+            cargas.forEach(this::adicionar);
+        }
+
+        synchronized Optional<Long> escolher() {
+            return estrategia.escolher(fila).map(CargaAssistente::usuarioId);
+        }
+
+        synchronized List<CargaAssistente> listar() {
+            return List.copyOf(fila);
+        }
+
+        synchronized void adicionar(CargaAssistente carga) {
+            if (!porUsuario.containsKey(carga.usuarioId())) {
+                porUsuario.put(carga.usuarioId(), carga);
+                fila.add(carga);
+            }
+        }
+
+        synchronized void remover(Long usuarioId) {
+            CargaAssistente atual = porUsuario.remove(usuarioId);
+            if (atual != null) {
+                fila.remove(atual);
+            }
+        }
+
+        synchronized void atualizar(Long usuarioId, Function<CargaAssistente, CargaAssistente> alteracao) {
+            CargaAssistente atual = porUsuario.get(usuarioId);
+            if (atual == null) {
+                return;
+            }
+            CargaAssistente nova = alteracao.apply(atual);
+            fila.remove(atual);
+            fila.add(nova);
+            porUsuario.put(usuarioId, nova);
+        }
+
+        synchronized Map<Long, Long> snapshot() {
+            return porUsuario.values().stream()
+                    .collect(Collectors.toMap(CargaAssistente::usuarioId, CargaAssistente::emAtendimento));
+        }
+    }
+}
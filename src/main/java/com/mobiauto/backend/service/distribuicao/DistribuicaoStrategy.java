@@ -0,0 +1,26 @@
+package com.mobiauto.backend.service.distribuicao;
+
+import com.mobiauto.backend.model.EstrategiaDistribuicao;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+public interface DistribuicaoStrategy {
+
+    EstrategiaDistribuicao tipo();
+
+    Comparator<CargaAssistente> ordem();
+
+    default boolean aceita(CargaAssistente carga) {
+        return true;
+    }
+
+    default Optional<CargaAssistente> escolher(Iterable<CargaAssistente> ordenadas) {
+        for (CargaAssistente carga : ordenadas) {
+            if (aceita(carga)) {
+                return Optional.of(carga);
+            }
+        }
+        return Optional.empty();
+    }
+}
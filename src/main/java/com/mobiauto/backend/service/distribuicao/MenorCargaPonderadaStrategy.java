@@ -0,0 +1,23 @@
+package com.mobiauto.backend.service.distribuicao;
+
+import com.mobiauto.backend.model.EstrategiaDistribuicao;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+
+@Component
+public class MenorCargaPonderadaStrategy implements DistribuicaoStrategy {
+    private static final Comparator<CargaAssistente> ORDEM = ((Comparator<CargaAssistente>) (a, b) ->
+            Long.compare(a.emAtendimento() * b.peso(), b.emAtendimento() * a.peso()))
+            .thenComparing(CargaAssistente.ATRIBUICAO_MAIS_ANTIGA);
+
+    @Override
+    public EstrategiaDistribuicao tipo() {
+        return EstrategiaDistribuicao.MENOR_CARGA_PONDERADA;
+    }
+
+    @Override
+    public Comparator<CargaAssistente> ordem() {
+        return ORDEM;
+    }
+}
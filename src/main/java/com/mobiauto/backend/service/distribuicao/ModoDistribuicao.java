@@ -0,0 +1,6 @@
+package com.mobiauto.backend.service.distribuicao;
+
+public enum ModoDistribuicao {
+    MEMORIA,
+    CLUSTER
+}
@@ -0,0 +1,57 @@
+package com.mobiauto.backend.service.distribuicao;
+
+import com.mobiauto.backend.dto.RebalanceamentoDTO;
+
+import java.time.LocalDateTime;
+
+public class Rebalanceamento {
+    private final Long revendaId;
+    private final LocalDateTime inicio = LocalDateTime.now();
+    private SituacaoRebalanceamento situacao = SituacaoRebalanceamento.EM_ANDAMENTO;
+    private int lotes;
+    private long oportunidadesMovidas;
+    private Long diferencaInicial;
+    private Long diferencaAtual;
+    private LocalDateTime fim;
+    private String erro;
+
+    public Rebalanceamento(Long revendaId) {
+        this.revendaId = revendaId;
+    }
+
+    public Long getRevendaId() {
+        return revendaId;
+    }
+
+    public synchronized boolean emAndamento() {
+        return situacao == SituacaoRebalanceamento.EM_ANDAMENTO;
+    }
+
+    public synchronized void registrarDiferenca(long diferenca) {
+        if (diferencaInicial == null) {
+            diferencaInicial = diferenca;
+        }
+        diferencaAtual = diferenca;
+    }
+
+    public synchronized void registrarLote(int movidas) {
+        lotes++;
+        oportunidadesMovidas += movidas;
+    }
+
+    public synchronized void concluir() {
+        situacao = SituacaoRebalanceamento.CONCLUIDO;
+        fim = LocalDateTime.now();
+    }
+
+    public synchronized void falhar(String motivo) {
+        situacao = SituacaoRebalanceamento.FALHOU;
+        erro = motivo;
+        fim = LocalDateTime.now();
+    }
+
+    public synchronized RebalanceamentoDTO toDTO() {
+        return new RebalanceamentoDTO(revendaId, situacao, lotes, oportunidadesMovidas,
+                diferencaInicial, diferencaAtual, inicio, fim, erro);
+    }
+}
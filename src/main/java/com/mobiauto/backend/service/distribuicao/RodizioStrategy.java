@@ -0,0 +1,20 @@
+package com.mobiauto.backend.service.distribuicao;
+
+import com.mobiauto.backend.model.EstrategiaDistribuicao;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+
+@Component
+public class RodizioStrategy implements DistribuicaoStrategy {
+
+    @Override
+    public EstrategiaDistribuicao tipo() {
+        return EstrategiaDistribuicao.RODIZIO;
+    }
+
+    @Override
+    public Comparator<CargaAssistente> ordem() {
+        return CargaAssistente.ATRIBUICAO_MAIS_ANTIGA;
+    }
+}
@@ -0,0 +1,7 @@
+package com.mobiauto.backend.service.distribuicao;
+
+public enum SituacaoRebalanceamento {
+    EM_ANDAMENTO,
+    CONCLUIDO,
+    FALHOU
+}
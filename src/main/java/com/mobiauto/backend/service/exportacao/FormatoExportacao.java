@@ -0,0 +1,28 @@
+package com.mobiauto.backend.service.exportacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+@Getter
+@AllArgsConstructor
+public enum FormatoExportacao {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extensao;
+
+    public static FormatoExportacao de(String formato) {
+        return Arrays.stream(values())
+                .filter(f -> f.extensao.equalsIgnoreCase(formato))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "Formato de exportação inválido, use ndjson ou csv"));
+    }
+}
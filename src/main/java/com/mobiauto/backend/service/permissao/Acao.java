@@ -0,0 +1,9 @@
+package com.mobiauto.backend.service.permissao;
+
+public enum Acao {
+    CONSULTAR,
+    CRIAR,
+    ATUALIZAR,
+    EXCLUIR,
+    ATENDER
+}
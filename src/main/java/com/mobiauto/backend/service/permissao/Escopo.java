@@ -0,0 +1,8 @@
+package com.mobiauto.backend.service.permissao;
+
+public enum Escopo {
+    NENHUM,
+    PROPRIOS,
+    PROPRIA_REVENDA,
+    GLOBAL
+}
@@ -0,0 +1,96 @@
+package com.mobiauto.backend.service.permissao;
+
+import com.mobiauto.backend.model.Cargo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.mobiauto.backend.model.Cargo.*;
+import static com.mobiauto.backend.service.permissao.Acao.*;
+import static com.mobiauto.backend.service.permissao.Escopo.*;
+import static com.mobiauto.backend.service.permissao.Recurso.*;
+
+public final class MatrizPermissoes {
+    private static final int CARGOS = Cargo.values().length;
+    private static final int ACOES = Acao.values().length;
+    private static final int PERMISSOES = Recurso.values().length * ACOES;
+
+    public static final MatrizPermissoes PADRAO = new MatrizPermissoes(regrasPadrao());
+
+    private final Escopo[] escopos;
+
+    public MatrizPermissoes(Collection<RegraPermissao> regras) {
+        escopos = new Escopo[(1 << CARGOS) * PERMISSOES];
+        Arrays.fill(escopos, NENHUM);
+
+        Set<List<Enum<?>>> declaradas = new HashSet<>();
+        for (RegraPermissao regra : regras) {
+            if (!declaradas.add(List.of(regra.cargo(), regra.recurso(), regra.acao()))) {
+                throw new IllegalStateException("Regra de permissão duplicada: " + regra);
+            }
+            int bit = 1 << regra.cargo().ordinal();
+            int permissao = indice(regra.recurso(), regra.acao());
+            for (int mascara = bit; mascara < 1 << CARGOS; mascara++) {
+                int posicao = mascara * PERMISSOES + permissao;
+                if ((mascara & bit) != 0 && regra.escopo().compareTo(escopos[posicao]) > 0) {
+                    escopos[posicao] = regra.escopo();
+                }
+            }
+        }
+    }
+
+    public static int mascara(Collection<Cargo> cargos) {
+        int mascara = 0;
+        for (Cargo cargo : cargos) {
+            mascara |= 1 << cargo.ordinal();
+        }
+        return mascara;
+    }
+
+    public Escopo escopo(int cargos, Recurso recurso, Acao acao) {
+        return escopos[cargos * PERMISSOES + indice(recurso, acao)];
+    }
+
+    private static int indice(Recurso recurso, Acao acao) {
+        return recurso.ordinal() * ACOES + acao.ordinal();
+    }
+
+    private static List<RegraPermissao> regrasPadrao() {
+        List<RegraPermissao> regras = new ArrayList<>();
+
+        for (Recurso recurso : List.of(REVENDA, USUARIO, CLIENTE, VEICULO, OPORTUNIDADE)) {
+            permitir(regras, ADMINISTRADOR, GLOBAL, recurso, CONSULTAR, CRIAR, ATUALIZAR, EXCLUIR);
+        }
+        permitir(regras, ADMINISTRADOR, GLOBAL, REBALANCEAMENTO, CONSULTAR, CRIAR);
+        permitir(regras, ADMINISTRADOR, GLOBAL, DIAGNOSTICO, CONSULTAR);
+
+        for (Cargo cargo : List.of(PROPRIETARIO, GERENTE, ASSISTENTE)) {
+            permitir(regras, cargo, PROPRIA_REVENDA, REVENDA, CONSULTAR);
+            permitir(regras, cargo, PROPRIA_REVENDA, USUARIO, CONSULTAR, EXCLUIR);
+            permitir(regras, cargo, PROPRIA_REVENDA, CLIENTE, CONSULTAR, CRIAR, ATUALIZAR, EXCLUIR);
+            permitir(regras, cargo, PROPRIA_REVENDA, VEICULO, CONSULTAR, CRIAR, ATUALIZAR, EXCLUIR);
+            permitir(regras, cargo, PROPRIA_REVENDA, OPORTUNIDADE, CONSULTAR, CRIAR, EXCLUIR);
+        }
+
+        for (Cargo cargo : List.of(PROPRIETARIO, GERENTE)) {
+            permitir(regras, cargo, PROPRIA_REVENDA, USUARIO, CRIAR);
+            permitir(regras, cargo, PROPRIA_REVENDA, OPORTUNIDADE, ATUALIZAR);
+            permitir(regras, cargo, PROPRIA_REVENDA, REBALANCEAMENTO, CONSULTAR, CRIAR);
+        }
+        permitir(regras, PROPRIETARIO, PROPRIA_REVENDA, USUARIO, ATUALIZAR);
+
+        permitir(regras, ASSISTENTE, PROPRIOS, OPORTUNIDADE, ATUALIZAR);
+        permitir(regras, ASSISTENTE, PROPRIA_REVENDA, OPORTUNIDADE, ATENDER);
+        return regras;
+    }
+
+    private static void permitir(List<RegraPermissao> regras, Cargo cargo, Escopo escopo, Recurso recurso, Acao... acoes) {
+        for (Acao acao : acoes) {
+            regras.add(new RegraPermissao(cargo, recurso, acao, escopo));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.mobiauto.backend.service.permissao;
+
+public enum Recurso {
+    REVENDA,
+    USUARIO,
+    CLIENTE,
+    VEICULO,
+    OPORTUNIDADE,
+    REBALANCEAMENTO,
+    DIAGNOSTICO
+}
@@ -0,0 +1,5 @@
+package com.mobiauto.backend.service.permissao;
+
+import com.mobiauto.backend.model.Cargo;
+
+public record RegraPermissao(Cargo cargo, Recurso recurso, Acao acao, Escopo escopo) {}
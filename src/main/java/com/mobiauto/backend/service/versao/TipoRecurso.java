@@ -0,0 +1,7 @@
+package com.mobiauto.backend.service.versao;
+
+public enum TipoRecurso {
+    CLIENTE,
+    VEICULO,
+    OPORTUNIDADE
+}
@@ -0,0 +1,26 @@
+package com.mobiauto.backend.tenant;
+
+import com.mobiauto.backend.model.Revenda;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class FiltroTenant implements Consumer<EntityManager> {
+    private final Supplier<Long> revendaId;
+
+    public FiltroTenant(Supplier<Long> revendaId) {
+        this.revendaId = revendaId;
+    }
+
+    @Override
+    public void accept(EntityManager entityManager) {
+        Long revenda = revendaId.get();
+        if (revenda != null) {
+            entityManager.unwrap(Session.class)
+                    .enableFilter(Revenda.FILTRO_TENANT)
+                    .setParameter(Revenda.PARAMETRO_TENANT, revenda);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.mobiauto.backend.tenant;
+
+import com.mobiauto.backend.config.MobiautoAuthenticationToken;
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.function.Supplier;
+
+import static com.mobiauto.backend.model.Cargo.ADMINISTRADOR;
+
+public class RevendaTenantResolver implements Supplier<Long> {
+
+    @Override
+    public Long get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof MobiautoAuthenticationToken token)) {
+            return null;
+        }
+
+        MobiautoPrincipal principal = token.getPrincipal();
+        return principal.possui(ADMINISTRADOR) ? null : principal.getRevendaId();
+    }
+}
@@ -0,0 +1,63 @@
+package com.mobiauto.backend.utils;
+
+import com.mobiauto.backend.dto.PaginaDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+public final class CursorUtil {
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    private CursorUtil() {}
+
+    public static Long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            long id = Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            if (id < 0) {
+                throw new NumberFormatException();
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+
+    public static String codificar(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int limite(Integer limite) {
+        if (limite == null) {
+            return LIMITE_PADRAO;
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        return limite;
+    }
+
+    public static Limit consulta(int limite) {
+        return Limit.of(limite + 1);
+    }
+
+    public static <E, T> PaginaDTO<T> paginar(List<E> encontrados, int limite, Function<E, Long> id, Function<E, T> conversor) {
+        boolean temMais = encontrados.size() > limite;
+        List<E> pagina = temMais ? encontrados.subList(0, limite) : encontrados;
+        String proximoCursor = temMais ? codificar(id.apply(pagina.get(pagina.size() - 1))) : null;
+        return new PaginaDTO<>(pagina.stream().map(conversor).toList(), proximoCursor);
+    }
+
+    public static <T> PaginaDTO<T> paginarPorPosicao(List<T> encontrados, int limite, long deslocamento) {
+        boolean temMais = encontrados.size() > limite;
+        return new PaginaDTO<>(temMais ? encontrados.subList(0, limite) : encontrados, temMais ? codificar(deslocamento + limite) : null);
+    }
+}
@@ -0,0 +1,41 @@
+CREATE TABLE IF NOT EXISTS revenda (
+    id BIGSERIAL PRIMARY KEY,
+    cnpj TEXT NOT NULL UNIQUE,
+    nome_social TEXT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS usuario (
+    id BIGSERIAL PRIMARY KEY,
+    nome TEXT NOT NULL,
+    email TEXT NOT NULL UNIQUE,
+    senha TEXT NOT NULL,
+    cargo TEXT NOT NULL,
+    revenda_id BIGINT NOT NULL,
+    data_ultima_atribuicao TIMESTAMP,
+    CONSTRAINT fk_usuario_revenda FOREIGN KEY (revenda_id) REFERENCES revenda(id)
+);
+
+CREATE TABLE IF NOT EXISTS veiculo (
+    id BIGSERIAL PRIMARY KEY,
+    marca TEXT NOT NULL,
+    modelo TEXT NOT NULL,
+    versao TEXT NOT NULL,
+    ano_modelo INTEGER NOT NULL,
+    revenda_id BIGINT NOT NULL,
+    CONSTRAINT fk_veiculo_revenda FOREIGN KEY (revenda_id) REFERENCES revenda(id)
+);
+
+CREATE TABLE IF NOT EXISTS oportunidade (
+    id BIGSERIAL PRIMARY KEY,
+    cliente_id BIGINT NOT NULL,
+    veiculo_id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    revenda_id BIGINT NOT NULL,
+    status TEXT NOT NULL,
+    motivo_conclusao TEXT,
+    data_atribuicao TIMESTAMP NOT NULL,
+    data_conclusao TIMESTAMP,
+    CONSTRAINT fk_oportunidade_veiculo FOREIGN KEY (veiculo_id) REFERENCES veiculo(id),
+    CONSTRAINT fk_oportunidade_usuario FOREIGN KEY (usuario_id) REFERENCES usuario(id),
+    CONSTRAINT fk_oportunidade_revenda FOREIGN KEY (revenda_id) REFERENCES revenda(id)
+);
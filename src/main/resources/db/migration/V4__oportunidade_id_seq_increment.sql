@@ -0,0 +1 @@
+ALTER SEQUENCE oportunidade_id_seq INCREMENT BY 50;
@@ -0,0 +1,5 @@
+ALTER TABLE oportunidade ALTER COLUMN usuario_id DROP NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_oportunidade_fila
+    ON oportunidade (revenda_id, data_atribuicao, id)
+    WHERE usuario_id IS NULL AND status = 'NOVO';
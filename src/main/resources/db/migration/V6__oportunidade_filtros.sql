@@ -0,0 +1,14 @@
+CREATE INDEX IF NOT EXISTS idx_oportunidade_revenda_status
+    ON oportunidade (revenda_id, status, data_atribuicao, id);
+
+CREATE INDEX IF NOT EXISTS idx_oportunidade_revenda_usuario
+    ON oportunidade (revenda_id, usuario_id, status, id);
+
+CREATE INDEX IF NOT EXISTS idx_oportunidade_revenda_veiculo
+    ON oportunidade (revenda_id, veiculo_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_oportunidade_revenda_cliente
+    ON oportunidade (revenda_id, cliente_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_oportunidade_revenda_atribuicao
+    ON oportunidade (revenda_id, data_atribuicao, id);
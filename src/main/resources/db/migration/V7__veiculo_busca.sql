@@ -0,0 +1,5 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_veiculo_busca_trgm
+    ON veiculo USING gin (revenda_id, lower(marca || ' ' || modelo || ' ' || versao || ' ' || CAST(ano_modelo AS text)) gin_trgm_ops);
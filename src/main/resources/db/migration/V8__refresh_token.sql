@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS refresh_token (
+    id BIGSERIAL PRIMARY KEY,
+    hash VARCHAR(43) NOT NULL UNIQUE,
+    familia UUID NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    expira_em TIMESTAMP NOT NULL,
+    revogado_em TIMESTAMP,
+    CONSTRAINT fk_refresh_token_usuario FOREIGN KEY (usuario_id) REFERENCES usuario(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_familia ON refresh_token (familia);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_usuario ON refresh_token (usuario_id);
@@ -0,0 +1,26 @@
+ALTER TABLE revenda ADD COLUMN IF NOT EXISTS estrategia_distribuicao VARCHAR(255);
+UPDATE revenda SET estrategia_distribuicao = 'MENOR_CARGA' WHERE estrategia_distribuicao IS NULL;
+
+ALTER TABLE usuario ADD COLUMN IF NOT EXISTS peso_distribuicao INTEGER;
+ALTER TABLE usuario ADD COLUMN IF NOT EXISTS limite_oportunidades INTEGER;
+ALTER TABLE usuario ADD COLUMN IF NOT EXISTS oportunidades_em_atendimento BIGINT NOT NULL DEFAULT 0;
+
+UPDATE usuario u SET oportunidades_em_atendimento = (
+    SELECT COUNT(o.id) FROM oportunidade o WHERE o.usuario_id = u.id AND o.status = 'EM_ATENDIMENTO');
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'oportunidade'::regclass AND confrelid = 'cliente'::regclass AND contype = 'f') THEN
+        ALTER TABLE oportunidade
+            ADD CONSTRAINT fk_oportunidade_cliente FOREIGN KEY (cliente_id) REFERENCES cliente(id);
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_usuario_distribuicao
+    ON usuario (revenda_id, cargo, oportunidades_em_atendimento, data_ultima_atribuicao);
+
+CREATE INDEX IF NOT EXISTS idx_usuario_revenda ON usuario (revenda_id, id);
+CREATE INDEX IF NOT EXISTS idx_cliente_revenda ON cliente (revenda_id, id);
+CREATE INDEX IF NOT EXISTS idx_veiculo_revenda ON veiculo (revenda_id, id);
+CREATE INDEX IF NOT EXISTS idx_oportunidade_revenda ON oportunidade (revenda_id, id);
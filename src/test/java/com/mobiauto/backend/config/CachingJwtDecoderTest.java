@@ -0,0 +1,237 @@
+package com.mobiauto.backend.config;
+
+import com.mobiauto.backend.dto.CacheJwtDTO;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant AGORA = Instant.parse("2025-03-01T12:00:00Z");
+    private static final int REQUISICOES = 2_000;
+    private static final int TOKENS = 20;
+    private static final int THREADS = 8;
+
+    private JwtEncoder encoder;
+    private JwtDecoder nimbus;
+    private AtomicInteger verificacoes;
+    private JwtDecoder contador;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator gerador = KeyPairGenerator.getInstance("RSA");
+        gerador.initialize(2048);
+        KeyPair chaves = gerador.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) chaves.getPublic();
+        encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(new RSAKey.Builder(publicKey)
+                .privateKey((RSAPrivateKey) chaves.getPrivate()).build())));
+        nimbus = NimbusJwtDecoder.withPublicKey(publicKey).build();
+        verificacoes = new AtomicInteger();
+        contador = token -> {
+            verificacoes.incrementAndGet();
+            return nimbus.decode(token);
+        };
+    }
+
+    @Test
+    void decode_MesmoToken_VerificaAssinaturaUmaVez() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(contador, 100, Clock.systemUTC());
+        String token = token("a@mobiauto.com", Instant.now().plusSeconds(300));
+
+        Jwt primeiro = decoder.decode(token);
+        Jwt segundo = decoder.decode(token);
+
+        assertSame(primeiro, segundo);
+        assertEquals(1, verificacoes.get());
+        assertEquals(new CacheJwtDTO(1, 100, 1, 1, 0, 0.5), decoder.estatisticas());
+    }
+
+    @Test
+    void decode_TokenExpiradoNoCache_VerificaNovamente() {
+        RelogioAjustavel relogio = new RelogioAjustavel(AGORA);
+        JwtDecoder semValidacao = token -> {
+            verificacoes.incrementAndGet();
+            return Jwt.withTokenValue(token).header("alg", "RS256").subject("a").expiresAt(AGORA.plusSeconds(300)).build();
+        };
+        CachingJwtDecoder decoder = new CachingJwtDecoder(semValidacao, 100, relogio);
+
+        decoder.decode("token");
+        relogio.instante = AGORA.plusSeconds(300);
+        decoder.decode("token");
+
+        assertEquals(2, verificacoes.get());
+        assertEquals(0, decoder.estatisticas().acertos());
+    }
+
+    @Test
+    void decode_TokenInvalido_NaoArmazena() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(contador, 100, Clock.systemUTC());
+        String token = token("a@mobiauto.com", Instant.now().plusSeconds(300));
+        String adulterado = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertThrows(BadJwtException.class, () -> decoder.decode(adulterado));
+        assertThrows(BadJwtException.class, () -> decoder.decode(adulterado));
+
+        assertEquals(2, verificacoes.get());
+        assertEquals(0, decoder.estatisticas().tamanho());
+    }
+
+    @Test
+    void decode_AcimaDaCapacidade_RemoveMenosUsado() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(contador, 2, Clock.systemUTC());
+        Instant expiracao = Instant.now().plusSeconds(300);
+        String primeiro = token("a@mobiauto.com", expiracao);
+        String segundo = token("b@mobiauto.com", expiracao);
+        String terceiro = token("c@mobiauto.com", expiracao);
+
+        decoder.decode(primeiro);
+        decoder.decode(segundo);
+        decoder.decode(primeiro);
+        decoder.decode(terceiro);
+        decoder.decode(primeiro);
+        decoder.decode(segundo);
+
+        CacheJwtDTO estatisticas = decoder.estatisticas();
+        assertEquals(2, estatisticas.tamanho());
+        assertEquals(2, estatisticas.remocoes());
+        assertEquals(4, verificacoes.get());
+    }
+
+    @Test
+    void decode_TokenReutilizadoDuranteAValidade_VerificaAssinaturaUmaVezPorToken() {
+        List<String> tokens = tokens(TOKENS);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(contador, 10_000, Clock.systemUTC());
+
+        for (int i = 0; i < REQUISICOES; i++) {
+            assertNotNull(decoder.decode(tokens.get(i % TOKENS)));
+        }
+
+        assertEquals(TOKENS, verificacoes.get());
+        assertEquals(new CacheJwtDTO(TOKENS, 10_000, REQUISICOES - TOKENS, TOKENS, 0, (double) (REQUISICOES - TOKENS) / REQUISICOES),
+                decoder.estatisticas());
+    }
+
+    @Test
+    void decode_RequisicoesConcorrentes_ServeDoCacheSemPerderContagem() throws Exception {
+        List<String> tokens = tokens(TOKENS);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(contador, 10_000, Clock.systemUTC());
+
+        executarEmParalelo(decoder, tokens);
+
+        CacheJwtDTO estatisticas = decoder.estatisticas();
+        assertEquals(THREADS * REQUISICOES, estatisticas.acertos() + estatisticas.faltas());
+        assertEquals(verificacoes.get(), estatisticas.faltas());
+        assertTrue(verificacoes.get() >= TOKENS && verificacoes.get() <= TOKENS * THREADS, estatisticas.toString());
+        assertEquals(TOKENS, estatisticas.tamanho());
+    }
+
+    @Test
+    void decode_RequisicoesConcorrentesAcimaDaCapacidade_RespeitaLimite() throws Exception {
+        List<String> tokens = tokens(TOKENS);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(contador, TOKENS / 4, Clock.systemUTC());
+
+        executarEmParalelo(decoder, tokens);
+
+        CacheJwtDTO estatisticas = decoder.estatisticas();
+        assertEquals(THREADS * REQUISICOES, estatisticas.acertos() + estatisticas.faltas());
+        assertTrue(estatisticas.tamanho() <= TOKENS / 4, estatisticas.toString());
+        assertTrue(estatisticas.remocoes() > 0, estatisticas.toString());
+    }
+
+    private void executarEmParalelo(CachingJwtDecoder decoder, List<String> tokens) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int deslocamento = t;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < REQUISICOES; i++) {
+                        int indice = (i + deslocamento) % tokens.size();
+                        assertEquals("usuario" + indice + "@mobiauto.com", decoder.decode(tokens.get(indice)).getSubject());
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> tokens(int quantidade) {
+        Instant expiracao = Instant.now().plusSeconds(300);
+        return IntStream.range(0, quantidade)
+                .mapToObj(i -> token("usuario" + i + "@mobiauto.com", expiracao))
+                .toList();
+    }
+
+    private String token(String subject, Instant expiracao) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("mobiauto")
+                .subject(subject)
+                .issuedAt(expiracao.minusSeconds(300))
+                .expiresAt(expiracao)
+                .claim("roles", List.of("ASSISTENTE"))
+                .claim("revendaId", "1")
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+
+    private static final class RelogioAjustavel extends Clock {
+        private Instant instante;
+
+        RelogioAjustavel(Instant instante) {
+            this.instante = instante;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.mobiauto.backend.config;
+
+import com.mobiauto.backend.model.Cargo;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static com.mobiauto.backend.model.Cargo.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MobiautoAuthenticationConverterTest {
+
+    private static final Long REVENDA_ID = 12_345L;
+    private static final int CHAMADAS = 200_000;
+
+    private final MobiautoAuthenticationConverter converter = new MobiautoAuthenticationConverter();
+
+    @Test
+    void convert_TokenValido_MontaPrincipal() {
+        Jwt jwt = jwt(List.of("GERENTE", "ASSISTENTE"), "7", REVENDA_ID.toString());
+
+        MobiautoAuthenticationToken token = converter.convert(jwt);
+
+        MobiautoPrincipal principal = token.getPrincipal();
+        assertTrue(token.isAuthenticated());
+        assertSame(jwt, token.getCredentials());
+        assertEquals("gerente@mobiauto.com", token.getName());
+        assertEquals(7L, principal.getUsuarioId());
+        assertEquals(REVENDA_ID, principal.getRevendaId());
+        assertEquals(EnumSet.of(GERENTE, ASSISTENTE), principal.getCargos());
+        assertSame(principal.getCargos(), principal.getCargos());
+        assertThrows(UnsupportedOperationException.class, () -> principal.getCargos().add(ADMINISTRADOR));
+        assertTrue(principal.pertenceA(REVENDA_ID));
+        assertFalse(principal.pertenceA(null));
+        assertFalse(principal.possui(ADMINISTRADOR));
+    }
+
+    @Test
+    void convert_SemCargos_LancaInvalidBearerToken() {
+        InvalidBearerTokenException exception = assertThrows(InvalidBearerTokenException.class,
+                () -> converter.convert(jwt(List.of(), "7", REVENDA_ID.toString())));
+        assertEquals("Nenhum cargo encontrado no token", exception.getError().getDescription());
+    }
+
+    @Test
+    void convert_CargoInvalido_LancaInvalidBearerToken() {
+        InvalidBearerTokenException exception = assertThrows(InvalidBearerTokenException.class,
+                () -> converter.convert(jwt(List.of("VENDEDOR"), "7", REVENDA_ID.toString())));
+        assertEquals("Cargo desconhecido no token: [VENDEDOR]", exception.getError().getDescription());
+    }
+
+    @Test
+    void convert_SemUsuarioId_LancaInvalidBearerToken() {
+        InvalidBearerTokenException exception = assertThrows(InvalidBearerTokenException.class,
+                () -> converter.convert(jwt(List.of("GERENTE"), null, REVENDA_ID.toString())));
+        assertEquals("Claim usuarioId ausente ou malformada no token", exception.getError().getDescription());
+    }
+
+    @Test
+    void principal_VerificacaoDeAcesso_AlocaMenosQueLerClaimsACadaChamada() {
+        Jwt jwt = jwt(List.of("GERENTE"), "7", REVENDA_ID.toString());
+        MobiautoPrincipal principal = converter.convert(jwt).getPrincipal();
+        BooleanSupplier porClaims = () -> {
+            List<Cargo> cargos = jwt.getClaimAsStringList("roles").stream().map(Cargo::valueOf).toList();
+            return !cargos.contains(ADMINISTRADOR) && Long.valueOf(jwt.getClaimAsString("revendaId")).equals(REVENDA_ID);
+        };
+        BooleanSupplier porPrincipal = () -> !principal.possui(ADMINISTRADOR) && principal.pertenceA(REVENDA_ID);
+        alocado(porClaims);
+        alocado(porPrincipal);
+
+        long bytesPorClaims = alocado(porClaims);
+        long bytesPorPrincipal = alocado(porPrincipal);
+        String relatorio = "claims " + bytesPorClaims / CHAMADAS + " B/chamada, principal " + bytesPorPrincipal / CHAMADAS + " B/chamada";
+
+        assertTrue(bytesPorPrincipal * 10 < bytesPorClaims, relatorio);
+    }
+
+    private long alocado(BooleanSupplier verificacao) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long antes = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < CHAMADAS; i++) {
+            assertTrue(verificacao.getAsBoolean());
+        }
+        return threads.getThreadAllocatedBytes(threadId) - antes;
+    }
+
+    private Jwt jwt(List<String> roles, String usuarioId, String revendaId) {
+        Jwt.Builder builder = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("gerente@mobiauto.com")
+                .claim("roles", roles)
+                .claim("revendaId", revendaId);
+        if (usuarioId != null) {
+            builder.claim("usuarioId", usuarioId);
+        }
+        return builder.build();
+    }
+}
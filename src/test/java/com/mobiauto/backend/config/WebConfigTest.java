@@ -0,0 +1,110 @@
+package com.mobiauto.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO.ClienteDTO;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO.VeiculoDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
+import com.mobiauto.backend.service.VersaoRecursoService;
+import com.mobiauto.backend.service.distribuicao.ModoDistribuicao;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebConfigTest {
+
+    private static final int LINHAS = 10_000;
+    private static final int REPETICOES = 5;
+
+    private final WebConfig webConfig = new WebConfig(null, new DistribuicaoProperties(null, null, null));
+    private final ObjectMapper json = new Jackson2ObjectMapperBuilder().build();
+    private final ObjectMapper cbor = webConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+    private final ObjectMapper smile = webConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+    @Test
+    void conversores_AtendemTiposBinarios() {
+        assertTrue(webConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getSupportedMediaTypes().contains(MediaType.APPLICATION_CBOR));
+        assertTrue(webConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getSupportedMediaTypes()
+                .contains(MediaType.valueOf("application/x-jackson-smile")));
+    }
+
+    @Test
+    void addInterceptors_ModoMemoria_RegistraVersaoPorRecurso() {
+        assertEquals(3, interceptoresDeVersao(ModoDistribuicao.MEMORIA));
+    }
+
+    @Test
+    void addInterceptors_ModoCluster_DesativaGetCondicional() {
+        assertEquals(0, interceptoresDeVersao(ModoDistribuicao.CLUSTER));
+    }
+
+    @Test
+    void conversores_DezMilOportunidades_BinarioMenorQueJsonComMesmoConteudo() throws Exception {
+        PaginaDTO<OportunidadeResponseDTO> pagina = new PaginaDTO<>(LongStream.rangeClosed(1, LINHAS)
+                .mapToObj(this::oportunidade)
+                .toList(), "cursor");
+
+        Medicao emJson = medir(json, pagina);
+        Medicao emCbor = medir(cbor, pagina);
+        Medicao emSmile = medir(smile, pagina);
+        String relatorio = emJson.descrever("json") + ", " + emCbor.descrever("cbor") + ", " + emSmile.descrever("smile");
+
+        assertEquals(json.readTree(emJson.bytes()), cbor.readTree(emCbor.bytes()), relatorio);
+        assertEquals(json.readTree(emJson.bytes()), smile.readTree(emSmile.bytes()), relatorio);
+        assertTrue(emCbor.bytes().length < emJson.bytes().length, relatorio);
+        assertTrue(emSmile.bytes().length < emJson.bytes().length, relatorio);
+    }
+
+    private long interceptoresDeVersao(ModoDistribuicao modo) {
+        Registro registro = new Registro();
+        new WebConfig(new VersaoRecursoService(), new DistribuicaoProperties(modo, null, null)).addInterceptors(registro);
+        return registro.interceptores().stream()
+                .map(interceptor -> interceptor instanceof MappedInterceptor mapeado ? mapeado.getInterceptor() : interceptor)
+                .filter(VersaoRecursoInterceptor.class::isInstance)
+                .count();
+    }
+
+    private Medicao medir(ObjectMapper objectMapper, Object valor) throws Exception {
+        byte[] bytes = objectMapper.writeValueAsBytes(valor);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            bytes = objectMapper.writeValueAsBytes(valor);
+        }
+        long nanos = (System.nanoTime() - inicio) / REPETICOES;
+
+        ByteArrayOutputStream compactado = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compactado)) {
+            gzip.write(bytes);
+        }
+        return new Medicao(bytes, compactado.size(), nanos);
+    }
+
+    private OportunidadeResponseDTO oportunidade(long id) {
+        return new OportunidadeResponseDTO(id,
+                new ClienteDTO(id % 2_000, "Cliente " + id % 2_000, "cliente" + id % 2_000 + "@email.com", "11999990000"),
+                new VeiculoDTO(id % 300, "Toyota", "Corolla", "XEi 2.0", 2023),
+                id % 40, 1L, "EM_ATENDIMENTO", null, LocalDateTime.of(2025, 1, 1, 10, 0).plusMinutes(id), null);
+    }
+
+    private static final class Registro extends InterceptorRegistry {
+        List<Object> interceptores() {
+            return getInterceptors();
+        }
+    }
+
+    private record Medicao(byte[] bytes, int compactados, long nanos) {
+        String descrever(String formato) {
+            return formato + ": " + bytes.length + " bytes (" + compactados + " com gzip) em " + nanos / 1_000_000 + " ms";
+        }
+    }
+}
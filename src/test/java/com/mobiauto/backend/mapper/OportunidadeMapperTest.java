@@ -0,0 +1,71 @@
+package com.mobiauto.backend.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO.ClienteDTO;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO.VeiculoDTO;
+import com.mobiauto.backend.dto.OportunidadesNormalizadasDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OportunidadeMapperTest {
+
+    private final OportunidadeMapper oportunidadeMapper = Mappers.getMapper(OportunidadeMapper.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void toNormalizadasDTO_ClientesEVeiculosRepetidos_IncluiCadaUmUmaVez() {
+        PaginaDTO<OportunidadeResponseDTO> pagina = new PaginaDTO<>(List.of(
+                oportunidade(1L, 10L, 20L), oportunidade(2L, 11L, 20L), oportunidade(3L, 10L, 21L)), "cursor");
+
+        OportunidadesNormalizadasDTO result = oportunidadeMapper.toNormalizadasDTO(pagina);
+
+        assertEquals(List.of(1L, 2L, 3L), result.itens().stream().map(OportunidadesNormalizadasDTO.ItemDTO::id).toList());
+        assertEquals(List.of(10L, 11L, 10L), result.itens().stream().map(OportunidadesNormalizadasDTO.ItemDTO::clienteId).toList());
+        assertEquals(List.of(20L, 20L, 21L), result.itens().stream().map(OportunidadesNormalizadasDTO.ItemDTO::veiculoId).toList());
+        assertEquals(List.of(cliente(10L), cliente(11L)), result.incluidos().clientes());
+        assertEquals(List.of(veiculo(20L), veiculo(21L)), result.incluidos().veiculos());
+        assertEquals("EM_ATENDIMENTO", result.itens().get(0).status());
+        assertEquals("cursor", result.proximoCursor());
+    }
+
+    @Test
+    void toNormalizadasDTO_RevendaGrande_ReduzPayloadSerializado() throws Exception {
+        PaginaDTO<OportunidadeResponseDTO> pagina = new PaginaDTO<>(LongStream.rangeClosed(1, 5_000)
+                .mapToObj(id -> oportunidade(id, id % 2_000, id % 300))
+                .toList(), null);
+
+        OportunidadesNormalizadasDTO normalizadas = oportunidadeMapper.toNormalizadasDTO(pagina);
+        int completo = objectMapper.writeValueAsBytes(pagina).length;
+        int normalizado = objectMapper.writeValueAsBytes(normalizadas).length;
+
+        assertEquals(2_000, normalizadas.incluidos().clientes().size());
+        assertEquals(300, normalizadas.incluidos().veiculos().size());
+        assertTrue(normalizado < completo * 0.75, "normalizado com " + normalizado + " bytes, completo com " + completo + " bytes");
+    }
+
+    private OportunidadeResponseDTO oportunidade(Long id, Long clienteId, Long veiculoId) {
+        return new OportunidadeResponseDTO(id, cliente(clienteId), veiculo(veiculoId), 1L, 1L, "EM_ATENDIMENTO", null,
+                LocalDateTime.of(2025, 1, 1, 10, 0), null);
+    }
+
+    private ClienteDTO cliente(Long id) {
+        return new ClienteDTO(id, "Cliente " + id, "cliente" + id + "@email.com", "1199999" + id);
+    }
+
+    private VeiculoDTO veiculo(Long id) {
+        return new VeiculoDTO(id, "Marca " + id % 20, "Modelo " + id, "1.0 Flex", 2020 + (int) (id % 5));
+    }
+}
@@ -0,0 +1,153 @@
+package com.mobiauto.backend.repository;
+
+import com.mobiauto.backend.TestcontainersConfiguration;
+import com.mobiauto.backend.config.FiltroTenantConfig;
+import com.mobiauto.backend.config.MobiautoAuthenticationToken;
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.VeiculoResponseDTO;
+import com.mobiauto.backend.model.Cargo;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.Veiculo;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.mobiauto.backend.model.Cargo.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, FiltroTenantConfig.class})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FiltroTenantRepositoryTest {
+
+    @Autowired
+    private RevendaRepository revendaRepository;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private SqlCapturado sqlCapturado;
+
+    private Revenda revendaA;
+    private Revenda revendaB;
+    private Veiculo veiculoA;
+    private Veiculo veiculoB;
+
+    @BeforeEach
+    void setUp() {
+        revendaA = revenda("11222333000181");
+        revendaB = revenda("11444777000161");
+        veiculoA = veiculo(revendaA);
+        veiculoB = veiculo(revendaB);
+        sqlCapturado.comandos.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        veiculoRepository.deleteAllById(List.of(veiculoA.getId(), veiculoB.getId()));
+        revendaRepository.deleteAllById(List.of(revendaA.getId(), revendaB.getId()));
+    }
+
+    @Test
+    void findById_NaoAdmin_IdDeOutraRevenda_NaoEncontra() {
+        autenticar(revendaA.getId(), GERENTE);
+
+        assertTrue(veiculoRepository.findById(veiculoB.getId()).isEmpty());
+        assertTrue(veiculoRepository.findById(veiculoA.getId()).isPresent());
+        assertTrue(revendaRepository.findById(revendaB.getId()).isEmpty());
+
+        assertEquals(3, sqlCapturado.comandos.size());
+        assertTrue(sqlCapturado.comandos.subList(0, 2).stream().allMatch(sql -> sql.contains("revenda_id = ?")),
+                sqlCapturado.comandos.toString());
+        assertTrue(sqlCapturado.comandos.stream().noneMatch(sql -> sql.contains("is null")), sqlCapturado.comandos.toString());
+    }
+
+    @Test
+    void listarPagina_NaoAdmin_SoRetornaARevendaDoToken() {
+        autenticar(revendaB.getId(), ASSISTENTE);
+
+        List<VeiculoResponseDTO> veiculos = veiculoRepository.listarPagina(0L, Limit.of(10));
+
+        assertEquals(List.of(veiculoB.getId()), veiculos.stream().map(VeiculoResponseDTO::id).toList());
+        assertTrue(sqlCapturado.comandos.get(0).contains("revenda_id = ?"), sqlCapturado.comandos.get(0));
+    }
+
+    @Test
+    void findById_Administrador_NaoAplicaFiltro() {
+        autenticar(null, ADMINISTRADOR);
+
+        assertTrue(veiculoRepository.findById(veiculoB.getId()).isPresent());
+        assertTrue(revendaRepository.findById(revendaA.getId()).isPresent());
+
+        assertTrue(sqlCapturado.comandos.stream().noneMatch(sql -> sql.contains("revenda_id = ?")), sqlCapturado.comandos.toString());
+    }
+
+    private void autenticar(Long revendaId, Cargo... cargos) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("usuario@mobiauto.com").build();
+        MobiautoPrincipal principal = new MobiautoPrincipal(1L, revendaId, List.of(cargos));
+        SecurityContextHolder.getContext().setAuthentication(new MobiautoAuthenticationToken(principal, jwt));
+    }
+
+    private Revenda revenda(String cnpj) {
+        Revenda revenda = new Revenda();
+        revenda.setCnpj(cnpj);
+        revenda.setNomeSocial("Revenda " + cnpj);
+        return revendaRepository.save(revenda);
+    }
+
+    private Veiculo veiculo(Revenda revenda) {
+        Veiculo veiculo = new Veiculo();
+        veiculo.setMarca("Volkswagen");
+        veiculo.setModelo("Gol");
+        veiculo.setVersao("1.0");
+        veiculo.setAnoModelo(2020);
+        veiculo.setRevenda(revenda);
+        return veiculoRepository.save(veiculo);
+    }
+
+    static class SqlCapturado implements StatementInspector {
+        private final List<String> comandos = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            comandos.add(sql);
+            return sql;
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CapturaSqlConfig {
+
+        @Bean
+        SqlCapturado sqlCapturado() {
+            return new SqlCapturado();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer capturaSql(SqlCapturado sqlCapturado) {
+            return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapturado);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.mobiauto.backend.repository;
+
+import com.mobiauto.backend.TestcontainersConfiguration;
+import com.mobiauto.backend.dto.OportunidadeFiltroDTO;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO;
+import com.mobiauto.backend.mapper.OportunidadeMapper;
+import com.mobiauto.backend.model.Cliente;
+import com.mobiauto.backend.model.Oportunidade;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.model.Veiculo;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.mobiauto.backend.model.Cargo.ASSISTENTE;
+import static com.mobiauto.backend.model.StatusOportunidade.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class OportunidadeRepositoryTest {
+
+    private static final int QUANTIDADE = 5;
+    private static final int PAGINA = 50;
+    private static final int REQUISICOES = 200;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OportunidadeRepository oportunidadeRepository;
+
+    private Statistics estatisticas;
+    private Revenda revenda;
+    private Long primeiraId;
+
+    @BeforeEach
+    void setUp() {
+        revenda = new Revenda();
+        revenda.setCnpj("11222333000181");
+        revenda.setNomeSocial("Revenda Teste");
+        entityManager.persist(revenda);
+        Usuario assistente = entityManager.persist(new Usuario(null, "Assistente", "assistente@teste.com", "senha", ASSISTENTE, revenda));
+
+        for (int i = 0; i < QUANTIDADE; i++) {
+            Oportunidade oportunidade = oportunidade(cliente(i), veiculo(i), i % 2 == 0 ? assistente : null);
+            if (primeiraId == null) {
+                primeiraId = oportunidade.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        estatisticas = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void listarPagina_UmaConsultaPorPagina() {
+        List<OportunidadeResponseDTO> pagina = oportunidadeRepository.listarPagina(
+                OportunidadeSpecifications.filtrar(revenda.getId(), OportunidadeFiltroDTO.vazio(), 0L), Limit.of(QUANTIDADE));
+
+        assertEquals(QUANTIDADE, pagina.size());
+        assertTrue(pagina.stream().allMatch(o -> o.cliente().nome() != null && o.veiculo().modelo() != null));
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void findDetalheById_CarregaClienteEVeiculoNaMesmaConsulta() {
+        Oportunidade oportunidade = oportunidadeRepository.findDetalheById(primeiraId).orElseThrow();
+
+        assertNotNull(oportunidade.getCliente().getNome());
+        assertNotNull(oportunidade.getVeiculo().getModelo());
+        assertEquals(revenda.getId(), oportunidade.getRevenda().getId());
+        assertNotNull(oportunidade.getUsuario().getId());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void findById_NaoCarregaAssociacoes() {
+        Oportunidade oportunidade = oportunidadeRepository.findById(primeiraId).orElseThrow();
+
+        assertEquals(revenda.getId(), oportunidade.getRevenda().getId());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void exportarPorRevenda_UmaConsultaParaTodasAsLinhas() {
+        long exportadas;
+        try (Stream<Oportunidade> oportunidades = oportunidadeRepository.exportarPorRevenda(revenda.getId())) {
+            exportadas = oportunidades
+                    .filter(o -> o.getCliente().getEmail() != null && o.getVeiculo().getMarca() != null)
+                    .count();
+        }
+
+        assertEquals(QUANTIDADE, exportadas);
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void listarPagina_AlocaMenosPorRequisicaoQueCarregarEntidadesEMapear() {
+        for (int i = QUANTIDADE; i < PAGINA; i++) {
+            oportunidade(cliente(i), veiculo(i), null);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Specification<Oportunidade> filtro = OportunidadeSpecifications.filtrar(revenda.getId(), OportunidadeFiltroDTO.vazio(), 0L);
+        Supplier<List<OportunidadeResponseDTO>> porEntidades = () -> entityManager.getEntityManager()
+                .createQuery("SELECT o FROM Oportunidade o JOIN FETCH o.cliente JOIN FETCH o.veiculo " +
+                        "WHERE o.revenda.id = :revendaId ORDER BY o.id", Oportunidade.class)
+                .setParameter("revendaId", revenda.getId())
+                .setMaxResults(PAGINA)
+                .getResultList().stream()
+                .map(OportunidadeMapper.INSTANCE::toResponseDTO)
+                .toList();
+        Supplier<List<OportunidadeResponseDTO>> porProjecao = () -> oportunidadeRepository.listarPagina(filtro, Limit.of(PAGINA));
+        assertEquals(porEntidades.get().stream().map(OportunidadeResponseDTO::id).toList(),
+                porProjecao.get().stream().map(OportunidadeResponseDTO::id).toList());
+        alocadoPorRequisicao(porEntidades);
+        alocadoPorRequisicao(porProjecao);
+
+        long bytesPorEntidades = alocadoPorRequisicao(porEntidades);
+        long bytesPorProjecao = alocadoPorRequisicao(porProjecao);
+        String relatorio = "entidades " + bytesPorEntidades + " B/requisição, projeção " + bytesPorProjecao + " B/requisição";
+
+        assertTrue(bytesPorProjecao < bytesPorEntidades, relatorio);
+    }
+
+    @Test
+    void explain_FiltroPorStatus_UsaIndice() {
+        assertUsaIndice("AND o.status = 'NOVO'");
+    }
+
+    @Test
+    void explain_FiltroPorUsuario_UsaIndice() {
+        assertUsaIndice("AND o.usuario_id = 1");
+    }
+
+    @Test
+    void explain_FiltroPorVeiculo_UsaIndice() {
+        assertUsaIndice("AND o.veiculo_id = 1");
+    }
+
+    @Test
+    void explain_FiltroPorCliente_UsaIndice() {
+        assertUsaIndice("AND o.cliente_id = 1");
+    }
+
+    @Test
+    void explain_FiltroPorPeriodo_UsaIndice() {
+        assertUsaIndice("AND o.data_atribuicao >= TIMESTAMP '2025-01-01 00:00' AND o.data_atribuicao <= TIMESTAMP '2025-12-31 23:59'");
+    }
+
+    @Test
+    void explain_FiltrosCombinados_UsaIndice() {
+        assertUsaIndice("AND o.status = 'EM_ATENDIMENTO' AND o.usuario_id = 1 " +
+                "AND o.data_atribuicao >= TIMESTAMP '2025-01-01 00:00'");
+    }
+
+    private void assertUsaIndice(String filtro) {
+        EntityManager em = entityManager.getEntityManager();
+        em.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+
+        @SuppressWarnings("unchecked")
+        List<String> linhas = em.createNativeQuery("EXPLAIN SELECT o.* FROM oportunidade o " +
+                "WHERE o.revenda_id = " + revenda.getId() + " " + filtro + " AND o.id > 0 ORDER BY o.id LIMIT 21").getResultList();
+        String plano = String.join("\n", linhas);
+
+        assertTrue(plano.contains("idx_oportunidade_revenda"), plano);
+        assertFalse(plano.contains("Seq Scan"), plano);
+    }
+
+    private long alocadoPorRequisicao(Supplier<? extends List<?>> requisicao) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long antes = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < REQUISICOES; i++) {
+            assertEquals(PAGINA, requisicao.get().size());
+            entityManager.clear();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - antes) / REQUISICOES;
+    }
+
+    private Cliente cliente(int indice) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente " + indice);
+        cliente.setEmail("cliente" + indice + "@teste.com");
+        cliente.setTelefone("1199999000" + indice);
+        cliente.setRevenda(revenda);
+        return entityManager.persist(cliente);
+    }
+
+    private Veiculo veiculo(int indice) {
+        Veiculo veiculo = new Veiculo();
+        veiculo.setMarca("Marca");
+        veiculo.setModelo("Modelo " + indice);
+        veiculo.setVersao("1.0");
+        veiculo.setAnoModelo(2020 + indice);
+        veiculo.setRevenda(revenda);
+        return entityManager.persist(veiculo);
+    }
+
+    private Oportunidade oportunidade(Cliente cliente, Veiculo veiculo, Usuario usuario) {
+        Oportunidade oportunidade = new Oportunidade();
+        oportunidade.setCliente(cliente);
+        oportunidade.setVeiculo(veiculo);
+        oportunidade.setUsuario(usuario);
+        oportunidade.setRevenda(revenda);
+        oportunidade.setStatus(usuario == null ? NOVO : EM_ATENDIMENTO);
+        oportunidade.setDataAtribuicao(LocalDateTime.now());
+        return entityManager.persist(oportunidade);
+    }
+}
@@ -0,0 +1,85 @@
+package com.mobiauto.backend.repository;
+
+import com.mobiauto.backend.TestcontainersConfiguration;
+import com.mobiauto.backend.model.Cargo;
+import com.mobiauto.backend.model.EstrategiaDistribuicao;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.Usuario;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static com.mobiauto.backend.model.Cargo.*;
+import static com.mobiauto.backend.model.EstrategiaDistribuicao.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class UsuarioRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        Revenda revendaA = revenda("11222333000181", RODIZIO);
+        Revenda revendaB = revenda("11444777000161", FILA);
+        usuario("assistente.a1@teste.com", ASSISTENTE, revendaA);
+        usuario("assistente.a2@teste.com", ASSISTENTE, revendaA);
+        usuario("assistente.b1@teste.com", ASSISTENTE, revendaB);
+        usuario("gerente.a@teste.com", GERENTE, revendaA);
+        entityManager.flush();
+        entityManager.clear();
+
+        estatisticas = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void findByCargo_CarregaRevendasNaMesmaConsulta() {
+        List<Usuario> assistentes = usuarioRepository.findByCargo(ASSISTENTE);
+        List<String> estrategias = assistentes.stream()
+                .map(u -> u.getRevenda().getEstrategiaDistribuicao().name())
+                .toList();
+
+        assertEquals(3, assistentes.size());
+        assertTrue(estrategias.containsAll(List.of(RODIZIO.name(), FILA.name())));
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByCargo_ForaDaSessao_RevendaJaInicializada() {
+        List<Usuario> assistentes = usuarioRepository.findByCargo(ASSISTENTE);
+        entityManager.clear();
+
+        assertDoesNotThrow(() -> assistentes.forEach(u -> u.getRevenda().getEstrategiaDistribuicao()));
+    }
+
+    private Revenda revenda(String cnpj, EstrategiaDistribuicao estrategia) {
+        Revenda revenda = new Revenda();
+        revenda.setCnpj(cnpj);
+        revenda.setNomeSocial("Revenda " + cnpj);
+        revenda.setEstrategiaDistribuicao(estrategia);
+        return entityManager.persist(revenda);
+    }
+
+    private Usuario usuario(String email, Cargo cargo, Revenda revenda) {
+        return entityManager.persist(new Usuario(null, email, email, "senha", cargo, revenda));
+    }
+}
@@ -0,0 +1,157 @@
+package com.mobiauto.backend.repository;
+
+import com.mobiauto.backend.TestcontainersConfiguration;
+import com.mobiauto.backend.dto.VeiculoResponseDTO;
+import com.mobiauto.backend.mapper.VeiculoMapper;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.Veiculo;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class VeiculoRepositoryTest {
+
+    private static final int PAGINA = 50;
+    private static final int REQUISICOES = 200;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    private Revenda revendaA;
+    private Revenda revendaB;
+
+    @BeforeEach
+    void setUp() {
+        revendaA = revenda("11222333000181");
+        revendaB = revenda("11444777000161");
+        veiculo(revendaA, "Volkswagen", "Gol", "1.0", 2020);
+        veiculo(revendaA, "Volkswagen", "Gol", "1.6", 2015);
+        veiculo(revendaA, "Fiat", "Uno", "Way", 2019);
+        veiculo(revendaB, "Volkswagen", "Gol", "1.0", 2021);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void migracao_CriaExtensaoEIndiceDeBusca() {
+        EntityManager em = entityManager.getEntityManager();
+
+        assertEquals(1L, ((Number) em.createNativeQuery("SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'")
+                .getSingleResult()).longValue());
+        assertEquals(1L, ((Number) em.createNativeQuery("SELECT COUNT(*) FROM pg_indexes WHERE indexname = 'idx_veiculo_busca_trgm'")
+                .getSingleResult()).longValue());
+    }
+
+    @Test
+    void listarPaginaPorRevenda_AlocaMenosPorRequisicaoQueCarregarEntidadesEMapear() {
+        for (int i = 0; i < PAGINA; i++) {
+            veiculo(revendaB, "Marca", "Modelo " + i, "1.0", 2000 + i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Supplier<List<VeiculoResponseDTO>> porEntidades = () -> entityManager.getEntityManager()
+                .createQuery("SELECT v FROM Veiculo v WHERE v.revenda.id = :revendaId AND v.id > 0 ORDER BY v.id", Veiculo.class)
+                .setParameter("revendaId", revendaB.getId())
+                .setMaxResults(PAGINA)
+                .getResultList().stream()
+                .map(VeiculoMapper.INSTANCE::toResponseDTO)
+                .toList();
+        Supplier<List<VeiculoResponseDTO>> porProjecao = () -> veiculoRepository.listarPaginaPorRevenda(revendaB.getId(), 0L, Limit.of(PAGINA));
+        assertEquals(porEntidades.get(), porProjecao.get());
+        alocadoPorRequisicao(porEntidades);
+        alocadoPorRequisicao(porProjecao);
+
+        long bytesPorEntidades = alocadoPorRequisicao(porEntidades);
+        long bytesPorProjecao = alocadoPorRequisicao(porProjecao);
+        String relatorio = "entidades " + bytesPorEntidades + " B/requisição, projeção " + bytesPorProjecao + " B/requisição";
+
+        assertTrue(bytesPorProjecao < bytesPorEntidades, relatorio);
+    }
+
+    @Test
+    void buscarPorRevenda_ErroDeDigitacao_EncontraApenasDaRevenda() {
+        List<Veiculo> encontrados = veiculoRepository.buscarPorRevenda(revendaA.getId(), "volkswagem gol", 0, Integer.MAX_VALUE, 0, 10);
+
+        assertEquals(2, encontrados.size());
+        assertTrue(encontrados.stream().allMatch(v -> v.getModelo().equals("Gol") && v.getRevenda().getId().equals(revendaA.getId())));
+    }
+
+    @Test
+    void buscarPorRevenda_FaixaDeAno_Filtra() {
+        List<Veiculo> encontrados = veiculoRepository.buscarPorRevenda(revendaA.getId(), "gol", 2018, 2022, 0, 10);
+
+        assertEquals(1, encontrados.size());
+        assertEquals(2020, encontrados.get(0).getAnoModelo());
+    }
+
+    @Test
+    void buscar_SemRevenda_OrdenaPorSimilaridade() {
+        List<Veiculo> encontrados = veiculoRepository.buscar("gol 1.0", 0, Integer.MAX_VALUE, 0, 10);
+
+        assertEquals(3, encontrados.size());
+        assertEquals("1.0", encontrados.get(0).getVersao());
+        assertEquals("1.0", encontrados.get(1).getVersao());
+        assertEquals("1.6", encontrados.get(2).getVersao());
+    }
+
+    @Test
+    void buscar_PlanoUsaIndiceTrigrama() {
+        EntityManager em = entityManager.getEntityManager();
+        em.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+
+        @SuppressWarnings("unchecked")
+        List<String> plano = em.createNativeQuery("EXPLAIN SELECT v.* FROM veiculo v " +
+                "WHERE v.ano_modelo BETWEEN 0 AND 3000 " +
+                "AND 'gol' <% lower(v.marca || ' ' || v.modelo || ' ' || v.versao || ' ' || CAST(v.ano_modelo AS text))").getResultList();
+
+        assertTrue(String.join("\n", plano).contains("idx_veiculo_busca_trgm"), String.join("\n", plano));
+    }
+
+    private long alocadoPorRequisicao(Supplier<? extends List<?>> requisicao) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long antes = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < REQUISICOES; i++) {
+            assertEquals(PAGINA, requisicao.get().size());
+            entityManager.clear();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - antes) / REQUISICOES;
+    }
+
+    private Revenda revenda(String cnpj) {
+        Revenda revenda = new Revenda();
+        revenda.setCnpj(cnpj);
+        revenda.setNomeSocial("Revenda " + cnpj);
+        return entityManager.persist(revenda);
+    }
+
+    private void veiculo(Revenda revenda, String marca, String modelo, String versao, int anoModelo) {
+        Veiculo veiculo = new Veiculo();
+        veiculo.setMarca(marca);
+        veiculo.setModelo(modelo);
+        veiculo.setVersao(versao);
+        veiculo.setAnoModelo(anoModelo);
+        veiculo.setRevenda(revenda);
+        entityManager.persist(veiculo);
+    }
+}
@@ -1,25 +1,34 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.CachingJwtDecoder;
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.CacheJwtDTO;
 import com.mobiauto.backend.dto.LoginRequestDTO;
 import com.mobiauto.backend.dto.LoginResponseDTO;
+import com.mobiauto.backend.dto.RefreshTokenRequestDTO;
 import com.mobiauto.backend.model.Cargo;
 import com.mobiauto.backend.model.Revenda;
 import com.mobiauto.backend.model.Usuario;
 import com.mobiauto.backend.repository.UsuarioRepository;
+import com.mobiauto.backend.utils.JwtAuthUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +47,12 @@ class AuthServiceTest {
     @Mock
     private JwtEncoder jwtEncoder;
 
+    @Mock
+    private CachingJwtDecoder jwtDecoder;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -46,9 +61,13 @@ class AuthServiceTest {
     private static final String EMAIL = "test@example.com";
     private static final String SENHA = "password123";
     private static final String SENHA_ENCODED = "$2a$10$encodedPassword";
+    private static final Long USUARIO_ID = 7L;
     private static final Long REVENDA_ID = 1L;
     private static final String JWT_TOKEN = "mocked-jwt-token";
     private static final Long EXPIRES_IN = 300L;
+    private static final String REFRESH_TOKEN = "refresh-token";
+    private static final String NOVO_REFRESH_TOKEN = "novo-refresh-token";
+    private static final Long REFRESH_EXPIRES_IN = 43_200L;
 
     @BeforeEach
     void setUp() {
@@ -56,6 +75,7 @@ class AuthServiceTest {
         revenda.setId(REVENDA_ID);
 
         usuario = new Usuario();
+        usuario.setId(USUARIO_ID);
         usuario.setEmail(EMAIL);
         usuario.setSenha(SENHA_ENCODED);
         usuario.setCargo(Cargo.ADMINISTRADOR);
@@ -73,19 +93,25 @@ class AuthServiceTest {
         Jwt jwt = mock(Jwt.class);
         when(jwt.getTokenValue()).thenReturn(JWT_TOKEN);
         when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(jwt);
+        when(refreshTokenService.emitir(usuario))
+                .thenReturn(new RefreshTokenService.Emissao(usuario, REFRESH_TOKEN, REFRESH_EXPIRES_IN));
 
         LoginResponseDTO response = authService.authenticate(loginRequestDTO);
 
         assertNotNull(response);
         assertEquals(JWT_TOKEN, response.accessToken());
         assertEquals(EXPIRES_IN, response.expiresIn());
+        assertEquals(REFRESH_TOKEN, response.refreshToken());
+        assertEquals(REFRESH_EXPIRES_IN, response.refreshExpiresIn());
         verify(usuarioRepository).findByEmail(EMAIL);
         verify(passwordEncoder).matches(SENHA, SENHA_ENCODED);
+        verify(refreshTokenService).emitir(usuario);
         verify(jwtEncoder).encode(argThat(params -> {
             JwtClaimsSet claims = params.getClaims();
             return claims.getClaim("iss").equals("mobiauto") &&
                     claims.getSubject().equals(EMAIL) &&
                     claims.getClaimAsStringList("roles").equals(Collections.singletonList(Cargo.ADMINISTRADOR.name())) &&
+                    claims.getClaimAsString("usuarioId").equals(USUARIO_ID.toString()) &&
                     claims.getClaimAsString("revendaId").equals(REVENDA_ID.toString());
         }));
     }
@@ -98,7 +124,7 @@ class AuthServiceTest {
         BadCredentialsException exception = assertThrows(BadCredentialsException.class, () -> authService.authenticate(loginRequestDTO));
         assertEquals("Credenciais inválidas", exception.getMessage());
         verify(usuarioRepository).findByEmail(EMAIL);
-        verifyNoInteractions(passwordEncoder, jwtEncoder);
+        verifyNoInteractions(passwordEncoder, jwtEncoder, refreshTokenService);
     }
 
     @Test
@@ -110,6 +136,65 @@ class AuthServiceTest {
         assertEquals("Credenciais inválidas", exception.getMessage());
         verify(usuarioRepository).findByEmail(EMAIL);
         verify(passwordEncoder).matches(SENHA, SENHA_ENCODED);
+        verifyNoInteractions(jwtEncoder, refreshTokenService);
+    }
+
+    @Test
+    void renovar_TokenValido_EmiteNovoParSemConsultarSenha() {
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getTokenValue()).thenReturn(JWT_TOKEN);
+        when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(jwt);
+        when(refreshTokenService.rotacionar(REFRESH_TOKEN))
+                .thenReturn(new RefreshTokenService.Emissao(usuario, NOVO_REFRESH_TOKEN, REFRESH_EXPIRES_IN));
+
+        LoginResponseDTO response = authService.renovar(new RefreshTokenRequestDTO(REFRESH_TOKEN));
+
+        assertEquals(JWT_TOKEN, response.accessToken());
+        assertEquals(NOVO_REFRESH_TOKEN, response.refreshToken());
+        verify(refreshTokenService).rotacionar(REFRESH_TOKEN);
+        verifyNoInteractions(usuarioRepository, passwordEncoder);
+    }
+
+    @Test
+    void renovar_SemToken_LancaBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> authService.renovar(new RefreshTokenRequestDTO(" ")));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Informe o refresh token", exception.getReason());
+        verifyNoInteractions(refreshTokenService, jwtEncoder);
+    }
+
+    @Test
+    void logout_RevogaFamiliaDoToken() {
+        authService.logout(new RefreshTokenRequestDTO(REFRESH_TOKEN));
+
+        verify(refreshTokenService).revogar(REFRESH_TOKEN);
+        verifyNoMoreInteractions(refreshTokenService);
         verifyNoInteractions(jwtEncoder);
     }
-}
\ No newline at end of file
+
+    @Test
+    void estatisticasCache_Admin_RetornaEstatisticasDoDecoder() {
+        CacheJwtDTO estatisticas = new CacheJwtDTO(1, 10_000, 9, 1, 0, 0.9);
+        when(jwtDecoder.estatisticas()).thenReturn(estatisticas);
+
+        try (MockedStatic<JwtAuthUtil> jwtAuthUtil = mockStatic(JwtAuthUtil.class)) {
+            jwtAuthUtil.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, List.of(Cargo.ADMINISTRADOR)));
+
+            assertEquals(estatisticas, authService.estatisticasCache());
+        }
+        verify(jwtDecoder).estatisticas();
+    }
+
+    @Test
+    void estatisticasCache_NaoAdmin_LancaForbidden() {
+        try (MockedStatic<JwtAuthUtil> jwtAuthUtil = mockStatic(JwtAuthUtil.class)) {
+            jwtAuthUtil.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, List.of(Cargo.GERENTE)));
+
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> authService.estatisticasCache());
+            assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
+            assertEquals("Apenas administradores podem consultar o cache de tokens", exception.getReason());
+        }
+        verifyNoInteractions(jwtDecoder);
+    }
+}
@@ -1,13 +1,18 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.MobiautoPrincipal;
 import com.mobiauto.backend.dto.ClienteRequestDTO;
 import com.mobiauto.backend.dto.ClienteResponseDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.mapper.ClienteMapper;
 import com.mobiauto.backend.model.Cargo;
 import com.mobiauto.backend.model.Cliente;
 import com.mobiauto.backend.model.Revenda;
 import com.mobiauto.backend.repository.ClienteRepository;
 import com.mobiauto.backend.repository.RevendaRepository;
+import com.mobiauto.backend.service.exportacao.FormatoExportacao;
+import com.mobiauto.backend.service.versao.TipoRecurso;
+import com.mobiauto.backend.utils.CursorUtil;
 import com.mobiauto.backend.utils.JwtAuthUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,14 +22,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.data.domain.Limit;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.http.HttpStatus.*;
 
@@ -41,7 +49,10 @@ class ClienteServiceTest {
     private ClienteMapper clienteMapper;
 
     @Mock
-    private Jwt jwt;
+    private ExportacaoService exportacaoService;
+
+    @Mock
+    private VersaoRecursoService versaoRecursoService;
 
     @InjectMocks
     private ClienteService clienteService;
@@ -89,46 +100,91 @@ class ClienteServiceTest {
     @Test
     void buscarTodos_Admin_RetornaTodosClientes() {
         
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(clienteRepository.findAll()).thenReturn(List.of(cliente));
-        when(clienteMapper.toResponseDTO(cliente)).thenReturn(clienteResponseDTO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+        when(clienteRepository.listarPagina(0L, Limit.of(51))).thenReturn(List.of(clienteResponseDTO));
         
-        List<ClienteResponseDTO> result = clienteService.findAll();
+        PaginaDTO<ClienteResponseDTO> result = clienteService.findAll(null, null);
         
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(clienteResponseDTO, result.get(0));
-        verify(clienteRepository).findAll();
-        verify(clienteMapper).toResponseDTO(cliente);
+        assertEquals(1, result.itens().size());
+        assertNull(result.proximoCursor());
+        assertEquals(clienteResponseDTO, result.itens().get(0));
+        verify(clienteRepository).listarPagina(0L, Limit.of(51));
+        verifyNoInteractions(clienteMapper);
         verifyNoMoreInteractions(clienteRepository);
     }
 
     @Test
     void buscarTodos_NaoAdmin_RetornaClientesPorRevenda() {
         
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_GERENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(clienteRepository.findAllByRevenda_Id(REVENDA_ID)).thenReturn(List.of(cliente));
-        when(clienteMapper.toResponseDTO(cliente)).thenReturn(clienteResponseDTO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_GERENTE));
+        when(clienteRepository.listarPaginaPorRevenda(REVENDA_ID, 0L, Limit.of(51))).thenReturn(List.of(clienteResponseDTO));
         
-        List<ClienteResponseDTO> result = clienteService.findAll();
+        PaginaDTO<ClienteResponseDTO> result = clienteService.findAll(null, null);
         
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(clienteResponseDTO, result.get(0));
-        verify(clienteRepository).findAllByRevenda_Id(REVENDA_ID);
-        verify(clienteMapper).toResponseDTO(cliente);
+        assertEquals(1, result.itens().size());
+        assertNull(result.proximoCursor());
+        assertEquals(clienteResponseDTO, result.itens().get(0));
+        verify(clienteRepository).listarPaginaPorRevenda(REVENDA_ID, 0L, Limit.of(51));
+        verifyNoInteractions(clienteMapper);
+        verifyNoMoreInteractions(clienteRepository);
+    }
+
+    @Test
+    void buscarTodos_ComCursor_RetornaProximaPagina() {
+        ClienteResponseDTO seguinte = new ClienteResponseDTO(3L, NOME, "outro@example.com", TELEFONE, REVENDA_ID);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_GERENTE));
+        when(clienteRepository.listarPaginaPorRevenda(REVENDA_ID, 0L, Limit.of(2))).thenReturn(List.of(clienteResponseDTO, seguinte));
+
+        PaginaDTO<ClienteResponseDTO> result = clienteService.findAll(null, 1);
+
+        assertEquals(List.of(clienteResponseDTO), result.itens());
+        assertEquals(CursorUtil.codificar(CLIENTE_ID), result.proximoCursor());
+        assertEquals(CLIENTE_ID, CursorUtil.decodificar(result.proximoCursor()));
+        verifyNoInteractions(clienteMapper);
+    }
+
+    @Test
+    void buscarTodos_CursorInvalido_LancaBadRequest() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> clienteService.findAll("@@", null));
+
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Cursor inválido", exception.getReason());
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @Test
+    void buscarTodos_LimiteAcimaDoMaximo_LancaBadRequest() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> clienteService.findAll(null, 501));
+
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("O limite deve estar entre 1 e 500", exception.getReason());
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @Test
+    void exportar_NaoAdmin_TransmiteApenasClientesDaRevenda() throws Exception {
+        Stream<Cliente> clientes = Stream.of(cliente);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_GERENTE));
+        when(clienteRepository.exportarPorRevenda(REVENDA_ID)).thenReturn(clientes);
+
+        clienteService.exportar(FormatoExportacao.CSV, saida);
+
+        verify(exportacaoService).exportar(eq(clientes), any(), eq(ClienteResponseDTO.class), eq(FormatoExportacao.CSV), eq(saida));
+        verify(clienteRepository).exportarPorRevenda(REVENDA_ID);
         verifyNoMoreInteractions(clienteRepository);
     }
 
     @Test
     void buscarPorId_Admin_Sucesso() {
         
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(clienteMapper.toResponseDTO(cliente)).thenReturn(clienteResponseDTO);
 
@@ -143,9 +199,7 @@ class ClienteServiceTest {
     @Test
     void buscarPorId_NaoAdmin_MesmaRevenda_Sucesso() {
         
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_GERENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_GERENTE));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(clienteMapper.toResponseDTO(cliente)).thenReturn(clienteResponseDTO);
 
@@ -162,9 +216,7 @@ class ClienteServiceTest {
     @Test
     void buscarPorId_NaoAdmin_RevendaDiferente_LancaForbidden() {
         
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_GERENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(OUTRA_REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, OUTRA_REVENDA_ID, CARGOS_GERENTE));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
          
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -178,8 +230,7 @@ class ClienteServiceTest {
 
     @Test
     void buscarPorId_NaoEncontrado_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.empty());
          
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -194,9 +245,7 @@ class ClienteServiceTest {
     @Test
     void salvar_Admin_Sucesso() {
         
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.existsByEmail(EMAIL)).thenReturn(false);
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
@@ -214,9 +263,7 @@ class ClienteServiceTest {
 
     @Test
     void salvar_NaoAdmin_MesmaRevenda_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_GERENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_GERENTE));
         when(clienteRepository.existsByEmail(EMAIL)).thenReturn(false);
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
@@ -234,9 +281,7 @@ class ClienteServiceTest {
 
     @Test
     void salvar_NaoAdmin_RevendaDiferente_LancaForbidden() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_GERENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(OUTRA_REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, OUTRA_REVENDA_ID, CARGOS_GERENTE));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             clienteService.save(clienteRequestDTO);
@@ -248,9 +293,7 @@ class ClienteServiceTest {
 
     @Test
     void salvar_EmailExistente_LancaConflict() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.existsByEmail(EMAIL)).thenReturn(true);
          
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -265,9 +308,7 @@ class ClienteServiceTest {
     @Test
     void salvar_RevendaNaoEncontrada_LancaNotFound() {
         
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.existsByEmail(EMAIL)).thenReturn(false);
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.empty());
 
@@ -283,9 +324,7 @@ class ClienteServiceTest {
 
     @Test
     void atualizar_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(clienteRepository.save(cliente)).thenReturn(cliente);
@@ -299,13 +338,12 @@ class ClienteServiceTest {
         verify(revendaRepository).findById(REVENDA_ID);
         verify(clienteRepository).save(cliente);
         verify(clienteMapper).toResponseDTO(cliente);
+        verify(versaoRecursoService, times(2)).registrarAlteracao(REVENDA_ID, TipoRecurso.CLIENTE, TipoRecurso.OPORTUNIDADE);
     }
 
     @Test
     void atualizar_NaoAdmin_MesmaRevenda_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_GERENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_GERENTE));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(clienteRepository.save(cliente)).thenReturn(cliente);
@@ -323,9 +361,7 @@ class ClienteServiceTest {
 
     @Test
     void atualizar_NaoAdmin_RevendaDiferente_LancaForbidden() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_GERENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(OUTRA_REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, OUTRA_REVENDA_ID, CARGOS_GERENTE));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
          
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -343,9 +379,7 @@ class ClienteServiceTest {
         String novoEmail = "novo@example.com";
         ClienteRequestDTO clienteRequestDTOComNovoEmail = new ClienteRequestDTO(NOME, novoEmail, TELEFONE, REVENDA_ID);
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(clienteRepository.existsByEmail(novoEmail)).thenReturn(true);
          
@@ -362,7 +396,6 @@ class ClienteServiceTest {
 
     @Test
     void atualizar_NaoEncontrado_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.empty());
          
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -376,24 +409,21 @@ class ClienteServiceTest {
 
     @Test
     void deletar_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         
         clienteService.delete(CLIENTE_ID);
 
         verify(clienteRepository).findById(CLIENTE_ID);
         verify(clienteRepository).deleteById(CLIENTE_ID);
+        verify(versaoRecursoService).registrarAlteracao(REVENDA_ID, TipoRecurso.CLIENTE, TipoRecurso.OPORTUNIDADE);
         verifyNoInteractions(revendaRepository, clienteMapper);
     }
 
     @Test
     void deletar_NaoAdmin_MesmaRevenda_Sucesso() {
         
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_GERENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_GERENTE));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         
         clienteService.delete(CLIENTE_ID);
@@ -406,9 +436,7 @@ class ClienteServiceTest {
     @Test
     void deletar_NaoAdmin_RevendaDiferente_LancaForbidden() {
         
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_GERENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(OUTRA_REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, OUTRA_REVENDA_ID, CARGOS_GERENTE));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -423,8 +451,7 @@ class ClienteServiceTest {
 
     @Test
     void deletar_NaoEncontrado_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
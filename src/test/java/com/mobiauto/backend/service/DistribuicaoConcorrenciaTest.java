@@ -0,0 +1,141 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.config.DistribuicaoProperties;
+import com.mobiauto.backend.model.Oportunidade;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.StatusOportunidade;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.repository.OportunidadeRepository;
+import com.mobiauto.backend.repository.RevendaRepository;
+import com.mobiauto.backend.repository.UsuarioRepository;
+import com.mobiauto.backend.service.distribuicao.CargaAssistenteIndex;
+import com.mobiauto.backend.service.distribuicao.MenorCargaStrategy;
+import com.mobiauto.backend.service.distribuicao.ModoDistribuicao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.mobiauto.backend.model.Cargo.ASSISTENTE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class DistribuicaoConcorrenciaTest {
+
+    private static final long REVENDA_A = 1L;
+    private static final long REVENDA_B = 2L;
+    private static final int ASSISTENTES_POR_REVENDA = 10;
+    private static final int THREADS = 16;
+    private static final int OPORTUNIDADES_POR_THREAD = 250;
+
+    private final Map<Long, Usuario> usuarios = new HashMap<>();
+    private final Map<Long, Revenda> revendas = new HashMap<>();
+    private DistribuicaoService distribuicaoService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class, withSettings().stubOnly());
+        OportunidadeRepository oportunidadeRepository = mock(OportunidadeRepository.class, withSettings().stubOnly());
+        RevendaRepository revendaRepository = mock(RevendaRepository.class, withSettings().stubOnly());
+
+        for (long revendaId : List.of(REVENDA_A, REVENDA_B)) {
+            Revenda revenda = new Revenda(revendaId);
+            revendas.put(revendaId, revenda);
+            List<Usuario> assistentes = new ArrayList<>();
+            for (int i = 0; i < ASSISTENTES_POR_REVENDA; i++) {
+                Usuario usuario = new Usuario();
+                usuario.setId(revendaId * 100 + i);
+                usuario.setCargo(ASSISTENTE);
+                usuario.setRevenda(revenda);
+                assistentes.add(usuario);
+                usuarios.put(usuario.getId(), usuario);
+            }
+            when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, revendaId)).thenReturn(assistentes);
+        }
+        when(usuarioRepository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(usuarios.get(inv.<Long>getArgument(0))));
+
+        distribuicaoService = new DistribuicaoService(usuarioRepository, oportunidadeRepository, revendaRepository,
+                new CargaAssistenteIndex(), new DistribuicaoProperties(ModoDistribuicao.MEMORIA, 100, 50L),
+                new VersaoRecursoService(), List.of(new MenorCargaStrategy()));
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void distribuir_RequisicoesConcorrentes_MantemCargaBalanceada() throws Exception {
+        Map<Long, Integer> atribuicoes = new HashMap<>();
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < OPORTUNIDADES_POR_THREAD; i++) {
+                    Long usuarioId = distribuicaoService.distribuir(revendas.get(REVENDA_A), this::atribuir);
+                    synchronized (atribuicoes) {
+                        atribuicoes.merge(usuarioId, 1, Integer::sum);
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(30, TimeUnit.SECONDS);
+        }
+
+        int esperado = THREADS * OPORTUNIDADES_POR_THREAD / ASSISTENTES_POR_REVENDA;
+        assertEquals(ASSISTENTES_POR_REVENDA, atribuicoes.size());
+        atribuicoes.values().forEach(total -> assertEquals(esperado, total));
+    }
+
+    @Test
+    void distribuir_RevendasDiferentes_NaoSeBloqueiam() throws Exception {
+        CountDownLatch dentroDaRevendaA = new CountDownLatch(1);
+        CountDownLatch liberarRevendaA = new CountDownLatch(1);
+
+        Future<Long> bloqueada = executor.submit(() -> distribuicaoService.distribuir(revendas.get(REVENDA_A), usuario -> {
+            dentroDaRevendaA.countDown();
+            try {
+                liberarRevendaA.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return atribuir(usuario);
+        }));
+        assertTrue(dentroDaRevendaA.await(5, TimeUnit.SECONDS));
+
+        Future<Long> outraRevenda = executor.submit(() -> distribuicaoService.distribuir(revendas.get(REVENDA_B), this::atribuir));
+        Long usuarioB = outraRevenda.get(1, TimeUnit.SECONDS);
+
+        assertEquals(REVENDA_B, usuarios.get(usuarioB).getRevenda().getId());
+        assertFalse(bloqueada.isDone());
+        liberarRevendaA.countDown();
+        assertNotNull(bloqueada.get(5, TimeUnit.SECONDS));
+    }
+
+    private Long atribuir(Usuario usuario) {
+        Oportunidade oportunidade = new Oportunidade();
+        oportunidade.setUsuario(usuario);
+        oportunidade.setRevenda(usuario.getRevenda());
+        oportunidade.setStatus(StatusOportunidade.EM_ATENDIMENTO);
+        distribuicaoService.registrarEntrada(oportunidade);
+        return usuario.getId();
+    }
+}
@@ -0,0 +1,540 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.config.DistribuicaoProperties;
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.CargaAssistenteDTO;
+import com.mobiauto.backend.dto.DivergenciaCargaDTO;
+import com.mobiauto.backend.model.Cargo;
+import com.mobiauto.backend.model.EstrategiaDistribuicao;
+import com.mobiauto.backend.model.Oportunidade;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.StatusOportunidade;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.repository.OportunidadeRepository;
+import com.mobiauto.backend.repository.RevendaRepository;
+import com.mobiauto.backend.repository.UsuarioRepository;
+import com.mobiauto.backend.service.distribuicao.CapacidadeLimitadaStrategy;
+import com.mobiauto.backend.service.distribuicao.CargaAssistente;
+import com.mobiauto.backend.service.distribuicao.CargaAssistenteIndex;
+import com.mobiauto.backend.service.distribuicao.DistribuicaoStrategy;
+import com.mobiauto.backend.service.distribuicao.MenorCargaPonderadaStrategy;
+import com.mobiauto.backend.service.distribuicao.MenorCargaStrategy;
+import com.mobiauto.backend.service.distribuicao.ModoDistribuicao;
+import com.mobiauto.backend.service.distribuicao.RodizioStrategy;
+import com.mobiauto.backend.utils.JwtAuthUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static com.mobiauto.backend.model.Cargo.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+@ExtendWith(MockitoExtension.class)
+class DistribuicaoServiceTest {
+
+    private static final Long REVENDA_ID = 1L;
+    private static final List<Cargo> CARGOS_ADMIN = List.of(ADMINISTRADOR);
+    private static final List<Cargo> CARGOS_GERENTE = List.of(GERENTE);
+    private static final List<DistribuicaoStrategy> ESTRATEGIAS = List.of(new MenorCargaStrategy(),
+            new MenorCargaPonderadaStrategy(), new CapacidadeLimitadaStrategy(), new RodizioStrategy());
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+    @Mock
+    private OportunidadeRepository oportunidadeRepository;
+    @Mock
+    private RevendaRepository revendaRepository;
+
+    private CargaAssistenteIndex cargaAssistenteIndex;
+    private DistribuicaoService distribuicaoService;
+    private Revenda revenda;
+    private MockedStatic<JwtAuthUtil> jwtAuthUtilMockedStatic;
+
+    @BeforeEach
+    void setUp() {
+        revenda = new Revenda();
+        revenda.setId(REVENDA_ID);
+
+        cargaAssistenteIndex = new CargaAssistenteIndex();
+        distribuicaoService = new DistribuicaoService(usuarioRepository, oportunidadeRepository, revendaRepository,
+                cargaAssistenteIndex, new DistribuicaoProperties(ModoDistribuicao.MEMORIA, 3, 0L), new VersaoRecursoService(), ESTRATEGIAS);
+
+        jwtAuthUtilMockedStatic = mockStatic(JwtAuthUtil.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwtAuthUtilMockedStatic.close();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void escolherAssistente_RetornaMenorCarga() {
+        Usuario ocupado = assistente(1L, 3, null);
+        Usuario livre = assistente(2L, 1, LocalDateTime.now());
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(ocupado, livre));
+        when(usuarioRepository.findById(2L)).thenReturn(Optional.of(livre));
+
+        Usuario result = escolher();
+
+        assertEquals(livre, result);
+    }
+
+    @Test
+    void escolherAssistente_SemOportunidades_ContaComoCargaZero() {
+        Usuario comCarga = assistente(1L, 1, null);
+        Usuario semCarga = assistente(2L, LocalDateTime.now());
+        semCarga.setOportunidadesEmAtendimento(null);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(comCarga, semCarga));
+        when(usuarioRepository.findById(2L)).thenReturn(Optional.of(semCarga));
+
+        assertEquals(semCarga, escolher());
+    }
+
+    @Test
+    void escolherAssistente_Empate_PriorizaAtribuicaoMaisAntiga() {
+        LocalDateTime agora = LocalDateTime.now();
+        Usuario recente = assistente(1L, agora);
+        Usuario antigo = assistente(2L, agora.minusHours(1));
+        Usuario nuncaAtribuido = assistente(3L, null);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(recente, antigo, nuncaAtribuido));
+        when(usuarioRepository.findById(3L)).thenReturn(Optional.of(nuncaAtribuido));
+
+        assertEquals(nuncaAtribuido, escolher());
+    }
+
+    @Test
+    void escolherAssistente_SemAssistentes_LancaNotFound() {
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(Collections.emptyList());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, this::escolher);
+        assertEquals(NOT_FOUND, exception.getStatusCode());
+        assertEquals("Nenhum assistente disponível na revenda", exception.getReason());
+    }
+
+    @Test
+    void escolherAssistente_ChamadasSeguintes_NaoRecalculamCarga() {
+        List<Usuario> assistentes = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            assistentes.add(assistente(id, id == 500 ? 0 : 10, null));
+        }
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(assistentes);
+        when(usuarioRepository.findById(anyLong())).thenAnswer(inv -> Optional.of(assistentes.get(((Long) inv.getArgument(0)).intValue() - 1)));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(500L, escolher().getId());
+        }
+
+        verify(usuarioRepository, times(1)).findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID);
+        verifyNoInteractions(oportunidadeRepository);
+    }
+
+    @Test
+    void registrarEntrada_EmAtendimento_AtualizaCarga() {
+        Usuario primeiro = assistente(1L, null);
+        Usuario segundo = assistente(2L, LocalDateTime.now());
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(primeiro, segundo));
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(primeiro));
+        when(usuarioRepository.findById(2L)).thenReturn(Optional.of(segundo));
+
+        assertEquals(primeiro, escolher());
+        distribuicaoService.registrarEntrada(oportunidade(primeiro, StatusOportunidade.EM_ATENDIMENTO));
+        assertEquals(segundo, escolher());
+        distribuicaoService.registrarSaida(oportunidade(primeiro, StatusOportunidade.EM_ATENDIMENTO));
+        assertEquals(primeiro, escolher());
+        verify(usuarioRepository).ajustarOportunidadesEmAtendimento(1L, 1);
+        verify(usuarioRepository).ajustarOportunidadesEmAtendimento(1L, -1);
+    }
+
+    @Test
+    void registrarEntrada_EmTransacao_SoAtualizaIndiceAposCommit() {
+        Usuario primeiro = assistente(1L, null);
+        Usuario segundo = assistente(2L, LocalDateTime.now());
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(primeiro, segundo));
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(primeiro));
+        escolher();
+        TransactionSynchronizationManager.initSynchronization();
+
+        distribuicaoService.registrarEntrada(oportunidade(primeiro, StatusOportunidade.EM_ATENDIMENTO));
+
+        assertEquals(0L, cargaAssistenteIndex.cargas(REVENDA_ID).get(1L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1L, cargaAssistenteIndex.cargas(REVENDA_ID).get(1L));
+        verify(usuarioRepository).ajustarOportunidadesEmAtendimento(1L, 1);
+    }
+
+    @Test
+    void distribuir_TransacaoDesfeita_MantemIndiceESoLiberaTravaAoConcluir() throws Exception {
+        Usuario assistente = assistente(1L, null);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(assistente));
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(assistente));
+        TransactionSynchronizationManager.initSynchronization();
+
+        distribuicaoService.distribuir(revenda, usuario -> {
+            distribuicaoService.registrarEntrada(oportunidade(usuario, StatusOportunidade.EM_ATENDIMENTO));
+            return usuario;
+        });
+
+        ResponseStatusException ocupada = CompletableFuture
+                .supplyAsync(() -> assertThrows(ResponseStatusException.class, this::escolher))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(SERVICE_UNAVAILABLE, ocupada.getStatusCode());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(0L, cargaAssistenteIndex.cargas(REVENDA_ID).get(1L));
+        assertEquals(assistente, escolher());
+    }
+
+    @Test
+    void registrarUsuario_NovoAssistente_EntraComCargaZero() {
+        Usuario antigo = assistente(1L, 5, null);
+        Usuario novo = assistente(2L, null);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(antigo));
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(antigo));
+        when(usuarioRepository.findById(2L)).thenReturn(Optional.of(novo));
+        escolher();
+
+        distribuicaoService.registrarUsuario(novo);
+
+        assertEquals(novo, escolher());
+    }
+
+    @Test
+    void reconstruirIndice_CarregaTodasRevendas() {
+        Usuario primeiro = assistente(1L, 2, null);
+        Usuario segundo = assistente(2L, null);
+        when(usuarioRepository.findByCargo(ASSISTENTE)).thenReturn(List.of(primeiro, segundo));
+        when(usuarioRepository.findById(2L)).thenReturn(Optional.of(segundo));
+
+        distribuicaoService.reconstruirIndice();
+
+        assertEquals(segundo, escolher());
+        verify(usuarioRepository, never()).findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID);
+    }
+
+    @Test
+    void verificarConsistencia_Divergente_RetornaDivergenciasEInvalidaRevenda() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+        Usuario assistente = assistente(1L, 2, null);
+        when(usuarioRepository.findByCargo(ASSISTENTE)).thenReturn(List.of(assistente));
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(assistente));
+        when(oportunidadeRepository.contarEmAtendimentoPorUsuario(REVENDA_ID)).thenReturn(List.of(carga(1L, 3L)));
+        distribuicaoService.reconstruirIndice();
+
+        List<DivergenciaCargaDTO> result = distribuicaoService.verificarConsistencia();
+
+        assertEquals(List.of(new DivergenciaCargaDTO(REVENDA_ID, 1L, 2L, 3L)), result);
+        assertTrue(cargaAssistenteIndex.revendasCarregadas().isEmpty());
+    }
+
+    @Test
+    void verificarConsistencia_Consistente_RetornaVazio() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+        Usuario assistente = assistente(1L, 2, null);
+        when(usuarioRepository.findByCargo(ASSISTENTE)).thenReturn(List.of(assistente));
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(assistente));
+        when(oportunidadeRepository.contarEmAtendimentoPorUsuario(REVENDA_ID)).thenReturn(List.of(carga(1L, 2L)));
+        distribuicaoService.reconstruirIndice();
+
+        assertTrue(distribuicaoService.verificarConsistencia().isEmpty());
+        assertEquals(Set.of(REVENDA_ID), cargaAssistenteIndex.revendasCarregadas());
+    }
+
+    @Test
+    void verificarConsistencia_NaoAdmin_LancaForbidden() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_GERENTE));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> distribuicaoService.verificarConsistencia());
+        assertEquals(FORBIDDEN, exception.getStatusCode());
+        verifyNoInteractions(usuarioRepository, oportunidadeRepository);
+    }
+
+    @Test
+    void distribuir_Cluster_TravaRevendaEOrdenaPeloContador() {
+        DistribuicaoService cluster = emModoCluster();
+        Usuario livre = assistente(2L, null);
+        when(revendaRepository.tentarTravarDistribuicao(REVENDA_ID)).thenReturn(false, false, true);
+        when(usuarioRepository.findMenosCarregados(eq(ASSISTENTE), eq(REVENDA_ID), any())).thenReturn(List.of(livre));
+        when(usuarioRepository.findById(2L)).thenReturn(Optional.of(livre));
+
+        Usuario result = cluster.distribuir(revenda, Function.identity());
+
+        assertEquals(livre, result);
+        verify(revendaRepository, times(3)).tentarTravarDistribuicao(REVENDA_ID);
+        verify(usuarioRepository, never()).findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID);
+        assertTrue(cargaAssistenteIndex.revendasCarregadas().isEmpty());
+    }
+
+    @Test
+    void distribuir_Cluster_OutraEstrategia_OrdenaSnapshotDoContador() {
+        DistribuicaoService cluster = emModoCluster();
+        revenda.setEstrategiaDistribuicao(EstrategiaDistribuicao.RODIZIO);
+        Usuario recente = assistente(1L, 0, LocalDateTime.now());
+        Usuario antigo = assistente(2L, 5, LocalDateTime.now().minusDays(1));
+        when(revendaRepository.tentarTravarDistribuicao(REVENDA_ID)).thenReturn(true);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(recente, antigo));
+        when(usuarioRepository.findById(2L)).thenReturn(Optional.of(antigo));
+
+        assertEquals(antigo, cluster.distribuir(revenda, Function.identity()));
+        verify(usuarioRepository, never()).findMenosCarregados(any(), any(), any());
+    }
+
+    @Test
+    void distribuir_Cluster_TravaIndisponivel_LancaServiceUnavailable() {
+        DistribuicaoService cluster = emModoCluster();
+        when(revendaRepository.tentarTravarDistribuicao(REVENDA_ID)).thenReturn(false);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> cluster.distribuir(revenda, Function.identity()));
+        assertEquals(SERVICE_UNAVAILABLE, exception.getStatusCode());
+        verify(revendaRepository, times(3)).tentarTravarDistribuicao(REVENDA_ID);
+        verifyNoInteractions(usuarioRepository, oportunidadeRepository);
+    }
+
+    @Test
+    void distribuir_Cluster_NaoReconstroiIndice() {
+        emModoCluster().reconstruirIndice();
+
+        verifyNoInteractions(usuarioRepository, oportunidadeRepository);
+    }
+
+    @Test
+    void distribuirLote_UmaPassada_BalanceiaSobreSnapshotDeCarga() {
+        LocalDateTime agora = LocalDateTime.now();
+        Usuario ocupado = assistente(1L, 2, null);
+        Usuario livreA = assistente(2L, null);
+        Usuario livreB = assistente(3L, null);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(ocupado, livreA, livreB));
+        when(usuarioRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(livreA, livreB));
+        List<StatusOportunidade> status = Collections.nCopies(4, StatusOportunidade.EM_ATENDIMENTO);
+
+        List<Usuario> result = distribuicaoService.distribuirLote(revenda, status, agora, Function.identity());
+
+        assertEquals(List.of(livreA, livreB, livreA, livreB), result);
+        verify(usuarioRepository, never()).findById(anyLong());
+        assertEquals(0L, cargaAssistenteIndex.cargas(REVENDA_ID).get(2L));
+    }
+
+    @Test
+    void distribuirLote_CapacidadeLimitada_ParaNoLimite() {
+        revenda.setEstrategiaDistribuicao(EstrategiaDistribuicao.CAPACIDADE_LIMITADA);
+        Usuario parcial = assistente(1L, 1, null);
+        parcial.setLimiteOportunidades(2);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(parcial));
+        when(usuarioRepository.findAllById(Set.of(1L))).thenReturn(List.of(parcial));
+        List<StatusOportunidade> status = Collections.nCopies(3, StatusOportunidade.EM_ATENDIMENTO);
+
+        List<Usuario> result = distribuicaoService.distribuirLote(revenda, status, LocalDateTime.now(), Function.identity());
+
+        assertEquals(List.of(parcial), result);
+    }
+
+    @Test
+    void distribuirLote_SemAssistentes_EntregaListaVazia() {
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(Collections.emptyList());
+
+        List<Usuario> result = distribuicaoService.distribuirLote(revenda, List.of(StatusOportunidade.NOVO),
+                LocalDateTime.now(), Function.identity());
+
+        assertTrue(result.isEmpty());
+        verify(usuarioRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void transferir_RecalculaContadoresEDescartaIndiceDaRevenda() {
+        cargaAssistenteIndex.escolher(REVENDA_ID, new MenorCargaStrategy(), id -> List.of());
+        when(oportunidadeRepository.transferirAbertas(eq(1L), eq(2L), eq(5), any(LocalDateTime.class))).thenReturn(5);
+
+        assertEquals(5, distribuicaoService.transferir(REVENDA_ID, 1L, 2L, 5));
+        verify(usuarioRepository).recalcularOportunidadesEmAtendimento(List.of(1L, 2L));
+        assertTrue(cargaAssistenteIndex.revendasCarregadas().isEmpty());
+    }
+
+    @Test
+    void transferir_NadaMovido_MantemIndice() {
+        cargaAssistenteIndex.escolher(REVENDA_ID, new MenorCargaStrategy(), id -> List.of());
+        when(oportunidadeRepository.transferirAbertas(eq(1L), eq(2L), eq(5), any(LocalDateTime.class))).thenReturn(0);
+
+        assertEquals(0, distribuicaoService.transferir(REVENDA_ID, 1L, 2L, 5));
+        verify(usuarioRepository, never()).recalcularOportunidadesEmAtendimento(anyList());
+        assertEquals(Set.of(REVENDA_ID), cargaAssistenteIndex.revendasCarregadas());
+    }
+
+    @Test
+    void registrarEntradas_AgrupaIncrementosPorAssistente() {
+        Usuario primeiro = assistente(1L, null);
+        Usuario segundo = assistente(2L, null);
+
+        distribuicaoService.registrarEntradas(List.of(
+                oportunidade(primeiro, StatusOportunidade.EM_ATENDIMENTO),
+                oportunidade(primeiro, StatusOportunidade.EM_ATENDIMENTO),
+                oportunidade(segundo, StatusOportunidade.EM_ATENDIMENTO),
+                oportunidade(segundo, StatusOportunidade.NOVO)));
+
+        verify(usuarioRepository).ajustarOportunidadesEmAtendimento(1L, 2);
+        verify(usuarioRepository).ajustarOportunidadesEmAtendimento(2L, 1);
+        verifyNoMoreInteractions(usuarioRepository);
+    }
+
+    @Test
+    void registrarEntradas_AjustaAssistentesEmOrdemDeId() {
+        Usuario maior = assistente(5L, null);
+        Usuario menor = assistente(2L, null);
+
+        distribuicaoService.registrarEntradas(List.of(
+                oportunidade(maior, StatusOportunidade.EM_ATENDIMENTO),
+                oportunidade(menor, StatusOportunidade.EM_ATENDIMENTO)));
+
+        InOrder ordem = inOrder(usuarioRepository);
+        ordem.verify(usuarioRepository).ajustarOportunidadesEmAtendimento(2L, 1);
+        ordem.verify(usuarioRepository).ajustarOportunidadesEmAtendimento(5L, 1);
+    }
+
+    @Test
+    void registrarEntradas_LoteDesfeito_NaoAlteraIndice() {
+        Usuario primeiro = assistente(1L, null);
+        cargaAssistenteIndex.escolher(REVENDA_ID, new MenorCargaStrategy(), id -> List.of(new CargaAssistente(1L, 0, null)));
+        TransactionSynchronizationManager.initSynchronization();
+        primeiro.setDataUltimaAtribuicao(LocalDateTime.now());
+
+        distribuicaoService.registrarAtribuicao(primeiro);
+        distribuicaoService.registrarEntradas(List.of(
+                oportunidade(primeiro, StatusOportunidade.EM_ATENDIMENTO),
+                oportunidade(primeiro, StatusOportunidade.EM_ATENDIMENTO)));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(List.of(new CargaAssistente(1L, 0, null)), cargaAssistenteIndex.listar(REVENDA_ID, new MenorCargaStrategy(), id -> List.of()));
+        verify(usuarioRepository).ajustarOportunidadesEmAtendimento(1L, 2);
+    }
+
+    @Test
+    void reconciliarContadores_ComCorrecoes_ReconstroiIndice() {
+        Usuario assistente = assistente(1L, 4, null);
+        when(usuarioRepository.listarIds(0L, Limit.of(500))).thenReturn(List.of(1L));
+        when(usuarioRepository.buscarContadoresDivergentes(List.of(1L))).thenReturn(List.of(1L));
+        when(usuarioRepository.findByCargo(ASSISTENTE)).thenReturn(List.of(assistente));
+
+        assertEquals(1, distribuicaoService.reconciliarContadores());
+        assertEquals(4L, cargaAssistenteIndex.cargas(REVENDA_ID).get(1L));
+    }
+
+    @Test
+    void inicializar_ReconciliaContadoresAntesDeReconstruirIndice() {
+        Usuario assistente = assistente(1L, 4, null);
+        when(usuarioRepository.listarIds(0L, Limit.of(500))).thenReturn(List.of(1L));
+        when(usuarioRepository.buscarContadoresDivergentes(List.of(1L))).thenReturn(List.of(1L));
+        when(usuarioRepository.findByCargo(ASSISTENTE)).thenReturn(List.of(assistente));
+
+        distribuicaoService.inicializar();
+
+        InOrder ordem = inOrder(usuarioRepository);
+        ordem.verify(usuarioRepository).travarPorIds(List.of(1L));
+        ordem.verify(usuarioRepository).recalcularOportunidadesEmAtendimento(List.of(1L));
+        ordem.verify(usuarioRepository).findByCargo(ASSISTENTE);
+        assertEquals(4L, cargaAssistenteIndex.cargas(REVENDA_ID).get(1L));
+    }
+
+    @Test
+    void reconciliarContadores_TravaApenasDivergentesAntesDeCorrigir() {
+        when(usuarioRepository.listarIds(0L, Limit.of(500))).thenReturn(List.of(1L, 2L, 3L));
+        when(usuarioRepository.buscarContadoresDivergentes(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+
+        assertEquals(2, distribuicaoService.reconciliarContadores());
+
+        InOrder ordem = inOrder(usuarioRepository);
+        ordem.verify(usuarioRepository).travarPorIds(List.of(1L, 3L));
+        ordem.verify(usuarioRepository).recalcularOportunidadesEmAtendimento(List.of(1L, 3L));
+        verify(usuarioRepository, never()).listarIds(eq(3L), any(Limit.class));
+    }
+
+    @Test
+    void reconciliarContadores_PercorreUsuariosEmLotesOrdenados() {
+        List<Long> primeiroLote = LongStream.rangeClosed(1, 500).boxed().toList();
+        when(usuarioRepository.listarIds(0L, Limit.of(500))).thenReturn(primeiroLote);
+        when(usuarioRepository.listarIds(500L, Limit.of(500))).thenReturn(List.of(501L));
+        when(usuarioRepository.buscarContadoresDivergentes(List.of(501L))).thenReturn(List.of(501L));
+
+        assertEquals(1, distribuicaoService.reconciliarContadores());
+
+        verify(usuarioRepository).buscarContadoresDivergentes(primeiroLote);
+        verify(usuarioRepository).travarPorIds(List.of(501L));
+        verify(usuarioRepository, never()).travarPorIds(primeiroLote);
+    }
+
+    @Test
+    void reconciliarContadores_SemCorrecoes_MantemIndice() {
+        when(usuarioRepository.listarIds(0L, Limit.of(500))).thenReturn(List.of(1L));
+
+        assertEquals(0, distribuicaoService.reconciliarContadores());
+        verify(usuarioRepository, never()).travarPorIds(anyList());
+        verify(usuarioRepository, never()).findByCargo(ASSISTENTE);
+    }
+
+    private DistribuicaoService emModoCluster() {
+        return new DistribuicaoService(usuarioRepository, oportunidadeRepository, revendaRepository,
+                cargaAssistenteIndex, new DistribuicaoProperties(ModoDistribuicao.CLUSTER, 3, 0L), new VersaoRecursoService(), ESTRATEGIAS);
+    }
+
+    private Usuario escolher() {
+        return distribuicaoService.distribuir(revenda, Function.identity());
+    }
+
+    private Usuario assistente(Long id, LocalDateTime dataUltimaAtribuicao) {
+        return assistente(id, 0, dataUltimaAtribuicao);
+    }
+
+    private Usuario assistente(Long id, long emAtendimento, LocalDateTime dataUltimaAtribuicao) {
+        Usuario usuario = new Usuario();
+        usuario.setOportunidadesEmAtendimento(emAtendimento);
+        usuario.setId(id);
+        usuario.setCargo(ASSISTENTE);
+        usuario.setRevenda(revenda);
+        usuario.setDataUltimaAtribuicao(dataUltimaAtribuicao);
+        return usuario;
+    }
+
+    private Oportunidade oportunidade(Usuario usuario, StatusOportunidade status) {
+        Oportunidade oportunidade = new Oportunidade();
+        oportunidade.setUsuario(usuario);
+        oportunidade.setRevenda(revenda);
+        oportunidade.setStatus(status);
+        return oportunidade;
+    }
+
+    private CargaAssistenteDTO carga(Long usuarioId, Long emAtendimento) {
+        return new CargaAssistenteDTO(REVENDA_ID, usuarioId, emAtendimento);
+    }
+}
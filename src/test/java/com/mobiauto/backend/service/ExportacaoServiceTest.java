@@ -0,0 +1,110 @@
+package com.mobiauto.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mobiauto.backend.dto.ClienteResponseDTO;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO.ClienteDTO;
+import com.mobiauto.backend.dto.OportunidadeResponseDTO.VeiculoDTO;
+import com.mobiauto.backend.service.exportacao.FormatoExportacao;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+@ExtendWith(MockitoExtension.class)
+class ExportacaoServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ExportacaoService exportacaoService;
+    private ByteArrayOutputStream saida;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        exportacaoService = new ExportacaoService(objectMapper, entityManager);
+        saida = new ByteArrayOutputStream();
+    }
+
+    @Test
+    void exportar_Ndjson_EscreveUmObjetoPorLinha() throws Exception {
+        Stream<Long> ids = Stream.of(1L, 2L);
+
+        exportacaoService.exportar(ids, this::cliente, ClienteResponseDTO.class, FormatoExportacao.NDJSON, saida);
+
+        assertEquals("""
+                {"id":1,"nome":"Cliente 1","email":"cliente1@example.com","telefone":"123456789","revendaId":10}
+                {"id":2,"nome":"Cliente 2","email":"cliente2@example.com","telefone":"123456789","revendaId":10}
+                """, saida.toString(StandardCharsets.UTF_8));
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void exportar_Csv_AchataRegistrosAninhadosEEscapaCelulas() throws Exception {
+        OportunidadeResponseDTO oportunidade = new OportunidadeResponseDTO(1L,
+                new ClienteDTO(2L, "Silva, \"Zé\"", "ze@example.com", "123"),
+                new VeiculoDTO(3L, "Toyota", "Corolla", "XLT", 2023),
+                null, 10L, "NOVO", null, LocalDateTime.of(2025, 1, 2, 3, 4, 5), null);
+
+        exportacaoService.exportar(Stream.of(oportunidade), o -> o, OportunidadeResponseDTO.class, FormatoExportacao.CSV, saida);
+
+        assertEquals("id,cliente.id,cliente.nome,cliente.email,cliente.telefone,veiculo.id,veiculo.marca,veiculo.modelo,"
+                + "veiculo.versao,veiculo.anoModelo,usuarioId,revendaId,status,motivoConclusao,dataAtribuicao,dataConclusao\r\n"
+                + "1,2,\"Silva, \"\"Zé\"\"\",ze@example.com,123,3,Toyota,Corolla,XLT,2023,,10,NOVO,,2025-01-02T03:04:05,\r\n",
+                saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportar_Csv_SemLinhas_EscreveApenasCabecalho() throws Exception {
+        exportacaoService.exportar(Stream.<Long>empty(), this::cliente, ClienteResponseDTO.class, FormatoExportacao.CSV, saida);
+
+        assertEquals("id,nome,email,telefone,revendaId\r\n", saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportar_MuitasLinhas_LimpaContextoPorLoteEFechaCursor() throws Exception {
+        AtomicBoolean fechado = new AtomicBoolean();
+        Stream<Long> ids = LongStream.rangeClosed(1, ExportacaoService.LINHAS_POR_LOTE * 2L + 1).boxed()
+                .onClose(() -> fechado.set(true));
+
+        exportacaoService.exportar(ids, this::cliente, ClienteResponseDTO.class, FormatoExportacao.NDJSON, saida);
+
+        assertEquals(ExportacaoService.LINHAS_POR_LOTE * 2 + 1, saida.toString(StandardCharsets.UTF_8).lines().count());
+        assertTrue(fechado.get());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void formato_Desconhecido_LancaBadRequest() {
+        assertEquals(FormatoExportacao.CSV, FormatoExportacao.de("CSV"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> FormatoExportacao.de("xml"));
+
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Formato de exportação inválido, use ndjson ou csv", exception.getReason());
+    }
+
+    private ClienteResponseDTO cliente(Long id) {
+        return new ClienteResponseDTO(id, "Cliente " + id, "cliente" + id + "@example.com", "123456789", 10L);
+    }
+}
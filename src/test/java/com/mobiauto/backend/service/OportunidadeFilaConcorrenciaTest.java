@@ -0,0 +1,209 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.TestcontainersConfiguration;
+import com.mobiauto.backend.config.MobiautoAuthenticationConverter;
+import com.mobiauto.backend.mapper.OportunidadeMapper;
+import com.mobiauto.backend.model.Cliente;
+import com.mobiauto.backend.model.Oportunidade;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.StatusOportunidade;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.model.Veiculo;
+import com.mobiauto.backend.repository.ClienteRepository;
+import com.mobiauto.backend.repository.OportunidadeRepository;
+import com.mobiauto.backend.repository.RevendaRepository;
+import com.mobiauto.backend.repository.UsuarioRepository;
+import com.mobiauto.backend.repository.VeiculoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.mobiauto.backend.model.Cargo.ASSISTENTE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OportunidadeFilaConcorrenciaTest {
+
+    private static final int ASSISTENTES = 200;
+    private static final int OPORTUNIDADES = 1_000;
+
+    @Autowired
+    private OportunidadeRepository oportunidadeRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private RevendaRepository revendaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+    private OportunidadeService oportunidadeService;
+    private Revenda revenda;
+    private List<Usuario> assistentes;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status -> {
+            revenda = new Revenda();
+            revenda.setCnpj("11222333000181");
+            revenda.setNomeSocial("Revenda Fila");
+            revendaRepository.save(revenda);
+
+            assistentes = new ArrayList<>(ASSISTENTES);
+            for (int i = 0; i < ASSISTENTES; i++) {
+                assistentes.add(new Usuario(null, "Assistente " + i, "assistente" + i + "@fila.com", "senha", ASSISTENTE, revenda));
+            }
+            usuarioRepository.saveAll(assistentes);
+
+            Cliente cliente = new Cliente();
+            cliente.setNome("Cliente Fila");
+            cliente.setEmail("cliente@fila.com");
+            cliente.setTelefone("11999990000");
+            cliente.setRevenda(revenda);
+            clienteRepository.save(cliente);
+
+            Veiculo veiculo = new Veiculo();
+            veiculo.setMarca("Marca");
+            veiculo.setModelo("Modelo");
+            veiculo.setVersao("1.0");
+            veiculo.setAnoModelo(2024);
+            veiculo.setRevenda(revenda);
+            veiculoRepository.save(veiculo);
+
+            LocalDateTime agora = LocalDateTime.now();
+            List<Oportunidade> fila = new ArrayList<>(OPORTUNIDADES);
+            for (int i = 0; i < OPORTUNIDADES; i++) {
+                Oportunidade oportunidade = new Oportunidade();
+                oportunidade.setCliente(cliente);
+                oportunidade.setVeiculo(veiculo);
+                oportunidade.setRevenda(revenda);
+                oportunidade.setStatus(StatusOportunidade.NOVO);
+                oportunidade.setDataAtribuicao(agora.minusSeconds(OPORTUNIDADES - i));
+                fila.add(oportunidade);
+            }
+            oportunidadeRepository.saveAll(fila);
+        });
+
+        oportunidadeService = new OportunidadeService(oportunidadeRepository, clienteRepository, veiculoRepository,
+                revendaRepository, usuarioRepository, OportunidadeMapper.INSTANCE,
+                mock(DistribuicaoService.class, withSettings().stubOnly()), mock(ExportacaoService.class), new VersaoRecursoService());
+        executor = Executors.newFixedThreadPool(ASSISTENTES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        transacao.executeWithoutResult(status -> {
+            oportunidadeRepository.deleteAllInBatch(oportunidadeRepository.findAll());
+            usuarioRepository.deleteAllInBatch(assistentes);
+            clienteRepository.deleteAllInBatch(clienteRepository.findAll());
+            veiculoRepository.deleteAllInBatch(veiculoRepository.findAll());
+            revendaRepository.deleteAllInBatch(List.of(revenda));
+        });
+    }
+
+    @Test
+    void reivindicarProxima_DuzentosAssistentesConcorrentes_AssumemOportunidadesDistintasAteEsvaziarAFila(TestReporter reporter)
+            throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Reivindicacoes>> tarefas = new ArrayList<>(ASSISTENTES);
+
+        for (Usuario assistente : assistentes) {
+            Jwt jwt = jwt(assistente);
+            tarefas.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new MobiautoAuthenticationConverter().convert(jwt));
+                Reivindicacoes reivindicacoes = new Reivindicacoes();
+                largada.await();
+                while (true) {
+                    long inicio = System.nanoTime();
+                    try {
+                        reivindicacoes.ids.add(transacao.execute(status -> oportunidadeService.reivindicarProxima()).id());
+                    } catch (ResponseStatusException e) {
+                        assertEquals(NOT_FOUND, e.getStatusCode());
+                        return reivindicacoes;
+                    } finally {
+                        reivindicacoes.latencias.add(System.nanoTime() - inicio);
+                    }
+                }
+            }));
+        }
+        largada.countDown();
+
+        List<Long> ids = new ArrayList<>();
+        List<Long> latencias = new ArrayList<>();
+        for (Future<Reivindicacoes> tarefa : tarefas) {
+            Reivindicacoes reivindicacoes = tarefa.get(2, TimeUnit.MINUTES);
+            ids.addAll(reivindicacoes.ids);
+            latencias.addAll(reivindicacoes.latencias);
+        }
+        Collections.sort(latencias);
+
+        assertEquals(OPORTUNIDADES, ids.size());
+        assertEquals(OPORTUNIDADES, new HashSet<>(ids).size());
+        assertTrue(oportunidadeRepository.findAll().stream()
+                .allMatch(o -> o.getStatus() == StatusOportunidade.EM_ATENDIMENTO && o.getUsuario() != null));
+        reporter.publishEntry("latencia", "p50 " + percentil(latencias, 0.50) + " ms, p99 " + percentil(latencias, 0.99)
+                + " ms, máxima " + percentil(latencias, 1.0) + " ms em " + latencias.size() + " chamadas");
+    }
+
+    private static long percentil(List<Long> latencias, double fracao) {
+        int indice = Math.max(0, (int) Math.ceil(latencias.size() * fracao) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(latencias.get(indice));
+    }
+
+    private Jwt jwt(Usuario assistente) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(assistente.getEmail())
+                .claim("usuarioId", String.valueOf(assistente.getId()))
+                .claim("revendaId", String.valueOf(revenda.getId()))
+                .claim("roles", List.of(ASSISTENTE.name()))
+                .build();
+    }
+
+    private static final class Reivindicacoes {
+        private final List<Long> ids = new ArrayList<>();
+        private final List<Long> latencias = new ArrayList<>();
+    }
+}
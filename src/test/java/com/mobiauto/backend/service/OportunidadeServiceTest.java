@@ -1,32 +1,53 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.OportunidadeFiltroDTO;
+import com.mobiauto.backend.dto.OportunidadeLoteResponseDTO;
 import com.mobiauto.backend.dto.OportunidadeRequestDTO;
 import com.mobiauto.backend.dto.OportunidadeResponseDTO;
 import com.mobiauto.backend.dto.OportunidadeResponseDTO.ClienteDTO;
 import com.mobiauto.backend.dto.OportunidadeResponseDTO.VeiculoDTO;
+import com.mobiauto.backend.dto.OportunidadesNormalizadasDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.mapper.OportunidadeMapper;
 import com.mobiauto.backend.model.*;
 import com.mobiauto.backend.repository.*;
+import com.mobiauto.backend.service.versao.TipoRecurso;
+import com.mobiauto.backend.utils.CursorUtil;
 import com.mobiauto.backend.utils.JwtAuthUtil;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static com.mobiauto.backend.model.Cargo.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.http.HttpStatus.*;
 
@@ -62,7 +83,13 @@ class OportunidadeServiceTest {
     @Mock
     private OportunidadeMapper oportunidadeMapper;
     @Mock
-    private Jwt jwt;
+    private DistribuicaoService distribuicaoService;
+    @Mock
+    private VersaoRecursoService versaoRecursoService;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private Root<Oportunidade> root;
+    @Captor
+    private ArgumentCaptor<Specification<Oportunidade>> specificationCaptor;
     @InjectMocks
     private OportunidadeService oportunidadeService;
     private Oportunidade oportunidade;
@@ -132,57 +159,144 @@ class OportunidadeServiceTest {
     @Test
     void buscarTodos_Admin_RetornaTodasOportunidades() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(oportunidadeRepository.findAll()).thenReturn(List.of(oportunidade));
-        when(oportunidadeMapper.toResponseDTO(oportunidade)).thenReturn(oportunidadeResponseDTO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(oportunidadeRepository.listarPagina(any(), eq(Limit.of(51)))).thenReturn(List.of(oportunidadeResponseDTO));
         
-        List<OportunidadeResponseDTO> result = oportunidadeService.findAll();
+        PaginaDTO<OportunidadeResponseDTO> result = oportunidadeService.findAll(OportunidadeFiltroDTO.vazio(), null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        OportunidadeResponseDTO dto = result.get(0);
+        assertEquals(1, result.itens().size());
+        assertNull(result.proximoCursor());
+        OportunidadeResponseDTO dto = result.itens().get(0);
         assertEquals(oportunidadeResponseDTO.id(), dto.id());
         assertEquals(oportunidadeResponseDTO.cliente().id(), dto.cliente().id());
         assertEquals(oportunidadeResponseDTO.cliente().nome(), dto.cliente().nome());
         assertEquals(oportunidadeResponseDTO.veiculo().id(), dto.veiculo().id());
         assertEquals(oportunidadeResponseDTO.veiculo().marca(), dto.veiculo().marca());
-        verify(oportunidadeRepository).findAll();
-        verify(oportunidadeMapper).toResponseDTO(oportunidade);
+        verify(oportunidadeRepository).listarPagina(specificationCaptor.capture(), eq(Limit.of(51)));
+        CriteriaBuilder cb = aplicar(specificationCaptor.getValue());
+        verify(cb).greaterThan(root.<Long>get("id"), 0L);
+        verify(cb, never()).equal(root.get("revenda").get("id"), REVENDA_ID);
+        verifyNoInteractions(oportunidadeMapper);
         verifyNoMoreInteractions(oportunidadeRepository);
     }
 
     @Test
     void buscarTodos_NaoAdmin_RetornaOportunidadesPorRevenda() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(oportunidadeRepository.findAllByRevenda_Id(REVENDA_ID)).thenReturn(List.of(oportunidade));
-        when(oportunidadeMapper.toResponseDTO(oportunidade)).thenReturn(oportunidadeResponseDTO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(oportunidadeRepository.listarPagina(any(), eq(Limit.of(51)))).thenReturn(List.of(oportunidadeResponseDTO));
         
-        List<OportunidadeResponseDTO> result = oportunidadeService.findAll();
+        PaginaDTO<OportunidadeResponseDTO> result = oportunidadeService.findAll(OportunidadeFiltroDTO.vazio(), null, null);
         
         assertNotNull(result);
-        assertEquals(1, result.size());
-        OportunidadeResponseDTO dto = result.get(0);
+        assertEquals(1, result.itens().size());
+        assertNull(result.proximoCursor());
+        OportunidadeResponseDTO dto = result.itens().get(0);
         assertEquals(oportunidadeResponseDTO.id(), dto.id());
         assertEquals(oportunidadeResponseDTO.cliente().id(), dto.cliente().id());
         assertEquals(oportunidadeResponseDTO.cliente().nome(), dto.cliente().nome());
         assertEquals(oportunidadeResponseDTO.veiculo().id(), dto.veiculo().id());
         assertEquals(oportunidadeResponseDTO.veiculo().marca(), dto.veiculo().marca());
-        verify(oportunidadeRepository).findAllByRevenda_Id(REVENDA_ID);
-        verify(oportunidadeMapper).toResponseDTO(oportunidade);
+        verify(oportunidadeRepository).listarPagina(specificationCaptor.capture(), eq(Limit.of(51)));
+        CriteriaBuilder cb = aplicar(specificationCaptor.getValue());
+        verify(cb).equal(root.get("revenda").get("id"), REVENDA_ID);
+        verify(cb).greaterThan(root.<Long>get("id"), 0L);
+        verifyNoInteractions(oportunidadeMapper);
+        verifyNoMoreInteractions(oportunidadeRepository);
+    }
+
+    @Test
+    void buscarTodos_ComFiltros_AplicaTodosOsCriteriosNaConsulta() {
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime fim = LocalDateTime.of(2025, 1, 31, 23, 59);
+        OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(StatusOportunidade.EM_ATENDIMENTO, USUARIO_ID, VEICULO_ID, CLIENTE_ID, inicio, fim);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(oportunidadeRepository.listarPagina(any(), eq(Limit.of(11)))).thenReturn(List.of());
+
+        PaginaDTO<OportunidadeResponseDTO> result = oportunidadeService.findAll(filtro, CursorUtil.codificar(7L), 10);
+
+        assertTrue(result.itens().isEmpty());
+        assertNull(result.proximoCursor());
+        verify(oportunidadeRepository).listarPagina(specificationCaptor.capture(), eq(Limit.of(11)));
+        CriteriaBuilder cb = aplicar(specificationCaptor.getValue());
+        verify(cb).equal(root.get("revenda").get("id"), REVENDA_ID);
+        verify(cb).equal(root.get("status"), StatusOportunidade.EM_ATENDIMENTO);
+        verify(cb).equal(root.get("usuario").get("id"), USUARIO_ID);
+        verify(cb).equal(root.get("veiculo").get("id"), VEICULO_ID);
+        verify(cb).equal(root.get("cliente").get("id"), CLIENTE_ID);
+        verify(cb).greaterThanOrEqualTo(root.<LocalDateTime>get("dataAtribuicao"), inicio);
+        verify(cb).lessThanOrEqualTo(root.<LocalDateTime>get("dataAtribuicao"), fim);
+        verify(cb).greaterThan(root.<Long>get("id"), 7L);
+        verifyNoInteractions(oportunidadeMapper);
+    }
+
+    @Test
+    void buscarTodos_PeriodoInvertido_LancaBadRequest() {
+        OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(null, null, null, null,
+                LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0));
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> oportunidadeService.findAll(filtro, null, null));
+
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("A data inicial de atribuição deve ser anterior à data final", exception.getReason());
+        verifyNoInteractions(oportunidadeRepository);
+    }
+
+    @Test
+    void buscarTodos_Normalizadas_DelegaDeduplicacaoAoMapper() {
+        OportunidadesNormalizadasDTO normalizadas = new OportunidadesNormalizadasDTO(List.of(),
+                new OportunidadesNormalizadasDTO.IncluidosDTO(List.of(), List.of()), null);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(oportunidadeRepository.listarPagina(any(), eq(Limit.of(51)))).thenReturn(List.of(oportunidadeResponseDTO));
+        when(oportunidadeMapper.toNormalizadasDTO(new PaginaDTO<>(List.of(oportunidadeResponseDTO), null))).thenReturn(normalizadas);
+
+        OportunidadesNormalizadasDTO result = oportunidadeService.findAllNormalizadas(OportunidadeFiltroDTO.vazio(), null, null);
+
+        assertSame(normalizadas, result);
+        verify(oportunidadeRepository).listarPagina(any(), eq(Limit.of(51)));
+        verify(oportunidadeMapper).toNormalizadasDTO(new PaginaDTO<>(List.of(oportunidadeResponseDTO), null));
+        verifyNoMoreInteractions(oportunidadeRepository, oportunidadeMapper);
+    }
+
+    @Test
+    void buscarTodos_ComCampos_ConsultaSomenteCamposInformados() {
+        Set<CampoOportunidade> campos = EnumSet.of(CampoOportunidade.ID, CampoOportunidade.STATUS, CampoOportunidade.CLIENTE_NOME,
+                CampoOportunidade.VEICULO_ID, CampoOportunidade.VEICULO_MARCA, CampoOportunidade.VEICULO_MODELO,
+                CampoOportunidade.VEICULO_VERSAO, CampoOportunidade.VEICULO_ANO_MODELO);
+        Map<String, Object> linha = new LinkedHashMap<>(Map.of("id", OPORTUNIDADE_ID, "status", "NOVO"));
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(oportunidadeRepository.listarCampos(any(), eq(campos), eq(Limit.of(2)))).thenReturn(List.of(linha, linha));
+
+        PaginaDTO<Map<String, Object>> result = oportunidadeService.findAll(OportunidadeFiltroDTO.vazio(), null, 1, "status, cliente.nome,veiculo");
+
+        assertEquals(List.of(linha), result.itens());
+        assertEquals(CursorUtil.codificar(OPORTUNIDADE_ID), result.proximoCursor());
+        verify(oportunidadeRepository).listarCampos(specificationCaptor.capture(), eq(campos), eq(Limit.of(2)));
+        CriteriaBuilder cb = aplicar(specificationCaptor.getValue());
+        verify(cb).equal(root.get("revenda").get("id"), REVENDA_ID);
         verifyNoMoreInteractions(oportunidadeRepository);
+        verifyNoInteractions(oportunidadeMapper);
+    }
+
+    @Test
+    void buscarTodos_CampoInvalido_LancaBadRequest() {
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> oportunidadeService.findAll(OportunidadeFiltroDTO.vazio(), null, null, "status,revenda.nome"));
+
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Campo inválido: revenda.nome", exception.getReason());
+        verifyNoInteractions(oportunidadeRepository);
     }
 
     @Test
     void buscarPorId_Admin_Sucesso() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString()); 
-        when(oportunidadeRepository.findById(OPORTUNIDADE_ID)).thenReturn(Optional.of(oportunidade));
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(oportunidadeRepository.findDetalheById(OPORTUNIDADE_ID)).thenReturn(Optional.of(oportunidade));
         when(oportunidadeMapper.toResponseDTO(oportunidade)).thenReturn(oportunidadeResponseDTO);
 
 
@@ -195,17 +309,15 @@ class OportunidadeServiceTest {
         assertEquals(oportunidadeResponseDTO.cliente().nome(), result.cliente().nome());
         assertEquals(oportunidadeResponseDTO.veiculo().id(), result.veiculo().id());
         assertEquals(oportunidadeResponseDTO.veiculo().marca(), result.veiculo().marca());
-        verify(oportunidadeRepository).findById(OPORTUNIDADE_ID);
+        verify(oportunidadeRepository).findDetalheById(OPORTUNIDADE_ID);
         verify(oportunidadeMapper).toResponseDTO(oportunidade);
     }
 
     @Test
     void buscarPorId_NaoAdmin_MesmaRevenda_Sucesso() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(oportunidadeRepository.findById(OPORTUNIDADE_ID)).thenReturn(Optional.of(oportunidade));
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(oportunidadeRepository.findDetalheById(OPORTUNIDADE_ID)).thenReturn(Optional.of(oportunidade));
         when(oportunidadeMapper.toResponseDTO(oportunidade)).thenReturn(oportunidadeResponseDTO);
 
 
@@ -218,7 +330,7 @@ class OportunidadeServiceTest {
         assertEquals(oportunidadeResponseDTO.cliente().nome(), result.cliente().nome());
         assertEquals(oportunidadeResponseDTO.veiculo().id(), result.veiculo().id());
         assertEquals(oportunidadeResponseDTO.veiculo().marca(), result.veiculo().marca());
-        verify(oportunidadeRepository).findById(OPORTUNIDADE_ID);
+        verify(oportunidadeRepository).findDetalheById(OPORTUNIDADE_ID);
         verify(oportunidadeMapper).toResponseDTO(oportunidade);
     }
 
@@ -228,38 +340,66 @@ class OportunidadeServiceTest {
         Revenda outraRevenda = new Revenda();
         outraRevenda.setId(OUTRA_REVENDA_ID);
         oportunidade.setRevenda(outraRevenda);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(oportunidadeRepository.findById(OPORTUNIDADE_ID)).thenReturn(Optional.of(oportunidade));
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(oportunidadeRepository.findDetalheById(OPORTUNIDADE_ID)).thenReturn(Optional.of(oportunidade));
          
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> oportunidadeService.findById(OPORTUNIDADE_ID));
         assertEquals(FORBIDDEN, exception.getStatusCode());
         assertEquals("Você só pode acessar oportunidades da sua revenda", exception.getReason());
-        verify(oportunidadeRepository).findById(OPORTUNIDADE_ID);
+        verify(oportunidadeRepository).findDetalheById(OPORTUNIDADE_ID);
         verifyNoInteractions(oportunidadeMapper);
     }
 
     @Test
     void buscarPorId_NaoEncontrado_LancaNotFound() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(oportunidadeRepository.findById(OPORTUNIDADE_ID)).thenReturn(Optional.empty());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(oportunidadeRepository.findDetalheById(OPORTUNIDADE_ID)).thenReturn(Optional.empty());
          
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> oportunidadeService.findById(OPORTUNIDADE_ID));
         assertEquals(NOT_FOUND, exception.getStatusCode());
         assertEquals("Oportunidade não encontrada", exception.getReason());
-        verify(oportunidadeRepository).findById(OPORTUNIDADE_ID);
+        verify(oportunidadeRepository).findDetalheById(OPORTUNIDADE_ID);
         verifyNoInteractions(oportunidadeMapper);
     }
 
+    @Test
+    void buscarPorId_ComCampos_MesmaRevenda_RetornaSomenteCamposInformados() {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("id", OPORTUNIDADE_ID);
+        linha.put("revendaId", REVENDA_ID);
+        linha.put("status", "NOVO");
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(oportunidadeRepository.listarCampos(any(), eq(EnumSet.of(CampoOportunidade.ID, CampoOportunidade.REVENDA_ID, CampoOportunidade.STATUS)), eq(Limit.of(1))))
+                .thenReturn(List.of(linha));
+
+        Map<String, Object> result = oportunidadeService.findById(OPORTUNIDADE_ID, "status");
+
+        assertEquals(Map.of("id", OPORTUNIDADE_ID, "status", "NOVO"), result);
+        verify(oportunidadeRepository).listarCampos(specificationCaptor.capture(), any(), eq(Limit.of(1)));
+        CriteriaBuilder cb = aplicar(specificationCaptor.getValue());
+        verify(cb).equal(root.get("id"), OPORTUNIDADE_ID);
+        verifyNoMoreInteractions(oportunidadeRepository);
+        verifyNoInteractions(oportunidadeMapper);
+    }
+
+    @Test
+    void buscarPorId_ComCampos_RevendaDiferente_LancaForbidden() {
+        Map<String, Object> linha = new LinkedHashMap<>(Map.of("id", OPORTUNIDADE_ID, "revendaId", OUTRA_REVENDA_ID));
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(oportunidadeRepository.listarCampos(any(), any(), eq(Limit.of(1)))).thenReturn(List.of(linha));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> oportunidadeService.findById(OPORTUNIDADE_ID, "cliente"));
+
+        assertEquals(FORBIDDEN, exception.getStatusCode());
+        assertEquals("Você só pode acessar oportunidades da sua revenda", exception.getReason());
+    }
+
     @Test
     void salvar_Admin_Sucesso() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
@@ -281,6 +421,8 @@ class OportunidadeServiceTest {
         verify(usuarioRepository).findById(USUARIO_ID);
         verify(usuarioRepository).save(usuario);
         verify(oportunidadeRepository).save(any(Oportunidade.class));
+        verify(distribuicaoService).registrarAtribuicao(usuario);
+        verify(distribuicaoService).registrarEntrada(oportunidade);
         verify(oportunidadeMapper).toResponseDTO(oportunidade);
     }
 
@@ -290,13 +432,12 @@ class OportunidadeServiceTest {
         OportunidadeRequestDTO dtoSemUsuario = new OportunidadeRequestDTO(
                 CLIENTE_ID, VEICULO_ID, null, REVENDA_ID, STATUS, null
         );
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
-        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(usuario));
+        when(distribuicaoService.distribuir(eq(revenda), any()))
+                .thenAnswer(inv -> inv.<Function<Usuario, Object>>getArgument(1).apply(usuario));
         when(oportunidadeRepository.save(any(Oportunidade.class))).thenReturn(oportunidade);
         when(oportunidadeMapper.toResponseDTO(oportunidade)).thenReturn(oportunidadeResponseDTO);
 
@@ -311,18 +452,18 @@ class OportunidadeServiceTest {
         verify(clienteRepository).findById(CLIENTE_ID);
         verify(veiculoRepository).findById(VEICULO_ID);
         verify(revendaRepository).findById(REVENDA_ID);
-        verify(usuarioRepository).findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID);
+        verify(distribuicaoService).distribuir(eq(revenda), any());
         verify(usuarioRepository).save(usuario);
         verify(oportunidadeRepository).save(any(Oportunidade.class));
+        verify(distribuicaoService).registrarAtribuicao(usuario);
+        verify(distribuicaoService).registrarEntrada(oportunidade);
         verify(oportunidadeMapper).toResponseDTO(oportunidade);
     }
 
     @Test
     void salvar_ClienteNaoEncontrado_LancaNotFound() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.empty());
 
          
@@ -336,9 +477,7 @@ class OportunidadeServiceTest {
     @Test
     void salvar_NaoAdmin_RevendaDiferente_LancaForbidden() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(OUTRA_REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, OUTRA_REVENDA_ID, CARGOS_ASSISTENTE));
 
          
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> oportunidadeService.save(oportunidadeRequestDTO));
@@ -347,15 +486,32 @@ class OportunidadeServiceTest {
         verifyNoInteractions(clienteRepository, veiculoRepository, revendaRepository, usuarioRepository, oportunidadeRepository, oportunidadeMapper);
     }
 
+    @Test
+    void salvar_StatusInvalido_LancaBadRequestComoNoLote() {
+
+        OportunidadeRequestDTO dtoInvalido = new OportunidadeRequestDTO(
+                CLIENTE_ID, VEICULO_ID, USUARIO_ID, REVENDA_ID, "PERDIDO", null
+        );
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
+        when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
+        when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
+        when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> oportunidadeService.save(dtoInvalido));
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Status inválido: PERDIDO", exception.getReason());
+        verify(usuarioRepository, never()).save(any());
+        verifyNoInteractions(oportunidadeRepository, oportunidadeMapper);
+    }
+
     @Test
     void salvar_StatusConcluido_SemMotivo_LancaBadRequest() {
 
         OportunidadeRequestDTO dtoConcluido = new OportunidadeRequestDTO(
                 CLIENTE_ID, VEICULO_ID, USUARIO_ID, REVENDA_ID, "CONCLUIDO", null
         );
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
@@ -372,13 +528,226 @@ class OportunidadeServiceTest {
         verifyNoInteractions(oportunidadeRepository, oportunidadeMapper);
     }
 
+    @Test
+    void salvarLote_ItensMistos_RetornaResultadoPorItem() {
+
+        OportunidadeRequestDTO comUsuario = new OportunidadeRequestDTO(CLIENTE_ID, VEICULO_ID, USUARIO_ID, REVENDA_ID, STATUS, null);
+        OportunidadeRequestDTO semUsuario = new OportunidadeRequestDTO(CLIENTE_ID, VEICULO_ID, null, REVENDA_ID, STATUS, null);
+        OportunidadeRequestDTO clienteInexistente = new OportunidadeRequestDTO(99L, VEICULO_ID, null, REVENDA_ID, STATUS, null);
+        OportunidadeRequestDTO statusInvalido = new OportunidadeRequestDTO(CLIENTE_ID, VEICULO_ID, null, REVENDA_ID, "PERDIDO", null);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(clienteRepository.findAllById(Set.of(CLIENTE_ID, 99L))).thenReturn(List.of(cliente));
+        when(veiculoRepository.findAllById(Set.of(VEICULO_ID))).thenReturn(List.of(veiculo));
+        when(revendaRepository.findAllById(Set.of(REVENDA_ID))).thenReturn(List.of(revenda));
+        when(usuarioRepository.findAllById(Set.of(USUARIO_ID))).thenReturn(List.of(usuario));
+        when(distribuicaoService.distribuirLote(eq(revenda), eq(List.of(StatusOportunidade.EM_ATENDIMENTO)), any(), any()))
+                .thenAnswer(inv -> inv.<Function<List<Usuario>, Object>>getArgument(3).apply(List.of(usuario)));
+        when(oportunidadeRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(oportunidadeMapper.toResponseDTO(any(Oportunidade.class))).thenReturn(oportunidadeResponseDTO);
+
+        List<OportunidadeLoteResponseDTO> result = oportunidadeService.saveLote(
+                List.of(comUsuario, semUsuario, clienteInexistente, statusInvalido));
+
+        assertEquals(4, result.size());
+        assertEquals(CREATED.value(), result.get(0).status());
+        assertEquals(oportunidadeResponseDTO, result.get(0).oportunidade());
+        assertEquals(CREATED.value(), result.get(1).status());
+        assertEquals(NOT_FOUND.value(), result.get(2).status());
+        assertEquals("Cliente não encontrado: 99", result.get(2).erro());
+        assertEquals(BAD_REQUEST.value(), result.get(3).status());
+        assertEquals("Status inválido: PERDIDO", result.get(3).erro());
+        verify(clienteRepository, never()).findById(any());
+        verify(oportunidadeRepository, times(2)).saveAll(anyList());
+        verify(usuarioRepository, times(2)).saveAll(any());
+        verify(distribuicaoService).registrarEntradas(argThat(salvas -> salvas.size() == 2));
+    }
+
+    @Test
+    void salvarLote_SemAssistentes_MarcaItensDistribuidosComoNotFound() {
+
+        OportunidadeRequestDTO semUsuario = new OportunidadeRequestDTO(CLIENTE_ID, VEICULO_ID, null, REVENDA_ID, STATUS, null);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(clienteRepository.findAllById(Set.of(CLIENTE_ID))).thenReturn(List.of(cliente));
+        when(veiculoRepository.findAllById(Set.of(VEICULO_ID))).thenReturn(List.of(veiculo));
+        when(revendaRepository.findAllById(Set.of(REVENDA_ID))).thenReturn(List.of(revenda));
+        when(distribuicaoService.distribuirLote(eq(revenda), any(), any(), any()))
+                .thenAnswer(inv -> inv.<Function<List<Usuario>, Object>>getArgument(3).apply(List.of()));
+
+        List<OportunidadeLoteResponseDTO> result = oportunidadeService.saveLote(List.of(semUsuario, semUsuario));
+
+        assertEquals(2, result.size());
+        result.forEach(item -> {
+            assertEquals(NOT_FOUND.value(), item.status());
+            assertEquals("Nenhum assistente disponível na revenda", item.erro());
+        });
+        verifyNoInteractions(oportunidadeRepository, oportunidadeMapper);
+    }
+
+    @Test
+    void salvarLote_VariasRevendas_DistribuiEmOrdemDeIdERegistraTravaOcupadaPorItem() {
+        Revenda outraRevenda = new Revenda();
+        outraRevenda.setId(OUTRA_REVENDA_ID);
+        OportunidadeRequestDTO daOutraRevenda = new OportunidadeRequestDTO(CLIENTE_ID, VEICULO_ID, null, OUTRA_REVENDA_ID, STATUS, null);
+        OportunidadeRequestDTO daRevenda = new OportunidadeRequestDTO(CLIENTE_ID, VEICULO_ID, null, REVENDA_ID, STATUS, null);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(clienteRepository.findAllById(Set.of(CLIENTE_ID))).thenReturn(List.of(cliente));
+        when(veiculoRepository.findAllById(Set.of(VEICULO_ID))).thenReturn(List.of(veiculo));
+        when(revendaRepository.findAllById(Set.of(REVENDA_ID, OUTRA_REVENDA_ID))).thenReturn(List.of(outraRevenda, revenda));
+        when(distribuicaoService.distribuirLote(eq(revenda), any(), any(), any()))
+                .thenThrow(new ResponseStatusException(SERVICE_UNAVAILABLE, "Distribuição ocupada na revenda, tente novamente"));
+        when(distribuicaoService.distribuirLote(eq(outraRevenda), any(), any(), any()))
+                .thenAnswer(inv -> inv.<Function<List<Usuario>, Object>>getArgument(3).apply(List.of(usuario)));
+        when(oportunidadeRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(oportunidadeMapper.toResponseDTO(any(Oportunidade.class))).thenReturn(oportunidadeResponseDTO);
+
+        List<OportunidadeLoteResponseDTO> result = oportunidadeService.saveLote(List.of(daOutraRevenda, daRevenda, daRevenda));
+
+        assertEquals(CREATED.value(), result.get(0).status());
+        assertEquals(SERVICE_UNAVAILABLE.value(), result.get(1).status());
+        assertEquals(SERVICE_UNAVAILABLE.value(), result.get(2).status());
+        assertEquals("Distribuição ocupada na revenda, tente novamente", result.get(2).erro());
+        InOrder ordem = inOrder(distribuicaoService);
+        ordem.verify(distribuicaoService).distribuirLote(eq(revenda), any(), any(), any());
+        ordem.verify(distribuicaoService).distribuirLote(eq(outraRevenda), any(), any(), any());
+    }
+
+    @Test
+    void salvarLote_NaoAdmin_RevendaDiferente_MarcaItemForbidden() {
+
+        OportunidadeRequestDTO outraRevenda = new OportunidadeRequestDTO(CLIENTE_ID, VEICULO_ID, null, OUTRA_REVENDA_ID, STATUS, null);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+
+        List<OportunidadeLoteResponseDTO> result = oportunidadeService.saveLote(List.of(outraRevenda));
+
+        assertEquals(FORBIDDEN.value(), result.get(0).status());
+        assertEquals("Você só pode criar oportunidades na sua revenda", result.get(0).erro());
+        verifyNoInteractions(oportunidadeRepository, distribuicaoService);
+    }
+
+    @Test
+    void salvarLote_Vazio_LancaBadRequest() {
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> oportunidadeService.saveLote(List.of()));
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(clienteRepository, oportunidadeRepository, distribuicaoService);
+    }
+
+    @Test
+    void salvar_RevendaEmFila_EnfileiraSemResponsavel() {
+        revenda.setEstrategiaDistribuicao(EstrategiaDistribuicao.FILA);
+        OportunidadeRequestDTO dtoSemUsuario = new OportunidadeRequestDTO(
+                CLIENTE_ID, VEICULO_ID, null, REVENDA_ID, "NOVO", null
+        );
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
+        when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
+        when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
+        when(oportunidadeRepository.save(any(Oportunidade.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(oportunidadeMapper.toResponseDTO(any(Oportunidade.class))).thenReturn(oportunidadeResponseDTO);
+
+        oportunidadeService.save(dtoSemUsuario);
+
+        verify(oportunidadeRepository).save(argThat(o -> o.getUsuario() == null && o.getStatus() == StatusOportunidade.NOVO));
+        verifyNoInteractions(distribuicaoService, usuarioRepository);
+    }
+
+    @Test
+    void salvar_RevendaEmFila_StatusDiferenteDeNovo_LancaBadRequest() {
+        revenda.setEstrategiaDistribuicao(EstrategiaDistribuicao.FILA);
+        OportunidadeRequestDTO dtoSemUsuario = new OportunidadeRequestDTO(
+                CLIENTE_ID, VEICULO_ID, null, REVENDA_ID, STATUS, null
+        );
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
+        when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
+        when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> oportunidadeService.save(dtoSemUsuario));
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Oportunidades sem responsável devem ter status NOVO", exception.getReason());
+        verifyNoInteractions(oportunidadeRepository, distribuicaoService);
+    }
+
+    @Test
+    void salvarLote_RevendaEmFila_PersisteSemDistribuir() {
+        revenda.setEstrategiaDistribuicao(EstrategiaDistribuicao.FILA);
+        OportunidadeRequestDTO novo = new OportunidadeRequestDTO(CLIENTE_ID, VEICULO_ID, null, REVENDA_ID, "NOVO", null);
+        OportunidadeRequestDTO emAtendimento = new OportunidadeRequestDTO(CLIENTE_ID, VEICULO_ID, null, REVENDA_ID, STATUS, null);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(clienteRepository.findAllById(Set.of(CLIENTE_ID))).thenReturn(List.of(cliente));
+        when(veiculoRepository.findAllById(Set.of(VEICULO_ID))).thenReturn(List.of(veiculo));
+        when(revendaRepository.findAllById(Set.of(REVENDA_ID))).thenReturn(List.of(revenda));
+        when(oportunidadeRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(oportunidadeMapper.toResponseDTO(any(Oportunidade.class))).thenReturn(oportunidadeResponseDTO);
+
+        List<OportunidadeLoteResponseDTO> result = oportunidadeService.saveLote(List.of(novo, emAtendimento));
+
+        assertEquals(CREATED.value(), result.get(0).status());
+        assertEquals(BAD_REQUEST.value(), result.get(1).status());
+        verify(distribuicaoService, never()).distribuirLote(any(), any(), any(), any());
+        verify(usuarioRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void reivindicarProxima_Assistente_AssumeOportunidadeMaisAntiga() {
+        usuario.setOportunidadesEmAtendimento(0L);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(usuarioRepository.travarPorId(USUARIO_ID)).thenReturn(Optional.of(usuario));
+        when(oportunidadeRepository.reivindicarProxima(eq(REVENDA_ID), eq(USUARIO_ID), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(OPORTUNIDADE_ID));
+        when(oportunidadeRepository.findDetalheById(OPORTUNIDADE_ID)).thenReturn(Optional.of(oportunidade));
+        when(oportunidadeMapper.toResponseDTO(oportunidade)).thenReturn(oportunidadeResponseDTO);
+
+        OportunidadeResponseDTO result = oportunidadeService.reivindicarProxima();
+
+        assertEquals(oportunidadeResponseDTO, result);
+        assertNotNull(usuario.getDataUltimaAtribuicao());
+        verify(usuarioRepository).save(usuario);
+        verify(distribuicaoService).registrarAtribuicao(usuario);
+        verify(distribuicaoService).registrarEntrada(oportunidade);
+    }
+
+    @Test
+    void reivindicarProxima_FilaVazia_LancaNotFound() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(usuarioRepository.travarPorId(USUARIO_ID)).thenReturn(Optional.of(usuario));
+        when(oportunidadeRepository.reivindicarProxima(eq(REVENDA_ID), eq(USUARIO_ID), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> oportunidadeService.reivindicarProxima());
+        assertEquals(NOT_FOUND, exception.getStatusCode());
+        assertEquals("Nenhuma oportunidade aguardando na fila", exception.getReason());
+        verifyNoInteractions(distribuicaoService);
+    }
+
+    @Test
+    void reivindicarProxima_LimiteAtingido_LancaConflict() {
+        usuario.setLimiteOportunidades(2);
+        usuario.setOportunidadesEmAtendimento(2L);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(usuarioRepository.travarPorId(USUARIO_ID)).thenReturn(Optional.of(usuario));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> oportunidadeService.reivindicarProxima());
+        assertEquals(CONFLICT, exception.getStatusCode());
+        verify(usuarioRepository).travarPorId(USUARIO_ID);
+        verify(usuarioRepository, never()).findById(any());
+        verify(oportunidadeRepository, never()).reivindicarProxima(any(), any(), any());
+    }
+
+    @Test
+    void reivindicarProxima_NaoAssistente_LancaForbidden() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> oportunidadeService.reivindicarProxima());
+        assertEquals(FORBIDDEN, exception.getStatusCode());
+        assertEquals("Apenas assistentes podem assumir oportunidades da fila", exception.getReason());
+        verifyNoInteractions(oportunidadeRepository, usuarioRepository, distribuicaoService);
+    }
+
     @Test
     void atualizar_Admin_Sucesso() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(jwt.getSubject()).thenReturn("2"); 
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(2L, REVENDA_ID, CARGOS_ADMIN));
         when(oportunidadeRepository.findById(OPORTUNIDADE_ID)).thenReturn(Optional.of(oportunidade));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
@@ -410,10 +779,7 @@ class OportunidadeServiceTest {
     @Test
     void atualizar_Assistente_NaoProprietario_LancaForbidden() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(jwt.getSubject()).thenReturn("2"); 
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(2L, REVENDA_ID, CARGOS_ASSISTENTE));
         when(oportunidadeRepository.findById(OPORTUNIDADE_ID)).thenReturn(Optional.of(oportunidade));
 
          
@@ -427,8 +793,7 @@ class OportunidadeServiceTest {
     @Test
     void atualizar_NaoEncontrado_LancaNotFound() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(oportunidadeRepository.findById(OPORTUNIDADE_ID)).thenReturn(Optional.empty());
 
          
@@ -442,9 +807,7 @@ class OportunidadeServiceTest {
     @Test
     void deletar_Admin_Sucesso() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(oportunidadeRepository.findById(OPORTUNIDADE_ID)).thenReturn(Optional.of(oportunidade));
 
 
@@ -452,15 +815,17 @@ class OportunidadeServiceTest {
 
 
         verify(oportunidadeRepository).findById(OPORTUNIDADE_ID);
+        verify(oportunidadeRepository, never()).findDetalheById(any());
         verify(oportunidadeRepository).deleteById(OPORTUNIDADE_ID);
+        verify(distribuicaoService).registrarSaida(oportunidade);
+        verify(versaoRecursoService).registrarAlteracao(REVENDA_ID, TipoRecurso.OPORTUNIDADE);
         verifyNoInteractions(clienteRepository, veiculoRepository, revendaRepository, usuarioRepository, oportunidadeMapper);
     }
 
     @Test
     void deletar_NaoEncontrado_LancaNotFound() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(oportunidadeRepository.findById(OPORTUNIDADE_ID)).thenReturn(Optional.empty());
 
          
@@ -474,13 +839,12 @@ class OportunidadeServiceTest {
     @Test
     void distribuirParaAssistente_Sucesso() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
-        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(usuario));
+        when(distribuicaoService.distribuir(eq(revenda), any()))
+                .thenAnswer(inv -> inv.<Function<Usuario, Object>>getArgument(1).apply(usuario));
         when(oportunidadeRepository.save(any(Oportunidade.class))).thenReturn(oportunidade);
         when(oportunidadeMapper.toResponseDTO(oportunidade)).thenReturn(oportunidadeResponseDTO);
 
@@ -496,7 +860,7 @@ class OportunidadeServiceTest {
         assertEquals(oportunidadeResponseDTO.cliente().nome(), result.cliente().nome());
         assertEquals(oportunidadeResponseDTO.veiculo().id(), result.veiculo().id());
         assertEquals(oportunidadeResponseDTO.veiculo().marca(), result.veiculo().marca());
-        verify(usuarioRepository).findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID);
+        verify(distribuicaoService).distribuir(eq(revenda), any());
         verify(oportunidadeRepository).save(any(Oportunidade.class));
         verify(oportunidadeMapper).toResponseDTO(oportunidade);
     }
@@ -504,13 +868,12 @@ class OportunidadeServiceTest {
     @Test
     void distribuirParaAssistente_SemAssistentes_LancaNotFound() {
 
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(clienteRepository.findById(CLIENTE_ID)).thenReturn(Optional.of(cliente));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
-        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(Collections.emptyList());
+        when(distribuicaoService.distribuir(eq(revenda), any()))
+                .thenThrow(new ResponseStatusException(NOT_FOUND, "Nenhum assistente disponível na revenda"));
 
         OportunidadeRequestDTO dtoSemUsuario = new OportunidadeRequestDTO(
                 CLIENTE_ID, VEICULO_ID, null, REVENDA_ID, STATUS, null
@@ -519,7 +882,13 @@ class OportunidadeServiceTest {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> oportunidadeService.save(dtoSemUsuario));
         assertEquals(NOT_FOUND, exception.getStatusCode());
         assertEquals("Nenhum assistente disponível na revenda", exception.getReason());
-        verify(usuarioRepository).findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID);
-        verifyNoInteractions(oportunidadeRepository, oportunidadeMapper);
+        verify(distribuicaoService).distribuir(eq(revenda), any());
+        verifyNoInteractions(usuarioRepository, oportunidadeRepository, oportunidadeMapper);
+    }
+
+    private CriteriaBuilder aplicar(Specification<Oportunidade> specification) {
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        specification.toPredicate(root, mock(CriteriaQuery.class), cb);
+        return cb;
     }
-}
\ No newline at end of file
+}
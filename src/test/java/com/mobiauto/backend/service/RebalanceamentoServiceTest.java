@@ -0,0 +1,230 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.config.RebalanceamentoProperties;
+import com.mobiauto.backend.dto.CargaAssistenteDTO;
+import com.mobiauto.backend.dto.RebalanceamentoDTO;
+import com.mobiauto.backend.model.Cargo;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.StatusOportunidade;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.repository.OportunidadeRepository;
+import com.mobiauto.backend.repository.UsuarioRepository;
+import com.mobiauto.backend.service.distribuicao.Rebalanceamento;
+import com.mobiauto.backend.service.distribuicao.SituacaoRebalanceamento;
+import com.mobiauto.backend.utils.JwtAuthUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mobiauto.backend.model.Cargo.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.*;
+
+@ExtendWith(MockitoExtension.class)
+class RebalanceamentoServiceTest {
+
+    private static final Long REVENDA_ID = 1L;
+    private static final Long OUTRA_REVENDA_ID = 2L;
+    private static final List<Cargo> CARGOS_ADMIN = List.of(ADMINISTRADOR);
+    private static final List<Cargo> CARGOS_GERENTE = List.of(GERENTE);
+    private static final List<Cargo> CARGOS_ASSISTENTE = List.of(ASSISTENTE);
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+    @Mock
+    private OportunidadeRepository oportunidadeRepository;
+    @Mock
+    private DistribuicaoService distribuicaoService;
+
+    private final List<Runnable> pendentes = new ArrayList<>();
+    private Revenda revenda;
+    private MockedStatic<JwtAuthUtil> jwtAuthUtilMockedStatic;
+
+    @BeforeEach
+    void setUp() {
+        revenda = new Revenda();
+        revenda.setId(REVENDA_ID);
+        jwtAuthUtilMockedStatic = mockStatic(JwtAuthUtil.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwtAuthUtilMockedStatic.close();
+    }
+
+    @Test
+    void agendar_MoveMetadeDaDiferencaAteFicarDentroDaTolerancia() {
+        Usuario sobrecarregado = assistente(1L);
+        Usuario novato = assistente(2L);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(sobrecarregado, novato));
+        when(oportunidadeRepository.contarAbertasPorUsuario(REVENDA_ID))
+                .thenReturn(List.of(carga(1L, 10L)), List.of(carga(1L, 5L), carga(2L, 5L)));
+        when(distribuicaoService.transferir(REVENDA_ID, 1L, 2L, 5)).thenReturn(5);
+
+        RebalanceamentoDTO result = servico(1L, 200).agendar(REVENDA_ID).toDTO();
+
+        assertEquals(SituacaoRebalanceamento.CONCLUIDO, result.situacao());
+        assertEquals(1, result.lotes());
+        assertEquals(5L, result.oportunidadesMovidas());
+        assertEquals(10L, result.diferencaInicial());
+        assertEquals(0L, result.diferencaAtual());
+        assertNotNull(result.fim());
+    }
+
+    @Test
+    void agendar_LimitaCadaLoteAoTamanhoConfigurado() {
+        Usuario sobrecarregado = assistente(1L);
+        Usuario novato = assistente(2L);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(sobrecarregado, novato));
+        when(oportunidadeRepository.contarAbertasPorUsuario(REVENDA_ID)).thenReturn(
+                List.of(carga(1L, 8L)),
+                List.of(carga(1L, 5L), carga(2L, 3L)),
+                List.of(carga(1L, 4L), carga(2L, 4L)));
+        when(distribuicaoService.transferir(REVENDA_ID, 1L, 2L, 3)).thenReturn(3);
+        when(distribuicaoService.transferir(REVENDA_ID, 1L, 2L, 1)).thenReturn(1);
+
+        RebalanceamentoDTO result = servico(1L, 3).agendar(REVENDA_ID).toDTO();
+
+        assertEquals(2, result.lotes());
+        assertEquals(4L, result.oportunidadesMovidas());
+    }
+
+    @Test
+    void agendar_RespeitaLimiteDoDestino() {
+        Usuario sobrecarregado = assistente(1L);
+        Usuario limitado = assistente(2L);
+        limitado.setLimiteOportunidades(3);
+        limitado.setOportunidadesEmAtendimento(1L);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(sobrecarregado, limitado));
+        when(oportunidadeRepository.contarAbertasPorUsuario(REVENDA_ID)).thenReturn(List.of(carga(1L, 10L), carga(2L, 1L)));
+        when(distribuicaoService.transferir(REVENDA_ID, 1L, 2L, 2)).thenReturn(0);
+
+        RebalanceamentoDTO result = servico(1L, 200).agendar(REVENDA_ID).toDTO();
+
+        assertEquals(SituacaoRebalanceamento.CONCLUIDO, result.situacao());
+        assertEquals(0, result.lotes());
+        verify(distribuicaoService).transferir(REVENDA_ID, 1L, 2L, 2);
+    }
+
+    @Test
+    void agendar_FalhaNaTransferencia_RegistraErro() {
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(assistente(1L), assistente(2L)));
+        when(oportunidadeRepository.contarAbertasPorUsuario(REVENDA_ID)).thenReturn(List.of(carga(1L, 4L)));
+        when(distribuicaoService.transferir(REVENDA_ID, 1L, 2L, 2))
+                .thenThrow(new ResponseStatusException(SERVICE_UNAVAILABLE, "Distribuição ocupada na revenda, tente novamente"));
+
+        RebalanceamentoDTO result = servico(1L, 200).agendar(REVENDA_ID).toDTO();
+
+        assertEquals(SituacaoRebalanceamento.FALHOU, result.situacao());
+        assertEquals("Distribuição ocupada na revenda, tente novamente", result.erro());
+    }
+
+    @Test
+    void agendar_EmAndamento_ReaproveitaExecucao() {
+        RebalanceamentoService servico = new RebalanceamentoService(usuarioRepository, oportunidadeRepository,
+                distribuicaoService, new RebalanceamentoProperties(1L, 200), pendentes::add);
+
+        Rebalanceamento primeiro = servico.agendar(REVENDA_ID);
+        Rebalanceamento segundo = servico.agendar(REVENDA_ID);
+
+        assertSame(primeiro, segundo);
+        assertEquals(1, pendentes.size());
+        assertEquals(SituacaoRebalanceamento.EM_ANDAMENTO, primeiro.toDTO().situacao());
+    }
+
+    @Test
+    void solicitar_Gerente_OutraRevenda_LancaForbidden() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, OUTRA_REVENDA_ID, CARGOS_GERENTE));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> servico(1L, 200).solicitar(REVENDA_ID));
+        assertEquals(FORBIDDEN, exception.getStatusCode());
+        assertEquals("Você só pode rebalancear oportunidades da sua revenda", exception.getReason());
+    }
+
+    @Test
+    void solicitar_Assistente_LancaForbidden() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ASSISTENTE));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> servico(1L, 200).solicitar(REVENDA_ID));
+        assertEquals(FORBIDDEN, exception.getStatusCode());
+        verifyNoInteractions(usuarioRepository, oportunidadeRepository, distribuicaoService);
+    }
+
+    @Test
+    void consultar_SemRebalanceamento_LancaNotFound() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> servico(1L, 200).consultar(REVENDA_ID));
+        assertEquals(NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void transferirCarteira_DivideEntreOsMenosCarregados() {
+        Usuario saindo = assistente(1L);
+        when(oportunidadeRepository.existsByUsuario_IdAndStatus(1L, StatusOportunidade.CONCLUIDO)).thenReturn(false);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID))
+                .thenReturn(List.of(saindo, assistente(2L), assistente(3L)));
+        when(oportunidadeRepository.contarAbertasPorUsuario(REVENDA_ID)).thenReturn(
+                List.of(carga(1L, 3L)),
+                List.of(carga(1L, 1L), carga(2L, 2L)),
+                List.of(carga(2L, 2L), carga(3L, 1L)));
+        when(distribuicaoService.transferir(REVENDA_ID, 1L, 2L, 2)).thenReturn(2);
+        when(distribuicaoService.transferir(REVENDA_ID, 1L, 3L, 1)).thenReturn(1);
+
+        assertEquals(3, servico(1L, 200).transferirCarteira(saindo));
+    }
+
+    @Test
+    void transferirCarteira_HistoricoConcluido_LancaConflict() {
+        Usuario saindo = assistente(1L);
+        when(oportunidadeRepository.existsByUsuario_IdAndStatus(1L, StatusOportunidade.CONCLUIDO)).thenReturn(true);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> servico(1L, 200).transferirCarteira(saindo));
+        assertEquals(CONFLICT, exception.getStatusCode());
+        verifyNoInteractions(distribuicaoService);
+    }
+
+    @Test
+    void transferirCarteira_SemOutrosAssistentes_LancaConflict() {
+        Usuario saindo = assistente(1L);
+        when(oportunidadeRepository.existsByUsuario_IdAndStatus(1L, StatusOportunidade.CONCLUIDO)).thenReturn(false);
+        when(usuarioRepository.findByCargoAndRevendaId(ASSISTENTE, REVENDA_ID)).thenReturn(List.of(saindo));
+        when(oportunidadeRepository.contarAbertasPorUsuario(REVENDA_ID)).thenReturn(List.of(carga(1L, 2L)));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> servico(1L, 200).transferirCarteira(saindo));
+        assertEquals(CONFLICT, exception.getStatusCode());
+        assertEquals("Nenhum assistente disponível para receber as oportunidades do usuário", exception.getReason());
+    }
+
+    private RebalanceamentoService servico(long tolerancia, int tamanhoLote) {
+        return new RebalanceamentoService(usuarioRepository, oportunidadeRepository, distribuicaoService,
+                new RebalanceamentoProperties(tolerancia, tamanhoLote), Runnable::run);
+    }
+
+    private Usuario assistente(Long id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setCargo(ASSISTENTE);
+        usuario.setRevenda(revenda);
+        return usuario;
+    }
+
+    private CargaAssistenteDTO carga(Long usuarioId, Long abertas) {
+        return new CargaAssistenteDTO(REVENDA_ID, usuarioId, abertas);
+    }
+}
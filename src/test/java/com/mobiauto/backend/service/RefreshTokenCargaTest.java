@@ -0,0 +1,111 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.config.AuthProperties;
+import com.mobiauto.backend.config.CachingJwtDecoder;
+import com.mobiauto.backend.dto.LoginRequestDTO;
+import com.mobiauto.backend.dto.LoginResponseDTO;
+import com.mobiauto.backend.dto.RefreshTokenRequestDTO;
+import com.mobiauto.backend.model.Cargo;
+import com.mobiauto.backend.model.RefreshToken;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.repository.RefreshTokenRepository;
+import com.mobiauto.backend.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenCargaTest {
+
+    private static final int USUARIOS = 20;
+    private static final String SENHA = "senha-forte-123";
+    private static final long REDUCAO_MINIMA = 20;
+
+    private final Map<String, Usuario> usuariosPorEmail = new HashMap<>();
+    private final Map<String, RefreshToken> tokensPorHash = new HashMap<>();
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class, withSettings().stubOnly());
+        RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class, withSettings().stubOnly());
+        JwtEncoder jwtEncoder = mock(JwtEncoder.class, withSettings().stubOnly());
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+        Revenda revenda = new Revenda(1L);
+        String senhaCodificada = passwordEncoder.encode(SENHA);
+        for (long id = 1; id <= USUARIOS; id++) {
+            Usuario usuario = new Usuario();
+            usuario.setId(id);
+            usuario.setEmail("assistente" + id + "@mobiauto.com");
+            usuario.setSenha(senhaCodificada);
+            usuario.setCargo(Cargo.ASSISTENTE);
+            usuario.setRevenda(revenda);
+            usuariosPorEmail.put(usuario.getEmail(), usuario);
+        }
+
+        when(usuarioRepository.findByEmail(anyString())).thenAnswer(inv -> Optional.ofNullable(usuariosPorEmail.get(inv.<String>getArgument(0))));
+        when(refreshTokenRepository.findByHash(anyString())).thenAnswer(inv -> Optional.ofNullable(tokensPorHash.get(inv.<String>getArgument(0))));
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> {
+            RefreshToken token = inv.getArgument(0);
+            token.setId((long) tokensPorHash.size() + 1);
+            tokensPorHash.put(token.getHash(), token);
+            return token;
+        });
+        when(refreshTokenRepository.revogar(anyLong(), any(LocalDateTime.class))).thenAnswer(inv -> {
+            RefreshToken token = tokensPorHash.values().stream()
+                    .filter(t -> t.getId().equals(inv.getArgument(0)))
+                    .findFirst().orElseThrow();
+            if (token.getRevogadoEm() != null) {
+                return 0;
+            }
+            token.setRevogadoEm(inv.getArgument(1));
+            return 1;
+        });
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").claim("sub", "assistente").build();
+        when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(jwt);
+
+        RefreshTokenService refreshTokenService = new RefreshTokenService(refreshTokenRepository, new AuthProperties(Duration.ofHours(12)));
+        authService = new AuthService(usuarioRepository, passwordEncoder, jwtEncoder, mock(CachingJwtDecoder.class), refreshTokenService);
+    }
+
+    @Test
+    void renovar_CustaUmaFracaoDoLoginPorUsuarioAtivo() {
+        Map<String, String> refreshPorEmail = new HashMap<>();
+        usuariosPorEmail.keySet().forEach(email -> refreshPorEmail.put(email, login(email).refreshToken()));
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long inicio = threads.getCurrentThreadCpuTime();
+        usuariosPorEmail.keySet().forEach(this::login);
+        long cpuLogin = threads.getCurrentThreadCpuTime() - inicio;
+
+        inicio = threads.getCurrentThreadCpuTime();
+        refreshPorEmail.replaceAll((email, token) -> authService.renovar(new RefreshTokenRequestDTO(token)).refreshToken());
+        long cpuRenovacao = threads.getCurrentThreadCpuTime() - inicio;
+
+        assertEquals(USUARIOS, refreshPorEmail.size());
+        assertTrue(cpuRenovacao * REDUCAO_MINIMA < cpuLogin,
+                "CPU por usuário: login " + cpuLogin / USUARIOS + " ns, renovação " + cpuRenovacao / USUARIOS + " ns");
+    }
+
+    private LoginResponseDTO login(String email) {
+        return authService.authenticate(new LoginRequestDTO(email, SENHA));
+    }
+}
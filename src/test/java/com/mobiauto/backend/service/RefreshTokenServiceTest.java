@@ -0,0 +1,132 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.config.AuthProperties;
+import com.mobiauto.backend.model.RefreshToken;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final Long TOKEN_ID = 3L;
+    private static final UUID FAMILIA = UUID.randomUUID();
+    private static final String TOKEN = "token-opaco";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, new AuthProperties(Duration.ofHours(12)));
+        usuario = new Usuario();
+        usuario.setId(7L);
+    }
+
+    @Test
+    void emitir_GuardaApenasHashDoToken() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+
+        RefreshTokenService.Emissao emissao = refreshTokenService.emitir(usuario);
+
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken salvo = captor.getValue();
+        assertEquals(43, emissao.token().length());
+        assertNotEquals(emissao.token(), salvo.getHash());
+        assertEquals(RefreshTokenService.hash(emissao.token()), salvo.getHash());
+        assertNotNull(salvo.getFamilia());
+        assertSame(usuario, salvo.getUsuario());
+        assertEquals(43_200L, emissao.expiresIn());
+        assertTrue(salvo.getExpiraEm().isAfter(LocalDateTime.now().plusHours(11)));
+    }
+
+    @Test
+    void rotacionar_TokenValido_RevogaAtualEEmiteNaMesmaFamilia() {
+        when(refreshTokenRepository.findByHash(RefreshTokenService.hash(TOKEN))).thenReturn(Optional.of(token(LocalDateTime.now().plusHours(1))));
+        when(refreshTokenRepository.revogar(eq(TOKEN_ID), any(LocalDateTime.class))).thenReturn(1);
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+
+        RefreshTokenService.Emissao emissao = refreshTokenService.rotacionar(TOKEN);
+
+        verify(refreshTokenRepository).save(captor.capture());
+        assertNotEquals(TOKEN, emissao.token());
+        assertSame(usuario, emissao.usuario());
+        assertEquals(FAMILIA, captor.getValue().getFamilia());
+        verify(refreshTokenRepository, never()).revogarFamilia(any(), any());
+    }
+
+    @Test
+    void rotacionar_TokenJaUtilizado_RevogaFamiliaELancaUnauthorized() {
+        when(refreshTokenRepository.findByHash(RefreshTokenService.hash(TOKEN))).thenReturn(Optional.of(token(LocalDateTime.now().plusHours(1))));
+        when(refreshTokenRepository.revogar(eq(TOKEN_ID), any(LocalDateTime.class))).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotacionar(TOKEN));
+
+        assertEquals(UNAUTHORIZED, exception.getStatusCode());
+        assertEquals("Refresh token já utilizado, faça login novamente", exception.getReason());
+        verify(refreshTokenRepository).revogarFamilia(eq(FAMILIA), any(LocalDateTime.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotacionar_TokenExpirado_LancaUnauthorized() {
+        when(refreshTokenRepository.findByHash(RefreshTokenService.hash(TOKEN))).thenReturn(Optional.of(token(LocalDateTime.now().minusMinutes(1))));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotacionar(TOKEN));
+
+        assertEquals(UNAUTHORIZED, exception.getStatusCode());
+        assertEquals("Refresh token expirado", exception.getReason());
+        verify(refreshTokenRepository, never()).revogar(any(), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotacionar_TokenDesconhecido_LancaUnauthorized() {
+        when(refreshTokenRepository.findByHash(anyString())).thenReturn(Optional.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotacionar(TOKEN));
+
+        assertEquals(UNAUTHORIZED, exception.getStatusCode());
+        assertEquals("Refresh token inválido", exception.getReason());
+        verifyNoMoreInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void revogar_RevogaFamiliaPeloHash() {
+        refreshTokenService.revogar(TOKEN);
+
+        verify(refreshTokenRepository).revogarFamiliaPorHash(eq(RefreshTokenService.hash(TOKEN)), any(LocalDateTime.class));
+        verifyNoMoreInteractions(refreshTokenRepository);
+    }
+
+    private RefreshToken token(LocalDateTime expiraEm) {
+        RefreshToken token = new RefreshToken();
+        token.setId(TOKEN_ID);
+        token.setHash(RefreshTokenService.hash(TOKEN));
+        token.setFamilia(FAMILIA);
+        token.setUsuario(usuario);
+        token.setExpiraEm(expiraEm);
+        return token;
+    }
+}
@@ -1,5 +1,7 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.dto.RevendaRequestDTO;
 import com.mobiauto.backend.dto.RevendaResponseDTO;
 import com.mobiauto.backend.mapper.RevendaMapper;
@@ -15,8 +17,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -24,6 +26,8 @@ import java.util.Optional;
 
 import static com.mobiauto.backend.model.Cargo.ADMINISTRADOR;
 import static com.mobiauto.backend.model.Cargo.ASSISTENTE;
+import static com.mobiauto.backend.model.EstrategiaDistribuicao.MENOR_CARGA;
+import static com.mobiauto.backend.model.EstrategiaDistribuicao.RODIZIO;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -37,9 +41,6 @@ class RevendaServiceTest {
     @Mock
     private RevendaMapper revendaMapper;
 
-    @Mock
-    private Jwt jwt;
-
     @InjectMocks
     private RevendaService revendaService;
 
@@ -65,7 +66,7 @@ class RevendaServiceTest {
 
         revendaRequestDTO = new RevendaRequestDTO(CNPJ, NOME_SOCIAL);
 
-        revendaResponseDTO = new RevendaResponseDTO(REVENDA_ID, CNPJ, NOME_SOCIAL);
+        revendaResponseDTO = new RevendaResponseDTO(REVENDA_ID, CNPJ, NOME_SOCIAL, MENOR_CARGA);
 
         jwtAuthUtilMockedStatic = mockStatic(JwtAuthUtil.class);
     }
@@ -77,60 +78,53 @@ class RevendaServiceTest {
 
     @Test
     void buscarTodos_Admin_RetornaTodasRevendas() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(revendaRepository.findAll()).thenReturn(List.of(revenda));
-        when(revendaMapper.toResponseDTO(revenda)).thenReturn(revendaResponseDTO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+        when(revendaRepository.listarPagina(0L, Limit.of(51))).thenReturn(List.of(revendaResponseDTO));
 
-        List<RevendaResponseDTO> result = revendaService.findAll();
+        PaginaDTO<RevendaResponseDTO> result = revendaService.findAll(null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(revendaResponseDTO, result.get(0));
-        verify(revendaRepository).findAll();
-        verify(revendaMapper).toResponseDTO(revenda);
-        verifyNoMoreInteractions(revendaRepository, revendaMapper);
+        assertEquals(1, result.itens().size());
+        assertNull(result.proximoCursor());
+        assertEquals(revendaResponseDTO, result.itens().get(0));
+        verify(revendaRepository).listarPagina(0L, Limit.of(51));
+        verifyNoInteractions(revendaMapper);
+        verifyNoMoreInteractions(revendaRepository);
     }
 
     @Test
     void buscarTodos_NaoAdmin_RetornaRevendaDoUsuario() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
-        when(revendaMapper.toResponseDTO(revenda)).thenReturn(revendaResponseDTO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(revendaRepository.buscarResumo(REVENDA_ID)).thenReturn(Optional.of(revendaResponseDTO));
 
-        List<RevendaResponseDTO> result = revendaService.findAll();
+        PaginaDTO<RevendaResponseDTO> result = revendaService.findAll(null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(revendaResponseDTO, result.get(0));
-        verify(revendaRepository).findById(REVENDA_ID);
-        verify(revendaMapper).toResponseDTO(revenda);
-        verifyNoMoreInteractions(revendaRepository, revendaMapper);
+        assertEquals(1, result.itens().size());
+        assertNull(result.proximoCursor());
+        assertEquals(revendaResponseDTO, result.itens().get(0));
+        verify(revendaRepository).buscarResumo(REVENDA_ID);
+        verifyNoInteractions(revendaMapper);
+        verifyNoMoreInteractions(revendaRepository);
     }
 
     @Test
     void buscarTodos_NaoAdmin_RevendaNaoEncontrada_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.empty());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(revendaRepository.buscarResumo(REVENDA_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
-            revendaService.findAll();
+            revendaService.findAll(null, null);
         });
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
         assertEquals("Revenda não encontrada", exception.getReason());
-        verify(revendaRepository).findById(REVENDA_ID);
+        verify(revendaRepository).buscarResumo(REVENDA_ID);
         verifyNoInteractions(revendaMapper);
     }
 
     @Test
     void buscarPorId_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(revendaMapper.toResponseDTO(revenda)).thenReturn(revendaResponseDTO);
 
@@ -145,9 +139,7 @@ class RevendaServiceTest {
 
     @Test
     void buscarPorId_NaoAdmin_MesmaRevenda_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ASSISTENTE));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(revendaMapper.toResponseDTO(revenda)).thenReturn(revendaResponseDTO);
 
@@ -164,9 +156,7 @@ class RevendaServiceTest {
     void buscarPorId_NaoAdmin_RevendaDiferente_LancaForbidden() {
         Revenda outraRevenda = new Revenda();
         outraRevenda.setId(OUTRA_REVENDA_ID);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ASSISTENTE));
         when(revendaRepository.findById(OUTRA_REVENDA_ID)).thenReturn(Optional.of(outraRevenda));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -180,8 +170,7 @@ class RevendaServiceTest {
 
     @Test
     void buscarPorId_NaoEncontrado_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -195,8 +184,7 @@ class RevendaServiceTest {
 
     @Test
     void salvar_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.existsByCnpj(CNPJ)).thenReturn(false);
         when(revendaRepository.save(any(Revenda.class))).thenReturn(revenda);
         when(revendaMapper.toResponseDTO(revenda)).thenReturn(revendaResponseDTO);
@@ -213,8 +201,7 @@ class RevendaServiceTest {
 
     @Test
     void salvar_NaoAdmin_LancaForbidden() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ASSISTENTE));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             revendaService.save(revendaRequestDTO);
@@ -226,8 +213,7 @@ class RevendaServiceTest {
 
     @Test
     void salvar_CnpjJaCadastrado_LancaBadRequest() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.existsByCnpj(CNPJ)).thenReturn(true);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -243,9 +229,8 @@ class RevendaServiceTest {
     @Test
     void atualizar_Admin_Sucesso() {
         RevendaRequestDTO novoDto = new RevendaRequestDTO(OUTRO_CNPJ, "Novo Nome");
-        RevendaResponseDTO novoResponseDTO = new RevendaResponseDTO(REVENDA_ID, OUTRO_CNPJ, "Novo Nome");
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        RevendaResponseDTO novoResponseDTO = new RevendaResponseDTO(REVENDA_ID, OUTRO_CNPJ, "Novo Nome", MENOR_CARGA);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(revendaRepository.existsByCnpj(OUTRO_CNPJ)).thenReturn(false);
         when(revendaRepository.save(revenda)).thenReturn(revenda);
@@ -262,10 +247,23 @@ class RevendaServiceTest {
         verifyNoMoreInteractions(revendaRepository, revendaMapper);
     }
 
+    @Test
+    void atualizar_Admin_AlteraEstrategiaDistribuicao() {
+        RevendaRequestDTO novoDto = new RevendaRequestDTO(CNPJ, NOME_SOCIAL, RODIZIO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+        when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
+        when(revendaRepository.save(revenda)).thenReturn(revenda);
+        when(revendaMapper.toResponseDTO(revenda)).thenReturn(revendaResponseDTO);
+
+        revendaService.update(REVENDA_ID, novoDto);
+
+        assertEquals(RODIZIO, revenda.getEstrategiaDistribuicao());
+        verify(revendaRepository, never()).existsByCnpj(any());
+    }
+
     @Test
     void atualizar_NaoAdmin_LancaForbidden() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ASSISTENTE));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             revendaService.update(REVENDA_ID, revendaRequestDTO);
@@ -277,8 +275,7 @@ class RevendaServiceTest {
 
     @Test
     void atualizar_RevendaNaoEncontrada_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -294,8 +291,7 @@ class RevendaServiceTest {
     @Test
     void atualizar_CnpjJaCadastrado_LancaBadRequest() {
         RevendaRequestDTO novoDto = new RevendaRequestDTO(OUTRO_CNPJ, "Novo Nome");
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(revendaRepository.existsByCnpj(OUTRO_CNPJ)).thenReturn(true);
 
@@ -312,8 +308,7 @@ class RevendaServiceTest {
 
     @Test
     void deletar_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
 
         revendaService.delete(REVENDA_ID);
@@ -326,8 +321,7 @@ class RevendaServiceTest {
 
     @Test
     void deletar_NaoAdmin_LancaForbidden() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ASSISTENTE));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             revendaService.delete(REVENDA_ID);
@@ -339,8 +333,7 @@ class RevendaServiceTest {
 
     @Test
     void deletar_RevendaNaoEncontrada_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -1,5 +1,7 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.PaginaDTO;
 import com.mobiauto.backend.dto.UsuarioRequestDTO;
 import com.mobiauto.backend.dto.UsuarioResponseDTO;
 import com.mobiauto.backend.mapper.UsuarioMapper;
@@ -13,12 +15,13 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -46,7 +49,13 @@ class UsuarioServiceTest {
     private UsuarioMapper usuarioMapper;
 
     @Mock
-    private Jwt jwt;
+    private DistribuicaoService distribuicaoService;
+
+    @Mock
+    private RebalanceamentoService rebalanceamentoService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
 
     @InjectMocks
     private UsuarioService usuarioService;
@@ -85,7 +94,7 @@ class UsuarioServiceTest {
 
         usuarioRequestDTO = new UsuarioRequestDTO(NOME, EMAIL, SENHA, CARGO, REVENDA_ID);
 
-        usuarioResponseDTO = new UsuarioResponseDTO(USUARIO_ID, NOME, EMAIL, CARGO, REVENDA_ID, null);
+        usuarioResponseDTO = new UsuarioResponseDTO(USUARIO_ID, NOME, EMAIL, CARGO, REVENDA_ID, null, null, null);
 
         jwtAuthUtilMockedStatic = mockStatic(JwtAuthUtil.class);
     }
@@ -97,44 +106,39 @@ class UsuarioServiceTest {
 
     @Test
     void buscarTodos_Admin_RetornaTodosUsuarios() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(usuarioRepository.findAll()).thenReturn(List.of(usuario));
-        when(usuarioMapper.toResponseDTO(usuario)).thenReturn(usuarioResponseDTO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(usuarioRepository.listarPagina(0L, Limit.of(51))).thenReturn(List.of(usuarioResponseDTO));
 
-        List<UsuarioResponseDTO> result = usuarioService.findAll();
+        PaginaDTO<UsuarioResponseDTO> result = usuarioService.findAll(null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(usuarioResponseDTO, result.get(0));
-        verify(usuarioRepository).findAll();
-        verify(usuarioMapper).toResponseDTO(usuario);
-        verifyNoMoreInteractions(usuarioRepository, usuarioMapper);
+        assertEquals(1, result.itens().size());
+        assertNull(result.proximoCursor());
+        assertEquals(usuarioResponseDTO, result.itens().get(0));
+        verify(usuarioRepository).listarPagina(0L, Limit.of(51));
+        verifyNoInteractions(usuarioMapper);
+        verifyNoMoreInteractions(usuarioRepository);
     }
 
     @Test
     void buscarTodos_NaoAdmin_RetornaUsuariosDaRevenda() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(usuarioRepository.findAllByRevenda_Id(REVENDA_ID)).thenReturn(List.of(usuario));
-        when(usuarioMapper.toResponseDTO(usuario)).thenReturn(usuarioResponseDTO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
+        when(usuarioRepository.listarPaginaPorRevenda(REVENDA_ID, 0L, Limit.of(51))).thenReturn(List.of(usuarioResponseDTO));
 
-        List<UsuarioResponseDTO> result = usuarioService.findAll();
+        PaginaDTO<UsuarioResponseDTO> result = usuarioService.findAll(null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(usuarioResponseDTO, result.get(0));
-        verify(usuarioRepository).findAllByRevenda_Id(REVENDA_ID);
-        verify(usuarioMapper).toResponseDTO(usuario);
-        verifyNoMoreInteractions(usuarioRepository, usuarioMapper);
+        assertEquals(1, result.itens().size());
+        assertNull(result.proximoCursor());
+        assertEquals(usuarioResponseDTO, result.itens().get(0));
+        verify(usuarioRepository).listarPaginaPorRevenda(REVENDA_ID, 0L, Limit.of(51));
+        verifyNoInteractions(usuarioMapper);
+        verifyNoMoreInteractions(usuarioRepository);
     }
 
     @Test
     void buscarPorId_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
         when(usuarioMapper.toResponseDTO(usuario)).thenReturn(usuarioResponseDTO);
 
@@ -149,9 +153,7 @@ class UsuarioServiceTest {
 
     @Test
     void buscarPorId_NaoAdmin_MesmaRevenda_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
         when(usuarioMapper.toResponseDTO(usuario)).thenReturn(usuarioResponseDTO);
 
@@ -169,9 +171,7 @@ class UsuarioServiceTest {
         Revenda outraRevenda = new Revenda();
         outraRevenda.setId(OUTRA_REVENDA_ID);
         usuario.setRevenda(outraRevenda);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -185,8 +185,7 @@ class UsuarioServiceTest {
 
     @Test
     void buscarPorId_NaoEncontrado_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -200,9 +199,7 @@ class UsuarioServiceTest {
 
     @Test
     void buscarPorEmail_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
         when(usuarioMapper.toResponseDTO(usuario)).thenReturn(usuarioResponseDTO);
 
@@ -217,9 +214,7 @@ class UsuarioServiceTest {
 
     @Test
     void buscarPorEmail_NaoAdmin_MesmaRevenda_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
         when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
         when(usuarioMapper.toResponseDTO(usuario)).thenReturn(usuarioResponseDTO);
 
@@ -237,9 +232,7 @@ class UsuarioServiceTest {
         Revenda outraRevenda = new Revenda();
         outraRevenda.setId(OUTRA_REVENDA_ID);
         usuario.setRevenda(outraRevenda);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
         when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -253,8 +246,7 @@ class UsuarioServiceTest {
 
     @Test
     void buscarPorEmail_NaoEncontrado_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -268,10 +260,8 @@ class UsuarioServiceTest {
 
     @Test
     void salvar_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(usuarioRepository.existsByEmail(EMAIL)).thenReturn(false);
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(passwordEncoder.encode(SENHA)).thenReturn(SENHA_CODIFICADA);
         when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuario);
@@ -281,21 +271,21 @@ class UsuarioServiceTest {
 
         assertNotNull(result);
         assertEquals(usuarioResponseDTO, result);
-        verify(usuarioRepository).findByEmail(EMAIL);
+        verify(usuarioRepository).existsByEmail(EMAIL);
         verify(revendaRepository).findById(REVENDA_ID);
         verify(passwordEncoder).encode(SENHA);
         verify(usuarioRepository).save(any(Usuario.class));
         verify(usuarioMapper).toResponseDTO(usuario);
+        verify(distribuicaoService).registrarUsuario(usuario);
+        verify(rebalanceamentoService).agendarAposCommit(REVENDA_ID);
         verifyNoMoreInteractions(usuarioRepository, revendaRepository, passwordEncoder, usuarioMapper);
     }
 
     @Test
     void salvar_Proprietario_MesmaRevenda_Sucesso() {
         UsuarioRequestDTO dto = new UsuarioRequestDTO(NOME, EMAIL, SENHA, CARGO, REVENDA_ID);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_PROPRIETARIO);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_PROPRIETARIO));
+        when(usuarioRepository.existsByEmail(EMAIL)).thenReturn(false);
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(passwordEncoder.encode(SENHA)).thenReturn(SENHA_CODIFICADA);
         when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuario);
@@ -305,7 +295,7 @@ class UsuarioServiceTest {
 
         assertNotNull(result);
         assertEquals(usuarioResponseDTO, result);
-        verify(usuarioRepository).findByEmail(EMAIL);
+        verify(usuarioRepository).existsByEmail(EMAIL);
         verify(revendaRepository).findById(REVENDA_ID);
         verify(passwordEncoder).encode(SENHA);
         verify(usuarioRepository).save(any(Usuario.class));
@@ -316,9 +306,7 @@ class UsuarioServiceTest {
     @Test
     void salvar_Proprietario_RevendaDiferente_LancaForbidden() {
         UsuarioRequestDTO dtoOutraRevenda = new UsuarioRequestDTO(NOME, EMAIL, SENHA, CARGO, OUTRA_REVENDA_ID);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_PROPRIETARIO);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_PROPRIETARIO));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             usuarioService.save(dtoOutraRevenda);
@@ -330,8 +318,7 @@ class UsuarioServiceTest {
 
     @Test
     void salvar_Assistente_LancaForbidden() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             usuarioService.save(usuarioRequestDTO);
@@ -343,27 +330,23 @@ class UsuarioServiceTest {
 
     @Test
     void salvar_EmailJaCadastrado_LancaBadRequest() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(usuarioRepository.existsByEmail(EMAIL)).thenReturn(true);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             usuarioService.save(usuarioRequestDTO);
         });
         assertEquals(BAD_REQUEST, exception.getStatusCode());
         assertEquals("E-mail já cadastrado", exception.getReason());
-        verify(usuarioRepository).findByEmail(EMAIL);
+        verify(usuarioRepository).existsByEmail(EMAIL);
         verifyNoMoreInteractions(usuarioRepository);
         verifyNoInteractions(revendaRepository, passwordEncoder, usuarioMapper);
     }
 
     @Test
     void salvar_RevendaNaoEncontrada_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(usuarioRepository.existsByEmail(EMAIL)).thenReturn(false);
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -371,7 +354,7 @@ class UsuarioServiceTest {
         });
         assertEquals(NOT_FOUND, exception.getStatusCode());
         assertEquals("Revenda não encontrada: " + REVENDA_ID, exception.getReason());
-        verify(usuarioRepository).findByEmail(EMAIL);
+        verify(usuarioRepository).existsByEmail(EMAIL);
         verify(revendaRepository).findById(REVENDA_ID);
         verifyNoMoreInteractions(usuarioRepository, revendaRepository);
         verifyNoInteractions(passwordEncoder, usuarioMapper);
@@ -382,10 +365,8 @@ class UsuarioServiceTest {
         UsuarioRequestDTO novoDto = new UsuarioRequestDTO("Novo Nome", "novo@exemplo.com", null, GERENTE, REVENDA_ID);
         System.out.println("novoDto.getRevendaId(): " + novoDto.getRevendaId()); 
         assertEquals(REVENDA_ID, novoDto.getRevendaId(), "O revendaId do DTO deve ser igual ao REVENDA_ID");
-        UsuarioResponseDTO novoResponseDTO = new UsuarioResponseDTO(USUARIO_ID, "Novo Nome", "novo@exemplo.com", GERENTE, REVENDA_ID, null);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        UsuarioResponseDTO novoResponseDTO = new UsuarioResponseDTO(USUARIO_ID, "Novo Nome", "novo@exemplo.com", GERENTE, REVENDA_ID, null, null, null);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(usuarioRepository.save(usuario)).thenReturn(usuario);
@@ -400,16 +381,14 @@ class UsuarioServiceTest {
         verify(usuarioRepository).save(usuario);
         verify(usuarioMapper).toResponseDTO(usuario);
         verifyNoMoreInteractions(usuarioRepository, revendaRepository, usuarioMapper);
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(passwordEncoder, refreshTokenService);
     }
 
     @Test
     void atualizar_Proprietario_MesmaRevenda_Sucesso() {
         UsuarioRequestDTO novoDto = new UsuarioRequestDTO("Novo Nome", "novo@exemplo.com", SENHA, GERENTE, REVENDA_ID);
-        UsuarioResponseDTO novoResponseDTO = new UsuarioResponseDTO(USUARIO_ID, "Novo Nome", "novo@exemplo.com", GERENTE, REVENDA_ID, null);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_PROPRIETARIO);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        UsuarioResponseDTO novoResponseDTO = new UsuarioResponseDTO(USUARIO_ID, "Novo Nome", "novo@exemplo.com", GERENTE, REVENDA_ID, null, null, null);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_PROPRIETARIO));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(passwordEncoder.encode(SENHA)).thenReturn(SENHA_CODIFICADA);
@@ -423,9 +402,10 @@ class UsuarioServiceTest {
         verify(usuarioRepository).findById(USUARIO_ID);
         verify(revendaRepository).findById(REVENDA_ID);
         verify(passwordEncoder).encode(SENHA);
+        verify(refreshTokenService).revogarSessoes(USUARIO_ID);
         verify(usuarioRepository).save(usuario);
         verify(usuarioMapper).toResponseDTO(usuario);
-        verifyNoMoreInteractions(usuarioRepository, revendaRepository, passwordEncoder, usuarioMapper);
+        verifyNoMoreInteractions(usuarioRepository, revendaRepository, passwordEncoder, usuarioMapper, refreshTokenService);
     }
 
     @Test
@@ -433,9 +413,7 @@ class UsuarioServiceTest {
         Revenda outraRevenda = new Revenda();
         outraRevenda.setId(OUTRA_REVENDA_ID);
         usuario.setRevenda(outraRevenda);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_PROPRIETARIO);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_PROPRIETARIO));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -450,8 +428,7 @@ class UsuarioServiceTest {
 
     @Test
     void atualizar_Assistente_LancaForbidden() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ASSISTENTE);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ASSISTENTE));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             usuarioService.update(USUARIO_ID, usuarioRequestDTO);
@@ -463,8 +440,7 @@ class UsuarioServiceTest {
 
     @Test
     void atualizar_UsuarioNaoEncontrado_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -481,9 +457,7 @@ class UsuarioServiceTest {
     void atualizar_RevendaNaoEncontrada_LancaNotFound() {
         UsuarioRequestDTO dto = new UsuarioRequestDTO(NOME, EMAIL, SENHA, CARGO, REVENDA_ID);
         assertEquals(REVENDA_ID, dto.getRevendaId(), "O revendaId do DTO deve ser igual ao REVENDA_ID");
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.empty());
 
@@ -500,42 +474,68 @@ class UsuarioServiceTest {
 
     @Test
     void deletar_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
 
         usuarioService.delete(USUARIO_ID);
 
         verify(usuarioRepository).findById(USUARIO_ID);
         verify(usuarioRepository).deleteById(USUARIO_ID);
-        verifyNoMoreInteractions(usuarioRepository);
+        verify(distribuicaoService).removerUsuario(usuario);
+        verify(rebalanceamentoService).transferirCarteira(usuario);
+        verifyNoMoreInteractions(usuarioRepository, rebalanceamentoService);
         verifyNoInteractions(revendaRepository, passwordEncoder, usuarioMapper);
     }
 
     @Test
     void deletar_NaoAdmin_MesmaRevenda_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_PROPRIETARIO);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_PROPRIETARIO));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
 
         usuarioService.delete(USUARIO_ID);
 
         verify(usuarioRepository).findById(USUARIO_ID);
         verify(usuarioRepository).deleteById(USUARIO_ID);
-        verifyNoMoreInteractions(usuarioRepository);
+        verify(distribuicaoService).removerUsuario(usuario);
+        verify(rebalanceamentoService).transferirCarteira(usuario);
+        verifyNoMoreInteractions(usuarioRepository, rebalanceamentoService);
         verifyNoInteractions(revendaRepository, passwordEncoder, usuarioMapper);
     }
 
+    @Test
+    void deletar_ComCarteiraAberta_TransfereAntesDeExcluirERebalanceia() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
+        when(rebalanceamentoService.transferirCarteira(usuario)).thenReturn(3);
+
+        usuarioService.delete(USUARIO_ID);
+
+        InOrder ordem = inOrder(rebalanceamentoService, usuarioRepository);
+        ordem.verify(rebalanceamentoService).transferirCarteira(usuario);
+        ordem.verify(usuarioRepository).deleteById(USUARIO_ID);
+        ordem.verify(rebalanceamentoService).agendarAposCommit(REVENDA_ID);
+    }
+
+    @Test
+    void deletar_HistoricoConcluido_NaoExclui() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
+        when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
+        when(rebalanceamentoService.transferirCarteira(usuario))
+                .thenThrow(new ResponseStatusException(CONFLICT, "Usuário possui oportunidades concluídas e não pode ser excluído"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            usuarioService.delete(USUARIO_ID);
+        });
+        assertEquals(CONFLICT, exception.getStatusCode());
+        verify(usuarioRepository, never()).deleteById(USUARIO_ID);
+    }
+
     @Test
     void deletar_NaoAdmin_RevendaDiferente_LancaForbidden() {
         Revenda outraRevenda = new Revenda();
         outraRevenda.setId(OUTRA_REVENDA_ID);
         usuario.setRevenda(outraRevenda);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_PROPRIETARIO);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_PROPRIETARIO));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -550,8 +550,7 @@ class UsuarioServiceTest {
 
     @Test
     void deletar_UsuarioNaoEncontrado_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(USUARIO_ID, REVENDA_ID, CARGOS_ADMIN));
         when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -1,5 +1,9 @@
 package com.mobiauto.backend.service;
 
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.dto.FacetasVeiculoDTO;
+import com.mobiauto.backend.dto.PaginaDTO;
+import com.mobiauto.backend.dto.SugestaoVeiculoDTO;
 import com.mobiauto.backend.dto.VeiculoRequestDTO;
 import com.mobiauto.backend.dto.VeiculoResponseDTO;
 import com.mobiauto.backend.mapper.VeiculoMapper;
@@ -8,6 +12,10 @@ import com.mobiauto.backend.model.Revenda;
 import com.mobiauto.backend.model.Veiculo;
 import com.mobiauto.backend.repository.RevendaRepository;
 import com.mobiauto.backend.repository.VeiculoRepository;
+import com.mobiauto.backend.service.catalogo.FacetaVeiculoIndex;
+import com.mobiauto.backend.service.catalogo.SugestaoVeiculoIndex;
+import com.mobiauto.backend.service.catalogo.TipoSugestao;
+import com.mobiauto.backend.utils.CursorUtil;
 import com.mobiauto.backend.utils.JwtAuthUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +25,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.data.domain.Limit;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -42,7 +50,13 @@ class VeiculoServiceTest {
     private VeiculoMapper veiculoMapper;
 
     @Mock
-    private Jwt jwt;
+    private VersaoRecursoService versaoRecursoService;
+
+    @Mock
+    private FacetaVeiculoIndex facetaVeiculoIndex;
+
+    @Mock
+    private SugestaoVeiculoIndex sugestaoVeiculoIndex;
 
     @InjectMocks
     private VeiculoService veiculoService;
@@ -90,46 +104,90 @@ class VeiculoServiceTest {
 
     @Test
     void buscarTodos_Admin_RetornaTodosVeiculos() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(veiculoRepository.findAll()).thenReturn(List.of(veiculo));
-        when(veiculoMapper.toResponseDTO(veiculo)).thenReturn(veiculoResponseDTO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+        when(veiculoRepository.listarPagina(0L, Limit.of(51))).thenReturn(List.of(veiculoResponseDTO));
 
-        List<VeiculoResponseDTO> result = veiculoService.findAll();
+        PaginaDTO<VeiculoResponseDTO> result = veiculoService.findAll(null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(veiculoResponseDTO, result.get(0));
-        verify(veiculoRepository).findAll();
-        verify(veiculoMapper).toResponseDTO(veiculo);
-        verifyNoMoreInteractions(veiculoRepository, veiculoMapper);
+        assertEquals(1, result.itens().size());
+        assertNull(result.proximoCursor());
+        assertEquals(veiculoResponseDTO, result.itens().get(0));
+        verify(veiculoRepository).listarPagina(0L, Limit.of(51));
+        verifyNoInteractions(veiculoMapper);
+        verifyNoMoreInteractions(veiculoRepository);
         verifyNoInteractions(revendaRepository);
     }
 
     @Test
     void buscarTodos_NaoAdmin_RetornaVeiculosDaRevenda() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_NAO_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
-        when(veiculoRepository.findAllByRevenda_Id(REVENDA_ID)).thenReturn(List.of(veiculo));
-        when(veiculoMapper.toResponseDTO(veiculo)).thenReturn(veiculoResponseDTO);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
+        when(veiculoRepository.listarPaginaPorRevenda(REVENDA_ID, 0L, Limit.of(51))).thenReturn(List.of(veiculoResponseDTO));
 
-        List<VeiculoResponseDTO> result = veiculoService.findAll();
+        PaginaDTO<VeiculoResponseDTO> result = veiculoService.findAll(null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(veiculoResponseDTO, result.get(0));
-        verify(veiculoRepository).findAllByRevenda_Id(REVENDA_ID);
-        verify(veiculoMapper).toResponseDTO(veiculo);
-        verifyNoMoreInteractions(veiculoRepository, veiculoMapper);
+        assertEquals(1, result.itens().size());
+        assertNull(result.proximoCursor());
+        assertEquals(veiculoResponseDTO, result.itens().get(0));
+        verify(veiculoRepository).listarPaginaPorRevenda(REVENDA_ID, 0L, Limit.of(51));
+        verifyNoInteractions(veiculoMapper);
+        verifyNoMoreInteractions(veiculoRepository);
         verifyNoInteractions(revendaRepository);
     }
 
+    @Test
+    void buscarPorTexto_NaoAdmin_ConsultaRevendaComTermosNormalizados() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
+        when(veiculoRepository.buscarPorRevenda(REVENDA_ID, "corolla xle", 2020, Integer.MAX_VALUE, 0L, 2))
+                .thenReturn(List.of(veiculo, veiculo));
+        when(veiculoMapper.toResponseDTO(veiculo)).thenReturn(veiculoResponseDTO);
+
+        PaginaDTO<VeiculoResponseDTO> result = veiculoService.buscar("  Corolla XLE ", 2020, null, null, 1);
+
+        assertEquals(List.of(veiculoResponseDTO), result.itens());
+        assertEquals(CursorUtil.codificar(1L), result.proximoCursor());
+        verify(veiculoRepository).buscarPorRevenda(REVENDA_ID, "corolla xle", 2020, Integer.MAX_VALUE, 0L, 2);
+        verifyNoMoreInteractions(veiculoRepository);
+    }
+
+    @Test
+    void buscarPorTexto_Admin_ProximaPaginaUsaDeslocamentoDoCursor() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+        when(veiculoRepository.buscar("civic exl 2022", 0, Integer.MAX_VALUE, 50L, 51)).thenReturn(List.of(veiculo));
+        when(veiculoMapper.toResponseDTO(veiculo)).thenReturn(veiculoResponseDTO);
+
+        PaginaDTO<VeiculoResponseDTO> result = veiculoService.buscar("civic exl 2022", null, null, CursorUtil.codificar(50L), null);
+
+        assertEquals(List.of(veiculoResponseDTO), result.itens());
+        assertNull(result.proximoCursor());
+        verify(veiculoRepository).buscar("civic exl 2022", 0, Integer.MAX_VALUE, 50L, 51);
+        verifyNoMoreInteractions(veiculoRepository);
+    }
+
+    @Test
+    void buscarPorTexto_TermoVazio_LancaBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> veiculoService.buscar("   ", null, null, null, null));
+
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Informe o termo de busca", exception.getReason());
+        verifyNoInteractions(veiculoRepository, veiculoMapper);
+    }
+
+    @Test
+    void buscarPorTexto_FaixaDeAnosInvertida_LancaBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> veiculoService.buscar("corolla", 2024, 2020, null, null));
+
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("O ano inicial deve ser menor ou igual ao ano final", exception.getReason());
+        verifyNoInteractions(veiculoRepository, veiculoMapper);
+    }
+
     @Test
     void buscarPorId_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
         when(veiculoMapper.toResponseDTO(veiculo)).thenReturn(veiculoResponseDTO);
 
@@ -144,9 +202,7 @@ class VeiculoServiceTest {
     }
     @Test
     void buscarPorId_NaoAdmin_MesmaRevenda_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_NAO_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
         when(veiculoMapper.toResponseDTO(veiculo)).thenReturn(veiculoResponseDTO);
 
@@ -165,9 +221,7 @@ class VeiculoServiceTest {
         Revenda outraRevenda = new Revenda();
         outraRevenda.setId(OUTRA_REVENDA_ID);
         veiculo.setRevenda(outraRevenda);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_NAO_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -182,8 +236,7 @@ class VeiculoServiceTest {
 
     @Test
     void buscarPorId_VeiculoNaoEncontrado_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -198,9 +251,7 @@ class VeiculoServiceTest {
 
     @Test
     void salvar_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(veiculoRepository.save(any(Veiculo.class))).thenReturn(veiculo);
         when(veiculoMapper.toResponseDTO(veiculo)).thenReturn(veiculoResponseDTO);
@@ -217,9 +268,7 @@ class VeiculoServiceTest {
 
     @Test
     void salvar_NaoAdmin_MesmaRevenda_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_NAO_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(veiculoRepository.save(any(Veiculo.class))).thenReturn(veiculo);
         when(veiculoMapper.toResponseDTO(veiculo)).thenReturn(veiculoResponseDTO);
@@ -237,9 +286,7 @@ class VeiculoServiceTest {
     @Test
     void salvar_NaoAdmin_RevendaDiferente_LancaForbidden() {
         VeiculoRequestDTO dtoOutraRevenda = new VeiculoRequestDTO(MARCA, MODELO, VERSAO, ANO_MODELO, OUTRA_REVENDA_ID);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_NAO_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             veiculoService.save(dtoOutraRevenda);
@@ -251,9 +298,7 @@ class VeiculoServiceTest {
 
     @Test
     void salvar_RevendaNaoEncontrada_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -270,9 +315,7 @@ class VeiculoServiceTest {
     void atualizar_Admin_Sucesso() {
         VeiculoRequestDTO novoDto = new VeiculoRequestDTO("Honda", "Civic", "Touring", 2024, REVENDA_ID);
         VeiculoResponseDTO novoResponseDTO = new VeiculoResponseDTO(VEICULO_ID, "Honda", "Civic", "Touring", 2024, REVENDA_ID);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(veiculoRepository.save(veiculo)).thenReturn(veiculo);
@@ -293,9 +336,7 @@ class VeiculoServiceTest {
     void atualizar_NaoAdmin_MesmaRevenda_Sucesso() {
         VeiculoRequestDTO novoDto = new VeiculoRequestDTO("Honda", "Civic", "Touring", 2024, REVENDA_ID);
         VeiculoResponseDTO novoResponseDTO = new VeiculoResponseDTO(VEICULO_ID, "Honda", "Civic", "Touring", 2024, REVENDA_ID);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_NAO_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.of(revenda));
         when(veiculoRepository.save(veiculo)).thenReturn(veiculo);
@@ -318,9 +359,7 @@ class VeiculoServiceTest {
         outraRevenda.setId(OUTRA_REVENDA_ID);
         veiculo.setRevenda(outraRevenda);
         VeiculoRequestDTO novoDto = new VeiculoRequestDTO("Honda", "Civic", "Touring", 2024, REVENDA_ID);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_NAO_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -336,8 +375,7 @@ class VeiculoServiceTest {
     @Test
     void atualizar_VeiculoNaoEncontrado_LancaNotFound() {
         VeiculoRequestDTO novoDto = new VeiculoRequestDTO("Honda", "Civic", "Touring", 2024, REVENDA_ID);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -353,9 +391,7 @@ class VeiculoServiceTest {
     @Test
     void atualizar_RevendaNaoEncontrada_LancaNotFound() {
         VeiculoRequestDTO novoDto = new VeiculoRequestDTO("Honda", "Civic", "Touring", 2024, REVENDA_ID);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
         when(revendaRepository.findById(REVENDA_ID)).thenReturn(Optional.empty());
 
@@ -372,9 +408,7 @@ class VeiculoServiceTest {
 
     @Test
     void deletar_Admin_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
 
         veiculoService.delete(VEICULO_ID);
@@ -387,9 +421,7 @@ class VeiculoServiceTest {
 
     @Test
     void deletar_NaoAdmin_MesmaRevenda_Sucesso() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_NAO_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
 
         veiculoService.delete(VEICULO_ID);
@@ -405,9 +437,7 @@ class VeiculoServiceTest {
         Revenda outraRevenda = new Revenda();
         outraRevenda.setId(OUTRA_REVENDA_ID);
         veiculo.setRevenda(outraRevenda);
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_NAO_ADMIN);
-        when(jwt.getClaimAsString("revendaId")).thenReturn(REVENDA_ID.toString());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.of(veiculo));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -422,8 +452,7 @@ class VeiculoServiceTest {
 
     @Test
     void deletar_VeiculoNaoEncontrado_LancaNotFound() {
-        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getJwt).thenReturn(jwt);
-        jwtAuthUtilMockedStatic.when(() -> JwtAuthUtil.getCargosFromJwt(jwt)).thenReturn(CARGOS_ADMIN);
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
         when(veiculoRepository.findById(VEICULO_ID)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -435,4 +464,88 @@ class VeiculoServiceTest {
         verifyNoMoreInteractions(veiculoRepository);
         verifyNoInteractions(revendaRepository, veiculoMapper);
     }
-}
\ No newline at end of file
+
+    @Test
+    void facetas_NaoAdmin_UsaRevendaDoToken() {
+        FacetasVeiculoDTO facetas = new FacetasVeiculoDTO(1, List.of(), List.of(), List.of());
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
+        when(facetaVeiculoIndex.facetas(REVENDA_ID, "Honda", null, 2022)).thenReturn(facetas);
+
+        FacetasVeiculoDTO result = veiculoService.facetas(null, "Honda", null, 2022);
+
+        assertEquals(facetas, result);
+        verify(facetaVeiculoIndex).facetas(REVENDA_ID, "Honda", null, 2022);
+        verifyNoMoreInteractions(facetaVeiculoIndex);
+        verifyNoInteractions(veiculoRepository);
+    }
+
+    @Test
+    void facetas_AdminSemRevenda_LancaBadRequest() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            veiculoService.facetas(null, null, null, null);
+        });
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Informe a revenda", exception.getReason());
+        verifyNoInteractions(facetaVeiculoIndex);
+    }
+
+    @Test
+    void facetas_NaoAdmin_RevendaDiferente_LancaForbidden() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            veiculoService.facetas(OUTRA_REVENDA_ID, null, null, null);
+        });
+        assertEquals(FORBIDDEN, exception.getStatusCode());
+        assertEquals("Você só pode acessar veículos da sua revenda", exception.getReason());
+        verifyNoInteractions(facetaVeiculoIndex);
+    }
+
+    @Test
+    void sugestoes_Admin_ConsultaRevendaInformada() {
+        List<SugestaoVeiculoDTO> sugestoes = List.of(new SugestaoVeiculoDTO("Civic", TipoSugestao.MODELO, 3));
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_ADMIN));
+        when(sugestaoVeiculoIndex.sugerir(OUTRA_REVENDA_ID, "ci", 10)).thenReturn(sugestoes);
+
+        List<SugestaoVeiculoDTO> result = veiculoService.sugestoes(OUTRA_REVENDA_ID, "ci", null);
+
+        assertEquals(sugestoes, result);
+        verify(sugestaoVeiculoIndex).sugerir(OUTRA_REVENDA_ID, "ci", 10);
+        verifyNoMoreInteractions(sugestaoVeiculoIndex);
+        verifyNoInteractions(veiculoRepository);
+    }
+
+    @Test
+    void sugestoes_PrefixoVazio_LancaBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            veiculoService.sugestoes(null, " ", null);
+        });
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Informe o prefixo", exception.getReason());
+        verifyNoInteractions(sugestaoVeiculoIndex);
+    }
+
+    @Test
+    void sugestoes_LimiteInvalido_LancaBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            veiculoService.sugestoes(null, "ci", 51);
+        });
+        assertEquals(BAD_REQUEST, exception.getStatusCode());
+        assertEquals("O limite deve estar entre 1 e 50", exception.getReason());
+        verifyNoInteractions(sugestaoVeiculoIndex);
+    }
+
+    @Test
+    void indiceSugestoes_NaoAdmin_LancaForbidden() {
+        jwtAuthUtilMockedStatic.when(JwtAuthUtil::getPrincipal).thenReturn(new MobiautoPrincipal(1L, REVENDA_ID, CARGOS_NAO_ADMIN));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            veiculoService.indiceSugestoes();
+        });
+        assertEquals(FORBIDDEN, exception.getStatusCode());
+        assertEquals("Apenas administradores podem consultar o índice de sugestões", exception.getReason());
+        verifyNoInteractions(sugestaoVeiculoIndex);
+    }
+}
@@ -0,0 +1,61 @@
+package com.mobiauto.backend.service;
+
+import com.mobiauto.backend.service.versao.TipoRecurso;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersaoRecursoServiceTest {
+
+    private static final Long REVENDA_ID = 1L;
+    private static final Long OUTRA_REVENDA_ID = 2L;
+    private static final String VARIANTE = "/veiculos?null";
+
+    private final VersaoRecursoService versaoRecursoService = new VersaoRecursoService();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void etag_SemAlteracao_RetornaMesmoValor() {
+        String etag = versaoRecursoService.etag(TipoRecurso.VEICULO, REVENDA_ID, VARIANTE);
+
+        assertEquals(etag, versaoRecursoService.etag(TipoRecurso.VEICULO, REVENDA_ID, VARIANTE));
+        assertNotEquals(etag, versaoRecursoService.etag(TipoRecurso.VEICULO, REVENDA_ID, "/veiculos?limit=10"));
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    }
+
+    @Test
+    void registrarAlteracao_MudaVersaoDaRevendaEDoAdministrador() {
+        String daRevenda = versaoRecursoService.etag(TipoRecurso.VEICULO, REVENDA_ID, VARIANTE);
+        String daOutraRevenda = versaoRecursoService.etag(TipoRecurso.VEICULO, OUTRA_REVENDA_ID, VARIANTE);
+        String deTodas = versaoRecursoService.etag(TipoRecurso.VEICULO, null, VARIANTE);
+        String deClientes = versaoRecursoService.etag(TipoRecurso.CLIENTE, REVENDA_ID, VARIANTE);
+
+        versaoRecursoService.registrarAlteracao(REVENDA_ID, TipoRecurso.VEICULO);
+
+        assertNotEquals(daRevenda, versaoRecursoService.etag(TipoRecurso.VEICULO, REVENDA_ID, VARIANTE));
+        assertNotEquals(deTodas, versaoRecursoService.etag(TipoRecurso.VEICULO, null, VARIANTE));
+        assertEquals(daOutraRevenda, versaoRecursoService.etag(TipoRecurso.VEICULO, OUTRA_REVENDA_ID, VARIANTE));
+        assertEquals(deClientes, versaoRecursoService.etag(TipoRecurso.CLIENTE, REVENDA_ID, VARIANTE));
+    }
+
+    @Test
+    void registrarAlteracao_EmTransacao_SoMudaVersaoAposCommit() {
+        String antes = versaoRecursoService.etag(TipoRecurso.OPORTUNIDADE, REVENDA_ID, VARIANTE);
+        TransactionSynchronizationManager.initSynchronization();
+
+        versaoRecursoService.registrarAlteracao(REVENDA_ID, TipoRecurso.OPORTUNIDADE);
+
+        assertEquals(antes, versaoRecursoService.etag(TipoRecurso.OPORTUNIDADE, REVENDA_ID, VARIANTE));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNotEquals(antes, versaoRecursoService.etag(TipoRecurso.OPORTUNIDADE, REVENDA_ID, VARIANTE));
+    }
+}
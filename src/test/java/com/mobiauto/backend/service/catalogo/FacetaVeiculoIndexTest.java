@@ -0,0 +1,185 @@
+package com.mobiauto.backend.service.catalogo;
+
+import com.mobiauto.backend.dto.FacetasVeiculoDTO;
+import com.mobiauto.backend.dto.FacetasVeiculoDTO.ContagemDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetaVeiculoIndexTest {
+
+    private static final Long REVENDA_ID = 1L;
+    private static final Long OUTRA_REVENDA_ID = 2L;
+
+    private FacetaVeiculoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetaVeiculoIndex();
+        index.reconstruir(List.of(
+                new VeiculoFaceta(1L, REVENDA_ID, "Honda", "Civic", "EXL", 2022),
+                new VeiculoFaceta(2L, REVENDA_ID, "Honda", "Civic", "EXL", 2021),
+                new VeiculoFaceta(3L, REVENDA_ID, "Honda", "City", "EXL", 2022),
+                new VeiculoFaceta(4L, REVENDA_ID, "Toyota", "Corolla", "EXL", 2022),
+                new VeiculoFaceta(5L, OUTRA_REVENDA_ID, "Fiat", "Argo", "EXL", 2020)
+        ));
+    }
+
+    @Test
+    void facetas_SemFiltros_UsaContadoresDaRevenda() {
+        FacetasVeiculoDTO result = index.facetas(REVENDA_ID, null, null, null);
+
+        assertEquals(4, result.total());
+        assertEquals(List.of(new ContagemDTO("Honda", 3), new ContagemDTO("Toyota", 1)), result.marcas());
+        assertEquals(List.of(new ContagemDTO("Civic", 2), new ContagemDTO("City", 1), new ContagemDTO("Corolla", 1)), result.modelos());
+        assertEquals(List.of(new ContagemDTO("2022", 3), new ContagemDTO("2021", 1)), result.anos());
+    }
+
+    @Test
+    void facetas_ComFiltros_CadaFacetaConsideraOsDemaisFiltros() {
+        FacetasVeiculoDTO result = index.facetas(REVENDA_ID, "Honda", null, 2022);
+
+        assertEquals(2, result.total());
+        assertEquals(List.of(new ContagemDTO("Honda", 2), new ContagemDTO("Toyota", 1)), result.marcas());
+        assertEquals(List.of(new ContagemDTO("City", 1), new ContagemDTO("Civic", 1)), result.modelos());
+        assertEquals(List.of(new ContagemDTO("2022", 2), new ContagemDTO("2021", 1)), result.anos());
+    }
+
+    @Test
+    void facetas_ValorInexistente_RetornaTotalZero() {
+        FacetasVeiculoDTO result = index.facetas(REVENDA_ID, "Fiat", null, null);
+
+        assertEquals(0, result.total());
+        assertTrue(result.modelos().isEmpty());
+        assertEquals(List.of(new ContagemDTO("Honda", 3), new ContagemDTO("Toyota", 1)), result.marcas());
+    }
+
+    @Test
+    void facetas_RevendaSemVeiculos_RetornaVazio() {
+        FacetasVeiculoDTO result = index.facetas(3L, null, null, null);
+
+        assertEquals(0, result.total());
+        assertTrue(result.marcas().isEmpty());
+    }
+
+    @Test
+    void adicionarERemover_AtualizaContadores() {
+        index.adicionar(new VeiculoFaceta(6L, REVENDA_ID, "Toyota", "Corolla", "EXL", 2023));
+        index.remover(REVENDA_ID, 1L);
+        index.remover(REVENDA_ID, 99L);
+
+        FacetasVeiculoDTO result = index.facetas(REVENDA_ID, null, null, null);
+
+        assertEquals(4, result.total());
+        assertEquals(List.of(new ContagemDTO("Honda", 2), new ContagemDTO("Toyota", 2)), result.marcas());
+        assertEquals(List.of(new ContagemDTO("Corolla", 2), new ContagemDTO("City", 1), new ContagemDTO("Civic", 1)), result.modelos());
+    }
+
+    @Test
+    void adicionar_VeiculoExistente_SubstituiValoresAnteriores() {
+        index.adicionar(new VeiculoFaceta(1L, REVENDA_ID, "Toyota", "Yaris", "EXL", 2022));
+
+        FacetasVeiculoDTO result = index.facetas(REVENDA_ID, "Toyota", null, null);
+
+        assertEquals(2, result.total());
+        assertEquals(List.of(new ContagemDTO("Corolla", 1), new ContagemDTO("Yaris", 1)), result.modelos());
+    }
+
+    @Test
+    void adicionarERemover_MuitasAlteracoes_ContagensIguaisAoRecalculoCompleto() {
+        Random aleatorio = new Random(42);
+        Map<Long, VeiculoFaceta> atuais = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long id = aleatorio.nextInt(5_000);
+            if (aleatorio.nextInt(3) == 0) {
+                index.remover(REVENDA_ID, id);
+                atuais.remove(id);
+            } else {
+                VeiculoFaceta veiculo = new VeiculoFaceta(id, REVENDA_ID, "Marca " + aleatorio.nextInt(8),
+                        "Modelo " + aleatorio.nextInt(30), "EXL", 2000 + aleatorio.nextInt(12));
+                index.adicionar(veiculo);
+                atuais.put(id, veiculo);
+            }
+        }
+        index.remover(REVENDA_ID, 1L);
+        index.remover(REVENDA_ID, 2L);
+        index.remover(REVENDA_ID, 3L);
+        index.remover(REVENDA_ID, 4L);
+        atuais.keySet().removeAll(List.of(1L, 2L, 3L, 4L));
+        FacetaVeiculoIndex recalculado = new FacetaVeiculoIndex();
+        recalculado.reconstruir(List.copyOf(atuais.values()));
+
+        for (String marca : Arrays.asList(null, "Marca 3", "Marca 9")) {
+            for (String modelo : Arrays.asList(null, "Modelo 7")) {
+                for (Integer ano : Arrays.asList(null, 2005, 1990)) {
+                    assertEquals(recalculado.facetas(REVENDA_ID, marca, modelo, ano), index.facetas(REVENDA_ID, marca, modelo, ano));
+                }
+            }
+        }
+    }
+
+    @Test
+    void facetas_LeiturasConcorrentesComAlteracoes_TotalSempreConsistente() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> escrita = executor.submit(() -> {
+                for (long id = 100; id < 20_100; id++) {
+                    index.adicionar(new VeiculoFaceta(id, REVENDA_ID, "Honda", "Fit", "EXL", 2015));
+                    index.remover(REVENDA_ID, id);
+                }
+            });
+            List<Future<?>> leituras = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                leituras.add(executor.submit(() -> {
+                    while (!escrita.isDone()) {
+                        FacetasVeiculoDTO result = index.facetas(REVENDA_ID, "Honda", null, null);
+                        int porModelo = result.modelos().stream().mapToInt(ContagemDTO::quantidade).sum();
+                        assertEquals(result.total(), porModelo);
+                        assertTrue(result.total() == 3 || result.total() == 4, "total " + result.total());
+                    }
+                }));
+            }
+            escrita.get(30, TimeUnit.SECONDS);
+            for (Future<?> leitura : leituras) {
+                leitura.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(3, index.facetas(REVENDA_ID, "Honda", null, null).total());
+    }
+
+    @Test
+    void facetas_CemMilVeiculos_RespondeEmMicrossegundos() {
+        index.reconstruir(LongStream.rangeClosed(1, 100_000)
+                .mapToObj(id -> new VeiculoFaceta(id, REVENDA_ID, "Marca " + id % 20, "Modelo " + id % 400, "EXL", 2000 + (int) (id % 25)))
+                .toList());
+        for (int i = 0; i < 200; i++) {
+            index.facetas(REVENDA_ID, "Marca " + i % 20, null, 2010 + i % 10);
+        }
+
+        int consultas = 1_000;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < consultas; i++) {
+            index.facetas(REVENDA_ID, null, null, null);
+        }
+        long mediaMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio) / consultas;
+
+        assertEquals(100_000, index.facetas(REVENDA_ID, null, null, null).total());
+        assertTrue(mediaMicros < 500, "média de " + mediaMicros + " µs");
+    }
+}
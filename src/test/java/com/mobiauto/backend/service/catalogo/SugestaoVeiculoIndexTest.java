@@ -0,0 +1,111 @@
+package com.mobiauto.backend.service.catalogo;
+
+import com.mobiauto.backend.config.CatalogoProperties;
+import com.mobiauto.backend.dto.IndiceSugestoesDTO;
+import com.mobiauto.backend.dto.SugestaoVeiculoDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static com.mobiauto.backend.service.catalogo.TipoSugestao.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SugestaoVeiculoIndexTest {
+
+    private static final Long REVENDA_ID = 1L;
+    private static final Long OUTRA_REVENDA_ID = 2L;
+
+    private SugestaoVeiculoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SugestaoVeiculoIndex(new CatalogoProperties(null, null));
+        index.reconstruir(List.of(
+                new VeiculoFaceta(1L, REVENDA_ID, "Honda", "Civic", "EXL", 2022),
+                new VeiculoFaceta(2L, REVENDA_ID, "Honda", "Civic", "Touring", 2021),
+                new VeiculoFaceta(3L, REVENDA_ID, "Honda", "City", "EX", 2022),
+                new VeiculoFaceta(4L, REVENDA_ID, "Citroën", "C3", "Feel", 2022),
+                new VeiculoFaceta(5L, OUTRA_REVENDA_ID, "Chevrolet", "Cruze", "LTZ", 2020)
+        ));
+    }
+
+    @Test
+    void sugerir_OrdenaPelaQuantidadeEmEstoque() {
+        List<SugestaoVeiculoDTO> result = index.sugerir(REVENDA_ID, "ci", 10);
+
+        assertEquals(List.of(
+                new SugestaoVeiculoDTO("Civic", MODELO, 2),
+                new SugestaoVeiculoDTO("Citroën", MARCA, 1),
+                new SugestaoVeiculoDTO("City", MODELO, 1)
+        ), result);
+    }
+
+    @Test
+    void sugerir_IgnoraAcentosMaiusculasEEspacos() {
+        assertEquals(List.of(new SugestaoVeiculoDTO("Citroën", MARCA, 1)), index.sugerir(REVENDA_ID, "  CITRO", 10));
+        assertEquals(List.of(new SugestaoVeiculoDTO("EXL", VERSAO, 1)), index.sugerir(REVENDA_ID, "exl", 10));
+    }
+
+    @Test
+    void sugerir_RespeitaLimiteERevenda() {
+        assertEquals(List.of(new SugestaoVeiculoDTO("Civic", MODELO, 2)), index.sugerir(REVENDA_ID, "c", 1));
+        assertEquals(List.of(new SugestaoVeiculoDTO("Chevrolet", MARCA, 1)), index.sugerir(OUTRA_REVENDA_ID, "ch", 10));
+        assertTrue(index.sugerir(REVENDA_ID, "ch", 10).isEmpty());
+        assertTrue(index.sugerir(3L, "c", 10).isEmpty());
+    }
+
+    @Test
+    void adicionarERemover_AtualizaSugestoes() {
+        index.adicionar(new VeiculoFaceta(6L, REVENDA_ID, "Honda", "City", "Touring", 2023));
+        index.adicionar(new VeiculoFaceta(7L, REVENDA_ID, "Honda", "City", "EXL", 2023));
+        index.remover(REVENDA_ID, 4L);
+        index.remover(REVENDA_ID, 99L);
+
+        assertEquals(List.of(
+                new SugestaoVeiculoDTO("City", MODELO, 3),
+                new SugestaoVeiculoDTO("Civic", MODELO, 2)
+        ), index.sugerir(REVENDA_ID, "ci", 10));
+        assertTrue(index.sugerir(REVENDA_ID, "c3", 10).isEmpty());
+    }
+
+    @Test
+    void adicionar_LimiteDeTermos_DescartaNovosTermos() {
+        index = new SugestaoVeiculoIndex(new CatalogoProperties(3, 10));
+        index.adicionar(new VeiculoFaceta(1L, REVENDA_ID, "Honda", "Civic", "EXL", 2022));
+        index.adicionar(new VeiculoFaceta(2L, REVENDA_ID, "Honda", "City", "Versao muito longa", 2022));
+
+        IndiceSugestoesDTO estatisticas = index.estatisticas();
+
+        assertEquals(1, estatisticas.revendas());
+        assertEquals(2, estatisticas.veiculos());
+        assertEquals(3, estatisticas.termos());
+        assertEquals(1, estatisticas.termosDescartados());
+        assertTrue(estatisticas.bytesEstimados() > 0);
+        assertEquals(List.of(new SugestaoVeiculoDTO("Honda", MARCA, 2)), index.sugerir(REVENDA_ID, "h", 10));
+    }
+
+    @Test
+    void sugerir_CemMilVeiculos_RespondeEmMicrossegundosComMemoriaLimitada() {
+        index.reconstruir(LongStream.rangeClosed(1, 100_000)
+                .mapToObj(id -> new VeiculoFaceta(id, REVENDA_ID, "Marca " + id % 50, "Modelo " + id % 2_000, "Versao " + id % 5_000, 2022))
+                .toList());
+        for (int i = 0; i < 1_000; i++) {
+            index.sugerir(REVENDA_ID, "mo", 10);
+        }
+
+        int consultas = 10_000;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < consultas; i++) {
+            index.sugerir(REVENDA_ID, "modelo " + i % 20, 10);
+        }
+        long mediaMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio) / consultas;
+        IndiceSugestoesDTO estatisticas = index.estatisticas();
+
+        assertEquals(7_050, estatisticas.termos());
+        assertTrue(estatisticas.bytesEstimados() < 16L * 1024 * 1024, "índice com " + estatisticas.bytesEstimados() + " bytes");
+        assertTrue(mediaMicros < 500, "média de " + mediaMicros + " µs");
+    }
+}
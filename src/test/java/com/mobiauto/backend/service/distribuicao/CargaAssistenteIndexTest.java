@@ -0,0 +1,123 @@
+package com.mobiauto.backend.service.distribuicao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CargaAssistenteIndexTest {
+
+    private static final Long REVENDA_ID = 1L;
+    private static final Long OUTRA_REVENDA_ID = 2L;
+    private static final Long REVENDA_MESMO_BIN_ID = 18L;
+    private static final DistribuicaoStrategy MENOR_CARGA = new MenorCargaStrategy();
+
+    private CargaAssistenteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CargaAssistenteIndex();
+        index.reconstruir(Map.of(REVENDA_ID, List.of(
+                new CargaAssistente(1L, 2, null),
+                new CargaAssistente(2L, 1, LocalDateTime.now()),
+                new CargaAssistente(3L, 1, LocalDateTime.now().minusDays(1))
+        )), id -> MENOR_CARGA);
+    }
+
+    @Test
+    void escolher_OrdenaPorCargaEDataDeAtribuicao() {
+        assertEquals(Optional.of(3L), index.escolher(REVENDA_ID, MENOR_CARGA, id -> fail("Revenda já carregada")));
+    }
+
+    @Test
+    void escolher_RevendaNaoCarregada_UsaCarregador() {
+        Optional<Long> result = index.escolher(OUTRA_REVENDA_ID, MENOR_CARGA, id -> List.of(new CargaAssistente(9L, 0, null)));
+
+        assertEquals(Optional.of(9L), result);
+        assertTrue(index.revendasCarregadas().contains(OUTRA_REVENDA_ID));
+    }
+
+    @Test
+    void escolher_CarregadorLento_NaoBloqueiaOutrasRevendas() {
+        Optional<Long> result = index.escolher(OUTRA_REVENDA_ID, MENOR_CARGA, id -> {
+            Optional<Long> outra = CompletableFuture
+                    .supplyAsync(() -> index.escolher(REVENDA_MESMO_BIN_ID, MENOR_CARGA, outroId -> List.of(new CargaAssistente(8L, 0, null))))
+                    .orTimeout(5, TimeUnit.SECONDS)
+                    .join();
+            assertEquals(Optional.of(8L), outra);
+            return List.of(new CargaAssistente(9L, 0, null));
+        });
+
+        assertEquals(Optional.of(9L), result);
+        assertTrue(index.revendasCarregadas().containsAll(List.of(OUTRA_REVENDA_ID, REVENDA_MESMO_BIN_ID)));
+    }
+
+    @Test
+    void escolher_SemAssistentes_RetornaVazio() {
+        assertTrue(index.escolher(OUTRA_REVENDA_ID, MENOR_CARGA, id -> List.of()).isEmpty());
+    }
+
+    @Test
+    void escolher_EstrategiaAlterada_RecarregaRevenda() {
+        Optional<Long> result = index.escolher(REVENDA_ID, new RodizioStrategy(),
+                id -> List.of(new CargaAssistente(1L, 2, null), new CargaAssistente(2L, 0, LocalDateTime.now())));
+
+        assertEquals(Optional.of(1L), result);
+        assertEquals(Map.of(1L, 2L, 2L, 0L), index.cargas(REVENDA_ID));
+    }
+
+    @Test
+    void ajustarCarga_ReordenaAssistentes() {
+        index.ajustarCarga(REVENDA_ID, 3L, 2);
+
+        assertEquals(Optional.of(2L), index.escolher(REVENDA_ID, MENOR_CARGA, id -> List.of()));
+        assertEquals(3L, index.cargas(REVENDA_ID).get(3L));
+    }
+
+    @Test
+    void ajustarCarga_NuncaFicaNegativa() {
+        index.ajustarCarga(REVENDA_ID, 2L, -5);
+
+        assertEquals(0L, index.cargas(REVENDA_ID).get(2L));
+    }
+
+    @Test
+    void registrarAtribuicao_MoveAssistenteParaOFimDoEmpate() {
+        index.registrarAtribuicao(REVENDA_ID, 3L, LocalDateTime.now().plusMinutes(1));
+
+        assertEquals(Optional.of(2L), index.escolher(REVENDA_ID, MENOR_CARGA, id -> List.of()));
+    }
+
+    @Test
+    void adicionarERemoverAssistente() {
+        index.adicionarAssistente(REVENDA_ID, new CargaAssistente(4L, 0, null));
+        assertEquals(Optional.of(4L), index.escolher(REVENDA_ID, MENOR_CARGA, id -> List.of()));
+
+        index.removerAssistente(REVENDA_ID, 4L);
+        assertEquals(Optional.of(3L), index.escolher(REVENDA_ID, MENOR_CARGA, id -> List.of()));
+        assertFalse(index.cargas(REVENDA_ID).containsKey(4L));
+    }
+
+    @Test
+    void alteracoes_RevendaNaoCarregada_SaoIgnoradas() {
+        index.ajustarCarga(OUTRA_REVENDA_ID, 1L, 1);
+        index.adicionarAssistente(OUTRA_REVENDA_ID, new CargaAssistente(1L, 0, null));
+
+        assertFalse(index.revendasCarregadas().contains(OUTRA_REVENDA_ID));
+        assertTrue(index.cargas(OUTRA_REVENDA_ID).isEmpty());
+    }
+
+    @Test
+    void invalidar_RemoveRevenda() {
+        index.invalidar(REVENDA_ID);
+
+        assertTrue(index.revendasCarregadas().isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+package com.mobiauto.backend.service.distribuicao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistribuicaoStrategyTest {
+
+    private static final Long REVENDA_ID = 1L;
+    private static final int[] TAMANHOS = {10, 100, 1_000};
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void menorCarga_DistribuiIgualmente() {
+        for (int tamanho : TAMANHOS) {
+            List<CargaAssistente> cargas = new ArrayList<>();
+            for (long id = 1; id <= tamanho; id++) {
+                cargas.add(new CargaAssistente(id, 0, null));
+            }
+
+            Map<Long, Long> resultado = simular(new MenorCargaStrategy(), cargas, tamanho * 10);
+
+            resultado.values().forEach(carga -> assertEquals(10L, carga, "tamanho " + tamanho));
+        }
+    }
+
+    @Test
+    void menorCargaPonderada_RespeitaPesoDeCadaAssistente() {
+        for (int tamanho : TAMANHOS) {
+            List<CargaAssistente> cargas = new ArrayList<>();
+            for (long id = 1; id <= tamanho; id++) {
+                cargas.add(new CargaAssistente(id, 0, null, id % 2 == 0 ? 2 : 1, null));
+            }
+
+            Map<Long, Long> resultado = simular(new MenorCargaPonderadaStrategy(), cargas, tamanho * 12);
+
+            resultado.forEach((id, carga) -> assertEquals(id % 2 == 0 ? 16L : 8L, carga, "tamanho " + tamanho));
+        }
+    }
+
+    @Test
+    void capacidadeLimitada_NuncaUltrapassaLimite() {
+        for (int tamanho : TAMANHOS) {
+            List<CargaAssistente> cargas = new ArrayList<>();
+            for (long id = 1; id <= tamanho; id++) {
+                cargas.add(new CargaAssistente(id, 0, null, 1, id % 2 == 0 ? 3 : null));
+            }
+
+            Map<Long, Long> resultado = simular(new CapacidadeLimitadaStrategy(), cargas, tamanho * 10);
+
+            resultado.forEach((id, carga) -> assertEquals(id % 2 == 0 ? 3L : 17L, carga, "tamanho " + tamanho));
+        }
+    }
+
+    @Test
+    void capacidadeLimitada_TodosNoLimite_NaoEscolheNinguem() {
+        CargaAssistenteIndex index = new CargaAssistenteIndex();
+
+        assertTrue(index.escolher(REVENDA_ID, new CapacidadeLimitadaStrategy(),
+                id -> List.of(new CargaAssistente(1L, 2, null, 1, 2))).isEmpty());
+    }
+
+    @Test
+    void rodizio_IgnoraCargaExistente() {
+        for (int tamanho : TAMANHOS) {
+            List<CargaAssistente> cargas = new ArrayList<>();
+            for (long id = 1; id <= tamanho; id++) {
+                cargas.add(new CargaAssistente(id, id, null));
+            }
+
+            Map<Long, Long> resultado = simular(new RodizioStrategy(), cargas, tamanho * 10);
+
+            resultado.forEach((id, carga) -> assertEquals(id + 10, carga, "tamanho " + tamanho));
+        }
+    }
+
+    private Map<Long, Long> simular(DistribuicaoStrategy estrategia, List<CargaAssistente> cargas, int atribuicoes) {
+        CargaAssistenteIndex index = new CargaAssistenteIndex();
+        for (int i = 0; i < atribuicoes; i++) {
+            Long usuarioId = index.escolher(REVENDA_ID, estrategia, id -> cargas).orElseThrow();
+            index.ajustarCarga(REVENDA_ID, usuarioId, 1);
+            index.registrarAtribuicao(REVENDA_ID, usuarioId, INICIO.plusSeconds(i));
+        }
+        return index.cargas(REVENDA_ID);
+    }
+}
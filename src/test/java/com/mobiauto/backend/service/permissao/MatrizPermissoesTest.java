@@ -0,0 +1,134 @@
+package com.mobiauto.backend.service.permissao;
+
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.model.Cargo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.mobiauto.backend.model.Cargo.*;
+import static com.mobiauto.backend.service.permissao.Acao.*;
+import static com.mobiauto.backend.service.permissao.Escopo.*;
+import static com.mobiauto.backend.service.permissao.Recurso.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrizPermissoesTest {
+
+    private static final Long REVENDA_ID = 1L;
+    private static final Long OUTRA_REVENDA_ID = 2L;
+    private static final List<Cargo> COLUNAS = List.of(ADMINISTRADOR, PROPRIETARIO, GERENTE, ASSISTENTE);
+
+    private static final List<Linha> TABELA = List.of(
+            new Linha(REVENDA, CONSULTAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(REVENDA, CRIAR, GLOBAL, NENHUM, NENHUM, NENHUM),
+            new Linha(REVENDA, ATUALIZAR, GLOBAL, NENHUM, NENHUM, NENHUM),
+            new Linha(REVENDA, EXCLUIR, GLOBAL, NENHUM, NENHUM, NENHUM),
+            new Linha(REVENDA, ATENDER, NENHUM, NENHUM, NENHUM, NENHUM),
+            new Linha(USUARIO, CONSULTAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(USUARIO, CRIAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, NENHUM),
+            new Linha(USUARIO, ATUALIZAR, GLOBAL, PROPRIA_REVENDA, NENHUM, NENHUM),
+            new Linha(USUARIO, EXCLUIR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(USUARIO, ATENDER, NENHUM, NENHUM, NENHUM, NENHUM),
+            new Linha(CLIENTE, CONSULTAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(CLIENTE, CRIAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(CLIENTE, ATUALIZAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(CLIENTE, EXCLUIR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(CLIENTE, ATENDER, NENHUM, NENHUM, NENHUM, NENHUM),
+            new Linha(VEICULO, CONSULTAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(VEICULO, CRIAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(VEICULO, ATUALIZAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(VEICULO, EXCLUIR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(VEICULO, ATENDER, NENHUM, NENHUM, NENHUM, NENHUM),
+            new Linha(OPORTUNIDADE, CONSULTAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(OPORTUNIDADE, CRIAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(OPORTUNIDADE, ATUALIZAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIOS),
+            new Linha(OPORTUNIDADE, EXCLUIR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, PROPRIA_REVENDA),
+            new Linha(OPORTUNIDADE, ATENDER, NENHUM, NENHUM, NENHUM, PROPRIA_REVENDA),
+            new Linha(REBALANCEAMENTO, CONSULTAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, NENHUM),
+            new Linha(REBALANCEAMENTO, CRIAR, GLOBAL, PROPRIA_REVENDA, PROPRIA_REVENDA, NENHUM),
+            new Linha(REBALANCEAMENTO, ATUALIZAR, NENHUM, NENHUM, NENHUM, NENHUM),
+            new Linha(REBALANCEAMENTO, EXCLUIR, NENHUM, NENHUM, NENHUM, NENHUM),
+            new Linha(REBALANCEAMENTO, ATENDER, NENHUM, NENHUM, NENHUM, NENHUM),
+            new Linha(DIAGNOSTICO, CONSULTAR, GLOBAL, NENHUM, NENHUM, NENHUM),
+            new Linha(DIAGNOSTICO, CRIAR, NENHUM, NENHUM, NENHUM, NENHUM),
+            new Linha(DIAGNOSTICO, ATUALIZAR, NENHUM, NENHUM, NENHUM, NENHUM),
+            new Linha(DIAGNOSTICO, EXCLUIR, NENHUM, NENHUM, NENHUM, NENHUM),
+            new Linha(DIAGNOSTICO, ATENDER, NENHUM, NENHUM, NENHUM, NENHUM));
+
+    @Test
+    void tabela_CobreTodosOsRecursosEAcoes() {
+        Set<String> cobertas = new HashSet<>();
+        TABELA.forEach(linha -> cobertas.add(linha.recurso() + ":" + linha.acao()));
+
+        assertEquals(Recurso.values().length * Acao.values().length, cobertas.size());
+        assertEquals(TABELA.size(), cobertas.size());
+    }
+
+    @Test
+    void escopo_CadaCargo_SegueATabela() {
+        for (Linha linha : TABELA) {
+            for (int coluna = 0; coluna < COLUNAS.size(); coluna++) {
+                Cargo cargo = COLUNAS.get(coluna);
+                MobiautoPrincipal principal = new MobiautoPrincipal(1L, REVENDA_ID, List.of(cargo));
+
+                assertEquals(linha.escopos()[coluna], principal.escopo(linha.recurso(), linha.acao()),
+                        cargo + " " + linha.acao() + " " + linha.recurso());
+            }
+        }
+    }
+
+    @Test
+    void pode_CadaCargo_AplicaEscopoARevenda() {
+        for (Linha linha : TABELA) {
+            for (int coluna = 0; coluna < COLUNAS.size(); coluna++) {
+                Cargo cargo = COLUNAS.get(coluna);
+                Escopo escopo = linha.escopos()[coluna];
+                MobiautoPrincipal principal = new MobiautoPrincipal(1L, REVENDA_ID, List.of(cargo));
+                String regra = cargo + " " + linha.acao() + " " + linha.recurso();
+
+                assertEquals(escopo != NENHUM, principal.pode(linha.recurso(), linha.acao()), regra);
+                assertEquals(escopo != NENHUM, principal.pode(linha.recurso(), linha.acao(), REVENDA_ID), regra);
+                assertEquals(escopo == GLOBAL, principal.pode(linha.recurso(), linha.acao(), OUTRA_REVENDA_ID), regra);
+                assertEquals(escopo == GLOBAL, principal.pode(linha.recurso(), linha.acao(), null), regra);
+            }
+        }
+    }
+
+    @Test
+    void escopo_VariosCargos_PrevaleceOMaisAmplo() {
+        MobiautoPrincipal principal = new MobiautoPrincipal(1L, REVENDA_ID, List.of(ASSISTENTE, GERENTE));
+
+        assertEquals(PROPRIA_REVENDA, principal.escopo(OPORTUNIDADE, ATUALIZAR));
+        assertEquals(PROPRIA_REVENDA, principal.escopo(OPORTUNIDADE, ATENDER));
+        assertEquals(PROPRIA_REVENDA, principal.escopo(REBALANCEAMENTO, CRIAR));
+        assertEquals(NENHUM, principal.escopo(USUARIO, ATUALIZAR));
+        assertEquals(GLOBAL, new MobiautoPrincipal(1L, REVENDA_ID, List.of(PROPRIETARIO, ADMINISTRADOR)).escopo(USUARIO, ATUALIZAR));
+    }
+
+    @Test
+    void escopo_SemCargos_NegaTudo() {
+        MatrizPermissoes matriz = new MatrizPermissoes(List.of());
+
+        for (Recurso recurso : Recurso.values()) {
+            for (Acao acao : Acao.values()) {
+                assertEquals(NENHUM, matriz.escopo(0, recurso, acao));
+                assertEquals(NENHUM, matriz.escopo(MatrizPermissoes.mascara(List.of(Cargo.values())), recurso, acao));
+            }
+        }
+    }
+
+    @Test
+    void construtor_RegraDuplicada_LancaIllegalState() {
+        List<RegraPermissao> regras = new ArrayList<>();
+        regras.add(new RegraPermissao(GERENTE, VEICULO, CRIAR, PROPRIA_REVENDA));
+        regras.add(new RegraPermissao(GERENTE, VEICULO, CRIAR, GLOBAL));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> new MatrizPermissoes(regras));
+        assertTrue(exception.getMessage().startsWith("Regra de permissão duplicada"));
+    }
+
+    private record Linha(Recurso recurso, Acao acao, Escopo... escopos) {}
+}
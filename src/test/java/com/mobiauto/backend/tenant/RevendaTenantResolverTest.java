@@ -0,0 +1,87 @@
+package com.mobiauto.backend.tenant;
+
+import com.mobiauto.backend.config.MobiautoAuthenticationToken;
+import com.mobiauto.backend.config.MobiautoPrincipal;
+import com.mobiauto.backend.model.Cargo;
+import com.mobiauto.backend.model.Cliente;
+import com.mobiauto.backend.model.Oportunidade;
+import com.mobiauto.backend.model.Revenda;
+import com.mobiauto.backend.model.Usuario;
+import com.mobiauto.backend.model.Veiculo;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+
+import static com.mobiauto.backend.model.Cargo.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevendaTenantResolverTest {
+
+    private static final long REVENDA_ID = 3L;
+
+    private final RevendaTenantResolver resolver = new RevendaTenantResolver();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void get_SemAutenticacao_NaoRestringe() {
+        assertNull(resolver.get());
+    }
+
+    @Test
+    void get_AutenticacaoDeOutroTipo_NaoRestringe() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("usuario", "senha"));
+
+        assertNull(resolver.get());
+    }
+
+    @Test
+    void get_Administrador_NaoRestringe() {
+        autenticar(ADMINISTRADOR, GERENTE);
+
+        assertNull(resolver.get());
+    }
+
+    @Test
+    void get_NaoAdmin_RestringeARevendaDoToken() {
+        for (Cargo cargo : List.of(PROPRIETARIO, GERENTE, ASSISTENTE)) {
+            autenticar(cargo);
+
+            assertEquals(REVENDA_ID, resolver.get());
+        }
+    }
+
+    @Test
+    void entidadesDaRevenda_DeclaramOFiltroDeTenant() {
+        FilterDef definicao = Revenda.class.getAnnotation(FilterDef.class);
+        assertEquals(Revenda.FILTRO_TENANT, definicao.name());
+        assertFalse(definicao.autoEnabled());
+        assertTrue(definicao.applyToLoadByKey());
+        assertEquals(Revenda.PARAMETRO_TENANT, definicao.parameters()[0].name());
+        assertEquals(Revenda.FILTRO_TENANT, Revenda.class.getAnnotation(Filter.class).name());
+        assertEquals("id = :revendaId", Revenda.class.getAnnotation(Filter.class).condition());
+        assertEquals("revenda_id = :revendaId", Revenda.CONDICAO_TENANT);
+
+        for (Class<?> entidade : List.of(Cliente.class, Veiculo.class, Oportunidade.class, Usuario.class)) {
+            Filter filtro = entidade.getAnnotation(Filter.class);
+            assertNotNull(filtro, entidade.getSimpleName());
+            assertEquals(Revenda.FILTRO_TENANT, filtro.name());
+            assertEquals(Revenda.CONDICAO_TENANT, filtro.condition());
+        }
+    }
+
+    private void autenticar(Cargo... cargos) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("usuario@mobiauto.com").build();
+        MobiautoPrincipal principal = new MobiautoPrincipal(1L, REVENDA_ID, List.of(cargos));
+        SecurityContextHolder.getContext().setAuthentication(new MobiautoAuthenticationToken(principal, jwt));
+    }
+}